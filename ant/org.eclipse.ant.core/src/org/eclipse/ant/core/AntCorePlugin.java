@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,8 @@ import java.util.List;
 
 import org.eclipse.ant.internal.core.AntClassLoader;
 import org.eclipse.ant.internal.core.AntCoreUtil;
+import org.eclipse.ant.internal.core.AntPropertyFileCache;
+import org.eclipse.ant.internal.core.AntRuntimeSnapshot;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IStatus;
@@ -179,6 +181,8 @@ public class AntCorePlugin extends Plugin {
 	public void stop(BundleContext context) throws Exception {
 		super.stop(context);
 		AntCoreUtil.setBundleContext(null);
+		AntPropertyFileCache.clear();
+		AntRuntimeSnapshot.clear();
 		if (preferences != null) {
 			savePluginPreferences();
 		}
@@ -247,8 +251,7 @@ public class AntCorePlugin extends Plugin {
 	 * @return the new class loader
 	 */
 	public ClassLoader getNewClassLoader() {
-		AntCorePreferences corePreferences = getPreferences();
-		return getNewClassLoader(false, corePreferences.getURLs());
+		return getNewClassLoader(false, AntRuntimeSnapshot.getSnapshot(getPreferences()).getURLs());
 	}
 
 	/**
@@ -271,8 +274,7 @@ public class AntCorePlugin extends Plugin {
 	 * @return the new class loader
 	 */
 	public ClassLoader getNewClassLoader(boolean allowLoading) {
-		AntCorePreferences corePreferences = getPreferences();
-		URL[] urls = corePreferences.getURLs();
+		URL[] urls = AntRuntimeSnapshot.getSnapshot(getPreferences()).getURLs();
 		return getNewClassLoader(allowLoading, urls);
 	}
 
@@ -287,8 +289,7 @@ public class AntCorePlugin extends Plugin {
 	 * @since 3.1
 	 */
 	public URLClassLoader getNewClassLoader(boolean allowLoading, URL[] urls) {
-		AntCorePreferences corePreferences = getPreferences();
-		ClassLoader[] pluginLoaders = corePreferences.getPluginClassLoaders();
+		ClassLoader[] pluginLoaders = AntRuntimeSnapshot.getSnapshot(getPreferences()).getPluginClassLoaders();
 		AntClassLoader loader = new AntClassLoader(urls, pluginLoaders);
 		loader.allowPluginClassLoadersToLoadAnt(allowLoading);
 		return loader;
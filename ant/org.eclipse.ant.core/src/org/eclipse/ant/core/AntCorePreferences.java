@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,7 @@ import java.util.StringTokenizer;
 
 import org.eclipse.ant.internal.core.AntClasspathEntry;
 import org.eclipse.ant.internal.core.AntObject;
+import org.eclipse.ant.internal.core.AntRuntimeSnapshot;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.internal.core.InternalCoreAntMessages;
 import org.eclipse.core.runtime.CoreException;
@@ -155,6 +156,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 		} else if (property.equals(IAntCoreConstants.PREFERENCE_PROPERTY_FILES)) {
 			restoreCustomPropertyFiles();
 		}
+		invalidateRuntimeSnapshot();
 	};
 
 	private List<Task> defaultTasks;
@@ -187,6 +189,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 
 	protected AntCorePreferences(List<IConfigurationElement> defaultTasks, List<IConfigurationElement> defaultExtraClasspath, List<IConfigurationElement> defaultTypes, List<IConfigurationElement> defaultProperties, boolean headless) {
 		runningHeadless = headless;
+		AntRuntimeSnapshot.register(this, AntCorePreferences::getPluginClassLoaders);
 		initializePluginClassLoaders();
 		extraClasspathURLs = new ArrayList<>(20);
 		this.defaultTasks = computeDefaultTasks(defaultTasks);
@@ -1004,6 +1007,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	}
 
 	protected void addPluginClassLoader(Bundle bundle) {
+		invalidateRuntimeSnapshot();
 		WrappedClassLoader loader = getClassLoader(bundle);
 		if (!pluginClassLoaders.contains(loader)) {
 			pluginClassLoaders.add(loader);
@@ -1273,6 +1277,10 @@ public class AntCorePreferences implements IPropertyChangeListener {
 		pluginClassLoaders.add(getClassLoader(AntCorePlugin.getPlugin().getBundle()));
 	}
 
+	private void invalidateRuntimeSnapshot() {
+		AntRuntimeSnapshot.invalidate(this);
+	}
+
 	/**
 	 * Returns the default and custom tasks.
 	 *
@@ -1441,6 +1449,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 *            The custom tasks.
 	 */
 	public void setCustomTasks(Task[] tasks) {
+		invalidateRuntimeSnapshot();
 		oldCustomTasks = customTasks;
 		customTasks = tasks;
 	}
@@ -1452,6 +1461,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 *            The custom types
 	 */
 	public void setCustomTypes(Type[] types) {
+		invalidateRuntimeSnapshot();
 		oldCustomTypes = customTypes;
 		customTypes = types;
 	}
@@ -1465,6 +1475,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 */
 	@Deprecated
 	public void setCustomURLs(URL[] urls) {
+		invalidateRuntimeSnapshot();
 		additionalEntries = new IAntClasspathEntry[urls.length];
 		for (int i = 0; i < urls.length; i++) {
 			URL url = urls[i];
@@ -1482,6 +1493,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 */
 	@Deprecated
 	public void setAntURLs(URL[] urls) {
+		invalidateRuntimeSnapshot();
 		antHomeEntries = new IAntClasspathEntry[urls.length];
 		for (int i = 0; i < urls.length; i++) {
 			URL url = urls[i];
@@ -1497,6 +1509,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 *            the absolute paths defining the property files to use.
 	 */
 	public void setCustomPropertyFiles(String[] paths) {
+		invalidateRuntimeSnapshot();
 		customPropertyFiles = paths;
 	}
 
@@ -1507,6 +1520,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 *            the properties defining the Ant properties
 	 */
 	public void setCustomProperties(Property[] properties) {
+		invalidateRuntimeSnapshot();
 		oldCustomProperties = customProperties;
 		customProperties = properties;
 	}
@@ -1783,6 +1797,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 *            the fully qualified path to Ant home
 	 */
 	public void setAntHome(String antHome) {
+		invalidateRuntimeSnapshot();
 		this.antHome = antHome;
 	}
 
@@ -1824,6 +1839,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 * @since 3.0
 	 */
 	public void setAntHomeClasspathEntries(IAntClasspathEntry[] entries) {
+		invalidateRuntimeSnapshot();
 		antHomeEntries = entries;
 	}
 
@@ -1835,6 +1851,7 @@ public class AntCorePreferences implements IPropertyChangeListener {
 	 * @since 3.0
 	 */
 	public void setAdditionalClasspathEntries(IAntClasspathEntry[] entries) {
+		invalidateRuntimeSnapshot();
 		additionalEntries = entries;
 	}
 
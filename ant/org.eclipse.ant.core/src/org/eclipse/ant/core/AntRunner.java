@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,9 +22,11 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.StringTokenizer;
 
+import org.eclipse.ant.internal.core.AntBatchRunner;
 import org.eclipse.ant.internal.core.AntClassLoader;
+import org.eclipse.ant.internal.core.AntCoreUtil;
+import org.eclipse.ant.internal.core.AntRuntimeSnapshot;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.internal.core.InternalCoreAntMessages;
 import org.eclipse.core.runtime.CoreException;
@@ -107,45 +109,7 @@ public class AntRunner implements IApplication {
 	 *            the arguments to be passed to the build
 	 */
 	public void setArguments(String arguments) {
-		this.arguments = getArray(arguments);
-	}
-
-	/*
-	 * Helper method to ensure an array is converted into an ArrayList.
-	 */
-	private String[] getArray(String args) {
-		StringBuilder sb = new StringBuilder();
-		boolean waitingForQuote = false;
-		ArrayList<String> result = new ArrayList<>();
-		for (StringTokenizer tokens = new StringTokenizer(args, ", \"", true); tokens.hasMoreTokens();) { //$NON-NLS-1$
-			String token = tokens.nextToken();
-			if (waitingForQuote) {
-				if (token.equals("\"")) { //$NON-NLS-1$
-					result.add(sb.toString());
-					sb.setLength(0);
-					waitingForQuote = false;
-				} else {
-					sb.append(token);
-				}
-			} else {
-				if (token.equals("\"")) { //$NON-NLS-1$
-					// test if we have something like -Dproperty="value"
-					if (!result.isEmpty()) {
-						int index = result.size() - 1;
-						String last = result.get(index);
-						if (last.charAt(last.length() - 1) == '=') {
-							result.remove(index);
-							sb.append(last);
-						}
-					}
-					waitingForQuote = true;
-				} else {
-					if (!(token.equals(",") || token.equals(" "))) //$NON-NLS-1$ //$NON-NLS-2$
-						result.add(token);
-				}
-			}
-		}
-		return result.toArray(new String[result.size()]);
+		this.arguments = AntCoreUtil.getArray(arguments);
 	}
 
 	/**
@@ -471,6 +435,10 @@ public class AntRunner implements IApplication {
 	/**
 	 * Invokes the building of a project object and executes a build using either a given target or the default target. This method is called when
 	 * running Eclipse headless and specifying <code>org.eclipse.ant.core.antRunner</code> as the application.
+	 * <p>
+	 * With <code>-batch &lt;manifest&gt;</code>, runs the builds listed in the manifest one after the other instead, each line holding the
+	 * arguments of one build, and returns the greatest of their exit codes. <code>-summary &lt;file&gt;</code> writes a JSON summary of the builds.
+	 * </p>
 	 *
 	 * Sets the current threads context class loader to the AntClassLoader for the duration of the build.
 	 *
@@ -478,7 +446,8 @@ public class AntRunner implements IApplication {
 	 *            the command line arguments
 	 * @exception Exception
 	 *                if a problem occurred during the buildfile execution
-	 * @return an exit object (<code>EXIT_OK</code>) indicating normal termination if no exception occurs
+	 * @return an exit object (<code>EXIT_OK</code>) indicating normal termination if no exception occurs, or the exit code of a batch of builds
+	 *         that did not all succeed
 	 */
 	public Object run(Object argArray) throws Exception {
 		ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
@@ -500,6 +469,10 @@ public class AntRunner implements IApplication {
 			}
 			ClassLoader loader = getClassLoader();
 			Thread.currentThread().setContextClassLoader(loader);
+			if (AntBatchRunner.isBatch((String[]) argArray)) {
+				int exitCode = new AntBatchRunner(AntCoreUtil.getArrayList((String[]) argArray)).run(loader);
+				return exitCode == 0 ? EXIT_OK : Integer.valueOf(exitCode);
+			}
 			Class<?> classInternalAntRunner = loader.loadClass("org.eclipse.ant.internal.core.ant.InternalAntRunner"); //$NON-NLS-1$
 			Object runner = classInternalAntRunner.getConstructor().newInstance();
 			Method run = classInternalAntRunner.getMethod("run", Object.class); //$NON-NLS-1$
@@ -516,11 +489,11 @@ public class AntRunner implements IApplication {
 		if (customClasspath == null) {
 			return AntCorePlugin.getPlugin().getNewClassLoader();
 		}
-		AntCorePreferences preferences = AntCorePlugin.getPlugin().getPreferences();
+		AntRuntimeSnapshot runtime = AntRuntimeSnapshot.getSnapshot(AntCorePlugin.getPlugin().getPreferences());
 		ArrayList<URL> fullClasspath = new ArrayList<>();
 		fullClasspath.addAll(Arrays.asList(customClasspath));
-		fullClasspath.addAll(Arrays.asList(preferences.getExtraClasspathURLs()));
-		return new AntClassLoader(fullClasspath.toArray(new URL[fullClasspath.size()]), preferences.getPluginClassLoaders());
+		fullClasspath.addAll(Arrays.asList(runtime.getExtraClasspathURLs()));
+		return new AntClassLoader(fullClasspath.toArray(new URL[fullClasspath.size()]), runtime.getPluginClassLoaders());
 	}
 
 	/**
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.core;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ant.core.AntCorePlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Runs the builds listed in a manifest one after the other in the same VM, for the <code>-batch</code> argument of the
+ * <code>org.eclipse.ant.core.antRunner</code> application.
+ * <p>
+ * Each line of the manifest holds the command line arguments of one build, for instance
+ * <code>-buildfile nightly/build.xml -Dbuild.type=N compile test</code>, split at spaces and commas outside of double quotes; empty lines and
+ * lines starting with <code>#</code> are ignored. The arguments given to the application besides <code>-batch</code> and <code>-summary</code>
+ * come before those of each line. All the builds share one Ant class loader, so Ant and the plug-in classes are loaded once. The builds do not
+ * run in parallel: builds in the same VM share <code>System.out</code>, <code>System.err</code>, <code>System.in</code> and the system
+ * properties, and only one of them can run at a time.
+ * </p>
+ * <p>
+ * The exit code of a build is 0 if it succeeded, the status of an Ant <code>ExitStatusException</code> that ended it, or 1. The exit code of the
+ * batch is the greatest of them. With <code>-summary</code>, a JSON summary of the builds is written to the given file.
+ * </p>
+ */
+public class AntBatchRunner {
+
+	public static final String BATCH_ARGUMENT = "-batch"; //$NON-NLS-1$
+	public static final String SUMMARY_ARGUMENT = "-summary"; //$NON-NLS-1$
+
+	private static final String EXIT_STATUS_EXCEPTION = "org.apache.tools.ant.ExitStatusException"; //$NON-NLS-1$
+
+	/**
+	 * The outcome of the build of one line of the manifest.
+	 */
+	private static class Result {
+		final int line;
+		final String[] arguments;
+		int exitCode = 0;
+		long durationMillis;
+		String message;
+
+		Result(int line, String[] arguments) {
+			this.line = line;
+			this.arguments = arguments;
+		}
+	}
+
+	private final File fManifest;
+	private final File fSummary;
+	private final List<String> fCommonArguments;
+	private final List<Result> fResults = new ArrayList<>();
+
+	/**
+	 * Creates a batch runner from the command line arguments of the application. The <code>-batch</code> and <code>-summary</code> arguments are
+	 * removed from the list, the remaining arguments are passed to every build.
+	 *
+	 * @param arguments
+	 *            the command line arguments, containing <code>-batch</code>
+	 * @throws CoreException
+	 *             if the manifest or the summary file is missing after its argument
+	 */
+	public AntBatchRunner(List<String> arguments) throws CoreException {
+		String manifest = AntCoreUtil.getArgument(arguments, BATCH_ARGUMENT);
+		if (manifest == null || manifest.length() == 0) {
+			throw new CoreException(new Status(IStatus.ERROR, AntCorePlugin.PI_ANTCORE, InternalCoreAntMessages.AntBatchRunner_No_manifest));
+		}
+		String summary = AntCoreUtil.getArgument(arguments, SUMMARY_ARGUMENT);
+		if (summary != null && summary.length() == 0) {
+			throw new CoreException(new Status(IStatus.ERROR, AntCorePlugin.PI_ANTCORE, InternalCoreAntMessages.AntBatchRunner_No_summary));
+		}
+		fManifest = new File(manifest);
+		fSummary = summary == null ? null : new File(summary);
+		fCommonArguments = new ArrayList<>(arguments);
+	}
+
+	/**
+	 * Returns whether the command line arguments ask for a batch of builds.
+	 *
+	 * @param arguments
+	 *            the command line arguments
+	 * @return whether the arguments contain <code>-batch</code>
+	 */
+	public static boolean isBatch(String[] arguments) {
+		if (arguments != null) {
+			for (String argument : arguments) {
+				if (BATCH_ARGUMENT.equals(argument)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Runs the builds of the manifest with the <code>InternalAntRunner</code> of the given class loader, and writes the summary if asked for.
+	 *
+	 * @param loader
+	 *            the Ant class loader shared by the builds
+	 * @return the exit code of the batch
+	 * @throws Exception
+	 *             if the manifest cannot be read, the runner cannot be loaded or the summary cannot be written
+	 */
+	public int run(ClassLoader loader) throws Exception {
+		List<Result> entries = readManifest();
+		Class<?> classInternalAntRunner = loader.loadClass("org.eclipse.ant.internal.core.ant.InternalAntRunner"); //$NON-NLS-1$
+		Method run = classInternalAntRunner.getMethod("run", Object.class); //$NON-NLS-1$
+		int exitCode = 0;
+		for (Result entry : entries) {
+			List<String> arguments = new ArrayList<>(fCommonArguments);
+			for (String argument : entry.arguments) {
+				arguments.add(argument);
+			}
+			long start = System.currentTimeMillis();
+			try {
+				Object runner = classInternalAntRunner.getConstructor().newInstance();
+				run.invoke(runner, (Object) arguments.toArray(new String[arguments.size()]));
+			}
+			catch (InvocationTargetException e) {
+				Throwable realException = e.getTargetException();
+				entry.exitCode = getExitCode(realException);
+				entry.message = realException.getMessage() == null ? InternalCoreAntMessages.AntRunner_Build_Failed__3 : realException.getMessage();
+			}
+			entry.durationMillis = System.currentTimeMillis() - start;
+			fResults.add(entry);
+			exitCode = Math.max(exitCode, entry.exitCode);
+		}
+		if (fSummary != null) {
+			writeSummary(exitCode);
+		}
+		return exitCode;
+	}
+
+	private List<Result> readManifest() throws IOException {
+		List<Result> entries = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(fManifest.toPath(), StandardCharsets.UTF_8)) {
+			int lineNumber = 0;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				line = line.trim();
+				if (line.length() == 0 || line.charAt(0) == '#') {
+					continue;
+				}
+				entries.add(new Result(lineNumber, AntCoreUtil.getArray(line)));
+			}
+		}
+		return entries;
+	}
+
+	private static int getExitCode(Throwable exception) {
+		if (EXIT_STATUS_EXCEPTION.equals(exception.getClass().getName())) {
+			try {
+				int status = ((Integer) exception.getClass().getMethod("getStatus").invoke(exception)).intValue(); //$NON-NLS-1$
+				if (status > 0) {
+					return status;
+				}
+			}
+			catch (ReflectiveOperationException e) {
+				// fall through to the general failure
+			}
+		}
+		return 1;
+	}
+
+	private void writeSummary(int exitCode) throws IOException {
+		File parent = fSummary.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (Writer writer = Files.newBufferedWriter(fSummary.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("{\n  \"manifest\": "); //$NON-NLS-1$
+			writer.write(AntCoreUtil.toJSONString(fManifest.getAbsolutePath()));
+			writer.write(",\n  \"exitCode\": "); //$NON-NLS-1$
+			writer.write(Integer.toString(exitCode));
+			writer.write(",\n  \"builds\": ["); //$NON-NLS-1$
+			for (int i = 0; i < fResults.size(); i++) {
+				Result result = fResults.get(i);
+				writer.write(i == 0 ? "\n    {" : ",\n    {"); //$NON-NLS-1$ //$NON-NLS-2$
+				writer.write("\"line\": " + result.line); //$NON-NLS-1$
+				writer.write(", \"arguments\": ["); //$NON-NLS-1$
+				for (int j = 0; j < result.arguments.length; j++) {
+					if (j > 0) {
+						writer.write(", "); //$NON-NLS-1$
+					}
+					writer.write(AntCoreUtil.toJSONString(result.arguments[j]));
+				}
+				writer.write("], \"exitCode\": " + result.exitCode); //$NON-NLS-1$
+				writer.write(", \"durationMillis\": " + result.durationMillis); //$NON-NLS-1$
+				writer.write(", \"message\": " + AntCoreUtil.toJSONString(result.message)); //$NON-NLS-1$
+				writer.write('}');
+			}
+			writer.write(fResults.isEmpty() ? "]\n}\n" : "\n  ]\n}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+}
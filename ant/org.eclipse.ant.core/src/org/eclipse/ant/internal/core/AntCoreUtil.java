@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2015 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,21 +14,15 @@
 package org.eclipse.ant.internal.core;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
+import java.util.StringTokenizer;
 
-import org.eclipse.ant.core.AntCorePlugin;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.core.variables.IStringVariableManager;
-import org.eclipse.core.variables.VariablesPlugin;
 import org.osgi.framework.BundleContext;
 
 public class AntCoreUtil {
@@ -60,6 +54,100 @@ public class AntCoreUtil {
 		return result;
 	}
 
+	/*
+	 * Splits a line of arguments separated by spaces or commas, keeping the quoted text of arguments like -Dproperty="some value" together.
+	 */
+	public static String[] getArray(String args) {
+		StringBuilder sb = new StringBuilder();
+		boolean waitingForQuote = false;
+		ArrayList<String> result = new ArrayList<>();
+		for (StringTokenizer tokens = new StringTokenizer(args, ", \"", true); tokens.hasMoreTokens();) { //$NON-NLS-1$
+			String token = tokens.nextToken();
+			if (waitingForQuote) {
+				if (token.equals("\"")) { //$NON-NLS-1$
+					result.add(sb.toString());
+					sb.setLength(0);
+					waitingForQuote = false;
+				} else {
+					sb.append(token);
+				}
+			} else {
+				if (token.equals("\"")) { //$NON-NLS-1$
+					// test if we have something like -Dproperty="value"
+					if (!result.isEmpty()) {
+						int index = result.size() - 1;
+						String last = result.get(index);
+						if (last.charAt(last.length() - 1) == '=') {
+							result.remove(index);
+							sb.append(last);
+						}
+					}
+					waitingForQuote = true;
+				} else {
+					if (!(token.equals(",") || token.equals(" "))) //$NON-NLS-1$ //$NON-NLS-2$
+						result.add(token);
+				}
+			}
+		}
+		return result.toArray(new String[result.size()]);
+	}
+
+	/**
+	 * Returns the given text as a JSON string literal, with its quotes, or the JSON <code>null</code> literal if there is no text.
+	 *
+	 * @param text
+	 *            the text to quote, or <code>null</code>
+	 * @return the JSON string literal, or the unquoted string <code>"null"</code> if the text is <code>null</code>; never <code>null</code>
+	 */
+	public static String toJSONString(String text) {
+		if (text == null) {
+			return "null"; //$NON-NLS-1$
+		}
+		return appendJSONString(new StringBuilder(text.length() + 2), text).toString();
+	}
+
+	/**
+	 * Appends the given text as a JSON string literal, with its quotes, to the given buffer, or the JSON <code>null</code> literal if there is no
+	 * text.
+	 *
+	 * @param buffer
+	 *            the buffer to append to
+	 * @param text
+	 *            the text to quote, or <code>null</code> to append the unquoted <code>null</code> literal
+	 * @return the buffer
+	 */
+	public static StringBuilder appendJSONString(StringBuilder buffer, String text) {
+		if (text == null) {
+			return buffer.append("null"); //$NON-NLS-1$
+		}
+		buffer.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"':
+				case '\\':
+					buffer.append('\\').append(c);
+					break;
+				case '\n':
+					buffer.append("\\n"); //$NON-NLS-1$
+					break;
+				case '\r':
+					buffer.append("\\r"); //$NON-NLS-1$
+					break;
+				case '\t':
+					buffer.append("\\t"); //$NON-NLS-1$
+					break;
+				default:
+					if (c < 0x20) {
+						buffer.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16)); //$NON-NLS-1$
+					} else {
+						buffer.append(c);
+					}
+			}
+		}
+		return buffer.append('"');
+	}
+
 	/*
 	 * From a command line list, get the argument for the given parameter. The parameter and its argument are removed from the list.
 	 *
@@ -133,40 +221,21 @@ public class AntCoreUtil {
 	}
 
 	/**
-	 * Returns a list of Properties contained in the list of fileNames.
+	 * Returns the properties contained in the list of fileNames, read through the {@link AntPropertyFileCache}.
 	 *
 	 * @param fileNames
 	 *            the names of the properties files to load from
 	 * @param base
 	 *            the base directory name
 	 * @param buildFileLocation
-	 * @return a list of {@link Properties} objects for each filename
+	 * @return a list of unmodifiable property maps, one for each filename
 	 * @throws IOException
 	 */
-	public static List<Properties> loadPropertyFiles(List<String> fileNames, String base, String buildFileLocation) throws IOException {
-		ArrayList<Properties> allProperties = new ArrayList<>(fileNames.size());
+	public static List<Map<String, String>> loadPropertyFiles(List<String> fileNames, String base, String buildFileLocation) throws IOException {
+		ArrayList<Map<String, String>> allProperties = new ArrayList<>(fileNames.size());
 		for (String filename : fileNames) {
 			File file = getFileRelativeToBaseDir(filename, base, buildFileLocation);
-			Properties props = new Properties();
-			try (FileInputStream fis = new FileInputStream(file)) {
-				props.load(fis);
-			}
-			Enumeration<?> propertyNames = props.propertyNames();
-			while (propertyNames.hasMoreElements()) {
-				String name = (String) propertyNames.nextElement();
-				String value = props.getProperty(name);
-				props.remove(name);
-				IStringVariableManager stringVariableManager = VariablesPlugin.getDefault().getStringVariableManager();
-				try {
-					name = stringVariableManager.performStringSubstitution(name);
-					value = stringVariableManager.performStringSubstitution(value);
-				}
-				catch (CoreException e) {
-					AntCorePlugin.log(e);
-				}
-				props.setProperty(name, value);
-			}
-			allProperties.add(props);
+			allProperties.add(AntPropertyFileCache.getProperties(file));
 		}
 		return allProperties;
 	}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.ant.core.AntCorePlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.variables.IStringVariableManager;
+import org.eclipse.core.variables.IValueVariable;
+import org.eclipse.core.variables.IValueVariableListener;
+import org.eclipse.core.variables.VariablesPlugin;
+
+/**
+ * The property files read for builds and editor reconciles in this VM, by canonical path. A file is read and parsed again only when its
+ * modification time or size changed.
+ * <p>
+ * The string variables of the properties are substituted once and the result kept until a value variable changes, unless the file refers to a
+ * dynamic variable such as <code>${project_loc}</code>: the value of those depends on the context, so their properties are substituted each time,
+ * still without reading the file.
+ * </p>
+ */
+public final class AntPropertyFileCache {
+
+	private static final class CachedFile {
+		final long lastModified;
+		final long length;
+		final Map<String, String> rawProperties;
+		final boolean dynamic;
+		volatile Map<String, String> properties;
+		volatile int propertiesStamp;
+
+		CachedFile(long lastModified, long length, Map<String, String> rawProperties, boolean dynamic) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.rawProperties = rawProperties;
+			this.dynamic = dynamic;
+		}
+	}
+
+	private static final Map<String, CachedFile> fgFiles = new ConcurrentHashMap<>();
+	private static volatile int fgVariablesStamp = 0;
+	private static IValueVariableListener fgVariableListener = null;
+
+	private AntPropertyFileCache() {
+	}
+
+	/**
+	 * Returns the properties of the given file, with their string variables substituted.
+	 *
+	 * @param file
+	 *            the property file
+	 * @return the unmodifiable properties of the file
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	public static Map<String, String> getProperties(File file) throws IOException {
+		IStringVariableManager manager = getStringVariableManager();
+		long lastModified = file.lastModified();
+		if (lastModified == 0) {
+			// missing or unreadable, let loading report why
+			return substitute(load(file), manager);
+		}
+		String path = file.getCanonicalPath();
+		long length = file.length();
+		CachedFile cached = fgFiles.get(path);
+		if (cached == null || cached.lastModified != lastModified || cached.length != length) {
+			Map<String, String> rawProperties = load(file);
+			cached = new CachedFile(lastModified, length, rawProperties, isDynamic(rawProperties, manager));
+			fgFiles.put(path, cached);
+		}
+		if (cached.dynamic) {
+			return substitute(cached.rawProperties, manager);
+		}
+		int stamp = fgVariablesStamp;
+		Map<String, String> properties = cached.properties;
+		if (properties == null || cached.propertiesStamp != stamp) {
+			properties = substitute(cached.rawProperties, manager);
+			cached.propertiesStamp = stamp;
+			cached.properties = properties;
+		}
+		return properties;
+	}
+
+	/**
+	 * Forgets all the property files read.
+	 */
+	public static void clear() {
+		fgFiles.clear();
+		synchronized (AntPropertyFileCache.class) {
+			if (fgVariableListener != null) {
+				VariablesPlugin plugin = VariablesPlugin.getDefault();
+				if (plugin != null) {
+					plugin.getStringVariableManager().removeValueVariableListener(fgVariableListener);
+				}
+				fgVariableListener = null;
+			}
+		}
+	}
+
+	private static IStringVariableManager getStringVariableManager() {
+		IStringVariableManager manager = VariablesPlugin.getDefault().getStringVariableManager();
+		synchronized (AntPropertyFileCache.class) {
+			if (fgVariableListener == null) {
+				fgVariableListener = new IValueVariableListener() {
+					@Override
+					public void variablesAdded(IValueVariable[] variables) {
+						fgVariablesStamp++;
+					}
+
+					@Override
+					public void variablesRemoved(IValueVariable[] variables) {
+						fgVariablesStamp++;
+					}
+
+					@Override
+					public void variablesChanged(IValueVariable[] variables) {
+						fgVariablesStamp++;
+					}
+				};
+				manager.addValueVariableListener(fgVariableListener);
+			}
+		}
+		return manager;
+	}
+
+	private static Map<String, String> load(File file) throws IOException {
+		Properties props = new Properties();
+		try (FileInputStream fis = new FileInputStream(file)) {
+			props.load(fis);
+		}
+		Map<String, String> properties = new HashMap<>(props.size() * 4 / 3 + 1);
+		for (String name : props.stringPropertyNames()) {
+			properties.put(name, props.getProperty(name));
+		}
+		return Collections.unmodifiableMap(properties);
+	}
+
+	private static Map<String, String> substitute(Map<String, String> rawProperties, IStringVariableManager manager) {
+		Map<String, String> properties = new HashMap<>(rawProperties.size() * 4 / 3 + 1);
+		for (Entry<String, String> entry : rawProperties.entrySet()) {
+			String name = entry.getKey();
+			String value = entry.getValue();
+			try {
+				if (name.indexOf('$') != -1) {
+					name = manager.performStringSubstitution(name);
+				}
+				if (value.indexOf('$') != -1) {
+					value = manager.performStringSubstitution(value);
+				}
+			}
+			catch (CoreException e) {
+				AntCorePlugin.log(e);
+			}
+			properties.put(name, value);
+		}
+		return Collections.unmodifiableMap(properties);
+	}
+
+	/**
+	 * Returns whether a name or value refers to a dynamic variable.
+	 */
+	private static boolean isDynamic(Map<String, String> rawProperties, IStringVariableManager manager) {
+		for (Entry<String, String> entry : rawProperties.entrySet()) {
+			if (refersToDynamicVariable(entry.getKey(), manager) || refersToDynamicVariable(entry.getValue(), manager)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean refersToDynamicVariable(String text, IStringVariableManager manager) {
+		int start = text.indexOf("${"); //$NON-NLS-1$
+		while (start != -1) {
+			int end = start + 2;
+			while (end < text.length() && text.charAt(end) != '}' && text.charAt(end) != ':' && text.charAt(end) != '$') {
+				end++;
+			}
+			if (manager.getDynamicVariable(text.substring(start + 2, end)) != null) {
+				return true;
+			}
+			start = text.indexOf("${", start + 2); //$NON-NLS-1$
+		}
+		return false;
+	}
+}
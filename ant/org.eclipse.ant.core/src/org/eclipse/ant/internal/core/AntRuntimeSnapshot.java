@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.core;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+import org.eclipse.ant.core.AntCorePreferences;
+import org.eclipse.ant.core.Property;
+import org.eclipse.ant.core.Task;
+import org.eclipse.ant.core.Type;
+import org.eclipse.core.variables.IValueVariable;
+import org.eclipse.core.variables.IValueVariableListener;
+import org.eclipse.core.variables.VariablesPlugin;
+
+/**
+ * The Ant runtime defined by the {@link AntCorePreferences} at one point in time: the tasks, types and properties, the resolved classpath URLs and
+ * the plug-in class loaders. A snapshot never changes; a new one with a greater stamp is created the first time one is asked for after the
+ * preferences changed, so builds and parses read the runtime without copying lists or substituting variables in classpath entries each time.
+ */
+public final class AntRuntimeSnapshot {
+
+	/**
+	 * The current snapshot of one preferences object
+	 */
+	private static final class Holder {
+		/**
+		 * The plug-in class loaders are not API of the preferences, their accessor is handed over when the preferences are created. It does not
+		 * refer to the preferences, which are only weakly referenced.
+		 */
+		final Function<AntCorePreferences, ClassLoader[]> fPluginClassLoaders;
+		volatile AntRuntimeSnapshot fSnapshot = null;
+		/**
+		 * Incremented on every change of the runtime, so that a snapshot computed while the runtime changed is not kept
+		 */
+		volatile int fModifications = 0;
+
+		Holder(Function<AntCorePreferences, ClassLoader[]> pluginClassLoaders) {
+			fPluginClassLoaders = pluginClassLoaders;
+		}
+	}
+
+	private static final Map<AntCorePreferences, Holder> fgHolders = new WeakHashMap<>();
+	/**
+	 * The stamp of the last snapshot, shared by all preferences so that a snapshot of new preferences is not taken for an older one
+	 */
+	private static int fgStamp = 0;
+	/**
+	 * Classpath entries may refer to value variables. One listener for all the preferences, so that it does not keep them reachable.
+	 */
+	private static IValueVariableListener fgVariableListener = null;
+
+	private final int fStamp;
+	private final List<Task> fTasks;
+	private final List<Type> fTypes;
+	private final List<Property> fProperties;
+	private final URL[] fURLs;
+	private final URL[] fExtraClasspathURLs;
+	private final ClassLoader[] fPluginClassLoaders;
+	private final String fAntHome;
+
+	/**
+	 * Creates a snapshot of the given runtime. The lists and arrays are copied.
+	 */
+	private AntRuntimeSnapshot(int stamp, List<Task> tasks, List<Type> types, List<Property> properties, URL[] urls, URL[] extraClasspathURLs, ClassLoader[] pluginClassLoaders, String antHome) {
+		fStamp = stamp;
+		fTasks = Collections.unmodifiableList(new ArrayList<>(tasks));
+		fTypes = Collections.unmodifiableList(new ArrayList<>(types));
+		fProperties = Collections.unmodifiableList(new ArrayList<>(properties));
+		fURLs = urls.clone();
+		fExtraClasspathURLs = extraClasspathURLs.clone();
+		fPluginClassLoaders = pluginClassLoaders.clone();
+		fAntHome = antHome;
+	}
+
+	/**
+	 * Starts tracking the runtime defined by the given preferences, when they are created.
+	 *
+	 * @param preferences
+	 *            the Ant preferences
+	 * @param pluginClassLoaders
+	 *            returns the class loaders of the plug-ins contributing to the Ant runtime, prerequisites first
+	 */
+	public static void register(AntCorePreferences preferences, Function<AntCorePreferences, ClassLoader[]> pluginClassLoaders) {
+		synchronized (fgHolders) {
+			fgHolders.put(preferences, new Holder(pluginClassLoaders));
+		}
+	}
+
+	/**
+	 * Returns the Ant runtime defined by the given preferences. The snapshot is computed again only after the preferences or the variables used by
+	 * the classpath entries changed.
+	 *
+	 * @param preferences
+	 *            the Ant preferences
+	 * @return the current runtime snapshot of the preferences
+	 */
+	public static AntRuntimeSnapshot getSnapshot(AntCorePreferences preferences) {
+		Holder holder = getHolder(preferences);
+		AntRuntimeSnapshot snapshot = holder.fSnapshot;
+		if (snapshot != null) {
+			return snapshot;
+		}
+		synchronized (holder) {
+			snapshot = holder.fSnapshot;
+			if (snapshot == null) {
+				listenToVariables();
+				int modifications = holder.fModifications;
+				snapshot = new AntRuntimeSnapshot(nextStamp(), preferences.getTasks(), preferences.getTypes(), preferences.getProperties(), preferences.getURLs(),
+						preferences.getExtraClasspathURLs(), holder.fPluginClassLoaders.apply(preferences), preferences.getAntHome());
+				if (modifications == holder.fModifications) {
+					holder.fSnapshot = snapshot;
+				}
+			}
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Discards the snapshot of the given preferences after they changed.
+	 *
+	 * @param preferences
+	 *            the Ant preferences
+	 */
+	public static void invalidate(AntCorePreferences preferences) {
+		Holder holder = getHolder(preferences);
+		holder.fModifications++;
+		holder.fSnapshot = null;
+	}
+
+	/**
+	 * Stops listening to the value variables and discards the snapshots of all the preferences.
+	 */
+	public static void clear() {
+		synchronized (fgHolders) {
+			if (fgVariableListener != null) {
+				VariablesPlugin plugin = VariablesPlugin.getDefault();
+				if (plugin != null) {
+					plugin.getStringVariableManager().removeValueVariableListener(fgVariableListener);
+				}
+				fgVariableListener = null;
+			}
+		}
+		invalidateAll();
+	}
+
+	private static void invalidateAll() {
+		List<Holder> holders;
+		synchronized (fgHolders) {
+			holders = new ArrayList<>(fgHolders.values());
+		}
+		for (Holder holder : holders) {
+			holder.fModifications++;
+			holder.fSnapshot = null;
+		}
+	}
+
+	/**
+	 * Listens to the value variables before a snapshot is computed, as the listener is removed when the plug-in stops.
+	 */
+	private static void listenToVariables() {
+		synchronized (fgHolders) {
+			if (fgVariableListener == null) {
+				fgVariableListener = new IValueVariableListener() {
+					@Override
+					public void variablesAdded(IValueVariable[] variables) {
+						invalidateAll();
+					}
+
+					@Override
+					public void variablesRemoved(IValueVariable[] variables) {
+						invalidateAll();
+					}
+
+					@Override
+					public void variablesChanged(IValueVariable[] variables) {
+						invalidateAll();
+					}
+				};
+				VariablesPlugin.getDefault().getStringVariableManager().addValueVariableListener(fgVariableListener);
+			}
+		}
+	}
+
+	private static int nextStamp() {
+		synchronized (fgHolders) {
+			return ++fgStamp;
+		}
+	}
+
+	private static Holder getHolder(AntCorePreferences preferences) {
+		synchronized (fgHolders) {
+			// preferences are registered when created, do not fail for others
+			return fgHolders.computeIfAbsent(preferences, key -> new Holder(unregistered -> new ClassLoader[0]));
+		}
+	}
+
+	/**
+	 * Returns the stamp of this snapshot, greater for every new snapshot.
+	 *
+	 * @return the stamp of this snapshot
+	 */
+	public int getStamp() {
+		return fStamp;
+	}
+
+	/**
+	 * Returns the default and custom tasks, see {@link AntCorePreferences#getTasks()}.
+	 *
+	 * @return the unmodifiable list of tasks
+	 */
+	public List<Task> getTasks() {
+		return fTasks;
+	}
+
+	/**
+	 * Returns the default and custom types, see {@link AntCorePreferences#getTypes()}.
+	 *
+	 * @return the unmodifiable list of types
+	 */
+	public List<Type> getTypes() {
+		return fTypes;
+	}
+
+	/**
+	 * Returns the default and custom properties, see {@link AntCorePreferences#getProperties()}. Their values are still computed when asked for.
+	 *
+	 * @return the unmodifiable list of properties
+	 */
+	public List<Property> getProperties() {
+		return fProperties;
+	}
+
+	/**
+	 * Returns the URLs of the Ant runtime classpath, see {@link AntCorePreferences#getURLs()}.
+	 *
+	 * @return a copy of the classpath URLs
+	 */
+	public URL[] getURLs() {
+		return fURLs.clone();
+	}
+
+	/**
+	 * Returns the URLs added to the classpath by the extra classpath entries extension point, see {@link AntCorePreferences#getExtraClasspathURLs()}.
+	 *
+	 * @return a copy of the extra classpath URLs
+	 */
+	public URL[] getExtraClasspathURLs() {
+		return fExtraClasspathURLs.clone();
+	}
+
+	/**
+	 * Returns the class loaders of the plug-ins contributing to the Ant runtime, prerequisites first.
+	 *
+	 * @return a copy of the plug-in class loaders
+	 */
+	public ClassLoader[] getPluginClassLoaders() {
+		return fPluginClassLoaders.clone();
+	}
+
+	/**
+	 * Returns the Ant home, see {@link AntCorePreferences#getAntHome()}.
+	 *
+	 * @return the fully qualified path to Ant home or <code>null</code>
+	 */
+	public String getAntHome() {
+		return fAntHome;
+	}
+}
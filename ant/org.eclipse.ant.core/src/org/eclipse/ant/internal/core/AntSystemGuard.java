@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.core;
+
+import java.security.Permission;
+import java.util.PropertyPermission;
+
+import org.eclipse.ant.core.AntCorePlugin;
+import org.eclipse.ant.core.AntSecurityException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Keeps Ant builds and parses running in the Eclipse VM from exiting the VM or writing system properties, without a security manager installed
+ * for every build or parse.
+ * <p>
+ * A build or parse restricts its threads for the duration of a run, opened with {@link #restrict(boolean)} and joined by other threads with
+ * {@link #restrict(Scope)}. A run is guarded from the moment it opens until it ends, as code that is not part of Ant can run at any time: the
+ * constructors of listeners and loggers, the static initializers of defined classes, or types nested in the tasks of Ant. The security manager
+ * is installed by the first run and shared by the runs open at the same time; it refuses exits, and system property writes where disallowed,
+ * from the restricted threads only.
+ * </p>
+ */
+public final class AntSystemGuard {
+
+	/**
+	 * A restriction of the current thread, closed by the thread that opened it.
+	 */
+	public static final class Scope implements AutoCloseable {
+
+		private final Scope fPrevious;
+		private final Run fRun;
+		private final boolean fAllowSettingProperties;
+		private boolean fClosed = false;
+
+		Scope(Scope previous, Run run, boolean allowSettingProperties) {
+			fPrevious = previous;
+			fRun = run;
+			fAllowSettingProperties = allowSettingProperties;
+		}
+
+		@Override
+		public void close() {
+			if (fClosed || fRun == null) {
+				return;
+			}
+			fClosed = true;
+			if (fPrevious == null) {
+				fgRestriction.remove();
+			} else {
+				fgRestriction.set(fPrevious);
+			}
+			releaseRun(fRun);
+		}
+	}
+
+	/**
+	 * The threads of one build or parse, guarded together
+	 */
+	private static final class Run {
+		int fOpenScopes = 0;
+		boolean fGuarded = false;
+	}
+
+	private static final Scope NO_SCOPE = new Scope(null, null, true);
+
+	private static final ThreadLocal<Scope> fgRestriction = new ThreadLocal<>();
+
+	// ensure that the PropertyPermission class is loaded before the manager checks permissions: bug 85908
+	private static final PropertyPermission fgPropertyPermission = new PropertyPermission("*", "write"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final Object fgLock = new Object();
+	private static int fgGuardedRuns = 0;
+	private static SecurityManager fgPreviousManager = null;
+	private static GuardSecurityManager fgGuardManager = null;
+	private static boolean fgGuardUnsupported = false;
+
+	private AntSystemGuard() {
+	}
+
+	/**
+	 * Restricts the current thread until the returned scope is closed. The scope opens and guards a new run unless the thread is already
+	 * restricted, in which case it belongs to the same run. Scopes nest; closing one restores the restriction of the enclosing scope.
+	 *
+	 * @param allowSettingProperties
+	 *            whether the thread may still write system properties
+	 * @return the scope of the restriction
+	 */
+	public static Scope restrict(boolean allowSettingProperties) {
+		Scope current = fgRestriction.get();
+		if (current != null) {
+			return open(current, current.fRun, allowSettingProperties);
+		}
+		Run run = new Run();
+		Scope scope = open(null, run, allowSettingProperties);
+		guard(run);
+		return scope;
+	}
+
+	/**
+	 * Restricts the current thread as the thread that opened the given scope is restricted, as part of the same run, until the returned scope is
+	 * closed. For the threads working for a build, such as the threads running its targets in parallel.
+	 *
+	 * @param restriction
+	 *            the restriction of the thread the current thread works for, or <code>null</code> if that thread is not restricted
+	 * @return the scope of the restriction
+	 */
+	public static Scope restrict(Scope restriction) {
+		if (restriction == null || restriction.fRun == null) {
+			return NO_SCOPE;
+		}
+		return open(fgRestriction.get(), restriction.fRun, restriction.fAllowSettingProperties);
+	}
+
+	/**
+	 * Returns the restriction of the current thread.
+	 *
+	 * @return the innermost open scope of the current thread, or <code>null</code> if the thread is not restricted
+	 */
+	public static Scope getRestriction() {
+		return fgRestriction.get();
+	}
+
+	/**
+	 * Returns whether the current thread is restricted.
+	 *
+	 * @return whether the current thread is in a restriction scope
+	 */
+	public static boolean isRestricted() {
+		return fgRestriction.get() != null;
+	}
+
+	/**
+	 * Installs the security manager for the given run unless it is installed already. The first guarded run of the VM installs it and the end of
+	 * the last one restores the previous manager.
+	 */
+	private static void guard(Run run) {
+		synchronized (fgLock) {
+			if (fgGuardUnsupported) {
+				return;
+			}
+			if (fgGuardedRuns == 0) {
+				SecurityManager previous = System.getSecurityManager();
+				GuardSecurityManager manager = new GuardSecurityManager(previous);
+				try {
+					System.setSecurityManager(manager);
+				}
+				catch (UnsupportedOperationException e) {
+					fgGuardUnsupported = true;
+					AntCorePlugin plugin = AntCorePlugin.getPlugin();
+					if (plugin != null) {
+						plugin.getLog().log(new Status(IStatus.WARNING, AntCorePlugin.PI_ANTCORE, InternalCoreAntMessages.AntSystemGuard_0, e));
+					}
+					return;
+				}
+				fgPreviousManager = previous;
+				fgGuardManager = manager;
+			}
+			fgGuardedRuns++;
+			run.fGuarded = true;
+		}
+	}
+
+	private static Scope open(Scope previous, Run run, boolean allowSettingProperties) {
+		synchronized (fgLock) {
+			run.fOpenScopes++;
+		}
+		Scope scope = new Scope(previous, run, allowSettingProperties);
+		fgRestriction.set(scope);
+		return scope;
+	}
+
+	private static void releaseRun(Run run) {
+		synchronized (fgLock) {
+			run.fOpenScopes--;
+			if (run.fOpenScopes > 0 || !run.fGuarded) {
+				return;
+			}
+			run.fGuarded = false;
+			fgGuardedRuns--;
+			if (fgGuardedRuns == 0) {
+				// another manager may have been installed on top of ours meanwhile, leave it alone
+				if (System.getSecurityManager() == fgGuardManager) {
+					System.setSecurityManager(fgPreviousManager);
+				}
+				fgGuardManager = null;
+				fgPreviousManager = null;
+			}
+		}
+	}
+
+	/**
+	 * Refuses exits, and system property writes where disallowed, from the restricted threads.
+	 */
+	private static final class GuardSecurityManager extends AntSecurityManager {
+
+		GuardSecurityManager(SecurityManager securityManager) {
+			super(securityManager, null, true);
+		}
+
+		@Override
+		public void checkExit(int status) {
+			if (fgRestriction.get() != null) {
+				throw new AntSecurityException();
+			}
+			super.checkExit(status);
+		}
+
+		@Override
+		public void checkPermission(Permission perm) {
+			Scope scope = fgRestriction.get();
+			if (scope != null && !scope.fAllowSettingProperties && fgPropertyPermission.implies(perm)) {
+				// attempting to write a system property
+				throw new AntSecurityException();
+			}
+			super.checkPermission(perm);
+		}
+	}
+}
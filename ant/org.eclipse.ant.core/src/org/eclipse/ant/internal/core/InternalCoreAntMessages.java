@@ -33,6 +33,11 @@ public class InternalCoreAntMessages extends NLS {
 
 	public static String AntSecurityManager_0;
 
+	public static String AntSystemGuard_0;
+
+	public static String AntBatchRunner_No_manifest;
+	public static String AntBatchRunner_No_summary;
+
 	static {
 		// load message values from bundle file
 		NLS.initializeMessages(BUNDLE_NAME, InternalCoreAntMessages.class);
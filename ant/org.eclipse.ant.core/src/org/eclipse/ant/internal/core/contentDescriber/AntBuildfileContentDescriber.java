@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -87,6 +87,18 @@ public final class AntBuildfileContentDescriber extends XMLContentDescriber impl
 		}
 		// super.describe will have consumed some chars, need to rewind
 		contents.reset();
+		// most files are decided by their first bytes
+		byte[] bytes = new byte[AntBuildfileSniffer.SNIFF_LENGTH];
+		int length = 0;
+		int read = 0;
+		while (length < bytes.length && (read = contents.read(bytes, length, bytes.length - length)) != -1) {
+			length += read;
+		}
+		int result = AntBuildfileSniffer.sniff(bytes, length, read == -1);
+		if (result != AntBuildfileSniffer.AMBIGUOUS) {
+			return result;
+		}
+		contents.reset();
 		// Check to see if we matched our criteria.
 		return checkCriteria(new InputSource(contents));
 	}
@@ -99,6 +111,18 @@ public final class AntBuildfileContentDescriber extends XMLContentDescriber impl
 		}
 		// super.describe will have consumed some chars, need to rewind
 		contents.reset();
+		// most files are decided by their first characters
+		char[] chars = new char[AntBuildfileSniffer.SNIFF_LENGTH];
+		int length = 0;
+		int read = 0;
+		while (length < chars.length && (read = contents.read(chars, length, chars.length - length)) != -1) {
+			length += read;
+		}
+		int result = AntBuildfileSniffer.sniff(chars, length, read == -1);
+		if (result != AntBuildfileSniffer.AMBIGUOUS) {
+			return result;
+		}
+		contents.reset();
 		// Check to see if we matched our criteria.
 		return checkCriteria(new InputSource(contents));
 	}
@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.core.contentDescriber;
+
+import org.eclipse.core.runtime.content.IContentDescriber;
+
+/**
+ * Recognizes Ant buildfiles from the first characters of their contents without an XML parser, with the same criteria as the {@link AntHandler}:
+ * a <code>project</code> root element with a <code>default</code> attribute, a <code>target</code> child element or another typical Ant child
+ * element.
+ * <p>
+ * Anything the scan is not sure to read the way an XML parser would, such as an internal DTD subset, entity references, prefixed names, characters
+ * outside of ASCII in names or contents that end before a decision, makes it answer {@link #AMBIGUOUS} so the contents are parsed.
+ * </p>
+ */
+public final class AntBuildfileSniffer {
+
+	/**
+	 * The number of bytes or characters read for the scan
+	 */
+	public static final int SNIFF_LENGTH = 8 * 1024;
+
+	/**
+	 * The scan could not decide
+	 */
+	public static final int AMBIGUOUS = -1;
+
+	private static final String[] ANT_ELEMENTS = { "target", "macrodef", "taskdef", "typedef", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			"property", "classpath", "path", "import" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private static final String[] PREDEFINED_REFERENCES = { "&#", "&amp;", "&lt;", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"&gt;", "&quot;", "&apos;" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private static final int START_TAG = 1;
+	private static final int EMPTY_TAG = 2;
+
+	private final char[] text;
+	private final int length;
+	private int pos = 0;
+	private boolean rootIsProject = false;
+	private boolean hasDefault = false;
+
+	private AntBuildfileSniffer(char[] text, int length) {
+		this.text = text;
+		this.length = length;
+	}
+
+	/**
+	 * Scans the given bytes, read in an encoding compatible with ASCII.
+	 *
+	 * @param bytes
+	 *            the first bytes of the contents
+	 * @param length
+	 *            the number of bytes read
+	 * @param complete
+	 *            whether the bytes are the whole contents
+	 * @return {@link IContentDescriber#VALID}, {@link IContentDescriber#INDETERMINATE} or {@link #AMBIGUOUS}
+	 */
+	public static int sniff(byte[] bytes, int length, boolean complete) {
+		int start = 0;
+		if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+			// UTF-8 byte order mark
+			start = 3;
+		}
+		char[] text = new char[length - start];
+		for (int i = start; i < length; i++) {
+			// bytes outside of ASCII are never part of a name the scan accepts
+			text[i - start] = (char) (bytes[i] & 0xFF);
+		}
+		return sniff(text, text.length, complete);
+	}
+
+	/**
+	 * Scans the given characters.
+	 *
+	 * @param text
+	 *            the first characters of the contents
+	 * @param length
+	 *            the number of characters read
+	 * @param complete
+	 *            whether the characters are the whole contents
+	 * @return {@link IContentDescriber#VALID}, {@link IContentDescriber#INDETERMINATE} or {@link #AMBIGUOUS}
+	 */
+	public static int sniff(char[] text, int length, boolean complete) {
+		int start = length > 0 && text[0] == '\uFEFF' ? 1 : 0;
+		AntBuildfileSniffer sniffer = new AntBuildfileSniffer(text, length);
+		sniffer.pos = start;
+		int result = sniffer.scan();
+		if (result == AMBIGUOUS && complete && sniffer.pos >= length && sniffer.rootIsProject) {
+			// the whole contents were read without finding what makes a buildfile
+			return IContentDescriber.INDETERMINATE;
+		}
+		return result;
+	}
+
+	private int scan() {
+		// prolog: XML declaration, comments, processing instructions and a document type without internal subset
+		while (true) {
+			skipWhitespace();
+			if (pos >= length) {
+				return AMBIGUOUS;
+			}
+			if (text[pos] != '<') {
+				return AMBIGUOUS;
+			}
+			if (startsWith("<?")) { //$NON-NLS-1$
+				if (!skipPast("?>")) { //$NON-NLS-1$
+					return AMBIGUOUS;
+				}
+			} else if (startsWith("<!--")) { //$NON-NLS-1$
+				if (!skipPast("-->")) { //$NON-NLS-1$
+					return AMBIGUOUS;
+				}
+			} else if (startsWith("<!DOCTYPE")) { //$NON-NLS-1$
+				if (!skipDoctype()) {
+					return AMBIGUOUS;
+				}
+			} else {
+				break;
+			}
+		}
+
+		// root element
+		pos++;
+		String name = readName();
+		if (name == null) {
+			return AMBIGUOUS;
+		}
+		if (!"project".equals(name)) { //$NON-NLS-1$
+			return IContentDescriber.INDETERMINATE;
+		}
+		rootIsProject = true;
+		int tag = readAttributes();
+		if (tag == AMBIGUOUS) {
+			return AMBIGUOUS;
+		}
+		if (hasDefault) {
+			return IContentDescriber.VALID;
+		}
+		if (tag == EMPTY_TAG) {
+			return IContentDescriber.INDETERMINATE;
+		}
+
+		// content of the root element
+		int level = 1;
+		while (pos < length) {
+			char c = text[pos];
+			if (c == '&') {
+				if (isPredefinedReference()) {
+					pos++;
+					continue;
+				}
+				// any other entity may stand for elements
+				return AMBIGUOUS;
+			}
+			if (c != '<') {
+				pos++;
+				continue;
+			}
+			if (startsWith("<!--")) { //$NON-NLS-1$
+				if (!skipPast("-->")) { //$NON-NLS-1$
+					return AMBIGUOUS;
+				}
+			} else if (startsWith("<![CDATA[")) { //$NON-NLS-1$
+				if (!skipPast("]]>")) { //$NON-NLS-1$
+					return AMBIGUOUS;
+				}
+			} else if (startsWith("<?")) { //$NON-NLS-1$
+				if (!skipPast("?>")) { //$NON-NLS-1$
+					return AMBIGUOUS;
+				}
+			} else if (startsWith("</")) { //$NON-NLS-1$
+				pos += 2;
+				if (readName() == null || !skipPast(">")) { //$NON-NLS-1$
+					return AMBIGUOUS;
+				}
+				level--;
+				if (level == 0) {
+					// the root element ended without what makes a buildfile
+					return IContentDescriber.INDETERMINATE;
+				}
+			} else {
+				pos++;
+				String element = readName();
+				if (element == null) {
+					return AMBIGUOUS;
+				}
+				if (level == 1 && isAntElement(element)) {
+					return IContentDescriber.VALID;
+				}
+				int childTag = readAttributes();
+				if (childTag == AMBIGUOUS) {
+					return AMBIGUOUS;
+				}
+				if (childTag == START_TAG) {
+					level++;
+				}
+			}
+		}
+		return AMBIGUOUS;
+	}
+
+	/**
+	 * Reads the attributes of a start tag up to its end, recording whether it has a <code>default</code> attribute.
+	 *
+	 * @return {@link #START_TAG}, {@link #EMPTY_TAG} or {@link #AMBIGUOUS}
+	 */
+	private int readAttributes() {
+		hasDefault = false;
+		while (true) {
+			boolean space = skipWhitespace();
+			if (pos >= length) {
+				return AMBIGUOUS;
+			}
+			char c = text[pos];
+			if (c == '>') {
+				pos++;
+				return START_TAG;
+			}
+			if (c == '/') {
+				if (pos + 1 < length && text[pos + 1] == '>') {
+					pos += 2;
+					return EMPTY_TAG;
+				}
+				return AMBIGUOUS;
+			}
+			if (!space) {
+				return AMBIGUOUS;
+			}
+			String attribute = readName();
+			if (attribute == null) {
+				return AMBIGUOUS;
+			}
+			skipWhitespace();
+			if (pos >= length || text[pos] != '=') {
+				return AMBIGUOUS;
+			}
+			pos++;
+			skipWhitespace();
+			if (pos >= length || (text[pos] != '"' && text[pos] != '\'')) {
+				return AMBIGUOUS;
+			}
+			char quote = text[pos++];
+			while (pos < length && text[pos] != quote) {
+				if (text[pos] == '<') {
+					return AMBIGUOUS;
+				}
+				pos++;
+			}
+			if (pos >= length) {
+				return AMBIGUOUS;
+			}
+			pos++;
+			if ("default".equals(attribute)) { //$NON-NLS-1$
+				hasDefault = true;
+			}
+		}
+	}
+
+	/**
+	 * Reads an ASCII name without prefix.
+	 *
+	 * @return the name, or <code>null</code> if there is none or the scan cannot be sure of it
+	 */
+	private String readName() {
+		int start = pos;
+		while (pos < length) {
+			char c = text[pos];
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || (pos > start && ((c >= '0' && c <= '9') || c == '-' || c == '.'))) {
+				pos++;
+			} else if (c == ':' || c > 0x7F) {
+				return null;
+			} else {
+				break;
+			}
+		}
+		if (pos == start || pos >= length) {
+			return null;
+		}
+		return new String(text, start, pos - start);
+	}
+
+	private boolean skipDoctype() {
+		pos += "<!DOCTYPE".length(); //$NON-NLS-1$
+		while (pos < length) {
+			char c = text[pos];
+			if (c == '[') {
+				// an internal subset may declare entities and default attributes
+				return false;
+			}
+			if (c == '"' || c == '\'') {
+				int end = indexOf(c, pos + 1);
+				if (end == -1) {
+					return false;
+				}
+				pos = end + 1;
+				continue;
+			}
+			pos++;
+			if (c == '>') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isAntElement(String name) {
+		for (String element : ANT_ELEMENTS) {
+			if (element.equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isPredefinedReference() {
+		for (String reference : PREDEFINED_REFERENCES) {
+			if (startsWith(reference)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean skipWhitespace() {
+		int start = pos;
+		while (pos < length && (text[pos] == ' ' || text[pos] == '\t' || text[pos] == '\n' || text[pos] == '\r')) {
+			pos++;
+		}
+		return pos > start;
+	}
+
+	private boolean startsWith(String prefix) {
+		if (pos + prefix.length() > length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (text[pos + i] != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean skipPast(String end) {
+		for (int i = pos; i + end.length() <= length; i++) {
+			boolean found = true;
+			for (int j = 0; j < end.length(); j++) {
+				if (text[i + j] != end.charAt(j)) {
+					found = false;
+					break;
+				}
+			}
+			if (found) {
+				pos = i + end.length();
+				return true;
+			}
+		}
+		pos = length;
+		return false;
+	}
+
+	private int indexOf(char c, int from) {
+		for (int i = from; i < length; i++) {
+			if (text[i] == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2011 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,8 @@ package org.eclipse.ant.internal.core.contentDescriber;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -71,7 +73,12 @@ public final class AntHandler extends DefaultHandler {
 	 * successful to the point of finding the top-level element.
 	 */
 	private String fTopElementFound = null;
-	private SAXParserFactory fFactory;
+
+	/**
+	 * The factory shared by the handlers, and the parsers they finished with, ready to be used again
+	 */
+	private static SAXParserFactory fgFactory = null;
+	private static final BlockingQueue<SAXParser> fgParsers = new ArrayBlockingQueue<>(4);
 
 	private boolean fDefaultAttributeFound = false;
 	private boolean fTargetFound = false;
@@ -90,7 +97,18 @@ public final class AntHandler extends DefaultHandler {
 	 */
 	private final SAXParser createParser(SAXParserFactory parserFactory) throws ParserConfigurationException, SAXException, SAXNotRecognizedException, SAXNotSupportedException {
 		// Initialize the parser.
-		final SAXParser parser = parserFactory.newSAXParser();
+		final SAXParser parser;
+		synchronized (parserFactory) {
+			parser = parserFactory.newSAXParser();
+		}
+		configure(parser);
+		return parser;
+	}
+
+	/**
+	 * Sets the features of a new or reset parser.
+	 */
+	private static void configure(SAXParser parser) throws SAXException {
 		final XMLReader reader = parser.getXMLReader();
 		// disable DTD validation (bug 63625)
 		try {
@@ -104,28 +122,53 @@ public final class AntHandler extends DefaultHandler {
 		catch (SAXNotSupportedException e) {
 			// not a big deal if the parser does not support the features
 		}
-		return parser;
 	}
 
-	private SAXParserFactory getFactory() {
-		synchronized (this) {
-			if (fFactory != null) {
-				return fFactory;
+	private static SAXParserFactory getFactory() {
+		synchronized (AntHandler.class) {
+			if (fgFactory != null) {
+				return fgFactory;
 			}
-			fFactory = SAXParserFactory.newInstance();
-			fFactory.setNamespaceAware(true);
+			fgFactory = SAXParserFactory.newInstance();
+			fgFactory.setNamespaceAware(true);
+		}
+		return fgFactory;
+	}
+
+	/**
+	 * Returns a parser used before if one is available, a new parser otherwise.
+	 */
+	private SAXParser getParser(SAXParserFactory parserFactory) throws ParserConfigurationException, SAXException {
+		SAXParser parser = fgParsers.poll();
+		if (parser == null) {
+			return createParser(parserFactory);
 		}
-		return fFactory;
+		return parser;
+	}
+
+	/**
+	 * Resets the given parser and keeps it for the next handler, unless enough parsers are kept already.
+	 */
+	private static void releaseParser(SAXParser parser) {
+		try {
+			parser.reset();
+			configure(parser);
+		}
+		catch (SAXException | UnsupportedOperationException e) {
+			// the parser cannot be used again
+			return;
+		}
+		fgParsers.offer(parser);
 	}
 
 	protected boolean parseContents(InputSource contents) throws IOException, ParserConfigurationException, SAXException {
 		// Parse the file into we have what we need (or an error occurs).
+		SAXParserFactory factory = getFactory();
+		if (factory == null) {
+			return false;
+		}
+		final SAXParser parser = getParser(factory);
 		try {
-			fFactory = getFactory();
-			if (fFactory == null) {
-				return false;
-			}
-			final SAXParser parser = createParser(fFactory);
 			// to support external entities specified as relative URIs (see bug 63298)
 			contents.setSystemId("/"); //$NON-NLS-1$
 			parser.parse(contents, this);
@@ -133,6 +176,9 @@ public final class AntHandler extends DefaultHandler {
 		catch (StopParsingException e) {
 			// Abort the parsing normally. Fall through...
 		}
+		finally {
+			releaseParser(parser);
+		}
 		return true;
 	}
 
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.core.ant;
+
+import java.io.PrintStream;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.tools.ant.BuildEvent;
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.BuildListener;
+import org.apache.tools.ant.BuildLogger;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.Target;
+import org.eclipse.ant.internal.core.AntSystemGuard;
+import org.eclipse.ant.internal.core.IAntCoreConstants;
+
+/**
+ * Executes the targets of a build on a fork-join pool, each target as soon as the targets it depends on succeeded, for the <code>-parallel</code>
+ * argument. Like the {@link EclipseSingleCheckExecutor}, every target runs at most once even if several requested targets depend on it.
+ * <p>
+ * The messages of a target reach the build loggers together once the target finished, so the logs of targets running at the same time do not
+ * interleave. Other listeners, and the <code>-jsonlog</code> logger whose lines stand on their own, receive the events as they happen, as they
+ * do for the <code>parallel</code> task.
+ * </p>
+ */
+public class EclipseParallelExecutor extends EclipseDefaultExecutor {
+
+	/**
+	 * The logger events of the target running on the current thread, or <code>null</code>
+	 */
+	private static final ThreadLocal<List<Runnable>> targetEvents = new ThreadLocal<>();
+
+	/**
+	 * Keeps the events of different targets from reaching the loggers at the same time
+	 */
+	private static final Object loggerLock = new Object();
+
+	private final int parallelism;
+
+	/**
+	 * Creates an executor running at most the given number of targets at a time.
+	 *
+	 * @param parallelism
+	 *            the number of threads of the pool
+	 */
+	public EclipseParallelExecutor(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public void executeTargets(Project project, String[] targetNames) throws BuildException {
+		Vector<String> v = new Vector<>();
+		v.addAll(Arrays.asList(targetNames));
+		project.addReference(IAntCoreConstants.TARGET_VECTOR_NAME, v);
+
+		Vector<Target> sortedTargets = project.topoSort(targetNames, project.getTargets(), false);
+		Vector<BuildListener> listeners = project.getBuildListeners();
+		setListeners(project, bufferLoggers(listeners));
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			execute(project, sortedTargets, pool);
+		}
+		finally {
+			pool.shutdown();
+			setListeners(project, listeners);
+		}
+	}
+
+	private void execute(Project project, List<Target> sortedTargets, ForkJoinPool pool) {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		AntSystemGuard.Scope restriction = AntSystemGuard.getRestriction();
+		List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+		Map<String, CompletableFuture<Boolean>> results = new HashMap<>();
+		for (Target target : sortedTargets) {
+			// the dependencies come first in the sorted targets
+			List<String> dependencyNames = new ArrayList<>();
+			List<CompletableFuture<Boolean>> dependencies = new ArrayList<>();
+			Enumeration<String> names = target.getDependencies();
+			while (names.hasMoreElements()) {
+				String name = names.nextElement();
+				CompletableFuture<Boolean> dependency = results.get(name);
+				if (dependency != null) {
+					dependencyNames.add(name);
+					dependencies.add(dependency);
+				}
+			}
+			CompletableFuture<Void> ready = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[dependencies.size()]));
+			CompletableFuture<Boolean> result = ready.thenApplyAsync(ignored -> {
+				for (int i = 0; i < dependencies.size(); i++) {
+					if (!dependencies.get(i).join().booleanValue()) {
+						if (project.isKeepGoingMode()) {
+							project.log(MessageFormat.format(InternalAntMessages.EclipseParallelExecutor_Cannot_execute, new Object[] {
+									target.getName(), dependencyNames.get(i) }), Project.MSG_ERR);
+						}
+						return Boolean.FALSE;
+					}
+				}
+				if (!failures.isEmpty() && !project.isKeepGoingMode()) {
+					return Boolean.FALSE;
+				}
+				return Boolean.valueOf(execute(target, contextClassLoader, restriction, failures));
+			}, pool);
+			results.put(target.getName(), result);
+		}
+		CompletableFuture.allOf(results.values().toArray(new CompletableFuture<?>[results.size()])).join();
+		if (!failures.isEmpty()) {
+			throw getBuildFailure(project, failures);
+		}
+	}
+
+	/**
+	 * Returns the exception failing the build for the given failures of targets, in the order they failed. As with the executors of Ant, it is the
+	 * first build exception, or the first failure itself unless it is an error or the build keeps going, wrapped in a build exception otherwise.
+	 * The other failures are added to it as suppressed exceptions, as targets running at the same time may all fail.
+	 */
+	private static RuntimeException getBuildFailure(Project project, List<Throwable> failures) {
+		Throwable first = failures.get(0);
+		RuntimeException thrown = null;
+		if (project.isKeepGoingMode()) {
+			for (Throwable failure : failures) {
+				if (failure instanceof BuildException) {
+					thrown = (BuildException) failure;
+					break;
+				}
+			}
+		} else if (first instanceof RuntimeException) {
+			thrown = (RuntimeException) first;
+		}
+		if (thrown == null) {
+			thrown = new BuildException(first);
+		}
+		for (Throwable failure : failures) {
+			if (failure != thrown) {
+				thrown.addSuppressed(failure);
+			}
+		}
+		return thrown;
+	}
+
+	private boolean execute(Target target, ClassLoader contextClassLoader, AntSystemGuard.Scope buildRestriction, List<Throwable> failures) {
+		Thread thread = Thread.currentThread();
+		ClassLoader originalClassLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(contextClassLoader);
+		List<Runnable> events = new ArrayList<>();
+		targetEvents.set(events);
+		// the same restrictions as the build thread, as part of its run
+		try (AntSystemGuard.Scope restriction = AntSystemGuard.restrict(buildRestriction)) {
+			target.performTasks();
+			return true;
+		}
+		catch (RuntimeException | Error e) {
+			failures.add(e);
+			if (target.getProject().isKeepGoingMode()) {
+				target.getProject().log(MessageFormat.format(InternalAntMessages.EclipseParallelExecutor_Target_failed, new Object[] { target.getName(),
+						e.getMessage() }), Project.MSG_ERR);
+				if (!(e instanceof BuildException)) {
+					e.printStackTrace(System.err);
+				}
+			}
+			return false;
+		}
+		finally {
+			targetEvents.remove();
+			synchronized (loggerLock) {
+				for (Runnable event : events) {
+					event.run();
+				}
+			}
+			thread.setContextClassLoader(originalClassLoader);
+		}
+	}
+
+	private static List<BuildListener> bufferLoggers(List<BuildListener> listeners) {
+		List<BuildListener> buffered = new ArrayList<>(listeners.size());
+		for (BuildListener listener : listeners) {
+			boolean buffer = listener instanceof BuildLogger && !(listener instanceof JsonLinesLogger && ((JsonLinesLogger) listener).writesOwnFile());
+			buffered.add(buffer ? new TargetBufferedLogger((BuildLogger) listener) : listener);
+		}
+		return buffered;
+	}
+
+	private static void setListeners(Project project, List<BuildListener> listeners) {
+		for (BuildListener listener : project.getBuildListeners()) {
+			project.removeBuildListener(listener);
+		}
+		for (BuildListener listener : listeners) {
+			project.addBuildListener(listener);
+		}
+	}
+
+	/**
+	 * Holds back the events of a target running on a thread of the pool until the target finished.
+	 */
+	private static class TargetBufferedLogger implements BuildLogger {
+
+		private final BuildLogger logger;
+
+		TargetBufferedLogger(BuildLogger logger) {
+			this.logger = logger;
+		}
+
+		private void dispatch(Runnable event) {
+			List<Runnable> events = targetEvents.get();
+			if (events != null) {
+				long time = System.currentTimeMillis();
+				events.add(() -> JsonLinesLogger.logHeldEvent(time, event));
+				return;
+			}
+			synchronized (loggerLock) {
+				event.run();
+			}
+		}
+
+		@Override
+		public void buildStarted(BuildEvent event) {
+			dispatch(() -> logger.buildStarted(event));
+		}
+
+		@Override
+		public void buildFinished(BuildEvent event) {
+			dispatch(() -> logger.buildFinished(event));
+		}
+
+		@Override
+		public void targetStarted(BuildEvent event) {
+			dispatch(() -> logger.targetStarted(event));
+		}
+
+		@Override
+		public void targetFinished(BuildEvent event) {
+			dispatch(() -> logger.targetFinished(event));
+		}
+
+		@Override
+		public void taskStarted(BuildEvent event) {
+			dispatch(() -> logger.taskStarted(event));
+		}
+
+		@Override
+		public void taskFinished(BuildEvent event) {
+			dispatch(() -> logger.taskFinished(event));
+		}
+
+		@Override
+		public void messageLogged(BuildEvent event) {
+			dispatch(() -> logger.messageLogged(event));
+		}
+
+		@Override
+		public void setMessageOutputLevel(int level) {
+			logger.setMessageOutputLevel(level);
+		}
+
+		@Override
+		public void setOutputPrintStream(PrintStream output) {
+			logger.setOutputPrintStream(output);
+		}
+
+		@Override
+		public void setEmacsMode(boolean emacsMode) {
+			logger.setEmacsMode(emacsMode);
+		}
+
+		@Override
+		public void setErrorPrintStream(PrintStream err) {
+			logger.setErrorPrintStream(err);
+		}
+	}
+}
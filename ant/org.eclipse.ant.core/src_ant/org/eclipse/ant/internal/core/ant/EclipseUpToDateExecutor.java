@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.core.ant;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Vector;
+
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.PropertyHelper;
+import org.apache.tools.ant.Target;
+import org.eclipse.ant.internal.core.IAntCoreConstants;
+
+/**
+ * Skips the targets whose declared inputs and outputs did not change since they last succeeded, for the <code>-uptodate</code> and
+ * <code>-rebuild</code> arguments. The inputs and outputs of the targets are declared in a descriptor next to the build file, see
+ * {@link TargetFingerprints}. Targets without declaration always run.
+ * <p>
+ * Whether a target is up to date is decided when it would run, after the targets it depends on, which may have changed its inputs. With
+ * <code>-rebuild</code> every target runs and its fingerprint is recorded again.
+ * </p>
+ */
+public class EclipseUpToDateExecutor extends EclipseDefaultExecutor {
+
+	private final boolean rebuild;
+
+	private int skipped;
+	private int run;
+
+	/**
+	 * Creates an executor skipping the targets that are up to date.
+	 *
+	 * @param rebuild
+	 *            whether to run all the targets and only record their fingerprints
+	 */
+	public EclipseUpToDateExecutor(boolean rebuild) {
+		this.rebuild = rebuild;
+	}
+
+	@Override
+	public void executeTargets(Project project, String[] targetNames) throws BuildException {
+		Vector<String> v = new Vector<>();
+		v.addAll(Arrays.asList(targetNames));
+		project.addReference(IAntCoreConstants.TARGET_VECTOR_NAME, v);
+
+		TargetFingerprints fingerprints = TargetFingerprints.load(project);
+		skipped = 0;
+		run = 0;
+		BuildException thrownException = null;
+		try {
+			for (String targetName : targetNames) {
+				try {
+					project.executeSortedTargets(wrap(project.topoSort(targetName, project.getTargets(), false), fingerprints));
+				}
+				catch (BuildException ex) {
+					if (!project.isKeepGoingMode()) {
+						throw ex;
+					}
+					thrownException = ex;
+				}
+			}
+		}
+		finally {
+			fingerprints.save();
+			if (skipped + run > 0) {
+				project.log(MessageFormat.format(InternalAntMessages.EclipseUpToDateExecutor_Statistics, new Object[] { Integer.toString(skipped),
+						Integer.toString(skipped + run) }), Project.MSG_INFO);
+			}
+		}
+		if (thrownException != null) {
+			throw thrownException;
+		}
+	}
+
+	private Vector<Target> wrap(Vector<Target> sortedTargets, TargetFingerprints fingerprints) {
+		Vector<Target> wrapped = new Vector<>(sortedTargets.size());
+		for (Target target : sortedTargets) {
+			wrapped.add(fingerprints.declares(target.getName()) ? new FingerprintedTarget(target, fingerprints) : target);
+		}
+		return wrapped;
+	}
+
+	/**
+	 * A copy of a target with declared inputs and outputs, sharing its tasks, that checks and records its fingerprint around the tasks.
+	 */
+	private class FingerprintedTarget extends Target {
+
+		private final TargetFingerprints fingerprints;
+
+		FingerprintedTarget(Target target, TargetFingerprints fingerprints) {
+			super(target);
+			this.fingerprints = fingerprints;
+		}
+
+		@Override
+		public void execute() throws BuildException {
+			PropertyHelper helper = PropertyHelper.getPropertyHelper(getProject());
+			if (!helper.testIfCondition(getIf()) || !helper.testUnlessCondition(getUnless())) {
+				// skipped by its condition, which logs why
+				super.execute();
+				return;
+			}
+			if (!rebuild && fingerprints.isUpToDate(getName())) {
+				skipped++;
+				getProject().log(this, InternalAntMessages.EclipseUpToDateExecutor_Up_to_date, Project.MSG_VERBOSE);
+				return;
+			}
+			run++;
+			// a failure must not leave the previous record behind
+			fingerprints.forget(getName());
+			super.execute();
+			fingerprints.record(getName());
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,4 +26,12 @@ public class ExecutorSetter {
 		Executor executor = new EclipseDefaultExecutor();
 		project.setExecutor(executor);
 	}
+
+	protected void setParallelExecutor(Project project, int parallelism) {
+		project.setExecutor(new EclipseParallelExecutor(parallelism));
+	}
+
+	protected void setUpToDateExecutor(Project project, boolean rebuild) {
+		project.setExecutor(new EclipseUpToDateExecutor(rebuild));
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2022 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -65,7 +65,26 @@ public class InternalAntMessages extends NLS {
 
 	public static String InternalProject_could_not_create_type;
 
-	public static String InternalAntRunner_SecurityManagerError;
+	public static String InternalAntRunner_specify_a_number_of_threads_using_the_parallel_argument;
+	public static String InternalAntRunner_specify_a_file_using_the_profilefile_argument;
+	public static String InternalAntRunner_parallel_is_an_Ant_1_6_3_feature;
+	public static String EclipseParallelExecutor_Cannot_execute;
+	public static String EclipseParallelExecutor_Target_failed;
+
+	public static String InternalAntRunner_uptodate_and_parallel;
+	public static String InternalAntRunner_uptodate_is_an_Ant_1_8_feature;
+	public static String InternalAntRunner_specify_a_size_using_the_logmaxsize_argument;
+	public static String InternalAntRunner_specify_a_time_using_the_logmaxtime_argument;
+	public static String InternalAntRunner_specify_a_file_using_the_jsonlog_argument;
+	public static String EclipseUpToDateExecutor_Up_to_date;
+	public static String EclipseUpToDateExecutor_Statistics;
+	public static String TargetFingerprints_Could_not_read;
+	public static String TargetFingerprints_Could_not_write;
+
+	public static String ProfilingBuildListener_Slowest_targets;
+	public static String ProfilingBuildListener_Target_profile;
+	public static String ProfilingBuildListener_Profile_written;
+	public static String ProfilingBuildListener_Could_not_write_profile;
 
 	static {
 		// load message values from bundle file
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2022 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -18,7 +18,6 @@ package org.eclipse.ant.internal.core.ant;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
@@ -62,7 +61,8 @@ import org.eclipse.ant.core.Task;
 import org.eclipse.ant.core.Type;
 import org.eclipse.ant.internal.core.AbstractEclipseBuildLogger;
 import org.eclipse.ant.internal.core.AntCoreUtil;
-import org.eclipse.ant.internal.core.AntSecurityManager;
+import org.eclipse.ant.internal.core.AntRuntimeSnapshot;
+import org.eclipse.ant.internal.core.AntSystemGuard;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.FileLocator;
@@ -105,6 +105,12 @@ public class InternalAntRunner {
 	 */
 	private String antVersionNumber = null;
 
+	/**
+	 * The parsed Ant version and whether it is compatible with the versions compared to so far
+	 */
+	private Version antVersion = null;
+	private Map<String, Boolean> versionCompatibility = new HashMap<>();
+
 	/** Current message output status. Follows Project.MSG_XXX */
 	private int messageOutputLevel = Project.MSG_INFO;
 
@@ -161,6 +167,29 @@ public class InternalAntRunner {
 
 	private boolean unknownTargetsFound = false;
 
+	/**
+	 * The listener recording target and task timings when <code>-profile</code> is specified
+	 */
+	private ProfilingBuildListener profiler = null;
+
+	/**
+	 * The size in bytes and the time in milliseconds after which the log file given with <code>-logfile</code> continues in a new segment, or
+	 * <code>0</code>
+	 */
+	private long logMaxSize = 0;
+	private long logMaxTime = 0;
+
+	/**
+	 * Indicates whether the log file given with <code>-logfile</code> is gzip compressed
+	 */
+	private boolean logGzip = false;
+
+	/**
+	 * The file given with <code>-jsonlog</code> and its logger, created before the build starts
+	 */
+	private String jsonLogFileName = null;
+	private JsonLinesLogger jsonLogger = null;
+
 	/**
 	 * Adds a build listener.
 	 *
@@ -295,8 +324,7 @@ public class InternalAntRunner {
 	}
 
 	private void setGlobalProperties(Project project, boolean substituteVariables) {
-		AntCorePreferences prefs = AntCorePlugin.getPlugin().getPreferences();
-		List<Property> properties = prefs.getProperties();
+		List<Property> properties = AntRuntimeSnapshot.getSnapshot(AntCorePlugin.getPlugin().getPreferences()).getProperties();
 		if (properties != null) {
 			for (Property property : properties) {
 				String value = property.getValue(substituteVariables);
@@ -308,9 +336,11 @@ public class InternalAntRunner {
 	}
 
 	private void setTasks(Project project) {
-		List<Task> tasks = AntCorePlugin.getPlugin().getPreferences().getTasks();
+		List<Task> tasks = AntRuntimeSnapshot.getSnapshot(AntCorePlugin.getPlugin().getPreferences()).getTasks();
+		boolean useDefinitions = isVersionCompatible("1.6"); //$NON-NLS-1$
+		boolean checkTaskClass = isVersionCompatible("1.5"); //$NON-NLS-1$
 		for (Task task : tasks) {
-			if (isVersionCompatible("1.6")) { //$NON-NLS-1$
+			if (useDefinitions) {
 				AntTypeDefinition def = new AntTypeDefinition();
 				String name = ProjectHelper.genComponentName(task.getURI(), task.getTaskName());
 				def.setName(name);
@@ -322,7 +352,7 @@ public class InternalAntRunner {
 			} else {
 				try {
 					Class<?> taskClass = Class.forName(task.getClassName());
-					if (isVersionCompatible("1.5")) { //$NON-NLS-1$
+					if (checkTaskClass) {
 						try {
 							project.checkTaskClass(taskClass);
 						}
@@ -345,8 +375,9 @@ public class InternalAntRunner {
 	}
 
 	private void setTypes(Project project) {
-		for (Type type : AntCorePlugin.getPlugin().getPreferences().getTypes()) {
-			if (isVersionCompatible("1.6")) { //$NON-NLS-1$
+		boolean useDefinitions = isVersionCompatible("1.6"); //$NON-NLS-1$
+		for (Type type : AntRuntimeSnapshot.getSnapshot(AntCorePlugin.getPlugin().getPreferences()).getTypes()) {
+			if (useDefinitions) {
 				AntTypeDefinition def = new AntTypeDefinition();
 				String name = ProjectHelper.genComponentName(type.getURI(), type.getTypeName());
 				def.setName(name);
@@ -595,11 +626,13 @@ public class InternalAntRunner {
 		PrintStream originalOut = System.out;
 		InputStream originalIn = System.in;
 
-		SecurityManager originalSM = System.getSecurityManager();
+		AntSystemGuard.Scope restriction = null;
 		setJavaClassPath();
 		executed = true;
 		processAntHome(false);
 		try {
+			// no exit from the build thread, also from the listeners, loggers and input handler created for the build
+			restriction = AntSystemGuard.restrict(true);
 			if (argList != null && (argList.remove("-projecthelp") || argList.remove("-p"))) { //$NON-NLS-1$ //$NON-NLS-2$
 				projectHelp = true;
 			}
@@ -614,6 +647,10 @@ public class InternalAntRunner {
 			boolean exceptionState = processProperties(argList);
 
 			addBuildListeners(getCurrentProject(), true);
+			if (!addJsonLogger(getCurrentProject())) {
+				executed = false;
+				return;
+			}
 
 			addInputHandler(getCurrentProject());
 
@@ -697,12 +734,6 @@ public class InternalAntRunner {
 			if (extraArguments != null) {
 				printArguments(getCurrentProject());
 			}
-			try {
-				System.setSecurityManager(new AntSecurityManager(originalSM, Thread.currentThread()));
-			}
-			catch (UnsupportedOperationException ex) {
-				AntCorePlugin.getPlugin().getLog().log(new Status(IStatus.ERROR, AntCorePlugin.PI_ANTCORE, 0, InternalAntMessages.InternalAntRunner_SecurityManagerError, null));
-			}
 			if (targets == null) {
 				targets = new Vector<>(1);
 			}
@@ -735,15 +766,22 @@ public class InternalAntRunner {
 			System.setErr(originalErr);
 			System.setOut(originalOut);
 			System.setIn(originalIn);
-			if (System.getSecurityManager() instanceof AntSecurityManager) {
-				System.setSecurityManager(originalSM);
-			}
 
-			if (!projectHelp) {
-				if (AntCorePlugin.getPlugin().getBundle().getState() != Bundle.ACTIVE) {
-					return;
+			try {
+				if (!projectHelp) {
+					if (AntCorePlugin.getPlugin().getBundle().getState() != Bundle.ACTIVE) {
+						return;
+					}
+					fireBuildFinished(getCurrentProject(), error);
+				}
+			}
+			catch (AntSecurityException e) {
+				// expected
+			}
+			finally {
+				if (restriction != null) {
+					restriction.close();
 				}
-				fireBuildFinished(getCurrentProject(), error);
 			}
 
 			// close any user specified build log
@@ -866,6 +904,10 @@ public class InternalAntRunner {
 
 			project.setProperty("XmlLogger.file", path.toOSString()); //$NON-NLS-1$
 		}
+		if (profiler != null) {
+			// report while the loggers are still listening
+			profiler.report(project);
+		}
 		if (error == null && executed) {
 			logMessage(project, InternalAntMessages.InternalAntRunner_BUILD_SUCCESSFUL_1, messageOutputLevel);
 		}
@@ -968,6 +1010,9 @@ public class InternalAntRunner {
 		if (buildLogger != null) {
 			buildLogger.setMessageOutputLevel(level);
 		}
+		if (jsonLogger != null) {
+			jsonLogger.setMessageOutputLevel(level);
+		}
 	}
 
 	/**
@@ -1021,10 +1066,15 @@ public class InternalAntRunner {
 	 * current version.
 	 */
 	protected boolean isVersionCompatible(String comparison) {
-		String version = getAntVersionNumber();
-		Version osgiVersion = new Version(version);
-		Version osgiComparison = new Version(comparison);
-		return osgiVersion.compareTo(osgiComparison) >= 0;
+		Boolean compatible = versionCompatibility.get(comparison);
+		if (compatible == null) {
+			if (antVersion == null) {
+				antVersion = new Version(getAntVersionNumber());
+			}
+			compatible = Boolean.valueOf(antVersion.compareTo(new Version(comparison)) >= 0);
+			versionCompatibility.put(comparison, compatible);
+		}
+		return compatible.booleanValue();
 	}
 
 	/**
@@ -1080,6 +1130,39 @@ public class InternalAntRunner {
 		if (arg != null) {
 			throw new BuildException(InternalAntMessages.InternalAntRunner_Only_one_input_handler_class_may_be_specified);
 		}
+
+		// the logger must see the build start
+		arg = AntCoreUtil.getArgument(commands, "-jsonlog"); //$NON-NLS-1$
+		if (arg != null) {
+			if (arg.length() == 0) {
+				throw new BuildException(InternalAntMessages.InternalAntRunner_specify_a_file_using_the_jsonlog_argument);
+			}
+			jsonLogFileName = arg;
+		}
+		return true;
+	}
+
+	/**
+	 * Adds the logger of the file given with <code>-jsonlog</code>, if any, to the given project.
+	 *
+	 * @return <code>false</code> if the file cannot be written, <code>true</code> otherwise
+	 */
+	private boolean addJsonLogger(Project project) {
+		if (jsonLogFileName == null) {
+			return true;
+		}
+		String baseDir = userProperties == null ? null : userProperties.get("basedir"); //$NON-NLS-1$
+		File jsonFile = AntCoreUtil.getFileRelativeToBaseDir(jsonLogFileName, baseDir, getBuildFileLocation());
+		try {
+			jsonLogger = new JsonLinesLogger(jsonFile);
+		}
+		catch (IOException e) {
+			logMessage(project, MessageFormat.format(InternalAntMessages.InternalAntRunner_Could_not_write_to_log_file, new Object[] {
+					jsonLogFileName }), Project.MSG_ERR);
+			return false;
+		}
+		jsonLogger.setMessageOutputLevel(messageOutputLevel);
+		project.addBuildListener(jsonLogger);
 		return true;
 	}
 
@@ -1098,6 +1181,20 @@ public class InternalAntRunner {
 	 * <li><b>-lib</b> <em>&lt;path&gt;</em> - specifies a path to search for jars and classes</li>
 	 * <li><b>-logfile</b>, <b>-l</b> <em>&lt;file&gt;</em> - use given file for logging</li>
 	 * <li><b>-noinput</b> - do not allow interactive input</li>
+	 * <li><b>-logmaxsize</b> <em>&lt;size&gt;</em> - continue the log file in a new segment once it reaches the given size, in bytes or with a
+	 * <code>k</code>, <code>m</code> or <code>g</code> unit</li>
+	 * <li><b>-logmaxtime</b> <em>&lt;time&gt;</em> - continue the log file in a new segment once it is older than the given time, in seconds or
+	 * with a <code>m</code> or <code>h</code> unit</li>
+	 * <li><b>-loggzip</b> - gzip compress the log file</li>
+	 * <li><b>-jsonlog</b> <em>&lt;file&gt;</em> - also write the build events to the given file as JSON Lines</li>
+	 * <li><b>-parallel</b> [<em>&lt;number&gt;</em>] - run the targets that do not depend on each other on up to the given number of threads, one
+	 * per processor by default</li>
+	 * <li><b>-uptodate</b> - skip the targets whose inputs and outputs declared next to the build file did not change since they last
+	 * succeeded</li>
+	 * <li><b>-rebuild</b> - run the targets skipped by <b>-uptodate</b> and record their inputs and outputs again</li>
+	 * <li><b>-profile</b> - record target and task timings and write them to <code>ant-profile.collapsed</code> in collapsed stack format</li>
+	 * <li><b>-profilefile</b> <em>&lt;file&gt;</em> - record target and task timings and write them to the given file in collapsed stack
+	 * format</li>
 	 * <li><b>-quiet</b>, <b>-q</b> - be extra quiet</li>
 	 * <li><b>-verbose</b>, <b>-v</b> - be extra verbose</li>
 	 * <li><b>-version</b> - print the version information and exit</li>
@@ -1164,7 +1261,17 @@ public class InternalAntRunner {
 			return false;
 		}
 
-		String arg = AntCoreUtil.getArgument(commands, "-logfile"); //$NON-NLS-1$
+		String arg = AntCoreUtil.getArgument(commands, "-logmaxsize"); //$NON-NLS-1$
+		if (arg != null) {
+			logMaxSize = parseLogLimit(arg, "kmg", 1024, InternalAntMessages.InternalAntRunner_specify_a_size_using_the_logmaxsize_argument); //$NON-NLS-1$
+		}
+		arg = AntCoreUtil.getArgument(commands, "-logmaxtime"); //$NON-NLS-1$
+		if (arg != null) {
+			logMaxTime = parseLogLimit(arg, "mh", 60, InternalAntMessages.InternalAntRunner_specify_a_time_using_the_logmaxtime_argument) * 1000; //$NON-NLS-1$
+		}
+		logGzip = commands.remove("-loggzip"); //$NON-NLS-1$
+
+		arg = AntCoreUtil.getArgument(commands, "-logfile"); //$NON-NLS-1$
 		if (arg == null) {
 			arg = AntCoreUtil.getArgument(commands, "-l"); //$NON-NLS-1$
 		}
@@ -1223,6 +1330,71 @@ public class InternalAntRunner {
 			return false;
 		}
 
+		int parallelism = 1;
+		int index = commands.indexOf("-parallel"); //$NON-NLS-1$
+		if (index != -1) {
+			commands.remove(index);
+			parallelism = Runtime.getRuntime().availableProcessors();
+			// the number is optional: the next argument is only taken when it is a number, as it may be a target name
+			if (index < commands.size()) {
+				try {
+					parallelism = Integer.parseInt(commands.get(index));
+					commands.remove(index);
+				}
+				catch (NumberFormatException e) {
+					// not the number of threads
+				}
+			}
+			if (parallelism <= 0) {
+				String message = InternalAntMessages.InternalAntRunner_specify_a_number_of_threads_using_the_parallel_argument;
+				logMessage(currentProject, message, Project.MSG_ERR);
+				throw new BuildException(message);
+			}
+			if (!isVersionCompatible("1.6.3")) { //$NON-NLS-1$
+				String message = InternalAntMessages.InternalAntRunner_parallel_is_an_Ant_1_6_3_feature;
+				logMessage(currentProject, message, Project.MSG_ERR);
+				throw new BuildException(message);
+			}
+			if (parallelism > 1) {
+				new ExecutorSetter().setParallelExecutor(currentProject, parallelism);
+			}
+		}
+
+		boolean upToDate = commands.remove("-uptodate"); //$NON-NLS-1$
+		boolean rebuild = commands.remove("-rebuild"); //$NON-NLS-1$
+		if (upToDate || rebuild) {
+			if (parallelism > 1) {
+				String message = InternalAntMessages.InternalAntRunner_uptodate_and_parallel;
+				logMessage(currentProject, message, Project.MSG_ERR);
+				throw new BuildException(message);
+			}
+			// the executor evaluates the if and unless conditions of the targets through the property helper of Ant 1.8
+			if (!isVersionCompatible("1.8")) { //$NON-NLS-1$
+				String message = InternalAntMessages.InternalAntRunner_uptodate_is_an_Ant_1_8_feature;
+				logMessage(currentProject, message, Project.MSG_ERR);
+				throw new BuildException(message);
+			}
+			new ExecutorSetter().setUpToDateExecutor(currentProject, rebuild);
+		}
+
+		// the file has its own argument, as an optional value of -profile could not be told apart from a target name
+		boolean profile = commands.remove("-profile"); //$NON-NLS-1$
+		arg = AntCoreUtil.getArgument(commands, "-profilefile"); //$NON-NLS-1$
+		if (arg != null) {
+			if (arg.length() == 0) {
+				String message = InternalAntMessages.InternalAntRunner_specify_a_file_using_the_profilefile_argument;
+				logMessage(currentProject, message, Project.MSG_ERR);
+				throw new BuildException(message);
+			}
+		} else if (profile) {
+			arg = "ant-profile.collapsed"; //$NON-NLS-1$
+		}
+		if (arg != null) {
+			File profileFile = AntCoreUtil.getFileRelativeToBaseDir(arg, currentProject.getUserProperty("basedir"), getBuildFileLocation()); //$NON-NLS-1$
+			profiler = new ProfilingBuildListener(profileFile);
+			currentProject.addBuildListener(profiler);
+		}
+
 		if (!commands.isEmpty()) {
 			processUnrecognizedCommands(commands);
 		}
@@ -1313,8 +1485,16 @@ public class InternalAntRunner {
 	protected void createLogFile(String fileName) throws FileNotFoundException, IOException {
 		File logFile = AntCoreUtil.getFileRelativeToBaseDir(fileName, currentProject.getUserProperty("basedir"), getBuildFileLocation()); //$NON-NLS-1$
 		// this stream is closed in the finally block of run(list)
-		out = new PrintStream(new FileOutputStream(logFile));
+		LogFileOutputStream stream = new LogFileOutputStream(logFile, logMaxSize, logMaxTime, logGzip);
+		out = new PrintStream(stream);
 		err = out;
+		currentProject.addBuildListener(stream.getTargetIndexer());
+		if (buildLogger != null) {
+			// Ant notifies the listeners in the order they were added: move the build logger after the indexer, so a target is indexed before
+			// its name is logged
+			currentProject.removeBuildListener(buildLogger);
+			currentProject.addBuildListener(buildLogger);
+		}
 		logMessage(currentProject, MessageFormat.format(InternalAntMessages.InternalAntRunner_Using_file_as_build_log, new Object[] {
 				logFile.getCanonicalPath() }), Project.MSG_INFO);
 		if (buildLogger != null) {
@@ -1323,6 +1503,46 @@ public class InternalAntRunner {
 		}
 	}
 
+	/**
+	 * Parses the limit of a <code>-logmaxsize</code> or <code>-logmaxtime</code> argument: a positive number followed by an optional unit,
+	 * <code>k</code>, <code>m</code> or <code>g</code> for sizes and <code>m</code> or <code>h</code> for times.
+	 *
+	 * @param arg
+	 *            the limit
+	 * @param units
+	 *            the letters of the units, from the smallest one
+	 * @param unit
+	 *            the factor between the base unit and the smallest unit, and between successive units
+	 * @param message
+	 *            the error reported if the limit is not valid
+	 * @return the limit in the base unit, bytes or seconds
+	 */
+	private long parseLogLimit(String arg, String units, int unit, String message) {
+		String number = arg.toLowerCase();
+		long factor = 1;
+		if (number.length() > 1) {
+			int index = units.indexOf(number.charAt(number.length() - 1));
+			if (index != -1) {
+				for (int i = 0; i <= index; i++) {
+					factor *= unit;
+				}
+				number = number.substring(0, number.length() - 1);
+			}
+		}
+		long limit = -1;
+		try {
+			limit = Long.parseLong(number) * factor;
+		}
+		catch (NumberFormatException e) {
+			// reported below
+		}
+		if (limit <= 0) {
+			logMessage(currentProject, message, Project.MSG_ERR);
+			throw new BuildException(message);
+		}
+		return limit;
+	}
+
 	/**
 	 * Processes the command line properties and adds the user properties. <br>
 	 * <br>
@@ -1438,18 +1658,12 @@ public class InternalAntRunner {
 			userProperties = new HashMap<>();
 		}
 		try {
-			List<Properties> allProperties = AntCoreUtil.loadPropertyFiles(propertyFiles, currentProject.getUserProperty("basedir"), getBuildFileLocation()); //$NON-NLS-1$
-			Iterator<Properties> iter = allProperties.iterator();
-			while (iter.hasNext()) {
-				Properties props = iter.next();
-				Enumeration<?> propertyNames = props.propertyNames();
-				while (propertyNames.hasMoreElements()) {
-					String name = (String) propertyNames.nextElement();
+			List<Map<String, String>> allProperties = AntCoreUtil.loadPropertyFiles(propertyFiles, currentProject.getUserProperty("basedir"), getBuildFileLocation()); //$NON-NLS-1$
+			for (Map<String, String> props : allProperties) {
+				for (Entry<String, String> entry : props.entrySet()) {
 					// most specific to global
 					// do not overwrite specific with a global property
-					if (userProperties.get(name) == null) {
-						userProperties.put(name, props.getProperty(name));
-					}
+					userProperties.putIfAbsent(entry.getKey(), entry.getValue());
 				}
 			}
 		}
@@ -1478,11 +1692,11 @@ public class InternalAntRunner {
 	 */
 	private void setJavaClassPath() {
 		URL[] antClasspath = null;
-		AntCorePreferences prefs = AntCorePlugin.getPlugin().getPreferences();
+		AntRuntimeSnapshot runtime = AntRuntimeSnapshot.getSnapshot(AntCorePlugin.getPlugin().getPreferences());
 		if (customClasspath == null) {
-			antClasspath = prefs.getURLs();
+			antClasspath = runtime.getURLs();
 		} else {
-			URL[] extraClasspath = prefs.getExtraClasspathURLs();
+			URL[] extraClasspath = runtime.getExtraClasspathURLs();
 			antClasspath = new URL[customClasspath.length + extraClasspath.length];
 			System.arraycopy(customClasspath, 0, antClasspath, 0, customClasspath.length);
 			System.arraycopy(extraClasspath, 0, antClasspath, customClasspath.length, extraClasspath.length);
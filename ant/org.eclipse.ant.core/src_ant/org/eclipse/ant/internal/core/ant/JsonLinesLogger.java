@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.core.ant;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.apache.tools.ant.BuildEvent;
+import org.apache.tools.ant.BuildLogger;
+import org.apache.tools.ant.Location;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.Target;
+import org.apache.tools.ant.Task;
+import org.eclipse.ant.internal.core.AntCoreUtil;
+
+/**
+ * Writes one JSON object per line for each build, target, task and message event, for the <code>-jsonlog</code> argument or as the
+ * <code>-logger</code>. For instance:
+ *
+ * <pre>
+ * {"event":"targetStarted","time":1767225600000,"thread":"main","project":"p","target":"compile","file":"/w/build.xml","line":12,"column":30}
+ * {"event":"messageLogged","time":1767225600004,"thread":"main","project":"p","target":"compile","task":"javac","priority":"info","message":"..."}
+ * </pre>
+ * <p>
+ * Nothing is kept between the events, so the memory used does not grow with the build. The lines are buffered and written when the buffer is
+ * full, at the end of each target, and otherwise by a timer within a second, also while a long task logs nothing, so the file can be followed
+ * while the build runs. With <code>-parallel</code>, a logger writing its own file receives the events as they occur, as each line names its
+ * thread and target; one writing the output stream of the runner receives them at the end of their target, stamped with the time they
+ * occurred.
+ * </p>
+ */
+public class JsonLinesLogger implements BuildLogger {
+
+	private static final long FLUSH_INTERVAL = 1000;
+	private static final String[] PRIORITIES = {
+			"error", "warn", "info", "verbose", "debug" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	/**
+	 * The time of the event being logged on the current thread when it was held back, or <code>null</code>
+	 */
+	private static final ThreadLocal<Long> heldEventTime = new ThreadLocal<>();
+
+	private final boolean ownsWriter;
+	private Writer writer;
+	private int messageOutputLevel = Project.MSG_INFO;
+	private boolean unflushed = false;
+	private Timer flushTimer = null;
+
+	/**
+	 * Creates a logger writing to the output stream given by the runner.
+	 */
+	public JsonLinesLogger() {
+		ownsWriter = false;
+	}
+
+	/**
+	 * Creates a logger writing to the given file, which it closes when the build finished.
+	 *
+	 * @param file
+	 *            the file to write
+	 * @throws IOException
+	 *             if the file cannot be created
+	 */
+	public JsonLinesLogger(File file) throws IOException {
+		writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), 64 * 1024);
+		ownsWriter = true;
+	}
+
+	@Override
+	public void buildStarted(BuildEvent event) {
+		write(start("buildStarted", event), false); //$NON-NLS-1$
+		startFlushing();
+	}
+
+	@Override
+	public void buildFinished(BuildEvent event) {
+		write(appendException(start("buildFinished", event), event), true); //$NON-NLS-1$
+		synchronized (this) {
+			if (flushTimer != null) {
+				flushTimer.cancel();
+				flushTimer = null;
+			}
+		}
+		if (ownsWriter) {
+			synchronized (this) {
+				try {
+					if (writer != null) {
+						writer.close();
+					}
+				}
+				catch (IOException e) {
+					// nothing to report to
+				}
+				writer = null;
+			}
+		}
+	}
+
+	@Override
+	public void targetStarted(BuildEvent event) {
+		write(appendLocation(start("targetStarted", event), event.getTarget().getLocation()), false); //$NON-NLS-1$
+	}
+
+	@Override
+	public void targetFinished(BuildEvent event) {
+		write(appendException(start("targetFinished", event), event), true); //$NON-NLS-1$
+	}
+
+	@Override
+	public void taskStarted(BuildEvent event) {
+		write(appendLocation(start("taskStarted", event), event.getTask().getLocation()), false); //$NON-NLS-1$
+	}
+
+	@Override
+	public void taskFinished(BuildEvent event) {
+		write(appendException(start("taskFinished", event), event), false); //$NON-NLS-1$
+	}
+
+	@Override
+	public void messageLogged(BuildEvent event) {
+		int priority = event.getPriority();
+		if (priority > messageOutputLevel) {
+			return;
+		}
+		StringBuilder buffer = start("messageLogged", event); //$NON-NLS-1$
+		buffer.append(",\"priority\":\"").append(PRIORITIES[Math.max(0, Math.min(priority, PRIORITIES.length - 1))]).append('"'); //$NON-NLS-1$
+		AntCoreUtil.appendJSONString(buffer.append(",\"message\":"), event.getMessage()); //$NON-NLS-1$
+		write(buffer, false);
+	}
+
+	@Override
+	public void setMessageOutputLevel(int level) {
+		messageOutputLevel = level;
+	}
+
+	@Override
+	public synchronized void setOutputPrintStream(PrintStream output) {
+		if (ownsWriter) {
+			return;
+		}
+		if (writer != null) {
+			try {
+				writer.flush();
+			}
+			catch (IOException e) {
+				// the previous stream is replaced anyway
+			}
+		}
+		writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+	}
+
+	/**
+	 * Returns whether this logger writes its own file rather than the output stream given by the runner.
+	 *
+	 * @return whether this logger was created for a file
+	 */
+	boolean writesOwnFile() {
+		return ownsWriter;
+	}
+
+	@Override
+	public void setEmacsMode(boolean emacsMode) {
+		// not applicable
+	}
+
+	@Override
+	public void setErrorPrintStream(PrintStream err) {
+		// all the events go to the output stream
+	}
+
+	/**
+	 * Starts the line of an event with its name, time, thread and the names of its project, target and task.
+	 */
+	private StringBuilder start(String name, BuildEvent event) {
+		StringBuilder buffer = new StringBuilder(128);
+		buffer.append("{\"event\":\"").append(name).append("\",\"time\":").append(getEventTime()); //$NON-NLS-1$ //$NON-NLS-2$
+		AntCoreUtil.appendJSONString(buffer.append(",\"thread\":"), Thread.currentThread().getName()); //$NON-NLS-1$
+		Project project = event.getProject();
+		if (project != null) {
+			AntCoreUtil.appendJSONString(buffer.append(",\"project\":"), project.getName()); //$NON-NLS-1$
+		}
+		Target target = event.getTarget();
+		if (target != null) {
+			AntCoreUtil.appendJSONString(buffer.append(",\"target\":"), target.getName()); //$NON-NLS-1$
+		}
+		Task task = event.getTask();
+		if (task != null) {
+			AntCoreUtil.appendJSONString(buffer.append(",\"task\":"), task.getTaskName()); //$NON-NLS-1$
+		}
+		return buffer;
+	}
+
+	private static long getEventTime() {
+		Long time = heldEventTime.get();
+		return time == null ? System.currentTimeMillis() : time.longValue();
+	}
+
+	/**
+	 * Passes an event that was held back to the loggers, the lines of this logger being stamped with the time the event occurred.
+	 *
+	 * @param time
+	 *            the time the event occurred
+	 * @param event
+	 *            the call of the logger for the event
+	 */
+	static void logHeldEvent(long time, Runnable event) {
+		heldEventTime.set(Long.valueOf(time));
+		try {
+			event.run();
+		}
+		finally {
+			heldEventTime.remove();
+		}
+	}
+
+	private static StringBuilder appendLocation(StringBuilder buffer, Location location) {
+		if (location != null && location.getFileName() != null) {
+			AntCoreUtil.appendJSONString(buffer.append(",\"file\":"), location.getFileName()); //$NON-NLS-1$
+			buffer.append(",\"line\":").append(location.getLineNumber()); //$NON-NLS-1$
+			buffer.append(",\"column\":").append(location.getColumnNumber()); //$NON-NLS-1$
+		}
+		return buffer;
+	}
+
+	private static StringBuilder appendException(StringBuilder buffer, BuildEvent event) {
+		Throwable exception = event.getException();
+		if (exception != null) {
+			String message = exception.getMessage();
+			AntCoreUtil.appendJSONString(buffer.append(",\"error\":"), message == null ? exception.toString() : message); //$NON-NLS-1$
+		}
+		return buffer;
+	}
+
+	private synchronized void write(StringBuilder buffer, boolean flush) {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.append(buffer.append("}\n")); //$NON-NLS-1$
+			unflushed = true;
+		}
+		catch (IOException e) {
+			// stop writing rather than failing the build
+			writer = null;
+			return;
+		}
+		if (flush) {
+			flush();
+		}
+	}
+
+	private synchronized void flush() {
+		if (writer == null || !unflushed) {
+			return;
+		}
+		try {
+			writer.flush();
+			unflushed = false;
+		}
+		catch (IOException e) {
+			// stop writing rather than failing the build
+			writer = null;
+		}
+	}
+
+	/**
+	 * Writes the buffered lines every second until the build finished, even when no event arrives.
+	 */
+	private synchronized void startFlushing() {
+		if (flushTimer != null) {
+			return;
+		}
+		flushTimer = new Timer("Ant JSON log flusher", true); //$NON-NLS-1$
+		flushTimer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				flush();
+			}
+		}, FLUSH_INTERVAL, FLUSH_INTERVAL);
+	}
+}
@@ -0,0 +1,451 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.core.ant;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.tools.ant.BuildEvent;
+import org.apache.tools.ant.BuildLogger;
+
+/**
+ * The stream of the build log file given with <code>-logfile</code>. The build writes into a large buffer, and a writer thread writes the full
+ * buffers to the file, so the build does not wait for the disk or the compression.
+ * <p>
+ * The log is split into segments: the file itself, then <code>&lt;file&gt;.1</code>, <code>&lt;file&gt;.2</code> and so on, once a segment
+ * reaches the maximum size or age given with <code>-logmaxsize</code> or <code>-logmaxtime</code>. The size is that of the log output, which is
+ * split at the limit. With <code>-loggzip</code> the segments are gzip compressed, and smaller than the limit.
+ * </p>
+ * <p>
+ * The file <code>&lt;file&gt;.index</code> lists where the output of each target starts, one line per target with the segment, the offset in
+ * the segment and the target name separated by tabs. In a compressed segment each target starts a new gzip member at that offset, so its output
+ * can be decompressed without reading the segment from the start.
+ * </p>
+ */
+public class LogFileOutputStream extends OutputStream {
+
+	private static final int BUFFER_SIZE = 1024 * 1024;
+	private static final int QUEUED_BUFFERS = 4;
+	private static final String INDEX_EXTENSION = ".index"; //$NON-NLS-1$
+
+	/**
+	 * Data or a target boundary handed to the writer thread
+	 */
+	private static class Chunk {
+		final byte[] data;
+		final int length;
+		final String target;
+
+		Chunk(byte[] data, int length, String target) {
+			this.data = data;
+			this.length = length;
+			this.target = target;
+		}
+	}
+
+	private static final Chunk CLOSE = new Chunk(null, 0, null);
+
+	/**
+	 * The file stream of a segment, counting the bytes written; closing it leaves the file open for the next gzip member
+	 */
+	private static class SegmentStream extends OutputStream {
+		private final OutputStream stream;
+		long count = 0;
+
+		SegmentStream(File file) throws IOException {
+			stream = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			stream.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			stream.write(b, off, len);
+			count += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			stream.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			stream.flush();
+		}
+
+		void closeFile() throws IOException {
+			stream.close();
+		}
+	}
+
+	private final File file;
+	private final long maxSize;
+	private final long maxTime;
+	private final boolean gzip;
+
+	private final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(QUEUED_BUFFERS);
+	private final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(QUEUED_BUFFERS + 1);
+	private final Thread writer;
+	private volatile IOException failure = null;
+
+	// state of the build side, guarded by this stream
+	private byte[] buffer = new byte[BUFFER_SIZE];
+	private int count = 0;
+	private boolean closed = false;
+
+	// state of the writer thread
+	private final Writer index;
+	private int segment = 0;
+	private File segmentFile;
+	private long segmentStart;
+	/**
+	 * The number of bytes of log output in the current segment, before compression
+	 */
+	private long segmentLength;
+	private SegmentStream segmentStream;
+	private OutputStream memberStream;
+	private long memberStart;
+	private boolean memberWritten;
+	private final List<String> pendingTargets = new ArrayList<>();
+
+	/**
+	 * Creates the log file and starts the writer thread.
+	 *
+	 * @param file
+	 *            the log file
+	 * @param maxSize
+	 *            the size in bytes of log output after which a new segment starts, or <code>0</code>
+	 * @param maxTime
+	 *            the time in milliseconds after which a new segment starts, or <code>0</code>
+	 * @param gzip
+	 *            whether to compress the segments
+	 * @throws IOException
+	 *             if the log file or its index cannot be created
+	 */
+	public LogFileOutputStream(File file, long maxSize, long maxTime, boolean gzip) throws IOException {
+		this.file = file;
+		this.maxSize = maxSize;
+		this.maxTime = maxTime;
+		this.gzip = gzip;
+		openSegment();
+		try {
+			index = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file.getPath() + INDEX_EXTENSION), StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			segmentStream.closeFile();
+			throw e;
+		}
+		writer = new Thread(this::writeChunks, "Ant log writer"); //$NON-NLS-1$
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Returns a logger marking the start of each target in the index. It is a logger so that it sees the target events in the same order as the
+	 * logger writing into this stream, also when the loggers are buffered.
+	 *
+	 * @return the logger to add to the project before the build logger
+	 */
+	public BuildLogger getTargetIndexer() {
+		return new TargetIndexer();
+	}
+
+	@Override
+	public synchronized void write(int b) throws IOException {
+		ensureOpen();
+		if (count == buffer.length) {
+			handOff(null);
+		}
+		buffer[count++] = (byte) b;
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		while (len > 0) {
+			if (count == buffer.length) {
+				handOff(null);
+			}
+			int length = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, length);
+			count += length;
+			off += length;
+			len -= length;
+		}
+	}
+
+	/**
+	 * Hands the buffered output to the writer thread without waiting for it to be written.
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		ensureOpen();
+		handOff(null);
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		try {
+			handOff(null);
+			put(CLOSE);
+			writer.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+		finally {
+			closed = true;
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private synchronized void markTarget(String name) {
+		if (closed || failure != null) {
+			return;
+		}
+		try {
+			handOff(name);
+		}
+		catch (IOException e) {
+			// reported by the next write
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed"); //$NON-NLS-1$
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Queues the buffered output, then the start of the given target if any.
+	 */
+	private void handOff(String target) throws IOException {
+		if (count > 0) {
+			put(new Chunk(buffer, count, null));
+			buffer = freeBuffers.poll();
+			if (buffer == null) {
+				buffer = new byte[BUFFER_SIZE];
+			}
+			count = 0;
+		}
+		if (target != null) {
+			put(new Chunk(null, 0, target));
+		}
+	}
+
+	private void put(Chunk chunk) throws IOException {
+		try {
+			queue.put(chunk);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+	}
+
+	private void writeChunks() {
+		while (true) {
+			Chunk chunk;
+			try {
+				chunk = queue.take();
+			}
+			catch (InterruptedException e) {
+				// only the build closes the stream
+				continue;
+			}
+			if (chunk == CLOSE) {
+				break;
+			}
+			if (failure == null) {
+				try {
+					write(chunk);
+					if (queue.isEmpty()) {
+						memberStream.flush();
+						index.flush();
+					}
+				}
+				catch (IOException e) {
+					failure = e;
+				}
+			}
+			if (chunk.data != null) {
+				freeBuffers.offer(chunk.data);
+			}
+		}
+		try {
+			try {
+				if (failure == null) {
+					writePendingTargets();
+				}
+				memberStream.close();
+			}
+			finally {
+				segmentStream.closeFile();
+				index.close();
+			}
+		}
+		catch (IOException e) {
+			if (failure == null) {
+				failure = e;
+			}
+		}
+	}
+
+	private void write(Chunk chunk) throws IOException {
+		if (chunk.data == null) {
+			// indexed with the first output of the target, which may go to the next segment
+			pendingTargets.add(chunk.target);
+			return;
+		}
+		int offset = 0;
+		while (offset < chunk.length) {
+			if ((maxSize > 0 && segmentLength >= maxSize) || (maxTime > 0 && System.currentTimeMillis() - segmentStart >= maxTime)) {
+				memberStream.close();
+				segmentStream.closeFile();
+				segment++;
+				openSegment();
+			}
+			writePendingTargets();
+			// a chunk holds up to a full buffer, split it at the size limit
+			int length = chunk.length - offset;
+			if (maxSize > 0) {
+				length = (int) Math.min(length, maxSize - segmentLength);
+			}
+			memberStream.write(chunk.data, offset, length);
+			memberWritten = true;
+			segmentLength += length;
+			offset += length;
+		}
+	}
+
+	private void writePendingTargets() throws IOException {
+		if (pendingTargets.isEmpty()) {
+			return;
+		}
+		if (gzip && memberWritten) {
+			// the output of the target starts a new gzip member
+			memberStream.close();
+			memberStart = segmentStream.count;
+			memberStream = new GZIPOutputStream(segmentStream, 64 * 1024, true);
+			memberWritten = false;
+		}
+		String offset = Long.toString(gzip ? memberStart : segmentStream.count);
+		for (String target : pendingTargets) {
+			index.write(segmentFile.getName());
+			index.write('\t');
+			index.write(offset);
+			index.write('\t');
+			index.write(target);
+			index.write('\n');
+		}
+		pendingTargets.clear();
+	}
+
+	private void openSegment() throws IOException {
+		segmentFile = segment == 0 ? file : new File(file.getPath() + '.' + segment);
+		segmentStart = System.currentTimeMillis();
+		segmentLength = 0;
+		segmentStream = new SegmentStream(segmentFile);
+		memberStart = 0;
+		memberWritten = false;
+		memberStream = gzip ? new GZIPOutputStream(segmentStream, 64 * 1024, true) : segmentStream;
+	}
+
+	private class TargetIndexer implements BuildLogger {
+
+		@Override
+		public void buildStarted(BuildEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void buildFinished(BuildEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void targetStarted(BuildEvent event) {
+			markTarget(event.getTarget().getName());
+		}
+
+		@Override
+		public void targetFinished(BuildEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void taskStarted(BuildEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void taskFinished(BuildEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void messageLogged(BuildEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void setMessageOutputLevel(int level) {
+			// do nothing
+		}
+
+		@Override
+		public void setOutputPrintStream(PrintStream output) {
+			// do nothing
+		}
+
+		@Override
+		public void setEmacsMode(boolean emacsMode) {
+			// do nothing
+		}
+
+		@Override
+		public void setErrorPrintStream(PrintStream err) {
+			// do nothing
+		}
+	}
+}
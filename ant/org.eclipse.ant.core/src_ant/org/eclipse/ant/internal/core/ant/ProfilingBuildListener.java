@@ -0,0 +1,344 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.core.ant;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.tools.ant.BuildEvent;
+import org.apache.tools.ant.BuildListener;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.Target;
+import org.apache.tools.ant.Task;
+
+/**
+ * Records the wall time, CPU time and allocated bytes of every target and task of a build, including the targets of the projects started by
+ * <code>ant</code> and <code>antcall</code> (Ant registers the listeners of the calling project with the called one).
+ * <p>
+ * When the build finishes, the self wall time of every call path is written in the collapsed stack format used by flame graph tools (one
+ * <code>frame;frame;frame microseconds</code> line per path), and a summary of the slowest targets is logged to the build.
+ * </p>
+ */
+public class ProfilingBuildListener implements BuildListener {
+
+	/**
+	 * Number of targets reported in the summary
+	 */
+	private static final int SLOWEST_TARGETS = 10;
+
+	private static final ThreadMXBean fgThreadBean = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * <code>com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)</code> if the VM provides it, <code>null</code> otherwise
+	 */
+	private static final Method fgAllocatedBytes = getAllocatedBytesMethod();
+
+	/**
+	 * A target or task that is executing
+	 */
+	private static class Frame {
+		final String path;
+		final long startTime;
+		final long startCpu;
+		final long startAllocated;
+		long childTime = 0;
+
+		Frame(String path) {
+			this.path = path;
+			this.startTime = System.nanoTime();
+			this.startCpu = getCpuTime();
+			this.startAllocated = getAllocatedBytes();
+		}
+	}
+
+	/**
+	 * Accumulated measurements of one target
+	 */
+	private static class TargetProfile {
+		final String name;
+		int count = 0;
+		long time = 0;
+		long cpu = 0;
+		long allocated = 0;
+
+		TargetProfile(String name) {
+			this.name = name;
+		}
+	}
+
+	private final File fOutputFile;
+
+	/**
+	 * The frames executing on each thread; tasks such as <code>parallel</code> run nested tasks on other threads
+	 */
+	private final ThreadLocal<Deque<Frame>> fStacks = ThreadLocal.withInitial(ArrayDeque::new);
+
+	/**
+	 * Self wall time in nanoseconds per call path
+	 */
+	private final Map<String, long[]> fSelfTimes = new LinkedHashMap<>();
+
+	private final Map<String, TargetProfile> fTargets = new HashMap<>();
+
+	private boolean fReported = false;
+
+	/**
+	 * Creates a profiling listener
+	 *
+	 * @param outputFile
+	 *            the file to write the collapsed stacks to, or <code>null</code> to only log the summary
+	 */
+	public ProfilingBuildListener(File outputFile) {
+		fOutputFile = outputFile;
+	}
+
+	@Override
+	public void buildStarted(BuildEvent event) {
+		// do nothing
+	}
+
+	@Override
+	public void buildFinished(BuildEvent event) {
+		// the report is normally produced before the loggers see the end of the build, see #report(Project)
+		report(event.getProject());
+	}
+
+	@Override
+	public void targetStarted(BuildEvent event) {
+		Target target = event.getTarget();
+		if (target != null) {
+			push(getTargetName(target));
+		}
+	}
+
+	@Override
+	public void targetFinished(BuildEvent event) {
+		Target target = event.getTarget();
+		if (target == null) {
+			return;
+		}
+		Frame frame = pop();
+		if (frame == null) {
+			return;
+		}
+		String name = getTargetName(target);
+		synchronized (fTargets) {
+			TargetProfile profile = fTargets.get(name);
+			if (profile == null) {
+				profile = new TargetProfile(name);
+				fTargets.put(name, profile);
+			}
+			profile.count++;
+			profile.time += System.nanoTime() - frame.startTime;
+			long cpu = getCpuTime();
+			if (cpu >= 0 && frame.startCpu >= 0) {
+				profile.cpu += cpu - frame.startCpu;
+			}
+			long allocated = getAllocatedBytes();
+			if (allocated >= 0 && frame.startAllocated >= 0) {
+				profile.allocated += allocated - frame.startAllocated;
+			}
+		}
+	}
+
+	@Override
+	public void taskStarted(BuildEvent event) {
+		Task task = event.getTask();
+		if (task != null) {
+			push(task.getTaskName());
+		}
+	}
+
+	@Override
+	public void taskFinished(BuildEvent event) {
+		if (event.getTask() != null) {
+			pop();
+		}
+	}
+
+	@Override
+	public void messageLogged(BuildEvent event) {
+		// do nothing
+	}
+
+	private void push(String name) {
+		Deque<Frame> stack = fStacks.get();
+		Frame parent = stack.peek();
+		stack.push(new Frame(parent == null ? name : parent.path + ';' + name));
+	}
+
+	/**
+	 * Ends the innermost frame of the current thread, records its self time and returns it
+	 */
+	private Frame pop() {
+		Deque<Frame> stack = fStacks.get();
+		Frame frame = stack.poll();
+		if (frame == null) {
+			return null;
+		}
+		long time = System.nanoTime() - frame.startTime;
+		Frame parent = stack.peek();
+		if (parent != null) {
+			parent.childTime += time;
+		}
+		synchronized (fSelfTimes) {
+			long[] self = fSelfTimes.get(frame.path);
+			if (self == null) {
+				self = new long[1];
+				fSelfTimes.put(frame.path, self);
+			}
+			self[0] += Math.max(time - frame.childTime, 0);
+		}
+		return frame;
+	}
+
+	private String getTargetName(Target target) {
+		Project project = target.getProject();
+		String projectName = project == null ? null : project.getName();
+		// flame graph frames are separated by ';' and the value by ' '
+		String name = projectName == null || projectName.length() == 0 ? target.getName() : projectName + '.' + target.getName();
+		return name.replace(';', '_');
+	}
+
+	/**
+	 * Writes the collapsed stacks and logs the slowest targets to the given project. Does nothing if the report has already been produced.
+	 *
+	 * @param project
+	 *            the project of the build, used to log the summary
+	 */
+	public synchronized void report(Project project) {
+		if (fReported) {
+			return;
+		}
+		fReported = true;
+		if (project != null) {
+			logSummary(project);
+		}
+		if (fOutputFile != null) {
+			try {
+				writeCollapsedStacks();
+				if (project != null) {
+					project.log(MessageFormat.format(InternalAntMessages.ProfilingBuildListener_Profile_written, new Object[] {
+							fOutputFile.getAbsolutePath() }), Project.MSG_INFO);
+				}
+			}
+			catch (IOException e) {
+				if (project != null) {
+					project.log(MessageFormat.format(InternalAntMessages.ProfilingBuildListener_Could_not_write_profile, new Object[] {
+							fOutputFile.getAbsolutePath(), e.getMessage() }), Project.MSG_ERR);
+				}
+			}
+		}
+	}
+
+	private void logSummary(Project project) {
+		List<TargetProfile> targets;
+		synchronized (fTargets) {
+			targets = new ArrayList<>(fTargets.values());
+		}
+		if (targets.isEmpty()) {
+			return;
+		}
+		targets.sort((first, second) -> Long.compare(second.time, first.time));
+		String lineSeparator = System.lineSeparator();
+		StringBuilder summary = new StringBuilder(InternalAntMessages.ProfilingBuildListener_Slowest_targets);
+		for (int i = 0; i < targets.size() && i < SLOWEST_TARGETS; i++) {
+			TargetProfile profile = targets.get(i);
+			summary.append(lineSeparator);
+			summary.append(MessageFormat.format(InternalAntMessages.ProfilingBuildListener_Target_profile, new Object[] { profile.name,
+					Long.toString(profile.time / 1000000), Long.toString(profile.cpu / 1000000), Long.toString(profile.allocated / 1024),
+					Integer.toString(profile.count) }));
+		}
+		project.log(summary.toString(), Project.MSG_INFO);
+	}
+
+	private void writeCollapsedStacks() throws IOException {
+		File parent = fOutputFile.getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(fOutputFile.toPath()), StandardCharsets.UTF_8))) {
+			synchronized (fSelfTimes) {
+				for (Map.Entry<String, long[]> entry : fSelfTimes.entrySet()) {
+					long micros = entry.getValue()[0] / 1000;
+					if (micros > 0) {
+						writer.write(entry.getKey().replace(' ', '_'));
+						writer.write(' ');
+						writer.write(Long.toString(micros));
+						writer.write('\n');
+					}
+				}
+			}
+		}
+	}
+
+	private static long getCpuTime() {
+		try {
+			if (fgThreadBean.isCurrentThreadCpuTimeSupported() && fgThreadBean.isThreadCpuTimeEnabled()) {
+				return fgThreadBean.getCurrentThreadCpuTime();
+			}
+		}
+		catch (UnsupportedOperationException e) {
+			// not available on this VM
+		}
+		return -1;
+	}
+
+	private static long getAllocatedBytes() {
+		if (fgAllocatedBytes == null) {
+			return -1;
+		}
+		try {
+			Object allocated = fgAllocatedBytes.invoke(fgThreadBean, Long.valueOf(Thread.currentThread().getId()));
+			return ((Long) allocated).longValue();
+		}
+		catch (Exception e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Looks the allocation counter up through the interfaces of the thread bean, as <code>com.sun.management</code> may not be visible to this
+	 * class loader
+	 */
+	private static Method getAllocatedBytesMethod() {
+		for (Class<?> type : fgThreadBean.getClass().getInterfaces()) {
+			if ("com.sun.management.ThreadMXBean".equals(type.getName())) { //$NON-NLS-1$
+				try {
+					return type.getMethod("getThreadAllocatedBytes", long.class); //$NON-NLS-1$
+				}
+				catch (NoSuchMethodException e) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+}
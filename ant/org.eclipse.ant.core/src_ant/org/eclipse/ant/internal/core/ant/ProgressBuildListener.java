@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2013 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,13 @@
  *******************************************************************************/
 package org.eclipse.ant.internal.core.ant;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
@@ -24,9 +28,11 @@ import java.util.Set;
 
 import org.apache.tools.ant.BuildEvent;
 import org.apache.tools.ant.BuildListener;
+import org.apache.tools.ant.ComponentHelper;
 import org.apache.tools.ant.Project;
 import org.apache.tools.ant.Target;
 import org.apache.tools.ant.Task;
+import org.apache.tools.ant.UnknownElement;
 import org.apache.tools.ant.taskdefs.Ant;
 import org.apache.tools.ant.taskdefs.CallTarget;
 import org.eclipse.ant.core.AntCorePlugin;
@@ -41,10 +47,20 @@ import org.eclipse.core.runtime.SubMonitor;
  */
 public class ProgressBuildListener implements BuildListener {
 
+	/**
+	 * The number of logged messages between two checks for cancellation; targets and tasks always check
+	 */
+	private static final int MESSAGES_PER_CANCEL_CHECK = 32;
+
 	protected Map<Project, ProjectMonitors> projects;
 	protected Project mainProject;
 	protected Project parentProject;
-	private Thread currentTaskThread;
+	private volatile Thread currentTaskThread;
+	/**
+	 * The monitor of the main project, cached as it is polled for every event
+	 */
+	private final IProgressMonitor mainMonitor;
+	private int messagesSinceCancelCheck = 0;
 
 	/**
 	 * Contains the progress monitor instances for the various projects in a chain.
@@ -100,17 +116,20 @@ public class ProgressBuildListener implements BuildListener {
 		if (localmonitor == null) {
 			localmonitor = new NullProgressMonitor();
 		}
-		monitors.setMainMonitor(localmonitor);
-		projects.put(mainProject, monitors);
-		ArrayList<Target> targets = new ArrayList<>(targetNames.size());
+		mainMonitor = localmonitor;
+		// the default executor runs each requested target with its own dependencies
+		int work = 0;
 		for (String targetName : targetNames) {
-			Target target = mainProject.getTargets().get(targetName);
-			if (target != null) {
-				targets.add(target);
-			}
+			work += computeWork(mainProject, Collections.singletonList(targetName));
 		}
-		int work = computeWork(targets);
-		monitors.getMainMonitor().beginTask(IAntCoreConstants.EMPTY_STRING, work);
+		if (localmonitor instanceof NullProgressMonitor) {
+			localmonitor.beginTask(IAntCoreConstants.EMPTY_STRING, work);
+			monitors.setMainMonitor(localmonitor);
+		} else {
+			// the given monitor is begun only once, targets and tasks are children of this one
+			monitors.setMainMonitor(SubMonitor.convert(localmonitor, work));
+		}
+		projects.put(mainProject, monitors);
 	}
 
 	@Override
@@ -118,47 +137,39 @@ public class ProgressBuildListener implements BuildListener {
 		checkCanceled();
 	}
 
-	protected int computeWork(List<Target> targets) {
-		int result = 0;
-		for (Target target : targets) {
-			result = result + countTarget(target, new ArrayList<>());
-		}
-		return result;
-	}
-
-	protected int countTarget(Target target, List<String> alreadySeen) {
-		int result = 1;
-		Project project = target.getProject();
+	/**
+	 * Returns the number of targets executed when building the given targets once, following the dependencies the way Ant orders them for
+	 * execution: every target reached is counted once, whichever path reaches it. Nested <code>ant</code> and <code>antcall</code> builds report
+	 * their progress within the task that starts them and do not add to this count.
+	 *
+	 * @param project
+	 *            the project defining the targets
+	 * @param targetNames
+	 *            the names of the targets to build
+	 * @return the number of targets that will be started
+	 */
+	protected int computeWork(Project project, List<String> targetNames) {
 		Hashtable<String, Target> targets = project.getTargets();
-		String targetName;
-		Target dependency;
-		for (Enumeration<String> dependencies = target.getDependencies(); dependencies.hasMoreElements();) {
-			targetName = dependencies.nextElement();
-			if (alreadySeen.contains(targetName)) { // circular dependency or common dependency
-				return result;
+		Set<String> seen = new HashSet<>();
+		Deque<String> toVisit = new ArrayDeque<>(targetNames);
+		while (!toVisit.isEmpty()) {
+			String targetName = toVisit.pop();
+			if (!seen.add(targetName)) { // circular dependency or common dependency
+				continue;
 			}
-			alreadySeen.add(targetName);
-			dependency = targets.get(targetName);
-			if (dependency != null) {
-				result = result + countTarget(dependency, alreadySeen);
-			}
-		}
-		// we have to handle antcall tasks as well
-		for (Task task : target.getTasks()) {
-			if (task instanceof CallTarget) {
-				// As we do not have access to the information (at least in Ant 1.4.1)
-				// describing what target is executed by this antcall task, we assume
-				// a scenario where it depends on all targets of the project but itself.
-				result = result + (targets.size() - 1);
+			Target target = targets.get(targetName);
+			if (target != null) {
+				for (Enumeration<String> dependencies = target.getDependencies(); dependencies.hasMoreElements();) {
+					toVisit.push(dependencies.nextElement());
+				}
 			}
 		}
-		return result;
+		return seen.size();
 	}
 
 	@Override
 	public void buildFinished(BuildEvent event) {
-		ProjectMonitors monitors = projects.get(mainProject);
-		monitors.getMainMonitor().done();
+		mainMonitor.done();
 		Set<Project> keys = projects.keySet();
 		Iterator<Project> itr = keys.iterator();
 		while (itr.hasNext()) {
@@ -192,23 +203,43 @@ public class ProgressBuildListener implements BuildListener {
 		ProjectMonitors monitors = new ProjectMonitors();
 		// remember the target so we can remove this monitors object later
 		monitors.setMainTarget(target);
-		ArrayList<Target> targets = new ArrayList<>(1);
-		targets.add(target);
-		int work = computeWork(targets);
-		ProjectMonitors parentMonitors = null;
-		if (parentProject == null) {
-			parentMonitors = projects.get(mainProject);
-			monitors.setMainMonitor(subMonitorFor(parentMonitors.getMainMonitor(), 1));
-		} else {
-			parentMonitors = projects.get(parentProject);
-			parentProject = null;
-			monitors.setMainMonitor(subMonitorFor(parentMonitors.getTaskMonitor(), 1));
+		int work = computeWork(currentProject, getRequestedTargets(currentProject, target));
+		// a project not started by an ant or antcall task, such as a subant one, reports within the current task of the main project, as its work
+		// is not part of the work computed for the main project
+		ProjectMonitors parentMonitors = projects.get(parentProject == null ? mainProject : parentProject);
+		parentProject = null;
+		IProgressMonitor parentMonitor = parentMonitors.getTaskMonitor();
+		if (parentMonitor == null) {
+			parentMonitor = parentMonitors.getTargetMonitor();
 		}
+		monitors.setMainMonitor(subMonitorFor(parentMonitor, 1));
 		monitors.getMainMonitor().beginTask(IAntCoreConstants.EMPTY_STRING, work);
 		projects.put(currentProject, monitors);
 		return monitors;
 	}
 
+	/**
+	 * Returns the targets a nested project was asked to build. The sub-project executor records them before the first target starts, which
+	 * gives the exact work of an <code>ant</code> or <code>antcall</code> that could not be known when the build started.
+	 */
+	private List<String> getRequestedTargets(Project project, Target firstTarget) {
+		Object requested = project.getReference(IAntCoreConstants.TARGET_VECTOR_NAME);
+		if (requested instanceof List<?>) {
+			List<?> names = (List<?>) requested;
+			if (!names.isEmpty()) {
+				List<String> targetNames = new ArrayList<>(names.size());
+				for (Object name : names) {
+					targetNames.add(String.valueOf(name));
+				}
+				return targetNames;
+			}
+		}
+		if (firstTarget == null) {
+			return Collections.emptyList();
+		}
+		return Collections.singletonList(firstTarget.getName());
+	}
+
 	@Override
 	public void targetFinished(BuildEvent event) {
 		checkCanceled();
@@ -248,13 +279,32 @@ public class ProgressBuildListener implements BuildListener {
 		monitors.setTaskMonitor(subMonitorFor(monitors.getTargetMonitor(), 1));
 		monitors.getTaskMonitor().beginTask(IAntCoreConstants.EMPTY_STRING, 1);
 		// If this script is calling another one, track the project chain.
-		if (task instanceof Ant) {
+		if (startsProject(currentProject, task)) {
 			parentProject = currentProject;
 		} else {
 			currentProject.addReference(AntCorePlugin.ECLIPSE_PROGRESS_MONITOR, monitors.getTaskMonitor());
 		}
 	}
 
+	/**
+	 * Returns whether the given task runs a nested project, i.e. is an <code>ant</code> or <code>antcall</code> task. Tasks are usually still
+	 * unconfigured when they start, in which case their definition is looked up.
+	 */
+	private boolean startsProject(Project project, Task task) {
+		if (task instanceof Ant || task instanceof CallTarget) {
+			return true;
+		}
+		if (task instanceof UnknownElement) {
+			Object realThing = ((UnknownElement) task).getRealThing();
+			if (realThing != null) {
+				return realThing instanceof Ant || realThing instanceof CallTarget;
+			}
+			Class<?> taskClass = ComponentHelper.getComponentHelper(project).getComponentClass(task.getTaskType());
+			return taskClass != null && (Ant.class.isAssignableFrom(taskClass) || CallTarget.class.isAssignableFrom(taskClass));
+		}
+		return false;
+	}
+
 	@Override
 	public void taskFinished(BuildEvent event) {
 		checkCanceled();
@@ -273,18 +323,22 @@ public class ProgressBuildListener implements BuildListener {
 
 	@Override
 	public void messageLogged(BuildEvent event) {
-		checkCanceled();
+		// builds may log a very large number of messages, so only poll the monitor now and then
+		if (++messagesSinceCancelCheck >= MESSAGES_PER_CANCEL_CHECK) {
+			checkCanceled();
+		}
 	}
 
 	protected void checkCanceled() {
 		// only cancel if the current task thread matches the current thread
 		// do not want to throw an exception in a separate thread or process
 		// see bug 32657
-		if (currentTaskThread != null && currentTaskThread != Thread.currentThread()) {
+		Thread taskThread = currentTaskThread;
+		if (taskThread != null && taskThread != Thread.currentThread()) {
 			return;
 		}
-		ProjectMonitors monitors = projects.get(mainProject);
-		if (monitors.getMainMonitor().isCanceled()) {
+		messagesSinceCancelCheck = 0;
+		if (mainMonitor.isCanceled()) {
 			currentTaskThread = null;
 			throw new OperationCanceledException(InternalAntMessages.ProgressBuildListener_Build_cancelled);
 		}
@@ -297,6 +351,9 @@ public class ProgressBuildListener implements BuildListener {
 		if (monitor instanceof NullProgressMonitor) {
 			return monitor;
 		}
+		if (monitor instanceof SubMonitor) {
+			return ((SubMonitor) monitor).newChild(ticks);
+		}
 		return SubMonitor.convert(monitor, ticks);
 	}
 }
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.core.ant;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.MagicNames;
+import org.apache.tools.ant.Project;
+import org.eclipse.ant.core.AntCorePlugin;
+
+/**
+ * The fingerprints of the declared inputs and outputs of the targets of a build file, and the fingerprints recorded when the targets last
+ * succeeded.
+ * <p>
+ * The inputs and outputs are declared in a properties file next to the build file, named after it with <code>.uptodate</code> appended, for
+ * instance <code>build.xml.uptodate</code>:
+ * </p>
+ *
+ * <pre>
+ * compile.inputs=src/**&#47;*.java, lib/*.jar
+ * compile.outputs=bin/**&#47;*.class
+ * </pre>
+ * <p>
+ * The patterns are those of an Ant fileset relative to the base directory of the project. The fingerprint of a target is a hash of its patterns
+ * and of the paths and contents of the files they match. The content hash of a file is computed again only when its modification time or size
+ * changed. The records are kept in the state location of the Ant core plug-in, one file per build file.
+ * </p>
+ */
+public class TargetFingerprints {
+
+	private static final String DESCRIPTOR_EXTENSION = ".uptodate"; //$NON-NLS-1$
+	private static final String INPUTS_SUFFIX = ".inputs"; //$NON-NLS-1$
+	private static final String OUTPUTS_SUFFIX = ".outputs"; //$NON-NLS-1$
+	private static final String TARGET_PREFIX = "target:"; //$NON-NLS-1$
+	private static final String FILE_PREFIX = "file:"; //$NON-NLS-1$
+
+	private final Project project;
+	private final Properties descriptor;
+	private final File records;
+	private final Properties targetRecords = new Properties();
+
+	/**
+	 * The modification time, size and content hash of the files, by absolute path
+	 */
+	private final Map<String, String[]> fileHashes = new HashMap<>();
+
+	private TargetFingerprints(Project project, Properties descriptor, File records) {
+		this.project = project;
+		this.descriptor = descriptor;
+		this.records = records;
+	}
+
+	/**
+	 * Reads the descriptor of the build file of the given project and the fingerprints recorded for it.
+	 *
+	 * @param project
+	 *            the project being built
+	 * @return the fingerprints of the targets of the project
+	 */
+	public static TargetFingerprints load(Project project) {
+		Properties descriptor = new Properties();
+		File records = null;
+		String buildFile = project.getProperty(MagicNames.ANT_FILE);
+		if (buildFile != null) {
+			File descriptorFile = new File(buildFile + DESCRIPTOR_EXTENSION);
+			if (descriptorFile.isFile()) {
+				try (InputStream stream = Files.newInputStream(descriptorFile.toPath())) {
+					descriptor.load(stream);
+				}
+				catch (IOException e) {
+					project.log(MessageFormat.format(InternalAntMessages.TargetFingerprints_Could_not_read, new Object[] { descriptorFile,
+							e.getMessage() }), Project.MSG_WARN);
+				}
+				records = getRecordsFile(buildFile);
+			}
+		}
+		TargetFingerprints fingerprints = new TargetFingerprints(project, descriptor, records);
+		fingerprints.readRecords();
+		return fingerprints;
+	}
+
+	private static File getRecordsFile(String buildFile) {
+		AntCorePlugin plugin = AntCorePlugin.getPlugin();
+		if (plugin == null) {
+			return null;
+		}
+		String path;
+		try {
+			path = new File(buildFile).getCanonicalPath();
+		}
+		catch (IOException e) {
+			path = new File(buildFile).getAbsolutePath();
+		}
+		File directory = plugin.getStateLocation().append("targets").toFile(); //$NON-NLS-1$
+		return new File(directory, digest(path.getBytes(StandardCharsets.UTF_8)) + ".properties"); //$NON-NLS-1$
+	}
+
+	private void readRecords() {
+		if (records == null || !records.isFile()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream stream = Files.newInputStream(records.toPath())) {
+			properties.load(stream);
+		}
+		catch (IOException e) {
+			project.log(MessageFormat.format(InternalAntMessages.TargetFingerprints_Could_not_read, new Object[] { records,
+					e.getMessage() }), Project.MSG_WARN);
+			return;
+		}
+		for (String key : properties.stringPropertyNames()) {
+			String value = properties.getProperty(key);
+			if (key.startsWith(TARGET_PREFIX)) {
+				targetRecords.setProperty(key.substring(TARGET_PREFIX.length()), value);
+			} else if (key.startsWith(FILE_PREFIX)) {
+				String[] hash = value.split(","); //$NON-NLS-1$
+				if (hash.length == 3) {
+					fileHashes.put(key.substring(FILE_PREFIX.length()), hash);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the descriptor declares inputs or outputs for the given target.
+	 *
+	 * @param targetName
+	 *            the name of the target
+	 * @return whether the target can be up to date
+	 */
+	public boolean declares(String targetName) {
+		return descriptor.getProperty(targetName + INPUTS_SUFFIX) != null || descriptor.getProperty(targetName + OUTPUTS_SUFFIX) != null;
+	}
+
+	/**
+	 * Returns whether the fingerprint of the given target matches the one recorded when it last succeeded.
+	 *
+	 * @param targetName
+	 *            the name of the target
+	 * @return whether the target is up to date
+	 */
+	public boolean isUpToDate(String targetName) {
+		String recorded = targetRecords.getProperty(targetName);
+		return recorded != null && recorded.equals(fingerprint(targetName));
+	}
+
+	/**
+	 * Records the current fingerprint of the given target, which just succeeded.
+	 *
+	 * @param targetName
+	 *            the name of the target
+	 */
+	public void record(String targetName) {
+		targetRecords.setProperty(targetName, fingerprint(targetName));
+	}
+
+	/**
+	 * Forgets the fingerprint recorded for the given target, which is about to run.
+	 *
+	 * @param targetName
+	 *            the name of the target
+	 */
+	public void forget(String targetName) {
+		targetRecords.remove(targetName);
+	}
+
+	/**
+	 * Writes the recorded fingerprints, with the content hashes of the files that still exist.
+	 */
+	public void save() {
+		if (records == null) {
+			return;
+		}
+		Properties properties = new Properties();
+		for (String targetName : targetRecords.stringPropertyNames()) {
+			properties.setProperty(TARGET_PREFIX + targetName, targetRecords.getProperty(targetName));
+		}
+		for (Map.Entry<String, String[]> entry : fileHashes.entrySet()) {
+			if (new File(entry.getKey()).isFile()) {
+				properties.setProperty(FILE_PREFIX + entry.getKey(), String.join(",", entry.getValue())); //$NON-NLS-1$
+			}
+		}
+		records.getParentFile().mkdirs();
+		try (OutputStream stream = Files.newOutputStream(records.toPath())) {
+			properties.store(stream, project.getProperty(MagicNames.ANT_FILE));
+		}
+		catch (IOException e) {
+			project.log(MessageFormat.format(InternalAntMessages.TargetFingerprints_Could_not_write, new Object[] { records,
+					e.getMessage() }), Project.MSG_WARN);
+		}
+	}
+
+	private String fingerprint(String targetName) {
+		StringBuilder text = new StringBuilder();
+		fingerprint(descriptor.getProperty(targetName + INPUTS_SUFFIX), text.append("inputs\n")); //$NON-NLS-1$
+		fingerprint(descriptor.getProperty(targetName + OUTPUTS_SUFFIX), text.append("outputs\n")); //$NON-NLS-1$
+		return digest(text.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void fingerprint(String patterns, StringBuilder text) {
+		if (patterns == null) {
+			return;
+		}
+		text.append(patterns).append('\n');
+		File baseDir = project.getBaseDir();
+		DirectoryScanner scanner = new DirectoryScanner();
+		scanner.setBasedir(baseDir);
+		scanner.setIncludes(patterns.split("[,\\s]+")); //$NON-NLS-1$
+		scanner.scan();
+		String[] files = scanner.getIncludedFiles();
+		Arrays.sort(files);
+		for (String path : files) {
+			text.append(path).append(' ').append(getContentHash(new File(baseDir, path))).append('\n');
+		}
+	}
+
+	private String getContentHash(File file) {
+		String path = file.getAbsolutePath();
+		String lastModified = Long.toString(file.lastModified());
+		String length = Long.toString(file.length());
+		String[] hash = fileHashes.get(path);
+		if (hash != null && hash[0].equals(lastModified) && hash[1].equals(length)) {
+			return hash[2];
+		}
+		String contentHash;
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			try (InputStream stream = Files.newInputStream(file.toPath())) {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = stream.read(buffer)) != -1) {
+					digest.update(buffer, 0, read);
+				}
+			}
+			contentHash = toHex(digest.digest());
+		}
+		catch (IOException e) {
+			// fall back to the modification time and size
+			return lastModified + '-' + length;
+		}
+		catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+		fileHashes.put(path, new String[] { lastModified, length, contentHash });
+		return contentHash;
+	}
+
+	private static String digest(byte[] bytes) {
+		try {
+			return toHex(MessageDigest.getInstance("SHA-256").digest(bytes)); //$NON-NLS-1$
+		}
+		catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] digest) {
+		StringBuilder buffer = new StringBuilder(digest.length * 2);
+		for (byte b : digest) {
+			buffer.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return buffer.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ package org.eclipse.ant.internal.launching.runtime.logger;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Arrays;
 
 import org.apache.tools.ant.BuildEvent;
 import org.apache.tools.ant.Location;
@@ -35,11 +36,36 @@ import org.eclipse.ant.internal.launching.launchConfigurations.AntStreamsProxy;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.model.IProcess;
-import org.eclipse.jface.text.IRegion;
-import org.eclipse.jface.text.Region;
 
 public class AntProcessBuildLogger extends NullBuildLogger {
 
+	/**
+	 * The line separator, looked up once rather than for every logged event
+	 */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/**
+	 * Blank column used to right justify the task prefix; slices of it are appended instead of building the padding per message
+	 */
+	private static final String PADDING;
+
+	static {
+		char[] padding = new char[AntLaunching.LEFT_COLUMN_SIZE];
+		Arrays.fill(padding, ' ');
+		PADDING = new String(padding);
+	}
+
+	/**
+	 * Builders that grow beyond this capacity are not kept around for reuse
+	 */
+	private static final int MAX_REUSED_CAPACITY = 8192;
+
+	/**
+	 * Per thread message builder, reused for every event logged on that thread. Tasks such as <code>parallel</code> log from several threads so
+	 * the builder cannot be shared.
+	 */
+	private final ThreadLocal<StringBuilder> fMessageBuilder = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
 	private long fStartTime;
 
 	/**
@@ -61,18 +87,20 @@ public class AntProcessBuildLogger extends NullBuildLogger {
 			return;
 		}
 
-		StringBuffer fullMessage = new StringBuffer();
-		if (!loggingToLogFile()) {
-			fullMessage.append(System.getProperty("line.separator")); //$NON-NLS-1$
+		boolean toLogFile = loggingToLogFile();
+		StringBuilder fullMessage = getMessageBuilder();
+		if (!toLogFile) {
+			fullMessage.append(LINE_SEPARATOR);
 		}
 		if (event.getException() == null && event.getTask() != null && !fEmacsMode) {
-			adornMessage(event, fullMessage);
+			adornMessage(event, fullMessage, antProcess);
 		} else {
 			fullMessage.append(message);
 		}
 		message = fullMessage.toString();
+		releaseMessageBuilder(fullMessage);
 
-		if (loggingToLogFile()) {
+		if (toLogFile) {
 			logMessageToLogFile(message, priority);
 		} else {
 			AntStreamMonitor monitor = getMonitor(priority);
@@ -80,6 +108,24 @@ public class AntProcessBuildLogger extends NullBuildLogger {
 		}
 	}
 
+	/**
+	 * Returns the empty message builder for the current thread
+	 */
+	private StringBuilder getMessageBuilder() {
+		StringBuilder builder = fMessageBuilder.get();
+		builder.setLength(0);
+		return builder;
+	}
+
+	/**
+	 * Drops the builder for the current thread if a large message made it grow beyond the size worth keeping
+	 */
+	private void releaseMessageBuilder(StringBuilder builder) {
+		if (builder.capacity() > MAX_REUSED_CAPACITY) {
+			fMessageBuilder.remove();
+		}
+	}
+
 	/**
 	 * Builds a right justified task prefix for the given build event, placing it in the given string buffer. Creates the hyperlinks for the task
 	 * prefix.
@@ -88,62 +134,58 @@ public class AntProcessBuildLogger extends NullBuildLogger {
 	 *            build event
 	 * @param fullMessage
 	 *            buffer to place task prefix in
+	 * @param antProcess
+	 *            the process the message is logged to
 	 */
-	private void adornMessage(BuildEvent event, StringBuffer fullMessage) {
+	private void adornMessage(BuildEvent event, StringBuilder fullMessage, AntProcess antProcess) {
+		String message = event.getMessage();
+		if (message == null) {
+			return;
+		}
 		String name = event.getTask().getTaskName();
 		if (name == null) {
 			name = "null"; //$NON-NLS-1$
 		}
 		Location location = event.getTask().getLocation();
-		StringBuffer column = new StringBuffer();
+		AntLaunch antLaunch = location == null ? null : (AntLaunch) antProcess.getLaunch();
 		int size = AntLaunching.LEFT_COLUMN_SIZE - (name.length() + 3);
-		for (int i = 0; i < size; i++) {
-			column.append(' ');
-		}
-		StringBuilder labelBuff = new StringBuilder();
-		labelBuff.append('[');
-		labelBuff.append(name);
-		labelBuff.append("] "); //$NON-NLS-1$
-
-		int offset = Math.max(size, 0) + 1;
-		String label = labelBuff.toString();
-		if (event.getMessage() == null) {
-			return;
-		}
-		try {
-			BufferedReader r = new BufferedReader(new StringReader(event.getMessage()));
-			String line = r.readLine();
-			fullMessage.append(column);
-			appendAndLink(fullMessage, location, label, offset, line);
-			line = r.readLine();
-			while (line != null) {
-				fullMessage.append(System.getProperty("line.separator")); //$NON-NLS-1$
-				fullMessage.append(column);
-				appendAndLink(fullMessage, location, label, offset, line);
-				line = r.readLine();
+		int padding = Math.max(size, 0);
+		int offset = padding + 1;
+
+		// split the message the same way BufferedReader#readLine would, without copying it
+		int length = message.length();
+		int lineStart = 0;
+		do {
+			int lineEnd = lineStart;
+			while (lineEnd < length) {
+				char c = message.charAt(lineEnd);
+				if (c == '\n' || c == '\r') {
+					break;
+				}
+				lineEnd++;
 			}
-		}
-		catch (IOException e) {
-			if (event.getMessage() != null) {
-				fullMessage.append(label).append(event.getMessage());
+			if (lineStart > 0) {
+				fullMessage.append(LINE_SEPARATOR);
 			}
-		}
+			fullMessage.append(PADDING, 0, padding);
+			appendAndLink(fullMessage, antLaunch, location, name, offset, message, lineStart, lineEnd);
+			if (lineEnd < length && message.charAt(lineEnd) == '\r' && lineEnd + 1 < length && message.charAt(lineEnd + 1) == '\n') {
+				lineEnd++;
+			}
+			lineStart = lineEnd + 1;
+		} while (lineStart < length);
 	}
 
-	private void appendAndLink(StringBuffer fullMessage, Location location, String label, int offset, String line) {
-		fullMessage.append(label);
-		fullMessage.append(line);
-		if (location != null) {
-			String newLine = (label + line).trim();
-			IRegion region = new Region(offset, label.length() - 3); // only
-			// want
-			// the
-			// name
-			// length
-			// "[name] "
-			AntProcess antProcess = getAntProcess(fProcessId);
-			AntLaunch antLaunch = (AntLaunch) antProcess.getLaunch();
-			antLaunch.addLinkDescriptor(newLine, location.getFileName(), location.getLineNumber(), region.getOffset(), region.getLength());
+	private void appendAndLink(StringBuilder fullMessage, AntLaunch antLaunch, Location location, String name, int offset, String message, int lineStart, int lineEnd) {
+		int labelStart = fullMessage.length();
+		fullMessage.append('[');
+		fullMessage.append(name);
+		fullMessage.append("] "); //$NON-NLS-1$
+		fullMessage.append(message, lineStart, lineEnd);
+		if (antLaunch != null) {
+			String newLine = fullMessage.substring(labelStart).trim();
+			// only want the name length of "[name] "
+			antLaunch.addLinkDescriptor(newLine, location.getFileName(), location.getLineNumber(), offset, name.length());
 		}
 	}
 
@@ -204,24 +246,27 @@ public class AntProcessBuildLogger extends NullBuildLogger {
 	public void buildFinished(BuildEvent event) {
 		String message = handleException(event);
 		if (message != null) {
+			// the failure is appended to the console as a single batch rather than line by line
+			StringBuilder failure = new StringBuilder(message.length() + 16);
 			try {
 				BufferedReader r = new BufferedReader(new StringReader(message));
 				String line = r.readLine();
-				logMessage(line, event, Project.MSG_ERR);
+				failure.append(line);
 				line = r.readLine();
 				AntProcess antProcess = getAntProcess(fProcessId);
 				while (line != null) {
-					logMessage(line, event, Project.MSG_ERR);
+					failure.append(LINE_SEPARATOR).append(line);
 					if (!message.startsWith("Total time:")) { //$NON-NLS-1$
 						AntLaunchingUtil.linkBuildFailedMessage(line, antProcess);
 					}
 					line = r.readLine();
 				}
-				logMessage(IAntCoreConstants.EMPTY_STRING, event, Project.MSG_ERR);
+				failure.append(LINE_SEPARATOR);
 			}
 			catch (IOException e) {
 				// do nothing
 			}
+			logMessage(failure.toString(), event, Project.MSG_ERR);
 		}
 		fHandledException = null;
 		if (!(event.getException() instanceof OperationCanceledException)) {
@@ -262,7 +307,7 @@ public class AntProcessBuildLogger extends NullBuildLogger {
 			result.append(RuntimeMessages.AntProcessBuildLogger__milliseconds_6);
 		}
 
-		result.append(System.getProperty("line.separator")); //$NON-NLS-1$
+		result.append(LINE_SEPARATOR);
 		return result.toString();
 	}
 
@@ -282,17 +327,13 @@ public class AntProcessBuildLogger extends NullBuildLogger {
 			return;
 		}
 		Target target = event.getTarget();
-		StringBuilder msg = new StringBuilder(System.getProperty("line.separator")); //$NON-NLS-1$
 		String targetName = target.getName();
-		msg.append(targetName);
-		msg.append(':');
-		String message = msg.toString();
+		String message = LINE_SEPARATOR + targetName + ':';
 		Location location = AntDebugState.getLocation(target);
 		if (location != null && location != Location.UNKNOWN_LOCATION) {
-			IRegion region = new Region(0, targetName.length());
 			AntProcess antProcess = getAntProcess(fProcessId);
 			AntLaunch antLaunch = (AntLaunch) antProcess.getLaunch();
-			antLaunch.addLinkDescriptor(message, location.getFileName(), location.getLineNumber(), region.getOffset(), region.getLength());
+			antLaunch.addLinkDescriptor(message, location.getFileName(), location.getLineNumber(), 0, targetName.length());
 		}
 		logMessage(message, event, Project.MSG_INFO);
 	}
@@ -138,6 +138,11 @@ public class InternalAntRunner {
 
 	private String fEarlyErrorMessage = null;
 
+	/**
+	 * The listener recording target and task timings when <code>-profile</code> is specified
+	 */
+	private ProfilingBuildListener profiler = null;
+
 	public static void main(String[] args) {
 		try {
 			new InternalAntRunner().run(getArrayList(args));
@@ -612,6 +617,10 @@ public class InternalAntRunner {
 	}
 
 	private void fireBuildFinished(Project project, Throwable error) {
+		if (profiler != null) {
+			// report while the loggers are still listening
+			profiler.report(project);
+		}
 		if (error == null && scriptExecuted) {
 			logMessage(project, RemoteAntMessages.getString("InternalAntRunner.BUILD_SUCCESSFUL_1"), messageOutputLevel); //$NON-NLS-1$
 		}
@@ -940,6 +949,23 @@ public class InternalAntRunner {
 			return false;
 		}
 
+		// the file has its own argument, as an optional value of -profile could not be told apart from a target name
+		boolean profile = commands.remove("-profile"); //$NON-NLS-1$
+		arg = getArgument(commands, "-profilefile"); //$NON-NLS-1$
+		if (arg != null) {
+			if (arg.length() == 0) {
+				String message = RemoteAntMessages.getString("InternalAntRunner.specify_a_file_using_the_profilefile_argument"); //$NON-NLS-1$
+				logMessage(currentProject, message, Project.MSG_ERR);
+				throw new BuildException(message);
+			}
+		} else if (profile) {
+			arg = "ant-profile.collapsed"; //$NON-NLS-1$
+		}
+		if (arg != null) {
+			profiler = new ProfilingBuildListener(getFileRelativeToBaseDir(arg));
+			currentProject.addBuildListener(profiler);
+		}
+
 		processTasksAndTypes(commands);
 
 		if (!commands.isEmpty()) {
@@ -1216,6 +1242,12 @@ public class InternalAntRunner {
 		msg.append("\t-noinput\t"); //$NON-NLS-1$
 		msg.append(RemoteAntMessages.getString("InternalAntRunner.158")); //$NON-NLS-1$
 		msg.append(lSep);
+		msg.append("\t-profile\t"); //$NON-NLS-1$
+		msg.append(RemoteAntMessages.getString("InternalAntRunner.profile")); //$NON-NLS-1$
+		msg.append(lSep);
+		msg.append("\t-profilefile <file>"); //$NON-NLS-1$
+		msg.append(RemoteAntMessages.getString("InternalAntRunner.profilefile")); //$NON-NLS-1$
+		msg.append(lSep);
 		msg.append("\t-buildfile\t<file>\t"); //$NON-NLS-1$
 		msg.append(RemoteAntMessages.getString("InternalAntRunner.use_given_buildfile_43")); //$NON-NLS-1$
 		msg.append(lSep);
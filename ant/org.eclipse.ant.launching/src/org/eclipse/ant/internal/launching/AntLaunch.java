@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2016 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,14 @@
 package org.eclipse.ant.internal.launching;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.Launch;
 import org.eclipse.debug.core.model.ISourceLocator;
@@ -24,19 +30,106 @@ import org.eclipse.debug.core.model.ISourceLocator;
  * Stores link descriptors for Launch for further use of TaskLinkManager
  */
 public class AntLaunch extends Launch {
-	List<LinkDescriptor> linkDescriptors;
+
+	/**
+	 * The maximum number of resolved workspace files kept per launch
+	 */
+	private static final int MAX_CACHED_FILES = 32;
+
+	/**
+	 * Marker for a file name that does not resolve to a workspace file
+	 */
+	private static final Object NO_FILE = new Object();
+
+	LinkedList<LinkDescriptor> linkDescriptors;
+
+	/**
+	 * File names referenced by the link descriptors, indexed by {@link LinkDescriptor#getFileIndex()}
+	 */
+	private List<String> fLinkFileNames = new ArrayList<>();
+	private Map<String, Integer> fLinkFileIndices = new HashMap<>();
+
+	/**
+	 * Least recently used workspace files resolved for links of this launch, keyed by file index
+	 */
+	private Map<Integer, Object> fLinkFiles = new LinkedHashMap<Integer, Object>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Object> eldest) {
+			return size() > MAX_CACHED_FILES;
+		}
+	};
 
 	public AntLaunch(ILaunchConfiguration launchConfiguration, String mode, ISourceLocator locator) {
 		super(launchConfiguration, mode, locator);
-		linkDescriptors = new ArrayList<>();
+		linkDescriptors = new LinkedList<>();
 	}
 
 	public void addLinkDescriptor(String line, String fileName, int lineNumber, int offset, int length) {
 		if (fileName != null && fileName.trim().length() > 0) {
 			synchronized (linkDescriptors) {
-				linkDescriptors.add(new LinkDescriptor(line, fileName, lineNumber, offset, length));
+				linkDescriptors.add(new LinkDescriptor(line, getLinkFileIndex(fileName), lineNumber, offset, length));
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the given file name in the file table, adding it if required. Must be called holding the descriptors lock.
+	 */
+	private int getLinkFileIndex(String fileName) {
+		Integer index = fLinkFileIndices.get(fileName);
+		if (index == null) {
+			index = Integer.valueOf(fLinkFileNames.size());
+			fLinkFileNames.add(fileName);
+			fLinkFileIndices.put(fileName, index);
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Returns the file name recorded for the given file index
+	 *
+	 * @param fileIndex
+	 *            index as returned by {@link LinkDescriptor#getFileIndex()}
+	 * @return the file name or <code>null</code> if the index is unknown
+	 */
+	public String getLinkFileName(int fileIndex) {
+		synchronized (linkDescriptors) {
+			if (fileIndex < 0 || fileIndex >= fLinkFileNames.size()) {
+				return null;
+			}
+			return fLinkFileNames.get(fileIndex);
+		}
+	}
+
+	/**
+	 * Returns the workspace file for the given file index, resolving it only when first asked for. Resolved files are kept in a small cache that
+	 * is freed by {@link #clearLinkDescriptors()}.
+	 *
+	 * @param fileIndex
+	 *            index as returned by {@link LinkDescriptor#getFileIndex()}
+	 * @return the workspace file or <code>null</code> if the file is not in the workspace
+	 */
+	public IFile getLinkFile(int fileIndex) {
+		String fileName;
+		Integer key = Integer.valueOf(fileIndex);
+		synchronized (linkDescriptors) {
+			Object file = fLinkFiles.get(key);
+			if (file != null) {
+				return file == NO_FILE ? null : (IFile) file;
+			}
+			if (fileIndex < 0 || fileIndex >= fLinkFileNames.size()) {
+				return null;
 			}
+			fileName = fLinkFileNames.get(fileIndex);
 		}
+		// resolve outside of the lock, this queries the workspace
+		IFile file = AntLaunchingUtil.getFileForLocation(fileName, null);
+		synchronized (linkDescriptors) {
+			fLinkFiles.put(key, file == null ? NO_FILE : file);
+		}
+		return file;
 	}
 
 	public void removeLinkDescriptor(LinkDescriptor ld) {
@@ -45,6 +138,27 @@ public class AntLaunch extends Launch {
 		}
 	}
 
+	/**
+	 * Removes and returns the oldest link descriptor registered for the given console line.
+	 *
+	 * @param line
+	 *            the trimmed text of a console line
+	 * @return the matching descriptor or <code>null</code> if none
+	 */
+	public LinkDescriptor removeLinkDescriptor(String line) {
+		synchronized (linkDescriptors) {
+			Iterator<LinkDescriptor> iterator = linkDescriptors.iterator();
+			while (iterator.hasNext()) {
+				LinkDescriptor descriptor = iterator.next();
+				if (descriptor.getLine().equals(line)) {
+					iterator.remove();
+					return descriptor;
+				}
+			}
+		}
+		return null;
+	}
+
 	public List<LinkDescriptor> getLinkDescriptors() {
 		synchronized (linkDescriptors) {
 			return new ArrayList<>(linkDescriptors);
@@ -54,6 +168,9 @@ public class AntLaunch extends Launch {
 	public void clearLinkDescriptors() {
 		synchronized (linkDescriptors) {
 			linkDescriptors.clear();
+			fLinkFileNames.clear();
+			fLinkFileIndices.clear();
+			fLinkFiles.clear();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,18 +15,22 @@ package org.eclipse.ant.internal.launching;
 
 /**
  * Stores detailed data of Link. Used to create linked messages.
+ * <p>
+ * The file is recorded as an index into the file table of the owning {@link AntLaunch} rather than as a path, so that the many descriptors of a
+ * build share a single copy of each file name.
+ * </p>
  */
 public class LinkDescriptor {
-	String line;
-	String fileName;
-	int lineNumber;
-	int offset;
-	int length;
+	final String line;
+	final int fileIndex;
+	final int lineNumber;
+	final int offset;
+	final int length;
 
-	public LinkDescriptor(String line, String fileName, int lineNumber, int offset, int length) {
+	public LinkDescriptor(String line, int fileIndex, int lineNumber, int offset, int length) {
 		super();
 		this.line = line;
-		this.fileName = fileName;
+		this.fileIndex = fileIndex;
 		this.lineNumber = lineNumber;
 		this.offset = offset;
 		this.length = length;
@@ -36,40 +40,26 @@ public class LinkDescriptor {
 		return line;
 	}
 
-	public void setLine(String line) {
-		this.line = line;
-	}
-
-	public String getFileName() {
-		return fileName;
-	}
-
-	public void setFileName(String fileName) {
-		this.fileName = fileName;
+	/**
+	 * Returns the index of the linked file in the file table of the launch
+	 *
+	 * @return the file index
+	 * @see AntLaunch#getLinkFileName(int)
+	 */
+	public int getFileIndex() {
+		return fileIndex;
 	}
 
 	public int getLineNumber() {
 		return lineNumber;
 	}
 
-	public void setLineNumber(int lineNumber) {
-		this.lineNumber = lineNumber;
-	}
-
 	public int getOffset() {
 		return offset;
 	}
 
-	public void setOffset(int offset) {
-		this.offset = offset;
-	}
-
 	public int getLength() {
 		return length;
 	}
 
-	public void setLength(int length) {
-		this.length = length;
-	}
-
 }
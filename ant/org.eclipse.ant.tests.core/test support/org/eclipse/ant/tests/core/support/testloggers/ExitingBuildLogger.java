@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.tests.core.support.testloggers;
+
+import org.apache.tools.ant.BuildEvent;
+
+/**
+ * A logger that attempts to exit the VM when the first target starts.
+ */
+public class ExitingBuildLogger extends TestBuildLogger {
+
+	@Override
+	public void targetStarted(BuildEvent event) {
+		super.targetStarted(event);
+		System.exit(1);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,9 @@
  *******************************************************************************/
 package org.eclipse.ant.tests.core;
 
+import org.eclipse.ant.tests.core.tests.AntBuildfileContentDescriberTest;
 import org.eclipse.ant.tests.core.tests.AntSecurityManagerTest;
+import org.eclipse.ant.tests.core.tests.AntSystemGuardTest;
 import org.eclipse.ant.tests.core.tests.FrameworkTests;
 import org.eclipse.ant.tests.core.tests.OptionTests;
 import org.eclipse.ant.tests.core.tests.ProjectTests;
@@ -37,7 +39,7 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ FrameworkTests.class, TargetTests.class, ProjectTests.class, OptionTests.class, TaskTests.class, TypeTests.class,
-		PropertyTests.class, AntSecurityManagerTest.class })
+		PropertyTests.class, AntSecurityManagerTest.class, AntSystemGuardTest.class, AntBuildfileContentDescriberTest.class })
 public class AutomatedSuite {
 	// SUITE
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.tests.core.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.ant.internal.core.contentDescriber.AntBuildfileContentDescriber;
+import org.eclipse.ant.internal.core.contentDescriber.AntBuildfileSniffer;
+import org.eclipse.core.runtime.content.IContentDescriber;
+import org.junit.Test;
+
+public class AntBuildfileContentDescriberTest {
+
+	private static int describe(String contents) throws IOException {
+		AntBuildfileContentDescriber describer = new AntBuildfileContentDescriber();
+		int fromBytes = describer.describe(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), null);
+		int fromChars = describer.describe(new StringReader(contents), null);
+		assertEquals("The bytes and the characters should be described alike", fromBytes, fromChars); //$NON-NLS-1$
+		return fromBytes;
+	}
+
+	private static int sniff(String contents) {
+		return AntBuildfileSniffer.sniff(contents.toCharArray(), contents.length(), true);
+	}
+
+	/**
+	 * Tests that the usual buildfiles are recognized without parsing them.
+	 */
+	@Test
+	public void testSniffedBuildfiles() throws IOException {
+		String[] buildfiles = { "<?xml version=\"1.0\"?>\n<project name=\"p\" default=\"a\"><target name=\"a\"/></project>", //$NON-NLS-1$
+				"<project name='p'>\n<!-- <echo/> -->\n<description>a &amp; b</description>\n<target name='a'/></project>", //$NON-NLS-1$
+				"<!DOCTYPE project SYSTEM \"ant.dtd\"><project><property name='a' value='b'/></project>" }; //$NON-NLS-1$
+		for (String buildfile : buildfiles) {
+			assertEquals(buildfile, IContentDescriber.VALID, sniff(buildfile));
+			assertEquals(buildfile, IContentDescriber.VALID, describe(buildfile));
+		}
+	}
+
+	/**
+	 * Tests that other XML files and projects without Ant elements are not recognized.
+	 */
+	@Test
+	public void testSniffedOtherFiles() throws IOException {
+		String[] others = { "<plugin><extension point='p'/></plugin>", //$NON-NLS-1$
+				"<project name='p'><echo><target/></echo></project>", //$NON-NLS-1$
+				"<project/>" }; //$NON-NLS-1$
+		for (String other : others) {
+			assertEquals(other, IContentDescriber.INDETERMINATE, sniff(other));
+			assertEquals(other, IContentDescriber.INDETERMINATE, describe(other));
+		}
+	}
+
+	/**
+	 * Tests that the contents the scan cannot be sure of are still parsed.
+	 */
+	@Test
+	public void testParsedFiles() throws IOException {
+		String prefixed = "<ant:project xmlns:ant='antlib:org.apache.tools.ant' default='a'/>"; //$NON-NLS-1$
+		assertEquals(AntBuildfileSniffer.AMBIGUOUS, sniff(prefixed));
+		assertEquals(IContentDescriber.VALID, describe(prefixed));
+
+		String entity = "<!DOCTYPE project [<!ENTITY common '<target name=\"t\"/>'>]><project>&common;</project>"; //$NON-NLS-1$
+		assertEquals(AntBuildfileSniffer.AMBIGUOUS, sniff(entity));
+		assertEquals(IContentDescriber.VALID, describe(entity));
+	}
+}
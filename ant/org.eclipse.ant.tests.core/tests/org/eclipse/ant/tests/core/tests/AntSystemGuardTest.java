@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.tests.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.eclipse.ant.core.AntRunner;
+import org.eclipse.ant.core.AntSecurityException;
+import org.eclipse.ant.internal.core.AntSystemGuard;
+import org.eclipse.ant.tests.core.AbstractAntTest;
+import org.eclipse.ant.tests.core.testplugin.AntTestChecker;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.Test;
+
+public class AntSystemGuardTest extends AbstractAntTest {
+
+	private static final String PROPERTY = "org.eclipse.ant.tests.core.guarded"; //$NON-NLS-1$
+	private static final String ANT_TEST_EXITING_LOGGER = "org.eclipse.ant.tests.core.support.testloggers.ExitingBuildLogger"; //$NON-NLS-1$
+
+	/**
+	 * Tests that closing a nested scope restores the restriction of the enclosing scope and that threads join the run of another thread.
+	 */
+	@Test
+	public void testNestedScopes() throws InterruptedException {
+		assertNull(AntSystemGuard.getRestriction());
+		try (AntSystemGuard.Scope outer = AntSystemGuard.restrict(false)) {
+			try (AntSystemGuard.Scope inner = AntSystemGuard.restrict(true)) {
+				assertTrue(inner == AntSystemGuard.getRestriction());
+			}
+			assertTrue(outer == AntSystemGuard.getRestriction());
+			boolean[] restricted = new boolean[1];
+			Thread worker = new Thread(() -> {
+				try (AntSystemGuard.Scope joined = AntSystemGuard.restrict(outer)) {
+					restricted[0] = AntSystemGuard.isRestricted();
+				}
+			});
+			worker.start();
+			worker.join();
+			assertTrue(restricted[0]);
+		}
+		assertFalse(AntSystemGuard.isRestricted());
+	}
+
+	/**
+	 * Tests that a guarded run refuses system property writes from its threads that may not set them, and only from them.
+	 */
+	@Test
+	public void testGuardedRunRefusesPropertyWrites() throws InterruptedException {
+		SecurityManager manager = getSecurityManager();
+		try (AntSystemGuard.Scope scope = AntSystemGuard.restrict(false)) {
+			assumeTrue("The VM does not support a security manager", manager != getSecurityManager()); //$NON-NLS-1$
+			assertThrows(AntSecurityException.class, () -> System.setProperty(PROPERTY, "restricted")); //$NON-NLS-1$
+			Thread other = new Thread(() -> System.setProperty(PROPERTY, "other")); //$NON-NLS-1$
+			other.start();
+			other.join();
+			assertEquals("other", System.getProperty(PROPERTY)); //$NON-NLS-1$
+		}
+		finally {
+			System.clearProperty(PROPERTY);
+		}
+		assertTrue(manager == getSecurityManager());
+	}
+
+	/**
+	 * Tests that a run is guarded from the moment it opens and that the previous security manager is restored when it ends.
+	 */
+	@Test
+	public void testGuardEndsWithRun() {
+		SecurityManager manager = getSecurityManager();
+		try (AntSystemGuard.Scope scope = AntSystemGuard.restrict(true)) {
+			assumeTrue("The VM does not support a security manager", manager != getSecurityManager()); //$NON-NLS-1$
+			try (AntSystemGuard.Scope nested = AntSystemGuard.restrict(false)) {
+				assertTrue(getSecurityManager() != manager);
+			}
+			assertTrue(getSecurityManager() != manager);
+		}
+		assertTrue(manager == getSecurityManager());
+	}
+
+	/**
+	 * Tests that a type nested in a task of Ant cannot exit the VM, although no task of the build comes from outside of Ant.
+	 */
+	@Test
+	public void testExitingNestedType() throws CoreException {
+		assumeTrue("The VM does not support a security manager", isGuardSupported()); //$NON-NLS-1$
+		run("exitingType.xml"); //$NON-NLS-1$
+		assertEquals(1, AntTestChecker.getDefault().getTargetsStartedCount());
+		assertFalse(AntTestChecker.getDefault().getMessages().contains("not exited")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a logger of the build cannot exit the VM.
+	 */
+	@Test
+	public void testExitingLogger() throws CoreException {
+		assumeTrue("The VM does not support a security manager", isGuardSupported()); //$NON-NLS-1$
+		AntTestChecker.reset();
+		AntRunner runner = new AntRunner();
+		runner.setBuildFileLocation(getBuildFile("echoing.xml").getLocation().toFile().getAbsolutePath()); //$NON-NLS-1$
+		runner.addBuildLogger(ANT_TEST_EXITING_LOGGER);
+		runner.run(null);
+		assertEquals(1, AntTestChecker.getDefault().getTargetsStartedCount());
+		assertFalse(AntTestChecker.getDefault().getMessages().contains("echo1")); //$NON-NLS-1$
+	}
+
+	private static boolean isGuardSupported() {
+		SecurityManager manager = getSecurityManager();
+		try (AntSystemGuard.Scope scope = AntSystemGuard.restrict(true)) {
+			return manager != getSecurityManager();
+		}
+	}
+
+	@SuppressWarnings("removal")
+	private static SecurityManager getSecurityManager() {
+		return System.getSecurityManager();
+	}
+}
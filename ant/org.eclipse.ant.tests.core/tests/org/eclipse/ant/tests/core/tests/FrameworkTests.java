@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,9 +14,12 @@
  *******************************************************************************/
 package org.eclipse.ant.tests.core.tests;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -30,13 +33,18 @@ import org.eclipse.ant.core.IAntClasspathEntry;
 import org.eclipse.ant.core.Property;
 import org.eclipse.ant.core.TargetInfo;
 import org.eclipse.ant.internal.core.AntClasspathEntry;
+import org.eclipse.ant.internal.core.AntRuntimeSnapshot;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.tests.core.AbstractAntTest;
 import org.eclipse.ant.tests.core.testplugin.AntTestChecker;
 import org.eclipse.ant.tests.core.testplugin.ProjectHelper;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.variables.IStringVariableManager;
+import org.eclipse.core.variables.IValueVariable;
+import org.eclipse.core.variables.VariablesPlugin;
 import org.junit.Test;
 
 public class FrameworkTests extends AbstractAntTest {
@@ -224,6 +232,51 @@ public class FrameworkTests extends AbstractAntTest {
 		restorePreferenceDefaults();
 	}
 
+	/**
+	 * Tests that the runtime snapshot is reused until the preferences change, and then reflects the change
+	 */
+	@Test
+	public void testRuntimeSnapshot() {
+		AntCorePreferences prefs = AntCorePlugin.getPlugin().getPreferences();
+		try {
+			AntRuntimeSnapshot snapshot = AntRuntimeSnapshot.getSnapshot(prefs);
+			assertSame("The snapshot should be reused", snapshot, AntRuntimeSnapshot.getSnapshot(prefs)); //$NON-NLS-1$
+			assertEquals("Incorrect tasks", prefs.getTasks(), snapshot.getTasks()); //$NON-NLS-1$
+			assertArrayEquals("Incorrect classpath", prefs.getURLs(), snapshot.getURLs()); //$NON-NLS-1$
+
+			prefs.setCustomProperties(new Property[] { new Property("eclipse.is.cool", "Yep") }); //$NON-NLS-1$ //$NON-NLS-2$
+			AntRuntimeSnapshot changed = AntRuntimeSnapshot.getSnapshot(prefs);
+			assertNotSame("A new snapshot should be computed", snapshot, changed); //$NON-NLS-1$
+			assertTrue("The stamp should increase", changed.getStamp() > snapshot.getStamp()); //$NON-NLS-1$
+			assertEquals("Incorrect properties", prefs.getProperties(), changed.getProperties()); //$NON-NLS-1$
+			assertFalse("The previous snapshot should not change", snapshot.getProperties().equals(changed.getProperties())); //$NON-NLS-1$
+		}
+		finally {
+			restorePreferenceDefaults();
+		}
+	}
+
+	/**
+	 * Tests that the runtime snapshot is computed again after a value variable changed, as classpath entries may refer to it
+	 */
+	@Test
+	public void testRuntimeSnapshotVariables() throws CoreException {
+		AntCorePreferences prefs = AntCorePlugin.getPlugin().getPreferences();
+		IStringVariableManager manager = VariablesPlugin.getDefault().getStringVariableManager();
+		IValueVariable variable = manager.newValueVariable("ant.tests.snapshot", null, false, "1"); //$NON-NLS-1$ //$NON-NLS-2$
+		AntRuntimeSnapshot snapshot = AntRuntimeSnapshot.getSnapshot(prefs);
+		manager.addVariables(new IValueVariable[] { variable });
+		try {
+			AntRuntimeSnapshot added = AntRuntimeSnapshot.getSnapshot(prefs);
+			assertNotSame("A new snapshot should be computed once the variable is added", snapshot, added); //$NON-NLS-1$
+			variable.setValue("2"); //$NON-NLS-1$
+			assertNotSame("A new snapshot should be computed once the variable changed", added, AntRuntimeSnapshot.getSnapshot(prefs)); //$NON-NLS-1$
+		}
+		finally {
+			manager.removeVariables(new IValueVariable[] { variable });
+		}
+	}
+
 	/**
 	 * Tests that the default ANT_HOME is set and that it can be changed
 	 */
@@ -299,4 +352,68 @@ public class FrameworkTests extends AbstractAntTest {
 		assertFalse("Incorrect classpath entry. This would have been the value before the fix", resultedEntries[entries.length].getLabel().equals(new Path("/home/tom/.eclipse/3.8/configuration/org.eclipse.osgi/bundles/21/2/.cp/lib/remote.jar").toOSString())); //$NON-NLS-1$ //$NON-NLS-2$
 		assertTrue("Incorrect classpath entry", resultedEntries[entries.length].getLabel().substring(index).equals(new Path("hub/home/tom/.eclipse/3.8/configuration/org.eclipse.osgi/bundles/21/2/.cp/lib/remote.jar").toOSString())); //$NON-NLS-1$ //$NON-NLS-2$
 	}
+
+	/**
+	 * Tests that the progress of a build is estimated once, from the targets that will execute, and that all of it is reported. The nested
+	 * <code>ant</code> calls must not add to the estimate of the calling build.
+	 */
+	@Test
+	public void testProgressEstimate() throws CoreException {
+		RecordingProgressMonitor monitor = new RecordingProgressMonitor();
+		AntTestChecker.reset();
+		AntRunner runner = new AntRunner();
+		runner.setBuildFileLocation(getBuildFile("TestForEcho.xml").getLocation().toFile().getAbsolutePath()); //$NON-NLS-1$
+		runner.addBuildLogger(ANT_TEST_BUILD_LOGGER);
+		runner.run(monitor);
+		assertSuccessful();
+		assertEquals("The monitor should have been begun once", 1, monitor.beginTaskCount); //$NON-NLS-1$
+		assertEquals("All the estimated work should have been reported", monitor.totalWork, monitor.worked, 0.5); //$NON-NLS-1$
+	}
+
+	private static class RecordingProgressMonitor implements IProgressMonitor {
+		int beginTaskCount = 0;
+		int totalWork = 0;
+		double worked = 0;
+
+		@Override
+		public void beginTask(String name, int work) {
+			beginTaskCount++;
+			totalWork = work;
+		}
+
+		@Override
+		public void done() {
+			// nothing to record
+		}
+
+		@Override
+		public void internalWorked(double work) {
+			worked += work;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return false;
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			// not cancellable
+		}
+
+		@Override
+		public void setTaskName(String name) {
+			// nothing to record
+		}
+
+		@Override
+		public void subTask(String name) {
+			// nothing to record
+		}
+
+		@Override
+		public void worked(int work) {
+			internalWorked(work);
+		}
+	}
 }
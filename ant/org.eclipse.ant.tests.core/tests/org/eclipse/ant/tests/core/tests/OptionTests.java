@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2021 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.ant.tests.core.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -21,14 +22,25 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 import org.eclipse.ant.core.AntCorePlugin;
+import org.eclipse.ant.core.AntRunner;
 import org.eclipse.ant.tests.core.AbstractAntTest;
 import org.eclipse.ant.tests.core.testplugin.AntTestChecker;
+import org.eclipse.ant.tests.core.testplugin.ProjectHelper;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.junit.Test;
@@ -159,6 +171,193 @@ public class OptionTests extends AbstractAntTest {
 
 	}
 
+	/**
+	 * Tests that the index of a compressed log file gives the offset from which the output of a target can be decompressed
+	 */
+	@Test
+	public void testLogFileGzipIndex() throws CoreException, IOException {
+		// the default logger writes the name of each target into the log file
+		run("echoing.xml", new String[] { "-logfile", "TestLogFile.gz", "-loggzip", "-logger", "org.apache.tools.ant.DefaultLogger", "echo1", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+				"echo2" }); //$NON-NLS-1$
+		File logFile = checkFileExists("TestLogFile.gz").getLocation().toFile(); //$NON-NLS-1$
+		File indexFile = checkFileExists("TestLogFile.gz.index").getLocation().toFile(); //$NON-NLS-1$
+		long offset = -1;
+		for (String line : Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8)) {
+			String[] entry = line.split("\t"); //$NON-NLS-1$
+			if ("echo2".equals(entry[2])) { //$NON-NLS-1$
+				assertEquals("TestLogFile.gz", entry[0]); //$NON-NLS-1$
+				offset = Long.parseLong(entry[1]);
+			}
+		}
+		assertTrue("echo2 should have been indexed", offset > 0); //$NON-NLS-1$
+		try (InputStream stream = Files.newInputStream(logFile.toPath())) {
+			assertEquals(offset, stream.skip(offset));
+			String output = new String(new GZIPInputStream(stream).readAllBytes(), StandardCharsets.UTF_8);
+			assertTrue("The output of echo2 should start with its name: " + output, output.startsWith(System.lineSeparator() + "echo2:")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertFalse("The output of echo1 should come before the offset of echo2", output.contains("echo1")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Tests specifying the -jsonlog writes one JSON object per line for the events of the build
+	 */
+	@Test
+	public void testJsonLog() throws CoreException, IOException {
+		run("echoing.xml", new String[] { "-jsonlog", "TestLog.jsonl", "echo2" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertSuccessful();
+		File file = checkFileExists("TestLog.jsonl").getLocation().toFile(); //$NON-NLS-1$
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertTrue("The build should have started first", lines.get(0).startsWith("{\"event\":\"buildStarted\"")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("The build should have finished last", lines.get(lines.size() - 1).startsWith("{\"event\":\"buildFinished\"")); //$NON-NLS-1$ //$NON-NLS-2$
+		boolean targetStarted = false;
+		boolean messageLogged = false;
+		for (String line : lines) {
+			assertTrue("Each line should hold one object: " + line, line.startsWith("{") && line.endsWith("}")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (line.startsWith("{\"event\":\"targetStarted\"") && line.contains("\"target\":\"echo2\"")) { //$NON-NLS-1$ //$NON-NLS-2$
+				targetStarted = true;
+				assertTrue("The target should have a location: " + line, line.contains("echoing.xml\",\"line\":")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			if (line.contains("\"task\":\"echo\"") && line.contains("\"message\":\"echo2\"")) { //$NON-NLS-1$ //$NON-NLS-2$
+				messageLogged = true;
+			}
+		}
+		assertTrue("The start of echo2 should have been written", targetStarted); //$NON-NLS-1$
+		assertTrue("The message of echo2 should have been written", messageLogged); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that with -parallel the -jsonlog lines of each target are written with the times their events occurred, in order
+	 */
+	@Test
+	public void testJsonLogParallel() throws CoreException, IOException {
+		run("echoing.xml", new String[] { "-parallel", "2", "-jsonlog", "TestLogParallel.jsonl", "echo1", "echo2", "echo3" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+		assertSuccessful();
+		File file = checkFileExists("TestLogParallel.jsonl").getLocation().toFile(); //$NON-NLS-1$
+		Pattern time = Pattern.compile("\"time\":(\\d+)"); //$NON-NLS-1$
+		Pattern target = Pattern.compile("\"target\":\"(echo\\d)\""); //$NON-NLS-1$
+		Map<String, Long> lastTimes = new HashMap<>();
+		for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+			Matcher targetMatcher = target.matcher(line);
+			if (!targetMatcher.find()) {
+				continue;
+			}
+			Matcher timeMatcher = time.matcher(line);
+			assertTrue("Each line should have a time: " + line, timeMatcher.find()); //$NON-NLS-1$
+			long eventTime = Long.parseLong(timeMatcher.group(1));
+			Long previous = lastTimes.put(targetMatcher.group(1), Long.valueOf(eventTime));
+			assertTrue("The times of a target should not go back: " + line, previous == null || previous.longValue() <= eventTime); //$NON-NLS-1$
+		}
+		assertEquals("The events of each target should have been written", 3, lastTimes.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests specifying the -profilefile
+	 */
+	@Test
+	public void testProfile() throws CoreException {
+		run("echoing.xml", new String[] { "-profilefile", "TestProfile.collapsed", "echo2", "echo3" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		checkFileExists("TestProfile.collapsed"); //$NON-NLS-1$
+		boolean summaryLogged = false;
+		for (String message : AntTestChecker.getDefault().getMessages()) {
+			if (message.startsWith("Slowest targets")) { //$NON-NLS-1$
+				summaryLogged = true;
+				assertTrue("echo2 should have been profiled", message.contains("Echoing.echo2")); //$NON-NLS-1$ //$NON-NLS-2$
+				assertTrue("echo3 should have been profiled", message.contains("Echoing.echo3")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		assertTrue("The profile summary should have been logged", summaryLogged); //$NON-NLS-1$
+		assertSuccessful();
+	}
+
+	/**
+	 * Tests that a target following -profile is built and not taken as the profile file
+	 */
+	@Test
+	public void testProfileBeforeTarget() throws CoreException {
+		run("echoing.xml", new String[] { "-profile", "echo2" }); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSuccessful();
+		List<String> messages = AntTestChecker.getDefault().getMessages();
+		assertTrue("echo2 should have been built", messages.contains("echo2")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("The default target should not have been built", messages.contains("echo1")); //$NON-NLS-1$ //$NON-NLS-2$
+		checkFileExists("ant-profile.collapsed"); //$NON-NLS-1$
+		assertFalse("The target should not be the profile file", getProject().getFolder(ProjectHelper.BUILDFILES_FOLDER).getFile("echo2").exists()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests the "-parallel" option runs every target once and keeps the messages of each target together
+	 */
+	@Test
+	public void testParallel() throws CoreException {
+		run("echoing.xml", new String[] { "-parallel", "2", "echo1", "echo2", "echo3" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		assertSuccessful();
+		List<String> messages = AntTestChecker.getDefault().getMessages();
+		for (String echo : new String[] { "echo1", "echo2", "echo3" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertEquals(echo + " should have been logged once", 1, Collections.frequency(messages, echo)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Tests that a target following "-parallel" is built and not taken as the number of threads
+	 */
+	@Test
+	public void testParallelBeforeTarget() throws CoreException {
+		run("echoing.xml", new String[] { "-parallel", "echo2" }); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSuccessful();
+		List<String> messages = AntTestChecker.getDefault().getMessages();
+		assertTrue("echo2 should have been built", messages.contains("echo2")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("The default target should not have been built", messages.contains("echo1")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests specifying the -parallel with a number of threads that is not positive
+	 */
+	@Test
+	public void testParallelWithBadNumber() {
+		assertThrows("You must specify a positive number of threads when using the -parallel argument", CoreException.class, //$NON-NLS-1$
+				() -> run("TestForEcho.xml", new String[] { "-parallel", "0" })); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Tests the "-parallel" option with "-keep-going" runs the targets independent of a failed one and still fails the build
+	 */
+	@Test
+	public void testParallelKeepGoing() {
+		assertThrows("The build should have failed", CoreException.class, //$NON-NLS-1$
+				() -> run("failingTarget.xml", new String[] { "-parallel", "2", "-keep-going" }, false)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertTrue("The independent target should have run", //$NON-NLS-1$
+				AntTestChecker.getDefault().getMessages().contains("Still echo on failure")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests the "-uptodate" option skips a target until one of its declared outputs changes, and "-rebuild" runs it anyway
+	 */
+	@Test
+	public void testUpToDate() throws CoreException {
+		run("upToDate.xml", new String[] { "-rebuild" }); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSuccessful();
+		assertTrue("The target should have run", AntTestChecker.getDefault().getMessages().contains("copied")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		run("upToDate.xml", new String[] { "-uptodate" }); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSuccessful();
+		assertFalse("The target should have been skipped", AntTestChecker.getDefault().getMessages().contains("copied")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("The statistics should have been logged", //$NON-NLS-1$
+				AntTestChecker.getDefault().getMessages().contains("Up-to-date check: 1 of 1 targets skipped")); //$NON-NLS-1$
+
+		checkFileExists("upToDate.out").delete(true, null); //$NON-NLS-1$
+		run("upToDate.xml", new String[] { "-uptodate" }); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSuccessful();
+		assertTrue("The target should have run again", AntTestChecker.getDefault().getMessages().contains("copied")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that "-uptodate" cannot be combined with "-parallel"
+	 */
+	@Test
+	public void testUpToDateWithParallel() {
+		assertThrows("The -uptodate and -rebuild arguments cannot be used with the -parallel argument", CoreException.class, //$NON-NLS-1$
+				() -> run("upToDate.xml", new String[] { "-uptodate", "-parallel", "2" })); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
 	/**
 	 * Tests specifying the -logger with no arg
 	 */
@@ -498,6 +697,54 @@ public class OptionTests extends AbstractAntTest {
 		assertNull("my.name was not set and should be null", AntTestChecker.getDefault().getUserProperty("my.name")); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Tests that a property file read for an earlier build is read again once it changed.
+	 */
+	@Test
+	public void testPropertyFileChanged() throws CoreException, IOException {
+		File file = File.createTempFile("changing", ".properties"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			Files.write(file.toPath(), "AntTests=first\n".getBytes(StandardCharsets.ISO_8859_1)); //$NON-NLS-1$
+			run("TestForEcho.xml", new String[] { "-propertyfile", file.getAbsolutePath() }); //$NON-NLS-1$ //$NON-NLS-2$
+			assertSuccessful();
+			assertEquals("first", AntTestChecker.getDefault().getUserProperty("AntTests")); //$NON-NLS-1$ //$NON-NLS-2$
+			Files.write(file.toPath(), "AntTests=second value\n".getBytes(StandardCharsets.ISO_8859_1)); //$NON-NLS-1$
+			run("TestForEcho.xml", new String[] { "-propertyfile", file.getAbsolutePath() }); //$NON-NLS-1$ //$NON-NLS-2$
+			assertSuccessful();
+			assertEquals("second value", AntTestChecker.getDefault().getUserProperty("AntTests")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that the builds of a batch manifest all run, that the exit code of the batch is the one of the failed build and that the summary lists
+	 * every build.
+	 */
+	@Test
+	public void testBatch() throws Exception {
+		File manifest = File.createTempFile("builds", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+		File summary = File.createTempFile("summary", ".json"); //$NON-NLS-1$ //$NON-NLS-2$
+		String echo = getBuildFile("TestForEcho.xml").getLocation().toOSString(); //$NON-NLS-1$
+		String failing = getBuildFile("failingTarget.xml").getLocation().toOSString(); //$NON-NLS-1$
+		AntCorePlugin.getPlugin().setRunningHeadless(true);
+		try {
+			String lines = "# nightly\n-buildfile \"" + echo + "\"\n\n-buildfile \"" + failing + "\" fails\n"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			Files.write(manifest.toPath(), lines.getBytes(StandardCharsets.UTF_8));
+			Object exitCode = new AntRunner().run(new String[] { "-batch", manifest.getAbsolutePath(), "-summary", summary.getAbsolutePath(), "-quiet" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertEquals(Integer.valueOf(1), exitCode);
+			String json = new String(Files.readAllBytes(summary.toPath()), StandardCharsets.UTF_8);
+			assertTrue(json, json.contains("\"line\": 2") && json.contains("\"line\": 4")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertTrue(json, json.contains("\"exitCode\": 0, ") && json.contains("\"exitCode\": 1, ")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		finally {
+			AntCorePlugin.getPlugin().setRunningHeadless(false);
+			manifest.delete();
+			summary.delete();
+		}
+	}
+
 	@Test
 	public void testPropertyFileWithMinusDTakingPrecedence() throws CoreException {
 		run("echoing.xml", //$NON-NLS-1$
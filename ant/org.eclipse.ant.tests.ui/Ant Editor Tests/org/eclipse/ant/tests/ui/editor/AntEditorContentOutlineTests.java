@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 GEBIT Gesellschaft fuer EDV-Beratung
+ * Copyright (c) 2002, 2026 GEBIT Gesellschaft fuer EDV-Beratung
  * und Informatik-Technologien mbH, 
  * Berlin, Duesseldorf, Frankfurt (Germany) and others.
  *
@@ -17,13 +17,20 @@
 
 package org.eclipse.ant.tests.ui.editor;
 
+import java.util.Collections;
 import java.util.List;
 
+import org.apache.tools.ant.AntTypeDefinition;
+import org.apache.tools.ant.ComponentHelper;
+import org.eclipse.ant.internal.ui.editor.text.XMLReconcilingStrategy;
 import org.eclipse.ant.internal.ui.model.AntElementNode;
 import org.eclipse.ant.internal.ui.model.AntModel;
+import org.eclipse.ant.internal.ui.model.AntModelDelta;
+import org.eclipse.ant.internal.ui.model.AntProjectNode;
 import org.eclipse.ant.internal.ui.model.IAntElement;
 import org.eclipse.ant.tests.ui.testplugin.AbstractAntUITest;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
 
 /**
  * Tests the correct creation of the outline for an xml file.
@@ -200,4 +207,91 @@ public class AntEditorContentOutlineTests extends AbstractAntUITest {
 		assertFalse("Target with description attribute should not be internal", model.getTargetNode("non-internal").isInternal()); //$NON-NLS-1$ //$NON-NLS-2$
 		assertFalse("Default target should not be internal", model.getTargetNode("-default").isInternal()); //$NON-NLS-1$ //$NON-NLS-2$
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests that the project node of a completed reconcile is kept as it was until the next reconcile completes
+	 */
+	public void testReconcileKeepsCompletedProjectNode() throws BadLocationException {
+		AntModel model = getAntModel("buildtest1.xml"); //$NON-NLS-1$
+		model.install();
+		AntProjectNode completed = model.getProjectNode(false);
+		assertNotNull(completed);
+		int childCount = completed.getChildNodes().size();
+		int stamp = model.getReconcileStamp();
+
+		IDocument document = getCurrentDocument();
+		int offset = document.get().indexOf("</project>"); //$NON-NLS-1$
+		document.replace(offset, 0, "<target name=\"added\"/>"); //$NON-NLS-1$
+		assertSame("The completed project node should be kept until the next reconcile", completed, model.getProjectNode(false)); //$NON-NLS-1$
+
+		AntProjectNode reconciled = model.getProjectNode();
+		assertNotSame("Reconciling should build a new project node", completed, reconciled); //$NON-NLS-1$
+		assertEquals(stamp + 1, model.getReconcileStamp());
+		assertEquals(childCount + 1, reconciled.getChildNodes().size());
+		assertEquals("The previous project node should not change", childCount, completed.getChildNodes().size()); //$NON-NLS-1$
+		assertNotNull(model.getTargetNode("added")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the reconcile delay grows with the size of the buildfile and the time the last reconcile took
+	 */
+	public void testReconcileDelay() {
+		assertEquals(XMLReconcilingStrategy.DELAY, XMLReconcilingStrategy.computeDelay(0, 0));
+		assertEquals(XMLReconcilingStrategy.DELAY + 100, XMLReconcilingStrategy.computeDelay(100 * 1024, 0));
+		assertEquals(2000, XMLReconcilingStrategy.computeDelay(100 * 1024, 1000));
+		assertEquals(XMLReconcilingStrategy.MAX_DELAY, XMLReconcilingStrategy.computeDelay(50 * 1024 * 1024, 0));
+		assertEquals(XMLReconcilingStrategy.MAX_DELAY, XMLReconcilingStrategy.computeDelay(0, 10000));
+	}
+
+	/**
+	 * Tests that the default and contributed definitions are copied into each parsed project, and that a definition added to one project does not
+	 * show in another.
+	 */
+	public void testDefinitionsCopiedIntoEachProject() {
+		AntModel model = getAntModel("extensionPointTaskSepVM.xml"); //$NON-NLS-1$
+		ComponentHelper helper = ComponentHelper.getComponentHelper(model.getProjectNode().getProject());
+		assertNotNull("Missing default task", helper.getDefinition("echo")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("Missing contributed task", helper.getDefinition("coolUITask")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("Missing contributed type", helper.getDefinition("coolUIType")); //$NON-NLS-1$ //$NON-NLS-2$
+		AntTypeDefinition definition = new AntTypeDefinition();
+		definition.setName("onlyInFirstProject"); //$NON-NLS-1$
+		definition.setClassName("org.apache.tools.ant.taskdefs.Echo"); //$NON-NLS-1$
+		helper.addDataTypeDefinition(definition);
+
+		AntModel other = getAntModel("extensionPointTaskSepVM.xml"); //$NON-NLS-1$
+		try {
+			ComponentHelper otherHelper = ComponentHelper.getComponentHelper(other.getProjectNode().getProject());
+			assertNotSame(helper, otherHelper);
+			assertNotNull("Missing contributed task", otherHelper.getDefinition("coolUITask")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertNull("Definition of another project", otherHelper.getDefinition("onlyInFirstProject")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		finally {
+			model.dispose();
+			other.dispose();
+		}
+	}
+
+	/**
+	 * Tests the changes computed between two reconciles when a target is inserted before the others
+	 */
+	public void testModelDelta() throws BadLocationException {
+		AntModel model = getAntModel("buildtest1.xml"); //$NON-NLS-1$
+		model.install();
+		AntProjectNode before = model.getProjectNode(false);
+		IAntElement firstTarget = before.getChildNodes().get(0);
+
+		IDocument document = getCurrentDocument();
+		document.replace(firstTarget.getOffset(), 0, "<target name=\"inserted\"/>"); //$NON-NLS-1$
+		AntProjectNode after = model.getProjectNode();
+
+		AntModelDelta delta = AntModelDelta.compute(Collections.singletonList(before), Collections.singletonList(after));
+		assertEquals(1, delta.getAdded().size());
+		assertEquals("inserted", delta.getAdded().values().iterator().next().getLabel()); //$NON-NLS-1$
+		assertTrue("Nothing should be removed: " + delta.getRemoved().keySet(), delta.getRemoved().isEmpty()); //$NON-NLS-1$
+		assertEquals(Collections.singletonList(after), delta.getStructureChanged());
+		assertTrue("The elements after the insertion should have moved", delta.getChanged().containsValue(after.getChildNodes().get(1))); //$NON-NLS-1$
+
+		delta = AntModelDelta.compute(Collections.singletonList(after), Collections.singletonList(after));
+		assertTrue(delta.isEmpty());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2012 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,12 +17,15 @@ package org.eclipse.ant.tests.ui.editor;
 import java.io.File;
 
 import org.eclipse.ant.internal.ui.editor.AntEditor;
+import org.eclipse.ant.internal.ui.editor.text.AntAnnotationModel;
 import org.eclipse.ant.internal.ui.editor.text.XMLTextHover;
+import org.eclipse.ant.internal.ui.model.AntModelProblem;
 import org.eclipse.ant.tests.ui.editor.performance.EditorTestHelper;
 import org.eclipse.ant.tests.ui.testplugin.AbstractAntUITest;
 import org.eclipse.ant.tests.ui.testplugin.ProjectCreationDecorator;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextSelection;
@@ -35,6 +38,34 @@ public class AntEditorTests extends AbstractAntUITest {
 		super(name);
 	}
 
+	/**
+	 * Tests that problem annotations are found by position, also after the document changed
+	 */
+	public void testProblemAnnotationLookup() throws BadLocationException {
+		AntAnnotationModel model = new AntAnnotationModel(getIFile("buildtest1.xml")); //$NON-NLS-1$
+		IDocument document = new Document("0123456789012345678901234567890123456789"); //$NON-NLS-1$
+		model.connect(document);
+		try {
+			model.beginReporting();
+			model.acceptProblem(new AntModelProblem("first", AntModelProblem.SEVERITY_ERROR, 5, 10, 1)); //$NON-NLS-1$
+			model.acceptProblem(new AntModelProblem("second", AntModelProblem.SEVERITY_WARNING, 8, 2, 1)); //$NON-NLS-1$
+			model.acceptProblem(new AntModelProblem("third", AntModelProblem.SEVERITY_ERROR, 30, 5, 1)); //$NON-NLS-1$
+			model.endReporting();
+
+			assertEquals("first", model.getProblemAnnotation(9, 0).getText()); //$NON-NLS-1$
+			assertNull(model.getProblemAnnotation(20, 2));
+			assertEquals("third", model.getProblemAnnotation(28, 3).getText()); //$NON-NLS-1$
+
+			document.replace(0, 0, "inserted"); //$NON-NLS-1$
+			assertNull(model.getProblemAnnotation(9, 0));
+			assertEquals("first", model.getProblemAnnotation(16, 1).getText()); //$NON-NLS-1$
+			assertEquals("third", model.getProblemAnnotation(40, 0).getText()); //$NON-NLS-1$
+		}
+		finally {
+			model.disconnect(document);
+		}
+	}
+
 	public void testHoverForPath() throws PartInitException, BadLocationException {
 		IFile file = getIFile("refid.xml"); //$NON-NLS-1$
 		AntEditor editor = (AntEditor) EditorTestHelper.openInEditor(file, "org.eclipse.ant.ui.internal.editor.AntEditor", true); //$NON-NLS-1$
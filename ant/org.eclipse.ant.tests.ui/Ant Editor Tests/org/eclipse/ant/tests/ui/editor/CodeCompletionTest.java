@@ -18,8 +18,26 @@
 
 package org.eclipse.ant.tests.ui.editor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -31,7 +49,14 @@ import org.eclipse.ant.core.Property;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.internal.ui.AntUIImages;
 import org.eclipse.ant.internal.ui.IAntUIConstants;
+import org.eclipse.ant.internal.ui.dtd.IDfm;
+import org.eclipse.ant.internal.ui.dtd.IElement;
+import org.eclipse.ant.internal.ui.dtd.ISchema;
+import org.eclipse.ant.internal.ui.dtd.ParseError;
+import org.eclipse.ant.internal.ui.dtd.Parser;
+import org.eclipse.ant.internal.ui.dtd.schema.CompiledSchema;
 import org.eclipse.ant.internal.ui.editor.AntEditor;
+import org.eclipse.ant.internal.ui.editor.AntEditorCompletionProcessor;
 import org.eclipse.ant.tests.ui.editor.performance.EditorTestHelper;
 import org.eclipse.ant.tests.ui.editor.support.TestTextCompletionProcessor;
 import org.eclipse.ant.tests.ui.testplugin.AbstractAntUITest;
@@ -1220,4 +1245,107 @@ public class CodeCompletionTest extends AbstractAntUITest {
 		assertContains("ep-B", proposals); //$NON-NLS-1$
 		processor.dispose();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests that the compiled schema read by the editor is up to date with the DTD, i.e. that the code completion data compiler was run after
+	 * the last change of the DTD.
+	 */
+	public void testCompiledSchemaUpToDate() throws IOException, ParseError {
+		ISchema schema = parseAntDtd();
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		CompiledSchema.write(schema, expected);
+		byte[] actual;
+		try (InputStream stream = AntEditorCompletionProcessor.class.getResourceAsStream(AntEditorCompletionProcessor.ANT_SCHEMA_FILENAME)) {
+			actual = stream.readAllBytes();
+		}
+		assertTrue("The compiled schema is out of date", Arrays.equals(expected.toByteArray(), actual)); //$NON-NLS-1$
+
+		CompiledSchema compiled = CompiledSchema.read(new ByteArrayInputStream(actual));
+		assertNotNull(compiled.getElement("project")); //$NON-NLS-1$
+		assertEquals(schema.getElement("copy").getAttributes().keySet(), compiled.getElement("copy").getAttributes().keySet()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that DFMs built by several threads at the same time are the same as those built by a single thread.
+	 */
+	public void testConcurrentDfmConstruction() throws Exception {
+		ISchema reference = parseAntDtd();
+		Map<String, String> expected = new HashMap<>();
+		for (IElement element : reference.getElements()) {
+			if (isDeclared(element)) {
+				expected.put(element.getName(), describeDfm(element.getDfm()));
+			}
+		}
+
+		ISchema schema = parseAntDtd();
+		IElement[] elements = schema.getElements();
+		int threadCount = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			List<Future<Map<String, String>>> results = new ArrayList<>();
+			for (int i = 0; i < threadCount; i++) {
+				List<IElement> order = new ArrayList<>(Arrays.asList(elements));
+				Collections.shuffle(order, new Random(i));
+				results.add(executor.submit(() -> {
+					Map<String, String> actual = new HashMap<>();
+					for (IElement element : order) {
+						if (isDeclared(element)) {
+							actual.put(element.getName(), describeDfm(element.getDfm()));
+						}
+					}
+					return actual;
+				}));
+			}
+			for (Future<Map<String, String>> result : results) {
+				assertEquals(expected, result.get());
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Returns whether the given element is declared in the DTD rather than only referenced by other elements, i.e. whether it has a DFM
+	 */
+	private static boolean isDeclared(IElement element) {
+		return element.isAny() || element.isEmpty() || element.isText() || element.getContentModel() != null;
+	}
+
+	private ISchema parseAntDtd() throws IOException, ParseError {
+		InputStream dtd = AntEditorCompletionProcessor.class.getResourceAsStream("/org/eclipse/ant/internal/ui/editor/ant1.6.2.dtd"); //$NON-NLS-1$
+		try (Reader reader = new InputStreamReader(dtd, StandardCharsets.UTF_8)) {
+			return new Parser().parseDTD(reader, "project"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns the states of the given DFM in breadth first order, each with its flags and transitions
+	 */
+	private String describeDfm(IDfm start) {
+		StringBuilder description = new StringBuilder();
+		List<IDfm> states = new ArrayList<>();
+		Map<IDfm, Integer> indices = new IdentityHashMap<>();
+		states.add(start);
+		indices.put(start, Integer.valueOf(0));
+		for (int i = 0; i < states.size(); i++) {
+			IDfm state = states.get(i);
+			description.append(i).append(state.isAccepting() ? 'a' : '-').append(state.isAny() ? '*' : '-').append(state.isEmpty() ? 'e' : '-');
+			if (!state.isAny()) {
+				for (String accept : state.getAccepts()) {
+					IDfm follow = state.advance(accept);
+					Integer index = indices.get(follow);
+					if (index == null) {
+						index = Integer.valueOf(states.size());
+						indices.put(follow, index);
+						states.add(follow);
+					}
+					assertEquals(accept, state.getAtom(accept).getName());
+					description.append(' ').append(accept).append("->").append(index); //$NON-NLS-1$
+				}
+			}
+			description.append('\n');
+		}
+		return description.toString();
+	}
+}
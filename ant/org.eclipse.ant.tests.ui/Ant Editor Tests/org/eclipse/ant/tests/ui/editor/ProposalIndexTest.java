@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.tests.ui.editor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ant.internal.ui.editor.ProposalIndex;
+import org.eclipse.ant.tests.ui.testplugin.AbstractAntUITest;
+
+/**
+ * Tests the prefix index of the content assist proposals.
+ */
+public class ProposalIndexTest extends AbstractAntUITest {
+
+	private static final List<String> NAMES = Arrays.asList("javac", "java", "java.home", "javaHome", "JavaDoc", "jar", "copy", "ant.home", "javah"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+
+	public ProposalIndexTest(String name) {
+		super(name);
+	}
+
+	/**
+	 * Tests that names are matched by prefix, ignoring case.
+	 */
+	public void testPrefixMatches() {
+		ProposalIndex index = new ProposalIndex(NAMES);
+		assertEquals(NAMES.size(), index.getMatches("").size()); //$NON-NLS-1$
+		assertEquals(Arrays.asList("jar", "java", "java.home", "javac", "JavaDoc", "javah", "javaHome"), index.getMatches("ja")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+		assertEquals(Arrays.asList("JavaDoc"), index.getMatches("javad")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Arrays.asList("JavaDoc"), index.getMatches("JAVAD")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(index.getMatches("x").isEmpty()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a pattern with upper case letters also matches the humps of names.
+	 */
+	public void testCamelCaseMatches() {
+		ProposalIndex index = new ProposalIndex(NAMES);
+		assertEquals(Arrays.asList("java.home", "javaHome"), index.getMatches("jH")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(Arrays.asList("java.home", "javah", "javaHome"), index.getMatches("javaH")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals(Arrays.asList("ant.home"), index.getMatches("aHo")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(index.getMatches("hJ").isEmpty()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the matches of a session are narrowed as the pattern grows, and are the same as those of the index.
+	 */
+	public void testSessionNarrowing() {
+		ProposalIndex index = new ProposalIndex(NAMES);
+		ProposalIndex.Session session = new ProposalIndex.Session(index);
+		for (String pattern : new String[] { "", "j", "ja", "jav", "javaH", "javaHo", "ja", "jH", "c" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+			assertEquals(pattern, index.getMatches(pattern), session.getMatches(pattern));
+		}
+		session.reset();
+		assertEquals(Arrays.asList("copy"), session.getMatches("co")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -16,6 +16,11 @@
 
 package org.eclipse.ant.tests.ui.editor;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
 import org.eclipse.ant.internal.ui.editor.TaskDescriptionProvider;
 import org.eclipse.ant.tests.ui.testplugin.AbstractAntUITest;
 
@@ -59,4 +64,18 @@ public class TaskDescriptionProviderTest extends AbstractAntUITest {
 		assertEquals("yes", required); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tests that the index read by the provider is up to date with the task descriptions, i.e. that the code completion data compiler was run
+	 * after the last change of the descriptions.
+	 */
+	public void testIndexUpToDate() throws IOException {
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		TaskDescriptionProvider.writeIndex(expected);
+		byte[] actual;
+		try (InputStream stream = TaskDescriptionProvider.class.getResourceAsStream(TaskDescriptionProvider.TASKS_DESCRIPTION_INDEX_FILE_NAME)) {
+			actual = stream.readAllBytes();
+		}
+		assertTrue("The task description index is out of date", Arrays.equals(expected.toByteArray(), actual)); //$NON-NLS-1$
+	}
+
 }
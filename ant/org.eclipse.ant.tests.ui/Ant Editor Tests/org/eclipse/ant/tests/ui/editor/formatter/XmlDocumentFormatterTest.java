@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2005 John-Mason P. Shackelford and others.
+ * Copyright (c) 2004, 2026 John-Mason P. Shackelford and others.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,18 @@ package org.eclipse.ant.tests.ui.editor.formatter;
 
 import org.eclipse.ant.internal.ui.editor.formatter.FormattingPreferences;
 import org.eclipse.ant.internal.ui.editor.formatter.XmlDocumentFormatter;
+import org.eclipse.ant.internal.ui.editor.formatter.XmlDocumentFormattingStrategy;
+import org.eclipse.ant.internal.ui.editor.text.AntDocumentSetupParticipant;
+import org.eclipse.ant.internal.ui.model.AntModel;
+import org.eclipse.ant.tests.ui.editor.support.TestLocationProvider;
+import org.eclipse.ant.tests.ui.editor.support.TestProblemRequestor;
 import org.eclipse.ant.tests.ui.testplugin.AbstractAntUITest;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.formatter.MultiPassContentFormatter;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.TextEdit;
 
 public class XmlDocumentFormatterTest extends AbstractAntUITest {
 
@@ -77,6 +88,67 @@ public class XmlDocumentFormatterTest extends AbstractAntUITest {
 		simpleTest("formatTest_source01.xml", "formatTest_target03.xml", prefs); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Tests that the edit of a format replaces only the whitespace that changed
+	 */
+	public final void testEditReplacesOnlyChangedWhitespace() throws Exception {
+		String text = "<project>\n<target name=\"a\">\n\t<echo>a  b</echo>\n</target>\n</project>"; //$NON-NLS-1$
+		String formatted = "<project>\n\t<target name=\"a\">\n\t\t<echo>a  b</echo>\n\t</target>\n</project>"; //$NON-NLS-1$
+		MultiTextEdit edit = XmlDocumentFormatter.createEdit(0, text, formatted);
+		assertEquals(3, edit.getChildrenSize());
+		IDocument document = new Document(text);
+		edit.apply(document, TextEdit.NONE);
+		assertEquals(formatted, document.get());
+
+		assertEquals(0, XmlDocumentFormatter.createEdit(0, text, text).getChildrenSize());
+	}
+
+	/**
+	 * Tests that formatting a region changes only its lines, indented from the line it starts on
+	 */
+	public final void testFormatRegion() throws Exception {
+		FormattingPreferences prefs = new FormattingPreferences();
+		String indent = prefs.getCanonicalIndent();
+		String lineSep = "\n"; //$NON-NLS-1$
+		String unformatted = "<project>" + lineSep + "<target name=\"a\">" + lineSep + "<echo/>" + lineSep + "</target>" + lineSep; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		IDocument document = new Document(unformatted + indent + "<target name=\"b\">" + lineSep + "<echo/>" + lineSep + "</target>" + lineSep //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ "</project>"); //$NON-NLS-1$
+		new AntDocumentSetupParticipant().setup(document);
+		int start = unformatted.length();
+		int end = document.get().indexOf("</project>"); //$NON-NLS-1$
+
+		MultiPassContentFormatter formatter = new MultiPassContentFormatter(AntDocumentSetupParticipant.ANT_PARTITIONING, IDocument.DEFAULT_CONTENT_TYPE);
+		formatter.setMasterStrategy(new XmlDocumentFormattingStrategy(() -> null));
+		formatter.format(document, new Region(start + 2, end - start - 4));
+
+		String expected = unformatted + indent + "<target name=\"b\">" + lineSep + indent + indent + "<echo/>" + lineSep + indent + "</target>" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ lineSep + "</project>"; //$NON-NLS-1$
+		assertEquals(expected, document.get());
+	}
+
+	/**
+	 * Tests that formatting lines nested in an element indents them from the depth of the element in the reconciled Ant model
+	 */
+	public final void testFormatRegionWithModel() throws Exception {
+		FormattingPreferences prefs = new FormattingPreferences();
+		String indent = prefs.getCanonicalIndent();
+		String lineSep = "\n"; //$NON-NLS-1$
+		String before = "<project name=\"p\" default=\"a\">" + lineSep + indent + "<target name=\"a\">" + lineSep; //$NON-NLS-1$ //$NON-NLS-2$
+		String after = indent + "</target>" + lineSep + "</project>"; //$NON-NLS-1$ //$NON-NLS-2$
+		IDocument document = new Document(before + "<echo message=\"a\"/>" + lineSep + after); //$NON-NLS-1$
+		new AntDocumentSetupParticipant().setup(document);
+		AntModel model = new AntModel(document, new TestProblemRequestor(), new TestLocationProvider(getBuildFile("buildtest1.xml"))); //$NON-NLS-1$
+		model.reconcile();
+		assertNotNull("The model should have been reconciled", model.getReconciledProjectNode()); //$NON-NLS-1$
+
+		MultiPassContentFormatter formatter = new MultiPassContentFormatter(AntDocumentSetupParticipant.ANT_PARTITIONING, IDocument.DEFAULT_CONTENT_TYPE);
+		formatter.setMasterStrategy(new XmlDocumentFormattingStrategy(() -> model));
+		formatter.format(document, new Region(before.length() + 1, 4));
+
+		assertEquals(before + indent + indent + "<echo message=\"a\"/>" + lineSep + after, document.get()); //$NON-NLS-1$
+		model.dispose();
+	}
+
 	/**
 	 * @param sourceFileName
 	 *            - file to format
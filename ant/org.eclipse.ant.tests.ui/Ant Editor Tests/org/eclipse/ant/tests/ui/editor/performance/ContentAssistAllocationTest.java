@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.tests.ui.editor.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import org.eclipse.ant.internal.ui.editor.DocumentCharSequence;
+import org.eclipse.ant.tests.ui.editor.support.TestTextCompletionProcessor;
+import org.eclipse.ant.tests.ui.performance.AbstractAntPerformanceTest;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * Measures the time and memory allocated to determine the prefix and the proposal mode of content assist near the end of a 5 MB buildfile. None
+ * of it should depend on the size of the document.
+ */
+public class ContentAssistAllocationTest extends AbstractAntPerformanceTest {
+
+	private static final int DOCUMENT_SIZE = 5 * 1024 * 1024;
+	private static final int ROUNDS = 1000;
+
+	private IDocument fDocument;
+	private int[] fOffsets;
+	private int[] fModes;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		StringBuilder buffer = new StringBuilder(DOCUMENT_SIZE + 1024);
+		buffer.append("<project name=\"large\" default=\"target0\">\n"); //$NON-NLS-1$
+		for (int i = 0; buffer.length() < DOCUMENT_SIZE; i++) {
+			buffer.append("\t<property name=\"property").append(i).append("\" value=\"value").append(i).append("\"/>\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			buffer.append("\t<target name=\"target").append(i).append("\">\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append("\t\t<echo message=\"${property").append(i).append("}\"/>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append("\t</target>\n"); //$NON-NLS-1$
+		}
+		// the places content assist is asked for, at the end of the document
+		buffer.append("\t<target name=\"last\">\n\t\t<ech"); //$NON-NLS-1$
+		int taskOffset = buffer.length();
+		buffer.append("/>\n\t\t<echo message=\"${prop"); //$NON-NLS-1$
+		int propertyOffset = buffer.length();
+		buffer.append("}\"/>\n\t</target>\n\t<target name=\"more\" de"); //$NON-NLS-1$
+		int attributeOffset = buffer.length();
+		buffer.append(">\n\t</target>\n</project>\n"); //$NON-NLS-1$
+		fDocument = new Document(buffer.toString());
+		fOffsets = new int[] { taskOffset, propertyOffset, attributeOffset };
+		fModes = new int[] { TestTextCompletionProcessor.TEST_PROPOSAL_MODE_TASK_PROPOSAL,
+				TestTextCompletionProcessor.TEST_PROPOSAL_MODE_PROPERTY_PROPOSAL,
+				TestTextCompletionProcessor.TEST_PROPOSAL_MODE_ATTRIBUTE_PROPOSAL };
+	}
+
+	/**
+	 * Performance test for determining the prefix and proposal mode of content assist in a 5 MB buildfile. Also checks that each request allocates
+	 * far less than a copy of the document.
+	 */
+	public void testProposalModeInLargeBuildfile() {
+		tagAsSummary("Content assist in 5 MB buildfile", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		TestTextCompletionProcessor processor = new TestTextCompletionProcessor();
+		for (int i = 0; i < 10; i++) {
+			long allocated = getAllocatedBytes();
+			startMeasuring();
+			determineProposalModes(processor);
+			stopMeasuring();
+			if (allocated >= 0) {
+				long perRequest = (getAllocatedBytes() - allocated) / (ROUNDS * fOffsets.length);
+				assertTrue("Content assist allocated " + perRequest + " bytes per request", perRequest < fDocument.getLength() / 100); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void determineProposalModes(TestTextCompletionProcessor processor) {
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int i = 0; i < fOffsets.length; i++) {
+				String prefix = processor.getPrefixFromDocument(new DocumentCharSequence(fDocument), fOffsets[i]);
+				assertEquals(fModes[i], processor.determineProposalMode(fDocument, fOffsets[i], prefix));
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the current thread so far, or -1 if the VM does not count them.
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		try {
+			Method method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class); //$NON-NLS-1$ //$NON-NLS-2$
+			return ((Long) method.invoke(bean, Long.valueOf(Thread.currentThread().getId()))).longValue();
+		}
+		catch (ReflectiveOperationException | ClassCastException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.tests.ui.editor.performance;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.ant.internal.ui.dtd.IDfm;
+import org.eclipse.ant.internal.ui.dtd.IElement;
+import org.eclipse.ant.internal.ui.dtd.ISchema;
+import org.eclipse.ant.internal.ui.dtd.schema.CompiledSchema;
+import org.eclipse.ant.internal.ui.editor.AntEditorCompletionProcessor;
+import org.eclipse.ant.tests.ui.performance.AbstractAntPerformanceTest;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * Measures the throughput of {@link IDfm#advance(String)} over every transition of the Ant schema, the lookup done for each child element during
+ * content assist.
+ */
+public class DfmAdvanceTest extends AbstractAntPerformanceTest {
+
+	private static final int ROUNDS = 200;
+
+	private IDfm[] fStates;
+	private String[] fNames;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		ISchema schema;
+		try (InputStream stream = AntEditorCompletionProcessor.class.getResourceAsStream(AntEditorCompletionProcessor.ANT_SCHEMA_FILENAME)) {
+			schema = CompiledSchema.read(stream);
+		}
+		List<IDfm> states = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		for (IElement element : schema.getElements()) {
+			if (!element.isAny() && !element.isEmpty() && !element.isText() && element.getContentModel() == null) {
+				// only referenced, not declared
+				continue;
+			}
+			IDfm dfm = element.getDfm();
+			for (String accept : dfm.getAccepts()) {
+				states.add(dfm);
+				names.add(accept);
+				// and one that is rejected
+				states.add(dfm);
+				names.add(accept + "-"); //$NON-NLS-1$
+			}
+		}
+		fStates = states.toArray(new IDfm[states.size()]);
+		fNames = names.toArray(new String[names.size()]);
+	}
+
+	/**
+	 * Performance test for advancing the DFMs of all elements by each of their accepted names, and by as many rejected names.
+	 */
+	public void testAdvance() {
+		tagAsSummary("DFM advance", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		for (int i = 0; i < 10; i++) {
+			startMeasuring();
+			int advanced = advance();
+			stopMeasuring();
+			assertEquals(fStates.length / 2 * ROUNDS, advanced);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Performance test for advancing the DFMs of all elements from four threads at the same time.
+	 */
+	public void testConcurrentAdvance() throws Exception {
+		int threadCount = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			for (int i = 0; i < 10; i++) {
+				List<Future<Integer>> results = new ArrayList<>();
+				startMeasuring();
+				for (int j = 0; j < threadCount; j++) {
+					results.add(executor.submit(() -> Integer.valueOf(advance())));
+				}
+				for (Future<Integer> result : results) {
+					assertEquals(fStates.length / 2 * ROUNDS, result.get().intValue());
+				}
+				stopMeasuring();
+			}
+			commitMeasurements();
+			assertPerformance();
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Returns the number of names accepted, to check the result and keep the lookups from being optimized away
+	 */
+	private int advance() {
+		int advanced = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int i = 0; i < fStates.length; i++) {
+				if (fStates[i].advance(fNames[i]) != null) {
+					advanced++;
+				}
+			}
+		}
+		return advanced;
+	}
+}
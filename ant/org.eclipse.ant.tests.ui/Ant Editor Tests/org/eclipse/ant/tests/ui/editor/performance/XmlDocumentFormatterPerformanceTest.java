@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.tests.ui.editor.performance;
+
+import org.eclipse.ant.internal.ui.editor.formatter.FormattingPreferences;
+import org.eclipse.ant.internal.ui.editor.formatter.XmlDocumentFormatter;
+import org.eclipse.ant.tests.ui.performance.AbstractAntPerformanceTest;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * Measures formatting buildfiles of 12.5k and 50k lines with {@link XmlDocumentFormatter}.
+ */
+public class XmlDocumentFormatterPerformanceTest extends AbstractAntPerformanceTest {
+
+	private static final int LINES = 50000;
+
+	private final FormattingPreferences fPreferences = new FormattingPreferences() {
+		@Override
+		public int getTabWidth() {
+			return 4;
+		}
+
+		@Override
+		public boolean useSpacesInsteadOfTabs() {
+			return false;
+		}
+	};
+
+	/**
+	 * Performance test for formatting a buildfile of 50k lines.
+	 */
+	public void testFormatLargeBuildfile() {
+		tagAsSummary("Format 50k line buildfile", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		String text = createBuildfile(LINES);
+		for (int i = 0; i < 10; i++) {
+			startMeasuring();
+			String formatted = format(text);
+			stopMeasuring();
+			assertTrue(formatted.length() > text.length() / 2);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Performance test for formatting a buildfile of a quarter of the lines. Recorded next to {@link #testFormatLargeBuildfile()} so that the two
+	 * measurements show how the time grows with the size of the buildfile.
+	 */
+	public void testFormatQuarterBuildfile() {
+		String text = createBuildfile(LINES / 4);
+		for (int i = 0; i < 10; i++) {
+			startMeasuring();
+			String formatted = format(text);
+			stopMeasuring();
+			assertTrue(formatted.length() > text.length() / 2);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private String format(String text) {
+		XmlDocumentFormatter formatter = new XmlDocumentFormatter();
+		formatter.setDefaultLineDelimiter("\n"); //$NON-NLS-1$
+		return formatter.format(text, fPreferences);
+	}
+
+	/**
+	 * Returns an unformatted buildfile of about the given number of lines, with long comments and text between the nodes.
+	 */
+	private static String createBuildfile(int lines) {
+		StringBuilder buffer = new StringBuilder(lines * 40);
+		buffer.append("<?xml version=\"1.0\"?>\n<project name=\"large\" default=\"target0\">\n"); //$NON-NLS-1$
+		for (int i = 0; i * 8 < lines; i++) {
+			buffer.append("<!-- target ").append(i).append(" -->\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append("<target name=\"target").append(i).append("\" depends=\"init\">\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append("<property name=\"property").append(i).append("\" value=\"value > ").append(i).append("\"/>\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			buffer.append("    <echo>some text ").append(i).append("</echo>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append("<sequential>\n<echo message=\"nested\"/>\n</sequential>\n"); //$NON-NLS-1$
+			buffer.append("</target>\n"); //$NON-NLS-1$
+		}
+		buffer.append("</project>\n"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+}
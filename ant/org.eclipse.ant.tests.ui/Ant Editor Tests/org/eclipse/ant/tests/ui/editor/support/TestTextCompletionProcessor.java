@@ -121,6 +121,11 @@ public class TestTextCompletionProcessor extends AntEditorCompletionProcessor {
 		return super.determineProposalMode(new Document(text), theCursorPosition, prefix);
 	}
 
+	@Override
+	public int determineProposalMode(IDocument document, int theCursorPosition, String prefix) {
+		return super.determineProposalMode(document, theCursorPosition, prefix);
+	}
+
 	public String getParentName(String text, int aLineNumber, int aColumnNumber) {
 		return super.getParentName(new Document(text), aLineNumber, aColumnNumber);
 	}
@@ -131,7 +136,7 @@ public class TestTextCompletionProcessor extends AntEditorCompletionProcessor {
 	}
 
 	@Override
-	public String getPrefixFromDocument(String aDocumentText, int anOffset) {
+	public String getPrefixFromDocument(CharSequence aDocumentText, int anOffset) {
 		String prefix = super.getPrefixFromDocument(aDocumentText, anOffset);
 		currentPrefix = null;
 		return prefix;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2019 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,12 +15,17 @@
 package org.eclipse.ant.tests.ui;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.ant.internal.ui.AntUtil;
 import org.eclipse.ant.internal.ui.model.AntProjectNode;
+import org.eclipse.ant.internal.ui.model.AntTargetCache;
 import org.eclipse.ant.internal.ui.model.AntTargetNode;
 import org.eclipse.ant.internal.ui.model.IAntElement;
 import org.eclipse.ant.internal.ui.model.IAntModel;
@@ -105,6 +110,111 @@ public class AntUtilTests extends AbstractAntUITest {
 	}
 
 	// for bugfix of bug 412809: Testing a simple "include-hierarchy" (only two levels setting the "as" property)
+	/**
+	 * Tests that the targets of a buildfile are restored from the target cache while its contents are unchanged, and parsed again otherwise.
+	 */
+	public void testGetTargetsFromCache() throws IOException {
+		File buildFile = getBuildFile("dependencytest.xml"); //$NON-NLS-1$
+		String path = buildFile.getAbsolutePath();
+		String contents = getFileContentAsString(buildFile);
+		IAntModel model = AntUtil.getAntModel(path, false, true, true);
+		AntProjectNode project = model.getProjectNode();
+		File file = File.createTempFile("targetCache", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			String key = AntTargetCache.getKey(path, null);
+			String stamp = AntTargetCache.getStamp(contents);
+			AntTargetCache cache = new AntTargetCache(file);
+			cache.putTargets(key, contents, stamp, project);
+			cache.save();
+
+			cache = new AntTargetCache(file);
+			assertNull("Changed contents should not be restored", cache.getTargets(key, AntTargetCache.getStamp(contents + ' '), model)); //$NON-NLS-1$
+			assertNull("Another variant should not be restored", cache.getTargets(AntTargetCache.getKey(path, "-Dx=y"), stamp, model)); //$NON-NLS-1$ //$NON-NLS-2$
+			AntTargetNode[] targets = cache.getTargets(key, stamp, model);
+			assertNotNull("The targets should be restored", targets); //$NON-NLS-1$
+			List<IAntElement> parsed = project.getChildNodes();
+			int index = 0;
+			for (IAntElement element : parsed) {
+				if (!(element instanceof AntTargetNode)) {
+					continue;
+				}
+				AntTargetNode expected = (AntTargetNode) element;
+				AntTargetNode actual = targets[index++];
+				assertEquals(expected.getTargetName(), actual.getTargetName());
+				assertEquals(expected.getLabel(), actual.getLabel());
+				assertEquals(expected.getTarget().getDescription(), actual.getTarget().getDescription());
+				assertEquals(expected.getTarget().getIf(), actual.getTarget().getIf());
+				assertEquals(expected.getTarget().getUnless(), actual.getTarget().getUnless());
+				assertEquals(Collections.list(expected.getTarget().getDependencies()), Collections.list(actual.getTarget().getDependencies()));
+				assertEquals(expected.getOffset(), actual.getOffset());
+				assertEquals(expected.getLength(), actual.getLength());
+				assertEquals(expected.isDefaultTarget(), actual.isDefaultTarget());
+				// the tasks are taken from a parse when asked for
+				assertEquals(expected.hasChildren(), actual.hasChildren());
+				assertEquals(expected.getChildNodes().size(), actual.getChildNodes().size());
+			}
+			assertEquals("Incorrect number of targets restored", index, targets.length); //$NON-NLS-1$
+		}
+		finally {
+			model.dispose();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that targets whose description is longer than 64 KB are saved to the target cache and restored.
+	 */
+	public void testGetTargetsFromCacheWithLongDescription() throws IOException {
+		StringBuilder description = new StringBuilder(70 * 1024);
+		while (description.length() < 70 * 1024) {
+			description.append("A long description. "); //$NON-NLS-1$
+		}
+		String contents = "<project default=\"long\"><target name=\"long\" description=\"" + description + "\"/></project>"; //$NON-NLS-1$ //$NON-NLS-2$
+		File buildFile = File.createTempFile("longDescription", ".xml"); //$NON-NLS-1$ //$NON-NLS-2$
+		File file = File.createTempFile("targetCache", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+		Files.write(buildFile.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		String path = buildFile.getAbsolutePath();
+		IAntModel model = AntUtil.getAntModel(path, false, true, true);
+		try {
+			String key = AntTargetCache.getKey(path, null);
+			String stamp = AntTargetCache.getStamp(contents);
+			AntTargetCache cache = new AntTargetCache(file);
+			cache.putTargets(key, contents, stamp, model.getProjectNode());
+			cache.save();
+
+			cache = new AntTargetCache(file);
+			AntTargetNode[] targets = cache.getTargets(key, stamp, model);
+			assertNotNull("The targets should be restored", targets); //$NON-NLS-1$
+			assertEquals("Incorrect number of targets restored", 1, targets.length); //$NON-NLS-1$
+			assertEquals("Incorrect description", description.toString(), targets[0].getTarget().getDescription()); //$NON-NLS-1$
+		}
+		finally {
+			model.dispose();
+			file.delete();
+			buildFile.delete();
+		}
+	}
+
+	/**
+	 * Tests that buildfiles importing other buildfiles are not cached, as their targets depend on the imported files.
+	 */
+	public void testImportingBuildfileNotCached() throws IOException {
+		File buildFile = getBuildFile("import.xml"); //$NON-NLS-1$
+		String path = buildFile.getAbsolutePath();
+		String contents = getFileContentAsString(buildFile);
+		IAntModel model = AntUtil.getAntModel(path, false, true, true);
+		try {
+			AntTargetCache cache = new AntTargetCache(null);
+			String key = AntTargetCache.getKey(path, null);
+			String stamp = AntTargetCache.getStamp(contents);
+			cache.putTargets(key, contents, stamp, model.getProjectNode());
+			assertNull("A buildfile with imports should not be cached", cache.getTargets(key, stamp, model)); //$NON-NLS-1$
+		}
+		finally {
+			model.dispose();
+		}
+	}
+
 	public void testGetIncludeTargetsSimpleHierarchyAlias() {
 		// The file itself contains one target. The included file contains the other one.
 		String buildFileName = "bug412809/simple/buildFileAlias"; //$NON-NLS-1$
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.tests.ui.performance;
+
+import org.eclipse.ant.launching.IAntLaunchConstants;
+import org.eclipse.ant.tests.ui.AbstractAntUIBuildPerformanceTest;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
+import org.eclipse.debug.ui.IDebugUIConstants;
+
+/**
+ * Measures the cost of the in-VM build logger for builds that log a large number of events.
+ */
+public class InVMLoggingTests extends AbstractAntUIBuildPerformanceTest {
+
+	public InVMLoggingTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Performance test for logging one million single line task messages in the same VM.
+	 */
+	public void testLogOneMillionEvents() throws CoreException {
+		measureLogging("log"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Performance test for logging one hundred thousand multi-line task messages in the same VM.
+	 */
+	public void testLogMultiLineEvents() throws CoreException {
+		measureLogging("logMultiLine"); //$NON-NLS-1$
+	}
+
+	private void measureLogging(String target) throws CoreException {
+		ILaunchConfiguration config = getLaunchConfiguration("logging"); //$NON-NLS-1$
+		ILaunchConfigurationWorkingCopy copy = config.getWorkingCopy();
+		copy.setAttribute(IAntLaunchConstants.ATTR_ANT_TARGETS, target);
+		// the logger is being measured, not the console
+		copy.setAttribute(IDebugUIConstants.ATTR_CAPTURE_IN_CONSOLE, false);
+		launchAndTerminate(copy, 120000);
+		for (int i = 0; i < 5; i++) {
+			startMeasuring();
+			launchAndTerminate(copy, 120000);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+}
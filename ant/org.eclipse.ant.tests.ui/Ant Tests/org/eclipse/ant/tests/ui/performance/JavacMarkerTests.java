@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.tests.ui.performance;
+
+import org.eclipse.ant.internal.ui.AntUIPlugin;
+import org.eclipse.ant.internal.ui.IAntUIPreferenceConstants;
+import org.eclipse.ant.tests.ui.AbstractAntUIBuildPerformanceTest;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.jdt.core.IJavaModelMarker;
+import org.eclipse.jface.preference.IPreferenceStore;
+
+/**
+ * Measures matching a javac log with a large number of warnings in the console and creating the corresponding problem markers.
+ */
+public class JavacMarkerTests extends AbstractAntUIBuildPerformanceTest {
+
+	private static final int WARNINGS = 50000;
+
+	public JavacMarkerTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Performance test for a build logging 50000 javac warnings, up to the creation of the problem markers when the console is closed.
+	 */
+	public void testJavacWarningMarkers() throws Exception {
+		IPreferenceStore store = AntUIPlugin.getDefault().getPreferenceStore();
+		store.setValue(IAntUIPreferenceConstants.ANT_CREATE_MARKERS, true);
+		try {
+			ILaunchConfiguration config = getLaunchConfiguration("javacWarnings"); //$NON-NLS-1$
+			IFile file = getProject().getFolder("buildfiles").getFolder("javacWarnings").getFile("Warnings.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertTrue("Could not find Warnings.java", file.exists()); //$NON-NLS-1$
+			for (int i = 0; i < 5; i++) {
+				file.deleteMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
+				startMeasuring();
+				launchAndTerminate(config, 120000);
+				removeLaunches();
+				waitForMarkers(file, 120000);
+				stopMeasuring();
+			}
+			commitMeasurements();
+			assertPerformance();
+		}
+		finally {
+			store.setToDefault(IAntUIPreferenceConstants.ANT_CREATE_MARKERS);
+			removeLaunches();
+		}
+	}
+
+	/**
+	 * Removes the terminated launches, which closes their consoles and triggers the marker creation
+	 */
+	private void removeLaunches() {
+		for (ILaunch launch : getLaunchManager().getLaunches()) {
+			if (launch.isTerminated()) {
+				getLaunchManager().removeLaunch(launch);
+			}
+		}
+	}
+
+	private void waitForMarkers(IFile file, long timeout) throws CoreException, InterruptedException {
+		long end = System.currentTimeMillis() + timeout;
+		while (file.findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, true, IResource.DEPTH_ZERO).length < WARNINGS) {
+			if (System.currentTimeMillis() > end) {
+				fail("Markers were not created for the javac warnings"); //$NON-NLS-1$
+			}
+			Thread.sleep(50);
+		}
+	}
+}
@@ -218,6 +218,8 @@ public abstract class AbstractAntUITest extends TestCase {
 			ProjectHelper.createLaunchConfigurationForBoth("85769"); //$NON-NLS-1$
 
 			ProjectHelper.createLaunchConfiguration("big", ProjectHelper.PROJECT_NAME + "/buildfiles/performance/build.xml"); //$NON-NLS-1$ //$NON-NLS-2$
+			ProjectHelper.createLaunchConfiguration("logging"); //$NON-NLS-1$
+			ProjectHelper.createLaunchConfiguration("javacWarnings"); //$NON-NLS-1$
 
 			// do not show the Ant build failed error dialog
 			AntUIPlugin.getDefault().getPreferenceStore().setValue(IAntUIPreferenceConstants.ANT_ERROR_DIALOG, false);
@@ -14,7 +14,12 @@
 
 package org.eclipse.ant.tests.ui.testplugin;
 
+import org.eclipse.ant.tests.ui.editor.performance.ContentAssistAllocationTest;
+import org.eclipse.ant.tests.ui.editor.performance.DfmAdvanceTest;
 import org.eclipse.ant.tests.ui.editor.performance.OpenAntEditorTest;
+import org.eclipse.ant.tests.ui.editor.performance.XmlDocumentFormatterPerformanceTest;
+import org.eclipse.ant.tests.ui.performance.InVMLoggingTests;
+import org.eclipse.ant.tests.ui.performance.JavacMarkerTests;
 import org.eclipse.ant.tests.ui.performance.SeparateVMTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -25,7 +30,7 @@ import org.junit.runners.Suite;
  * run before any of the other test suites.
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ OpenAntEditorTest.class, SeparateVMTests.class })
+@Suite.SuiteClasses({ OpenAntEditorTest.class, DfmAdvanceTest.class, ContentAssistAllocationTest.class, XmlDocumentFormatterPerformanceTest.class, SeparateVMTests.class, InVMLoggingTests.class, JavacMarkerTests.class })
 public class AntUIPerformanceTests {
 	// suite.addTest(new TestSuite(NonInitialTypingTest.class));
 	// suite.addTest(new TestSuite(OpenLaunchConfigurationDialogTests.class));
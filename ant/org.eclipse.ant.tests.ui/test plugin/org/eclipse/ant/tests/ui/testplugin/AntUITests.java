@@ -31,6 +31,7 @@ import org.eclipse.ant.tests.ui.editor.AntEditorContentOutlineTests;
 import org.eclipse.ant.tests.ui.editor.AntEditorTests;
 import org.eclipse.ant.tests.ui.editor.CodeCompletionTest;
 import org.eclipse.ant.tests.ui.editor.OccurrencesFinderTests;
+import org.eclipse.ant.tests.ui.editor.ProposalIndexTest;
 import org.eclipse.ant.tests.ui.editor.TaskDescriptionProviderTest;
 import org.eclipse.ant.tests.ui.editor.formatter.FormattingPreferencesTest;
 import org.eclipse.ant.tests.ui.editor.formatter.XmlDocumentFormatterTest;
@@ -47,7 +48,7 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ BuildTests.class, SeparateVMTests.class, AntEditorTests.class, CodeCompletionTest.class,
-		TaskDescriptionProviderTest.class, AntEditorContentOutlineTests.class, MigrationTests.class,
+		TaskDescriptionProviderTest.class, ProposalIndexTest.class, AntEditorContentOutlineTests.class, MigrationTests.class,
 		BuilderCoreUtilsTests.class, ModelProjectTests.class, FormattingPreferencesTest.class,
 		XmlDocumentFormatterTest.class, XmlTagFormatterTest.class, XmlFormatterTest.class, AntUtilTests.class,
 		AntViewTests.class, BreakpointTests.class, RunToLineTests.class, SteppingTests.class, PropertyTests.class,
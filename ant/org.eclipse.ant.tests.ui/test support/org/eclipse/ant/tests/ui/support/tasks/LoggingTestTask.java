@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.tests.ui.support.tasks;
+
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.Task;
+
+/**
+ * Task that logs a configurable number of messages, used to measure the cost of the Eclipse build loggers.
+ */
+public class LoggingTestTask extends Task {
+
+	/**
+	 * Placeholder in the message that is replaced by the number of the logged message, starting at 1
+	 */
+	private static final String NUMBER = "{0}"; //$NON-NLS-1$
+
+	private int fCount = 1;
+	private int fLines = 1;
+	private String fMessage = "Logging test message line "; //$NON-NLS-1$
+
+	@Override
+	public void execute() throws BuildException {
+		if (fMessage.indexOf(NUMBER) != -1) {
+			for (int i = 1; i <= fCount; i++) {
+				log(fMessage.replace(NUMBER, Integer.toString(i)), Project.MSG_INFO);
+			}
+			return;
+		}
+		StringBuilder message = new StringBuilder();
+		for (int i = 0; i < fLines; i++) {
+			if (i > 0) {
+				message.append('\n');
+			}
+			message.append(fMessage).append(i);
+		}
+		String text = message.toString();
+		for (int i = 0; i < fCount; i++) {
+			log(text, Project.MSG_INFO);
+		}
+	}
+
+	/**
+	 * Sets the number of messages to log
+	 */
+	public void setCount(int count) {
+		fCount = count;
+	}
+
+	/**
+	 * Sets the message to log. If the message contains <code>{0}</code> it is logged on a single line with the placeholder replaced by the message
+	 * number.
+	 */
+	public void setMessage(String message) {
+		fMessage = message;
+	}
+
+	/**
+	 * Sets the number of lines in each logged message
+	 */
+	public void setLines(int lines) {
+		fLines = lines;
+	}
+}
@@ -0,0 +1,8 @@
+package buildfiles.javacWarnings;
+
+/**
+ * Target of the synthetic javac warnings logged by javacWarnings.xml
+ */
+public class Warnings {
+	// nothing
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.ui.editor.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.ant.internal.ui.dtd.ISchema;
+import org.eclipse.ant.internal.ui.dtd.ParseError;
+import org.eclipse.ant.internal.ui.dtd.Parser;
+import org.eclipse.ant.internal.ui.dtd.schema.CompiledSchema;
+import org.eclipse.ant.internal.ui.editor.TaskDescriptionProvider;
+
+/**
+ * This class compiles the code completion data of the Ant editor: <code>ant1.6.2.dtd</code> into <code>ant1.6.2.schema</code> and
+ * <code>anttasks_1.6.0.xml</code> into <code>anttasks_1.6.0.index</code>. The compiled files are read by the editor instead of parsing the sources.
+ *
+ * Run it with the Ant Editor classes on the classpath whenever one of the sources changes, passing the directory that contains them (the
+ * <code>org/eclipse/ant/internal/ui/editor</code> folder of the Ant Editor source folder). The tests check that the compiled files are up to date.
+ */
+public class CodeCompletionDataCompiler {
+
+	public static void main(String[] args) throws IOException, ParseError {
+		File directory = new File(args.length > 0 ? args[0] : "Ant Editor/org/eclipse/ant/internal/ui/editor"); //$NON-NLS-1$
+
+		ISchema schema;
+		try (Reader reader = new InputStreamReader(new FileInputStream(new File(directory, "ant1.6.2.dtd")), StandardCharsets.UTF_8)) { //$NON-NLS-1$
+			schema = new Parser().parseDTD(reader, "project"); //$NON-NLS-1$
+		}
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(new File(directory, "ant1.6.2.schema")))) { //$NON-NLS-1$
+			CompiledSchema.write(schema, out);
+		}
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(new File(directory, "anttasks_1.6.0.index")))) { //$NON-NLS-1$
+			TaskDescriptionProvider.writeIndex(out);
+		}
+	}
+}
@@ -0,0 +1,512 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.ui.dtd.schema;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.ant.internal.ui.dtd.IAtom;
+import org.eclipse.ant.internal.ui.dtd.IAttribute;
+import org.eclipse.ant.internal.ui.dtd.IDfm;
+import org.eclipse.ant.internal.ui.dtd.IElement;
+import org.eclipse.ant.internal.ui.dtd.IModel;
+import org.eclipse.ant.internal.ui.dtd.ISchema;
+import org.eclipse.ant.internal.ui.dtd.ParseError;
+
+/**
+ * A schema read from the binary form written by {@link #write(ISchema, OutputStream)}. The binary form holds the elements with their attributes,
+ * content models and already built DFMs, so no DTD is parsed and no automaton is constructed when it is read. Only the element names are decoded up
+ * front; the rest of an element is decoded the first time the element is used.
+ */
+public class CompiledSchema implements ISchema {
+
+	private static final int MAGIC = 0x414E5453; // ANTS
+	private static final int VERSION = 1;
+
+	private static final int ELEMENT_UNDEFINED = 1;
+	private static final int ELEMENT_TEXT = 2;
+	private static final int ELEMENT_ANY = 4;
+	private static final int ELEMENT_EMPTY = 8;
+
+	private static final int ATTRIBUTE_FIXED = 1;
+	private static final int ATTRIBUTE_REQUIRED = 2;
+
+	private static final int DFM_ACCEPTING = 1;
+	private static final int DFM_ANY = 2;
+	private static final int DFM_EMPTY = 4;
+
+	private final String[] fStrings;
+	private final String[] fNames;
+	private final int[] fOffsets;
+	private final byte[] fBody;
+	private final CompiledElement[] fElements;
+	private final Exception fErrorException;
+
+	private CompiledSchema(String[] strings, String[] names, int[] offsets, byte[] body, String errorMessage) {
+		fStrings = strings;
+		fNames = names;
+		fOffsets = offsets;
+		fBody = body;
+		fElements = new CompiledElement[names.length];
+		fErrorException = errorMessage == null ? null : new ParseError(errorMessage);
+	}
+
+	/**
+	 * An element whose attributes, content model and DFM are decoded on first use
+	 */
+	private class CompiledElement extends Element {
+		private final int fIndex;
+		private boolean fDecoded = false;
+
+		CompiledElement(int index) {
+			super(fNames[index]);
+			fIndex = index;
+		}
+
+		private void decode() {
+			synchronized (CompiledSchema.this) {
+				if (fDecoded) {
+					return;
+				}
+				fDecoded = true;
+				try {
+					decodeElement(this, fIndex);
+				}
+				catch (IOException e) {
+					// the image was checked when read, so this is not expected
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+
+		@Override
+		public boolean isUndefined() {
+			decode();
+			return super.isUndefined();
+		}
+
+		@Override
+		public boolean isText() {
+			decode();
+			return super.isText();
+		}
+
+		@Override
+		public boolean isAny() {
+			decode();
+			return super.isAny();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			decode();
+			return super.isEmpty();
+		}
+
+		@Override
+		public IModel getContentModel() {
+			decode();
+			return super.getContentModel();
+		}
+
+		@Override
+		public IDfm getDfm() {
+			decode();
+			return super.getDfm();
+		}
+
+		@Override
+		public Map<String, IAttribute> getAttributes() {
+			decode();
+			return super.getAttributes();
+		}
+	}
+
+	@Override
+	public IElement getElement(String qname) {
+		int index = Arrays.binarySearch(fNames, qname);
+		if (index < 0) {
+			return null;
+		}
+		return getElement(index);
+	}
+
+	private synchronized Element getElement(int index) {
+		CompiledElement element = fElements[index];
+		if (element == null) {
+			element = new CompiledElement(index);
+			fElements[index] = element;
+		}
+		return element;
+	}
+
+	@Override
+	public IElement[] getElements() {
+		IElement[] elements = new IElement[fNames.length];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = getElement(i);
+		}
+		return elements;
+	}
+
+	@Override
+	public Exception getErrorException() {
+		return fErrorException;
+	}
+
+	private void decodeElement(Element element, int index) throws IOException {
+		int end = index + 1 < fOffsets.length ? fOffsets[index + 1] : fBody.length;
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(fBody, fOffsets[index], end - fOffsets[index]));
+		int flags = in.readByte();
+		element.setUndefined((flags & ELEMENT_UNDEFINED) != 0);
+		element.setText((flags & ELEMENT_TEXT) != 0);
+		element.setAny((flags & ELEMENT_ANY) != 0);
+		element.setEmpty((flags & ELEMENT_EMPTY) != 0);
+
+		int attributeCount = readNumber(in);
+		for (int i = 0; i < attributeCount; i++) {
+			Attribute attribute = new Attribute(readString(in), element);
+			attribute.setType(readString(in));
+			attribute.setDefault(readString(in));
+			int attributeFlags = in.readByte();
+			attribute.setFixed((attributeFlags & ATTRIBUTE_FIXED) != 0);
+			attribute.setRequired((attributeFlags & ATTRIBUTE_REQUIRED) != 0);
+			int enumCount = readNumber(in);
+			if (enumCount >= 0) {
+				String[] enumeration = new String[enumCount];
+				for (int j = 0; j < enumCount; j++) {
+					enumeration[j] = readString(in);
+				}
+				attribute.setEnum(enumeration);
+			}
+			element.addAttribute(attribute);
+		}
+
+		if (in.readBoolean()) {
+			element.setContentModel(readModel(in));
+		}
+
+		int stateCount = readNumber(in);
+		if (stateCount == 0) {
+			return;
+		}
+		Dfm[] states = new Dfm[stateCount];
+		for (int i = 0; i < stateCount; i++) {
+			states[i] = Dfm.dfm(false);
+		}
+		for (Dfm state : states) {
+			int stateFlags = in.readByte();
+			state.accepting = (stateFlags & DFM_ACCEPTING) != 0;
+			state.any = (stateFlags & DFM_ANY) != 0;
+			state.empty = (stateFlags & DFM_EMPTY) != 0;
+			int transitionCount = readNumber(in);
+			if (transitionCount > 0) {
+				Object[] keys = new Object[transitionCount];
+				Object[] values = new Object[transitionCount];
+				for (int j = 0; j < transitionCount; j++) {
+					keys[j] = getElement(readNumber(in));
+					values[j] = states[readNumber(in)];
+				}
+				state.setKeys(keys);
+				state.setValues(values);
+			}
+			state.freeze();
+		}
+		element.setDfm(states[0]);
+	}
+
+	private Model readModel(DataInputStream in) throws IOException {
+		Model model = new Model(in.readByte());
+		model.setMinOccurs(readNumber(in));
+		model.setMaxOccurs(readNumber(in));
+		int leaf = readNumber(in);
+		if (leaf >= 0) {
+			model.setLeaf(getElement(leaf));
+		}
+		int contentCount = readNumber(in);
+		if (contentCount > 0) {
+			IModel[] contents = new IModel[contentCount];
+			for (int i = 0; i < contentCount; i++) {
+				contents[i] = readModel(in);
+			}
+			model.setContents(contents);
+		}
+		return model;
+	}
+
+	private String readString(DataInputStream in) throws IOException {
+		int index = readNumber(in);
+		return index < 0 ? null : fStrings[index];
+	}
+
+	/**
+	 * Reads a schema written by {@link #write(ISchema, OutputStream)}.
+	 *
+	 * @param stream
+	 *            the stream to read from, not closed by this method
+	 * @return the schema
+	 * @throws IOException
+	 *             if the stream cannot be read or does not contain a schema written by this version
+	 */
+	public static CompiledSchema read(InputStream stream) throws IOException {
+		DataInputStream in = new DataInputStream(stream);
+		if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+			throw new IOException("Not a compiled schema"); //$NON-NLS-1$
+		}
+		String[] strings = new String[readNumber(in)];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = in.readUTF();
+		}
+		int errorIndex = readNumber(in);
+		String[] names = new String[readNumber(in)];
+		int[] offsets = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = strings[readNumber(in)];
+			offsets[i] = readNumber(in);
+		}
+		byte[] body = new byte[readNumber(in)];
+		in.readFully(body);
+		return new CompiledSchema(strings, names, offsets, body, errorIndex < 0 ? null : strings[errorIndex]);
+	}
+
+	/**
+	 * Writes the given schema in the binary form read by {@link #read(InputStream)}. The DFM of every element is built while writing. The output
+	 * only depends on the content of the schema.
+	 *
+	 * @param schema
+	 *            the schema to write
+	 * @param stream
+	 *            the stream to write to, not closed by this method
+	 * @throws IOException
+	 *             if the stream cannot be written
+	 */
+	public static void write(ISchema schema, OutputStream stream) throws IOException {
+		IElement[] elements = schema.getElements();
+		Arrays.sort(elements, (first, second) -> first.getName().compareTo(second.getName()));
+		Map<String, Integer> elementIndices = new HashMap<>(elements.length * 2);
+		for (int i = 0; i < elements.length; i++) {
+			elementIndices.put(elements[i].getName(), Integer.valueOf(i));
+		}
+		StringTable strings = new StringTable();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		DataOutputStream bodyOut = new DataOutputStream(body);
+		int[] offsets = new int[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			offsets[i] = bodyOut.size();
+			writeElement(elements[i], elementIndices, strings, bodyOut);
+		}
+		bodyOut.flush();
+
+		DataOutputStream out = new DataOutputStream(stream);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		int[] nameIndices = new int[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			nameIndices[i] = strings.indexOf(elements[i].getName());
+		}
+		Exception error = schema.getErrorException();
+		int errorIndex = strings.indexOf(error == null ? null : String.valueOf(error.getMessage()));
+		writeNumber(out, strings.fStrings.size());
+		for (String string : strings.fStrings) {
+			out.writeUTF(string);
+		}
+		writeNumber(out, errorIndex);
+		writeNumber(out, elements.length);
+		for (int i = 0; i < elements.length; i++) {
+			writeNumber(out, nameIndices[i]);
+			writeNumber(out, offsets[i]);
+		}
+		writeNumber(out, body.size());
+		body.writeTo(out);
+		out.flush();
+	}
+
+	private static void writeElement(IElement element, Map<String, Integer> elementIndices, StringTable strings, DataOutputStream out) throws IOException {
+		int flags = 0;
+		if (element.isUndefined()) {
+			flags |= ELEMENT_UNDEFINED;
+		}
+		if (element.isText()) {
+			flags |= ELEMENT_TEXT;
+		}
+		if (element.isAny()) {
+			flags |= ELEMENT_ANY;
+		}
+		if (element.isEmpty()) {
+			flags |= ELEMENT_EMPTY;
+		}
+		out.writeByte(flags);
+
+		Map<String, IAttribute> attributes = element.getAttributes();
+		String[] attributeNames = attributes.keySet().toArray(new String[attributes.size()]);
+		Arrays.sort(attributeNames);
+		writeNumber(out, attributeNames.length);
+		for (String attributeName : attributeNames) {
+			IAttribute attribute = attributes.get(attributeName);
+			writeNumber(out, strings.indexOf(attributeName));
+			writeNumber(out, strings.indexOf(attribute.getType()));
+			writeNumber(out, strings.indexOf(attribute.getDefault()));
+			int attributeFlags = 0;
+			if (attribute.isFixed()) {
+				attributeFlags |= ATTRIBUTE_FIXED;
+			}
+			if (attribute.isRequired()) {
+				attributeFlags |= ATTRIBUTE_REQUIRED;
+			}
+			out.writeByte(attributeFlags);
+			String[] enumeration = attribute.getEnum();
+			if (enumeration == null) {
+				writeNumber(out, -1);
+			} else {
+				writeNumber(out, enumeration.length);
+				for (String value : enumeration) {
+					writeNumber(out, strings.indexOf(value));
+				}
+			}
+		}
+
+		IModel model = element.getContentModel();
+		out.writeBoolean(model != null);
+		if (model != null) {
+			writeModel(model, elementIndices, out);
+		}
+
+		if (model == null && !element.isAny() && !element.isEmpty() && !element.isText()) {
+			// referenced but never declared, there is nothing to build a DFM from
+			writeNumber(out, 0);
+			return;
+		}
+		// number the states in the order they are reached, following transitions in key order
+		List<Dfm> states = new ArrayList<>();
+		Map<Dfm, Integer> stateIndices = new IdentityHashMap<>();
+		Dfm start = (Dfm) element.getDfm();
+		states.add(start);
+		stateIndices.put(start, Integer.valueOf(0));
+		for (int i = 0; i < states.size(); i++) {
+			Dfm[] follows = states.get(i).getFollows();
+			for (Dfm follow : follows) {
+				if (!stateIndices.containsKey(follow)) {
+					stateIndices.put(follow, Integer.valueOf(states.size()));
+					states.add(follow);
+				}
+			}
+		}
+		writeNumber(out, states.size());
+		for (Dfm state : states) {
+			int stateFlags = 0;
+			if (state.isAccepting()) {
+				stateFlags |= DFM_ACCEPTING;
+			}
+			if (state.isAny()) {
+				stateFlags |= DFM_ANY;
+			}
+			if (state.isEmpty()) {
+				stateFlags |= DFM_EMPTY;
+			}
+			out.writeByte(stateFlags);
+			Object[] keys = state.getKeys();
+			Dfm[] follows = state.getFollows();
+			int transitionCount = keys == null ? 0 : keys.length;
+			writeNumber(out, transitionCount);
+			for (int i = 0; i < transitionCount; i++) {
+				writeNumber(out, getElementIndex((IAtom) keys[i], elementIndices));
+				writeNumber(out, stateIndices.get(follows[i]).intValue());
+			}
+		}
+	}
+
+	private static void writeModel(IModel model, Map<String, Integer> elementIndices, DataOutputStream out) throws IOException {
+		// IModel#getKind() is not reliable for Model instances
+		int kind = model instanceof Model ? ((Model) model).fKind : model.getKind();
+		out.writeByte(kind);
+		writeNumber(out, model.getMinOccurs());
+		writeNumber(out, model.getMaxOccurs());
+		IAtom leaf = kind == IModel.LEAF ? model.getLeaf() : null;
+		writeNumber(out, leaf == null ? -1 : getElementIndex(leaf, elementIndices));
+		IModel[] contents = kind == IModel.LEAF ? null : model.getContents();
+		if (contents == null) {
+			writeNumber(out, 0);
+		} else {
+			writeNumber(out, contents.length);
+			for (IModel content : contents) {
+				writeModel(content, elementIndices, out);
+			}
+		}
+	}
+
+	private static int getElementIndex(IAtom atom, Map<String, Integer> elementIndices) throws IOException {
+		Integer index = elementIndices.get(atom.getName());
+		if (index == null) {
+			throw new IOException("Element not in schema: " + atom.getName()); //$NON-NLS-1$
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Writes a number of at least -1 in as few bytes as its size needs, seven bits per byte
+	 */
+	private static void writeNumber(DataOutputStream out, int number) throws IOException {
+		int value = number + 1;
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readNumber(DataInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		}
+		while ((b & 0x80) != 0);
+		return value - 1;
+	}
+
+	/**
+	 * Strings written once and referred to by index
+	 */
+	private static class StringTable {
+		final List<String> fStrings = new ArrayList<>();
+		final Map<String, Integer> fIndices = new HashMap<>();
+
+		int indexOf(String string) {
+			if (string == null) {
+				return -1;
+			}
+			Integer index = fIndices.get(string);
+			if (index == null) {
+				index = Integer.valueOf(fStrings.size());
+				fStrings.add(string);
+				fIndices.put(string, index);
+			}
+			return index.intValue();
+		}
+	}
+}
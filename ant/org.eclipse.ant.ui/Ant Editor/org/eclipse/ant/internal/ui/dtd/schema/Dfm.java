@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2005 Object Factory Inc.
+ * Copyright (c) 2002, 2026 Object Factory Inc.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ant.internal.ui.dtd.schema;
 
+import java.util.Arrays;
+
 import org.eclipse.ant.internal.ui.dtd.IAtom;
 import org.eclipse.ant.internal.ui.dtd.IDfm;
 import org.eclipse.ant.internal.ui.dtd.util.Factory;
@@ -24,6 +26,10 @@ import org.eclipse.ant.internal.ui.dtd.util.SortedMap;
  * Deterministic finite state machine. Once constructed DFM is immutable and can be used by multiple threads. A Dfm node is essentially an accepting
  * flag and a hashtable mapping atoms to Dfm nodes. (Almost of org.eclipse.ant.internal.ui.dtd.util is aimed at reducing the storage overhead of
  * hundreds of little hashtables.)
+ * <p>
+ * Construction is not thread safe and is done under a common lock (see {@link Element#getDfm()}). Once construction is complete, each node is
+ * frozen into a table of the accepted names sorted like its keys, so that <code>advance()</code> and <code>getAtom()</code> are a binary search
+ * over that table and its parallel array of follows, without allocating or touching the shared map pools.
  * 
  * @author Bob Foster
  */
@@ -35,6 +41,10 @@ public class Dfm extends MapHolder implements IDfm, FactoryObject {
 	private static int unique = 0;
 	private static Factory factory = new Factory();
 	private Dfm fNext;
+	/**
+	 * The names of the keys, in the same (sorted) order; null until the node is frozen
+	 */
+	private String[] fNames;
 
 	public static Dfm dfm(boolean accepting) {
 		Dfm dfm = free();
@@ -46,11 +56,15 @@ public class Dfm extends MapHolder implements IDfm, FactoryObject {
 	}
 
 	private static Dfm free() {
-		Dfm dfm = (Dfm) factory.getFree();
-		if (dfm == null)
-			dfm = new Dfm();
+		Dfm dfm;
+		synchronized (factory) {
+			dfm = (Dfm) factory.getFree();
+			if (dfm == null)
+				dfm = new Dfm();
+			dfm.id = unique++;
+		}
 		dfm.accepting = dfm.empty = dfm.any = false;
-		dfm.id = unique++;
+		dfm.fNames = null;
 		return dfm;
 	}
 
@@ -66,9 +80,40 @@ public class Dfm extends MapHolder implements IDfm, FactoryObject {
 	public static void free(Dfm dfm) {
 		dfm.setKeys(null);
 		dfm.setValues(null);
+		dfm.fNames = null;
 		factory.setFree(dfm);
 	}
 
+	/**
+	 * Freezes this node once its transitions are final. Must be called by the constructing thread before the node is published to other threads.
+	 */
+	void freeze() {
+		if (keys == null) {
+			fNames = new String[0];
+			return;
+		}
+		String[] names = new String[keys.length];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = keys[i].toString();
+		}
+		fNames = names;
+	}
+
+	/**
+	 * Returns the index of the transition accepting the given name, or a negative value if there is none.
+	 */
+	private int indexOf(String name) {
+		String[] names = fNames;
+		if (names != null) {
+			return Arrays.binarySearch(names, name);
+		}
+		// still under construction
+		SortedMap map = getIndirectStringMap(this);
+		int index = map.keyIndex(name);
+		freeMap(map);
+		return index;
+	}
+
 	@Override
 	public boolean isAccepting() {
 		return accepting;
@@ -82,16 +127,19 @@ public class Dfm extends MapHolder implements IDfm, FactoryObject {
 			return null;
 		if (keys == null)
 			return null;
-		SortedMap map = getIndirectStringMap(this);
-		Dfm dfm = (Dfm) map.get(name);
-		freeMap(map);
-		return dfm;
+		int index = indexOf(name);
+		if (index < 0)
+			return null;
+		return (Dfm) values[index];
 	}
 
 	@Override
 	public String[] getAccepts() {
 		if (keys == null)
 			return new String[0];
+		String[] names = fNames;
+		if (names != null)
+			return names.clone();
 		String[] s = new String[keys.length];
 		for (int i = 0; i < s.length; i++) {
 			s[i] = keys[i].toString();
@@ -146,8 +194,7 @@ public class Dfm extends MapHolder implements IDfm, FactoryObject {
 		if (empty || allKeys == null) {
 			return null;
 		}
-		SortedMap map = getIndirectStringMap(this);
-		int index = map.keyIndex(name);
+		int index = indexOf(name);
 		if (index < 0) {
 			return null;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 Object Factory Inc.
+ * Copyright (c) 2002, 2026 Object Factory Inc.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,7 +28,7 @@ public class Element extends Atom implements IElement {
 	private boolean fText;
 	private IModel fModel;
 	private Map<String, IAttribute> fMap = new HashMap<>(4);
-	private Dfm fElementDfm;
+	private volatile Dfm fElementDfm;
 
 	/**
 	 * Constructor
@@ -100,16 +100,35 @@ public class Element extends Atom implements IElement {
 		return fUndefined;
 	}
 
+	/**
+	 * Returns the DFM of this element, building it on first use. The node pools used while building are shared by all elements, so DFMs are built
+	 * one at a time; the DFM returned is frozen and may be queried by any thread.
+	 */
 	@Override
 	public IDfm getDfm() {
 		Dfm dfm = fElementDfm;
 		if (dfm == null) {
-			dfm = parseElementDfm();
-			fElementDfm = dfm;
+			synchronized (fNfmParser) {
+				dfm = fElementDfm;
+				if (dfm == null) {
+					dfm = parseElementDfm();
+					fElementDfm = dfm;
+				}
+			}
 		}
 		return dfm;
 	}
 
+	/**
+	 * Sets a DFM built ahead of time, so that it is not derived from the content model.
+	 *
+	 * @param dfm
+	 *            the DFM of the element
+	 */
+	void setDfm(Dfm dfm) {
+		fElementDfm = dfm;
+	}
+
 	private Dfm parseElementDfm() {
 		Dfm dfm;
 		if (fAny) {
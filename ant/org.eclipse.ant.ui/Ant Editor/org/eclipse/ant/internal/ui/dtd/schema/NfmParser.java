@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 Object Factory Inc.
+ * Copyright (c) 2002, 2026 Object Factory Inc.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,6 +40,8 @@ import org.eclipse.ant.internal.ui.dtd.util.SortedMapFactory;
  * pathological case, like the classical (a*,a*,a*,..., a*) the number of transitions in the DFA can be quadratic but this algorithm will not blow up
  * exponentially.
  * 
+ * NfmParser shares the node pools of Nfm and NfmNode, so callers must serialize parsing and the construction of the nfm being parsed.
+ * 
  * @author Bob Foster
  */
 public class NfmParser {
@@ -64,6 +66,13 @@ public class NfmParser {
 
 		replace(dfms, duplicates);
 
+		// Freeze the remaining dfms for lookups by any thread
+
+		for (Dfm state : dfms) {
+			if (!duplicates.containsKey(state))
+				state.freeze();
+		}
+
 		// Allow nfm memory to be re-used
 
 		Nfm.free(nfm);
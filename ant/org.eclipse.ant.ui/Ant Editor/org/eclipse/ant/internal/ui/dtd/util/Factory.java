@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 Object Factory Inc.
+ * Copyright (c) 2002, 2026 Object Factory Inc.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,7 @@ import java.lang.ref.SoftReference;
 
 /**
  * Factory maintains a free list and, with FactoryObject, serves as a basis for factories of all types. Factory should only be subclassed in singleton
- * classes; for static factories, it may be instantiated as a static object.
+ * classes; for static factories, it may be instantiated as a static object. The free list may be used by multiple threads.
  * 
  * @author Bob Foster
  */
@@ -26,7 +26,7 @@ public class Factory {
 	/**
 	 * Return the first object on the free list or null if none.
 	 */
-	public FactoryObject getFree() {
+	public synchronized FactoryObject getFree() {
 		Head head = getHead();
 		FactoryObject obj = head.next;
 		if (obj != null) {
@@ -39,7 +39,7 @@ public class Factory {
 	/**
 	 * Add an object to the free list.
 	 */
-	public void setFree(FactoryObject obj) {
+	public synchronized void setFree(FactoryObject obj) {
 		Head head = getHead();
 		obj.next(head.next);
 		head.next = obj;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -138,10 +138,10 @@ public class AntAutoEditStrategy extends DefaultIndentLineAutoEditStrategy {
 			// eat any WS before the insertion to the beginning of the line
 			int firstLine = 1; // don't format the first line if it has other content before it
 			IRegion line = document.getLineInformationOfOffset(command.offset);
-			String notSelected = document.get(line.getOffset(), command.offset - line.getOffset());
-			if (notSelected.trim().length() == 0) {
-				command.length += notSelected.length();
-				command.offset = line.getOffset();
+			int lineStart = line.getOffset();
+			if (isBlank(document, lineStart, command.offset)) {
+				command.length += command.offset - lineStart;
+				command.offset = lineStart;
 				firstLine = 0;
 			}
 
@@ -186,9 +186,10 @@ public class AntAutoEditStrategy extends DefaultIndentLineAutoEditStrategy {
 			}
 
 			// modify the command
-			if (!origChange.equals(temp.get())) {
-				fAccumulatedChange += temp.getLength();
-				command.text = temp.get();
+			String change = temp.get();
+			if (!origChange.equals(change)) {
+				fAccumulatedChange += change.length();
+				command.text = change;
 			}
 
 		}
@@ -197,6 +198,29 @@ public class AntAutoEditStrategy extends DefaultIndentLineAutoEditStrategy {
 		}
 	}
 
+	/**
+	 * Returns whether the characters of the document between <code>offset</code> and <code>end</code> are all white space, as removed by
+	 * {@link String#trim()}.
+	 * 
+	 * @param document
+	 *            the document
+	 * @param offset
+	 *            the start of the range
+	 * @param end
+	 *            the end of the range, exclusive
+	 * @return <code>true</code> if the range only contains white space
+	 * @throws BadLocationException
+	 *             on concurrent document modification
+	 */
+	private static boolean isBlank(IDocument document, int offset, int end) throws BadLocationException {
+		for (int i = offset; i < end; i++) {
+			if (document.getChar(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Indents line <code>line</code> in <code>document</code> with <code>indent</code>. Leaves leading comment signs alone.
 	 * 
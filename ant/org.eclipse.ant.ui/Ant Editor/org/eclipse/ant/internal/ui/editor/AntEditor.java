@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 GEBIT Gesellschaft fuer EDV-Beratung
+ * Copyright (c) 2002, 2026 GEBIT Gesellschaft fuer EDV-Beratung
  * und Informatik-Technologien mbH,
  * Berlin, Duesseldorf, Frankfurt (Germany) and others.
  *
@@ -517,7 +517,7 @@ public class AntEditor extends TextEditor implements IReconcilingParticipant, IP
 					updateEditorImage(model);
 				}
 				if (fFoldingStructureProvider != null) {
-					fFoldingStructureProvider.updateFoldingRegions(model);
+					fFoldingStructureProvider.updateFoldingRegions(model, event.getDelta());
 				}
 			}
 		};
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2021 GEBIT Gesellschaft fuer EDV-Beratung
+ * Copyright (c) 2002, 2026 GEBIT Gesellschaft fuer EDV-Beratung
  * und Informatik-Technologien mbH, 
  * Berlin, Duesseldorf, Frankfurt (Germany) and others.
  *
@@ -20,6 +20,7 @@
 
 package org.eclipse.ant.internal.ui.editor;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -62,6 +63,7 @@ import org.eclipse.ant.internal.ui.dtd.IElement;
 import org.eclipse.ant.internal.ui.dtd.ISchema;
 import org.eclipse.ant.internal.ui.dtd.ParseError;
 import org.eclipse.ant.internal.ui.dtd.Parser;
+import org.eclipse.ant.internal.ui.dtd.schema.CompiledSchema;
 import org.eclipse.ant.internal.ui.editor.TaskDescriptionProvider.ProposalNode;
 import org.eclipse.ant.internal.ui.editor.templates.AntContext;
 import org.eclipse.ant.internal.ui.editor.templates.AntTemplateAccess;
@@ -183,6 +185,11 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 
 	private static final String ANT_DTD_FILENAME = "/org/eclipse/ant/internal/ui/editor/ant1.6.2.dtd"; //$NON-NLS-1$
 
+	/**
+	 * The schema compiled from <code>ANT_DTD_FILENAME</code>, see {@link CompiledSchema#write(ISchema, java.io.OutputStream)}.
+	 */
+	public static final String ANT_SCHEMA_FILENAME = "/org/eclipse/ant/internal/ui/editor/ant1.6.2.schema"; //$NON-NLS-1$
+
 	/**
 	 * The DTD.
 	 */
@@ -221,6 +228,11 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 	 */
 	protected String currentPrefix = null;
 
+	/**
+	 * The prefix for the current content assist as typed, which keeps the case of a camel case pattern
+	 */
+	private String currentTypedPrefix = null;
+
 	/**
 	 * The current task string for content assist
 	 * 
@@ -231,11 +243,38 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 	private boolean fTemplatesOnly = false;
 	protected IContentAssistantExtension2 fContentAssistant;
 
+	/**
+	 * The tasks and types and the properties of the project of the model, indexed for the reconcile they were built for
+	 */
+	private ProposalIndex.Session fTaskIndex;
+	private ProposalIndex.Session fPropertyIndex;
+	private Map<String, Object> fIndexedProperties;
+	private Project fIndexedProject;
+	private int fIndexedReconcileStamp;
+
 	public AntEditorCompletionProcessor(AntModel model) {
 		super();
 		antModel = model;
 	}
 
+	/**
+	 * Reads the schema compiled from the dtd.
+	 *
+	 * @return the schema or <code>null</code> if it is not available
+	 */
+	private ISchema readCompiledDtd() {
+		try (InputStream stream = AntEditorCompletionProcessor.class.getResourceAsStream(ANT_SCHEMA_FILENAME)) {
+			if (stream == null) {
+				return null;
+			}
+			return CompiledSchema.read(new BufferedInputStream(stream));
+		}
+		catch (IOException e) {
+			AntUIPlugin.log(e);
+			return null;
+		}
+	}
+
 	/**
 	 * Parses the dtd.
 	 */
@@ -266,6 +305,7 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		}
 		finally {
 			currentPrefix = null;
+			currentTypedPrefix = null;
 			currentProposalMode = -1;
 			fTemplatesOnly = !fTemplatesOnly;
 		}
@@ -444,7 +484,7 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 				}
 				break;
 			case PROPOSAL_MODE_ATTRIBUTE_VALUE_PROPOSAL:
-				String textToSearch = document.get().substring(0, cursorPosition - prefix.length());
+				String textToSearch = getTextFromLastTag(document, cursorPosition - prefix.length());
 				String attributeString = getAttributeStringFromDocumentStringToPrefix(textToSearch);
 				if ("target".equalsIgnoreCase(currentTaskString) || "extension-point".equalsIgnoreCase(currentTaskString)) { //$NON-NLS-1$ //$NON-NLS-2$
 					proposals = getTargetAttributeValueProposals(document, textToSearch, prefix, attributeString);
@@ -974,17 +1014,25 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 	protected ICompletionProposal[] getPropertyProposals(IDocument document, String prefix, int aCursorPosition) {
 		List<ICompletionProposal> proposals = new ArrayList<>();
 		Map<String, ICompletionProposal> displayStringToProposals = new HashMap<>();
-		Map<String, Object> properties = findPropertiesFromDocument();
+		updateProposalIndices(antModel.getProjectNode().getProject());
+		Map<String, Object> properties = fIndexedProperties;
 
 		Image image = AntUIImages.getImage(IAntUIConstants.IMG_PROPERTY);
 		// Determine replacement length and offset
 		// String from beginning to the beginning of the prefix
 		int replacementLength = prefix.length();
 		int replacementOffset = 0;
-		String text = document.get();
-		String stringToPrefix = text.substring(0, aCursorPosition - prefix.length());
-		// Property proposal
-		String lastTwoCharacters = stringToPrefix.substring(stringToPrefix.length() - 2, stringToPrefix.length());
+		int prefixOffset = aCursorPosition - prefix.length();
+		String lastTwoCharacters;
+		boolean closingBrace;
+		try {
+			// Property proposal
+			lastTwoCharacters = document.get(Math.max(prefixOffset - 2, 0), Math.min(prefixOffset, 2));
+			closingBrace = document.getLength() > aCursorPosition && document.getChar(aCursorPosition) == '}';
+		}
+		catch (BadLocationException e) {
+			return NO_PROPOSALS;
+		}
 		boolean appendBraces = true;
 		if (lastTwoCharacters.equals("${")) { //$NON-NLS-1$
 			replacementLength += 2;
@@ -998,29 +1046,25 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 			appendBraces = false;
 		}
 
-		if (text.length() > aCursorPosition && text.charAt(aCursorPosition) == '}') {
+		if (closingBrace) {
 			replacementLength += 1;
 		}
-		String propertyName;
-		for (Iterator<String> i = properties.keySet().iterator(); i.hasNext();) {
-			propertyName = i.next();
-			if (prefix.length() == 0 || propertyName.toLowerCase().startsWith(prefix)) {
-				String additionalPropertyInfo = (String) properties.get(propertyName);
+		for (String propertyName : fPropertyIndex.getMatches(getMatchPattern(prefix))) {
+			String additionalPropertyInfo = (String) properties.get(propertyName);
 
-				StringBuilder replacementString = new StringBuilder();
-				if (appendBraces) {
-					replacementString.append("${"); //$NON-NLS-1$
-				}
-				replacementString.append(propertyName);
-				if (appendBraces) {
-					replacementString.append('}');
-				}
+			StringBuilder replacementString = new StringBuilder();
+			if (appendBraces) {
+				replacementString.append("${"); //$NON-NLS-1$
+			}
+			replacementString.append(propertyName);
+			if (appendBraces) {
+				replacementString.append('}');
+			}
 
-				if (displayStringToProposals.get(propertyName) == null) {
-					ICompletionProposal proposal = new AntCompletionProposal(replacementString.toString(), replacementOffset, replacementLength, replacementString.length(), image, propertyName, additionalPropertyInfo, AntCompletionProposal.PROPERTY_PROPOSAL);
-					proposals.add(proposal);
-					displayStringToProposals.put(propertyName, proposal);
-				}
+			if (displayStringToProposals.get(propertyName) == null) {
+				ICompletionProposal proposal = new AntCompletionProposal(replacementString.toString(), replacementOffset, replacementLength, replacementString.length(), image, propertyName, additionalPropertyInfo, AntCompletionProposal.PROPERTY_PROPOSAL);
+				proposals.add(proposal);
+				displayStringToProposals.put(propertyName, proposal);
 			}
 		}
 		return proposals.toArray(new ICompletionProposal[proposals.size()]);
@@ -1043,9 +1087,10 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		ICompletionProposal proposal;
 		if (areTasksOrTypesValidChildren(parentName)) {
 			// use the definitions in the project as that includes more than what is defined in the DTD
-			Project project = antModel.getProjectNode().getProject();
-			Map<String, AntTypeDefinition> tasksAndTypes = ComponentHelper.getComponentHelper(project).getAntTypeTable();
-			createProposals(document, prefix, proposals, tasksAndTypes);
+			updateProposalIndices(antModel.getProjectNode().getProject());
+			for (String taskName : fTaskIndex.getMatches(getMatchPattern(prefix))) {
+				proposals.add(newCompletionProposal(document, prefix, taskName));
+			}
 			if (parentName.equals("project")) { //$NON-NLS-1$
 				if ("target".startsWith(prefix)) { //$NON-NLS-1$
 					proposals.add(newCompletionProposal(document, prefix, "target")); //$NON-NLS-1$
@@ -1132,17 +1177,37 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		return NO_PROPOSALS;
 	}
 
-	private void createProposals(IDocument document, String prefix, List<ICompletionProposal> proposals, Map<String, AntTypeDefinition> tasks) {
-		Iterator<String> keys = tasks.keySet().iterator();
-		ICompletionProposal proposal;
-		String key;
-		while (keys.hasNext()) {
-			key = antModel.getUserNamespaceCorrectName(keys.next());
-			if (prefix.length() == 0 || key.toLowerCase().startsWith(prefix)) {
-				proposal = newCompletionProposal(document, prefix, key);
-				proposals.add(proposal);
-			}
+	/**
+	 * Indexes the tasks and types and the properties of the given project, unless they are already indexed for the current reconcile of the model.
+	 */
+	private void updateProposalIndices(Project project) {
+		int reconcileStamp = antModel.getReconcileStamp();
+		if (fTaskIndex != null && project == fIndexedProject && reconcileStamp == fIndexedReconcileStamp) {
+			return;
+		}
+		// use the definitions in the project as that includes more than what is defined in the DTD
+		Map<String, AntTypeDefinition> tasksAndTypes = ComponentHelper.getComponentHelper(project).getAntTypeTable();
+		List<String> taskNames = new ArrayList<>(tasksAndTypes.size());
+		for (String key : tasksAndTypes.keySet()) {
+			taskNames.add(antModel.getUserNamespaceCorrectName(key));
 		}
+		Map<String, Object> properties = project.getProperties();
+		fTaskIndex = new ProposalIndex.Session(new ProposalIndex(taskNames));
+		fPropertyIndex = new ProposalIndex.Session(new ProposalIndex(properties.keySet()));
+		fIndexedProperties = properties;
+		fIndexedProject = project;
+		fIndexedReconcileStamp = reconcileStamp;
+	}
+
+	/**
+	 * Returns the pattern to match the indexed names against: the prefix as typed if it is the current prefix, so that a camel case pattern keeps
+	 * its humps, otherwise the given prefix.
+	 */
+	private String getMatchPattern(String prefix) {
+		if (currentTypedPrefix != null && currentTypedPrefix.toLowerCase().equals(prefix)) {
+			return currentTypedPrefix;
+		}
+		return prefix;
 	}
 
 	private ICompletionProposal newCompletionProposal(IDocument document, String aPrefix, String elementName) {
@@ -1153,7 +1218,7 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		String replacementString = getTaskProposalReplacementString(elementName, hasNestedElements);
 		int replacementOffset = cursorPosition - aPrefix.length();
 		int replacementLength = aPrefix.length();
-		if (replacementOffset > 0 && document.get().charAt(replacementOffset - 1) == '<') {
+		if (replacementOffset > 0 && getChar(document, replacementOffset - 1) == '<') {
 			replacementOffset--;
 			replacementLength++;
 		}
@@ -1309,18 +1374,18 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		}
 		ITextSelection selection = (ITextSelection) viewer.getSelectionProvider().getSelection();
 		IDocument doc = viewer.getDocument();
-		return getPrefixFromDocument(doc.get(), selection.getOffset() + selection.getLength()).toLowerCase();
+		return getPrefixFromDocument(new DocumentCharSequence(doc), selection.getOffset() + selection.getLength()).toLowerCase();
 	}
 
 	/**
 	 * Returns the prefix in the specified document text with respect to the specified offset.
 	 * 
 	 * @param aDocumentText
-	 *            the whole content of the edited file as String
+	 *            the whole content of the edited file; only the characters before the cursor that form the prefix are read
 	 * @param anOffset
 	 *            the cursor position
 	 */
-	protected String getPrefixFromDocument(String aDocumentText, int anOffset) {
+	protected String getPrefixFromDocument(CharSequence aDocumentText, int anOffset) {
 		if (currentPrefix != null) {
 			return currentPrefix;
 		}
@@ -1340,8 +1405,10 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		}
 
 		if (startOfWordToken != anOffset) {
-			currentPrefix = aDocumentText.substring(startOfWordToken, anOffset).toLowerCase();
+			currentTypedPrefix = aDocumentText.subSequence(startOfWordToken, anOffset).toString();
+			currentPrefix = currentTypedPrefix.toLowerCase();
 		} else {
+			currentTypedPrefix = null;
 			currentPrefix = IAntCoreConstants.EMPTY_STRING;
 		}
 		return currentPrefix;
@@ -1354,13 +1421,12 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		if (currentProposalMode != -1) {
 			return currentProposalMode;
 		}
-		if (document.getLength() == 0 || (document.getLength() == 1 && document.get().equals("<"))) { //$NON-NLS-1$
+		if (document.getLength() == 0 || (document.getLength() == 1 && getChar(document, 0) == '<')) {
 			return PROPOSAL_MODE_BUILDFILE;
 		}
 
-		// String from beginning of document to the beginning of the prefix
-		String text = document.get();
-		String stringToPrefix = text.substring(0, aCursorPosition - aPrefix.length());
+		// String from the last tag start before the prefix to the beginning of the prefix
+		String stringToPrefix = getTextFromLastTag(document, aCursorPosition - aPrefix.length());
 		if (stringToPrefix.length() == 0) {
 			return PROPOSAL_MODE_BUILDFILE;
 		}
@@ -1433,6 +1499,38 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		return PROPOSAL_MODE_NONE;
 	}
 
+	/**
+	 * Returns the text of the document from the last <code>'&lt;'</code> before the given offset, or from the beginning of the document if there is
+	 * none, up to the offset.
+	 * <P>
+	 * The proposal mode, the current task and the current attribute only depend on this part of the text before the prefix, so the rest of the
+	 * document is not copied.
+	 */
+	private static String getTextFromLastTag(IDocument document, int offset) {
+		try {
+			int start = offset;
+			while (start > 0 && document.getChar(start - 1) != '<') {
+				start--;
+			}
+			if (start > 0) {
+				start--;
+			}
+			return document.get(start, offset - start);
+		}
+		catch (BadLocationException e) {
+			return IAntCoreConstants.EMPTY_STRING;
+		}
+	}
+
+	private static char getChar(IDocument document, int offset) {
+		try {
+			return document.getChar(offset);
+		}
+		catch (BadLocationException e) {
+			return 0;
+		}
+	}
+
 	private boolean isPropertyProposalMode(String stringToPrefix) {
 		if (stringToPrefix.length() >= 2) {
 			String lastTwoChars = stringToPrefix.substring(stringToPrefix.length() - 2, stringToPrefix.length());
@@ -1451,8 +1549,8 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 	 * after invoking this method.
 	 * 
 	 * @param aDocumentStringToPrefix
-	 *            the String that contains the whole string of the currently edited file from the beginning up to the prefix for code completion.
-	 *            Example: {@literal '<project default="name"><property '}.
+	 *            the String that contains the currently edited file up to the prefix for code completion, starting at the last tag start or
+	 *            before. Example: {@literal '<property '}.
 	 * 
 	 * @return the extracted task string or <code>null</code> if no string could be extracted.
 	 */
@@ -1602,16 +1700,6 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 		}
 	}
 
-	/**
-	 * Return the properties as defined in the entire buildfile
-	 * 
-	 * @return a map with all the found properties
-	 */
-	private Map<String, Object> findPropertiesFromDocument() {
-		Project project = antModel.getProjectNode().getProject();
-		return project.getProperties();
-	}
-
 	private Map<String, Target> getTargets() {
 		Project project = antModel.getProjectNode().getProject();
 		return project.getTargets();
@@ -1690,7 +1778,7 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 
 	@Override
 	protected String extractPrefix(ITextViewer textViewer, int offset) {
-		return getPrefixFromDocument(textViewer.getDocument().get(), offset);
+		return getPrefixFromDocument(new DocumentCharSequence(textViewer.getDocument()), offset);
 	}
 
 	/**
@@ -1765,6 +1853,9 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 	}
 
 	protected ISchema getDtd() {
+		if (fgDtd == null) {
+			fgDtd = readCompiledDtd();
+		}
 		if (fgDtd == null) {
 			IRunnableWithProgress runnable = monitor -> {
 				try {
@@ -1816,6 +1907,10 @@ public class AntEditorCompletionProcessor extends TemplateCompletionProcessor im
 	public void assistSessionEnded(ContentAssistEvent event) {
 		fContentAssistant = null;
 		fTemplatesOnly = false;
+		if (fTaskIndex != null) {
+			fTaskIndex.reset();
+			fPropertyIndex.reset();
+		}
 	}
 
 	@Override
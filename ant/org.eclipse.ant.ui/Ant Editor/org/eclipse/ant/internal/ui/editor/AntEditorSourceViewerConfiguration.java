@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 GEBIT Gesellschaft fuer EDV-Beratung
+ * Copyright (c) 2002, 2026 GEBIT Gesellschaft fuer EDV-Beratung
  * und Informatik-Technologien mbH,
  * Berlin, Duesseldorf, Frankfurt (Germany) and others.
  *
@@ -117,9 +117,12 @@ public class AntEditorSourceViewerConfiguration extends AntSourceViewerConfigura
 
 	@Override
 	public IReconciler getReconciler(ISourceViewer sourceViewer) {
-		NotifyingReconciler reconciler = new NotifyingReconciler(new XMLReconcilingStrategy(fEditor));
+		XMLReconcilingStrategy strategy = new XMLReconcilingStrategy(fEditor);
+		NotifyingReconciler reconciler = new NotifyingReconciler(strategy);
 		reconciler.setDelay(XMLReconcilingStrategy.DELAY);
 		reconciler.addReconcilingParticipant(fEditor);
+		// adapt the delay to the size of the buildfile and the time it takes to parse
+		reconciler.addReconcilingParticipant(() -> reconciler.setDelay(strategy.getDelay()));
 		return reconciler;
 	}
 
@@ -173,7 +176,7 @@ public class AntEditorSourceViewerConfiguration extends AntSourceViewerConfigura
 
 		MultiPassContentFormatter formatter = new MultiPassContentFormatter(getConfiguredDocumentPartitioning(sourceViewer), IDocument.DEFAULT_CONTENT_TYPE);
 
-		formatter.setMasterStrategy(new XmlDocumentFormattingStrategy());
+		formatter.setMasterStrategy(new XmlDocumentFormattingStrategy(fEditor::getAntModel));
 
 		formatter.setSlaveStrategy(new XmlElementFormattingStrategy(), AntEditorPartitionScanner.XML_TAG);
 
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.ui.editor;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+
+/**
+ * A read only view of a range of a document as a character sequence. Characters are read from the document when asked for, so a few characters
+ * around the cursor can be scanned without copying the whole content of the document.
+ */
+public class DocumentCharSequence implements CharSequence {
+
+	private final IDocument fDocument;
+	private final int fOffset;
+	private final int fLength;
+
+	/**
+	 * Creates a view of the whole document.
+	 *
+	 * @param document
+	 *            the document to view
+	 */
+	public DocumentCharSequence(IDocument document) {
+		this(document, 0, document.getLength());
+	}
+
+	/**
+	 * Creates a view of a range of the document.
+	 *
+	 * @param document
+	 *            the document to view
+	 * @param offset
+	 *            the offset of the range in the document
+	 * @param length
+	 *            the length of the range
+	 */
+	public DocumentCharSequence(IDocument document, int offset, int length) {
+		fDocument = document;
+		fOffset = offset;
+		fLength = length;
+	}
+
+	@Override
+	public int length() {
+		return fLength;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= fLength) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		try {
+			return fDocument.getChar(fOffset + index);
+		}
+		catch (BadLocationException e) {
+			throw new IndexOutOfBoundsException(e.getMessage());
+		}
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > fLength || start > end) {
+			throw new IndexOutOfBoundsException();
+		}
+		return new DocumentCharSequence(fDocument, fOffset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		try {
+			return fDocument.get(fOffset, fLength);
+		}
+		catch (BadLocationException e) {
+			throw new IndexOutOfBoundsException(e.getMessage());
+		}
+	}
+}
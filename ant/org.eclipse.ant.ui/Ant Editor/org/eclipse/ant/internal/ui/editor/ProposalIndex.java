@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.ui.editor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A prefix index over the names proposed by content assist, such as the tasks and types or the properties of a project.
+ * <p>
+ * The names are kept sorted by their lower case form, so the names starting with a prefix, ignoring case, are found by binary search. A pattern
+ * with upper case letters after its first character is also matched in camel case: each upper case letter starts a part that must match the start
+ * of a hump of the name, a hump starting at an upper case letter or after a <code>'.'</code>, <code>'-'</code> or <code>'_'</code>. For
+ * example, <code>jH</code> matches <code>java.home</code> and <code>javaHome</code>.
+ * </p>
+ * <p>
+ * An index is immutable once built. The matches of one content assist session are narrowed as the user keeps typing by a {@link Session}.
+ * </p>
+ */
+public class ProposalIndex {
+
+	private static final int[] NO_MATCHES = new int[0];
+
+	/**
+	 * The names, sorted by their lower case form
+	 */
+	private final String[] fNames;
+	/**
+	 * The lower case form of the names, in the same order
+	 */
+	private final String[] fKeys;
+
+	/**
+	 * Creates an index of the given names. Names that occur more than once are proposed as many times.
+	 *
+	 * @param names
+	 *            the names to index
+	 */
+	public ProposalIndex(Collection<String> names) {
+		int count = names.size();
+		String[][] entries = new String[count][];
+		int i = 0;
+		for (String name : names) {
+			entries[i++] = new String[] { name.toLowerCase(), name };
+		}
+		Arrays.sort(entries, (entry1, entry2) -> entry1[0].compareTo(entry2[0]));
+		fKeys = new String[count];
+		fNames = new String[count];
+		for (i = 0; i < count; i++) {
+			fKeys[i] = entries[i][0];
+			fNames[i] = entries[i][1];
+		}
+	}
+
+	/**
+	 * Returns the number of names in this index.
+	 *
+	 * @return the number of names
+	 */
+	public int size() {
+		return fNames.length;
+	}
+
+	/**
+	 * Returns the names matching the given pattern, in index order.
+	 *
+	 * @param pattern
+	 *            the text typed so far, may be empty
+	 * @return the names starting with the pattern ignoring case, or matching it in camel case
+	 */
+	public List<String> getMatches(String pattern) {
+		return getNames(match(pattern, null));
+	}
+
+	/**
+	 * Returns the indices of the names matching the given pattern.
+	 *
+	 * @param pattern
+	 *            the pattern to match
+	 * @param candidates
+	 *            the indices of the only names that can match, in increasing order, or <code>null</code> to match all names
+	 */
+	int[] match(String pattern, int[] candidates) {
+		if (pattern.length() == 0) {
+			return candidates != null ? candidates : range(0, fNames.length);
+		}
+		String firstPart = getFirstPart(pattern);
+		boolean camelCase = firstPart.length() < pattern.length();
+		if (candidates == null) {
+			// every match starts with the first part of the pattern, ignoring case
+			String key = firstPart.toLowerCase();
+			int start = lowerBound(key);
+			int end = start;
+			while (end < fKeys.length && fKeys[end].startsWith(key)) {
+				end++;
+			}
+			if (!camelCase) {
+				return range(start, end);
+			}
+			candidates = range(start, end);
+		}
+		int[] matches = new int[candidates.length];
+		int count = 0;
+		String key = pattern.toLowerCase();
+		for (int candidate : candidates) {
+			if (fKeys[candidate].startsWith(key) || (camelCase && matchesCamelCase(fNames[candidate], pattern))) {
+				matches[count++] = candidate;
+			}
+		}
+		return count == matches.length ? matches : Arrays.copyOf(matches, count);
+	}
+
+	List<String> getNames(int[] indices) {
+		List<String> names = new ArrayList<>(indices.length);
+		for (int index : indices) {
+			names.add(fNames[index]);
+		}
+		return names;
+	}
+
+	/**
+	 * Returns the index of the first key that is not less than the given key.
+	 */
+	private int lowerBound(String key) {
+		int low = 0;
+		int high = fKeys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (fKeys[middle].compareTo(key) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static int[] range(int start, int end) {
+		if (start >= end) {
+			return NO_MATCHES;
+		}
+		int[] indices = new int[end - start];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = start + i;
+		}
+		return indices;
+	}
+
+	/**
+	 * Returns the part of the pattern before its second part, i.e. before its first upper case letter that is not its first character.
+	 */
+	private static String getFirstPart(String pattern) {
+		for (int i = 1; i < pattern.length(); i++) {
+			if (Character.isUpperCase(pattern.charAt(i))) {
+				return pattern.substring(0, i);
+			}
+		}
+		return pattern;
+	}
+
+	/**
+	 * Returns whether the given name matches the given pattern in camel case. The first part of the pattern must start the name; each further part
+	 * must start the earliest following hump it matches.
+	 */
+	static boolean matchesCamelCase(String name, String pattern) {
+		int partStart = 0;
+		int position = 0;
+		while (partStart < pattern.length()) {
+			int partEnd = partStart + 1;
+			while (partEnd < pattern.length() && !Character.isUpperCase(pattern.charAt(partEnd))) {
+				partEnd++;
+			}
+			int partLength = partEnd - partStart;
+			if (partStart == 0) {
+				if (!name.regionMatches(true, 0, pattern, 0, partLength)) {
+					return false;
+				}
+				position = partLength;
+			} else {
+				int hump = nextHump(name, position);
+				while (hump >= 0 && !name.regionMatches(true, hump, pattern, partStart, partLength)) {
+					hump = nextHump(name, hump + 1);
+				}
+				if (hump < 0) {
+					return false;
+				}
+				position = hump + partLength;
+			}
+			partStart = partEnd;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first hump of the name at or after the given index, or -1 if there is none.
+	 */
+	private static int nextHump(String name, int from) {
+		for (int i = Math.max(from, 1); i < name.length(); i++) {
+			char c = name.charAt(i);
+			char previous = name.charAt(i - 1);
+			if (Character.isUpperCase(c) || previous == '.' || previous == '-' || previous == '_') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The matches of an index during one content assist session. When the pattern extends the previous one, only the previous matches are tested
+	 * again.
+	 */
+	public static class Session {
+
+		private final ProposalIndex fIndex;
+		private String fPattern;
+		private int[] fMatches;
+
+		public Session(ProposalIndex index) {
+			fIndex = index;
+		}
+
+		public ProposalIndex getIndex() {
+			return fIndex;
+		}
+
+		/**
+		 * Returns the names matching the given pattern, see {@link ProposalIndex#getMatches(String)}.
+		 *
+		 * @param pattern
+		 *            the text typed so far, may be empty
+		 * @return the matching names, in index order
+		 */
+		public List<String> getMatches(String pattern) {
+			int[] candidates = null;
+			if (fPattern != null && fPattern.length() > 0 && pattern.startsWith(fPattern)) {
+				candidates = fMatches;
+			}
+			fMatches = fIndex.match(pattern, candidates);
+			fPattern = pattern;
+			return fIndex.getNames(fMatches);
+		}
+
+		/**
+		 * Forgets the matches of the session that ended.
+		 */
+		public void reset() {
+			fPattern = null;
+			fMatches = null;
+		}
+	}
+}
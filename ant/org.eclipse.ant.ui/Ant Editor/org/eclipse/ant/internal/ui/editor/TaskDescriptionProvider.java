@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 GEBIT Gesellschaft fuer EDV-Beratung
+ * Copyright (c) 2002, 2026 GEBIT Gesellschaft fuer EDV-Beratung
  * und Informatik-Technologien mbH, 
  * Berlin, Duesseldorf, Frankfurt (Germany) and others.
  *
@@ -17,11 +17,20 @@
 
 package org.eclipse.ant.internal.ui.editor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -43,8 +52,9 @@ import org.xml.sax.helpers.DefaultHandler;
 /**
  * The <code>TaskDescriptionProvider</code> provides the additional descriptions for tasks and attributes for the code assist.
  * <p>
- * Descriptions for task are originally provided with the XML file <code>TASKS_DESCRIPTION_XML_FILE_NAME</code>. This file is parsed by the provider
- * and requested descriptions are returned.
+ * Descriptions for task are originally provided with the XML file <code>TASKS_DESCRIPTION_XML_FILE_NAME</code>. The descriptions are read from the
+ * index <code>TASKS_DESCRIPTION_INDEX_FILE_NAME</code> compiled from that file, one task at a time as they are requested. The XML file is only
+ * parsed if the index cannot be read.
  * </p>
  */
 public class TaskDescriptionProvider {
@@ -54,6 +64,14 @@ public class TaskDescriptionProvider {
 	 */
 	public static final String TASKS_DESCRIPTION_XML_FILE_NAME = "/org/eclipse/ant/internal/ui/editor/anttasks_1.6.0.xml"; //$NON-NLS-1$
 
+	/**
+	 * The index compiled from <code>TASKS_DESCRIPTION_XML_FILE_NAME</code>, see {@link #writeIndex(OutputStream)}.
+	 */
+	public static final String TASKS_DESCRIPTION_INDEX_FILE_NAME = "/org/eclipse/ant/internal/ui/editor/anttasks_1.6.0.index"; //$NON-NLS-1$
+
+	private static final int INDEX_MAGIC = 0x414E5444; // ANTD
+	private static final int INDEX_VERSION = 1;
+
 	public static final String XML_TAG_TASKS = "tasks"; //$NON-NLS-1$
 	public static final String XML_TAG_TASK = "task"; //$NON-NLS-1$
 	public static final String XML_TAG_ELEMENTS = "elements"; //$NON-NLS-1$
@@ -102,6 +120,13 @@ public class TaskDescriptionProvider {
 	 */
 	private Map<String, ProposalNode> taskNodes = null;
 
+	/**
+	 * The sorted task names of the index, <code>null</code> if the descriptions were parsed from the XML file
+	 */
+	private String[] indexNames = null;
+	private int[] indexOffsets = null;
+	private byte[] indexBody = null;
+
 	/**
 	 * Meant to be a singleton
 	 */
@@ -111,6 +136,9 @@ public class TaskDescriptionProvider {
 	public static TaskDescriptionProvider getDefault() {
 		if (fgDefault == null) {
 			fgDefault = new TaskDescriptionProvider();
+			if (fgDefault.readIndex()) {
+				return fgDefault;
+			}
 			IRunnableWithProgress runnable = monitor -> fgDefault.initialize();
 
 			IProgressService service = PlatformUI.getWorkbench().getProgressService();
@@ -127,11 +155,131 @@ public class TaskDescriptionProvider {
 		return fgDefault;
 	}
 
+	/**
+	 * Reads the task names of the compiled index. The descriptions of a task are only decoded when the task is first requested.
+	 *
+	 * @return whether the index could be read
+	 */
+	private boolean readIndex() {
+		try (InputStream stream = getClass().getResourceAsStream(TASKS_DESCRIPTION_INDEX_FILE_NAME)) {
+			if (stream == null) {
+				return false;
+			}
+			DataInputStream in = new DataInputStream(stream);
+			if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+				return false;
+			}
+			String[] names = new String[in.readInt()];
+			int[] offsets = new int[names.length];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = in.readUTF();
+				offsets[i] = in.readInt();
+			}
+			byte[] body = new byte[in.readInt()];
+			in.readFully(body);
+			taskNodes = new HashMap<>();
+			indexNames = names;
+			indexOffsets = offsets;
+			indexBody = body;
+			return true;
+		}
+		catch (IOException e) {
+			AntUIPlugin.log(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Decodes the descriptions of the task at the given position of the index
+	 */
+	private ProposalNode readTaskNode(int index) throws IOException {
+		int end = index + 1 < indexOffsets.length ? indexOffsets[index + 1] : indexBody.length;
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(indexBody, indexOffsets[index], end - indexOffsets[index]));
+		ProposalNode tasknode = new ProposalNode(readString(in), null);
+		int childCount = in.readInt();
+		for (int i = 0; i < childCount; i++) {
+			String name = in.readUTF();
+			tasknode.addChild(name, new ProposalNode(readString(in), readString(in)));
+		}
+		return tasknode;
+	}
+
+	/**
+	 * Parses the task description XML file and writes the index read by this provider to the given stream. Children are written in the iteration
+	 * order of the parsed nodes so that the decoded nodes iterate in the same order.
+	 *
+	 * @param stream
+	 *            the stream to write the index to, not closed by this method
+	 * @throws IOException
+	 *             if the stream cannot be written
+	 */
+	public static void writeIndex(OutputStream stream) throws IOException {
+		TaskDescriptionProvider provider = new TaskDescriptionProvider();
+		provider.initialize();
+		String[] names = provider.taskNodes.keySet().toArray(new String[provider.taskNodes.size()]);
+		Arrays.sort(names);
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		DataOutputStream bodyOut = new DataOutputStream(body);
+		int[] offsets = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			offsets[i] = bodyOut.size();
+			ProposalNode tasknode = provider.taskNodes.get(names[i]);
+			writeString(bodyOut, tasknode.desc);
+			if (tasknode.nodes == null) {
+				bodyOut.writeInt(0);
+			} else {
+				bodyOut.writeInt(tasknode.nodes.size());
+				for (Entry<String, ProposalNode> entry : tasknode.nodes.entrySet()) {
+					bodyOut.writeUTF(entry.getKey());
+					writeString(bodyOut, entry.getValue().desc);
+					writeString(bodyOut, entry.getValue().required);
+				}
+			}
+		}
+		bodyOut.flush();
+
+		DataOutputStream out = new DataOutputStream(stream);
+		out.writeInt(INDEX_MAGIC);
+		out.writeInt(INDEX_VERSION);
+		out.writeInt(names.length);
+		for (int i = 0; i < names.length; i++) {
+			out.writeUTF(names[i]);
+			out.writeInt(offsets[i]);
+		}
+		out.writeInt(body.size());
+		body.writeTo(out);
+		out.flush();
+	}
+
+	/**
+	 * Writes a possibly <code>null</code> string of any length
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
 	/**
 	 * Parses the task description XML file and stores the information.
 	 */
 	protected void initialize() {
 		taskNodes = new HashMap<>();
+		indexNames = null;
 		Document doc = parseFile(TASKS_DESCRIPTION_XML_FILE_NAME);
 		Node root = doc.getDocumentElement();
 		NodeList tasks = root.getChildNodes();
@@ -236,7 +384,7 @@ public class TaskDescriptionProvider {
 	 * @return description string or <code>null</code> if task not known or no description available.
 	 */
 	public String getDescriptionForTask(String aTaskName) {
-		ProposalNode task = taskNodes.get(aTaskName);
+		ProposalNode task = getTaskNode(aTaskName);
 		if (task != null) {
 			return task.desc;
 		}
@@ -249,7 +397,7 @@ public class TaskDescriptionProvider {
 	 * @return description string or <code>null</code> if task or attribute not known or no description available.
 	 */
 	public String getDescriptionForTaskAttribute(String aTaskName, String anAttributeName) {
-		ProposalNode task = taskNodes.get(aTaskName);
+		ProposalNode task = getTaskNode(aTaskName);
 		if (task != null) {
 			ProposalNode att = task.getChild(anAttributeName);
 			if (att != null) {
@@ -265,7 +413,7 @@ public class TaskDescriptionProvider {
 	 * @return required string or <code>null</code> if task or attribute not known or no description available.
 	 */
 	public String getRequiredAttributeForTaskAttribute(String aTaskName, String anAttributeName) {
-		ProposalNode task = taskNodes.get(aTaskName);
+		ProposalNode task = getTaskNode(aTaskName);
 		if (task != null) {
 			ProposalNode att = task.getChild(anAttributeName);
 			if (att != null) {
@@ -282,8 +430,24 @@ public class TaskDescriptionProvider {
 	 * @return the {@link ProposalNode} for the given name or <code>null</code>
 	 * @since 3.5
 	 */
-	ProposalNode getTaskNode(String aTaskName) {
-		return taskNodes.get(aTaskName);
+	synchronized ProposalNode getTaskNode(String aTaskName) {
+		if (taskNodes == null || aTaskName == null) {
+			return null;
+		}
+		ProposalNode task = taskNodes.get(aTaskName);
+		if (task == null && indexNames != null) {
+			int index = Arrays.binarySearch(indexNames, aTaskName);
+			if (index >= 0) {
+				try {
+					task = readTaskNode(index);
+					taskNodes.put(aTaskName, task);
+				}
+				catch (IOException e) {
+					AntUIPlugin.log(e);
+				}
+			}
+		}
+		return task;
 	}
 
 	protected static void reset() {
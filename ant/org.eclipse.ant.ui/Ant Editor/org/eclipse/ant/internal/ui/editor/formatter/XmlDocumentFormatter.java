@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2011 John-Mason P. Shackelford and others.
+ * Copyright (c) 2004, 2026 John-Mason P. Shackelford and others.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,6 @@
 
 package org.eclipse.ant.internal.ui.editor.formatter;
 
-import java.io.IOException;
-import java.io.Reader;
-import java.io.StringReader;
-
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.internal.ui.AntUIPlugin;
 import org.eclipse.ant.internal.ui.preferences.AntEditorPreferenceConstants;
@@ -27,116 +23,59 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
 
 public class XmlDocumentFormatter {
 
 	private static class CommentReader extends TagReader {
 
-		private boolean complete = false;
-
-		@Override
-		protected void clear() {
-			this.complete = false;
-		}
-
 		@Override
 		public String getStartOfTag() {
 			return "<!--"; //$NON-NLS-1$
 		}
 
 		@Override
-		protected String readTag() throws IOException {
-			int intChar;
-			char c;
-			StringBuilder node = new StringBuilder();
-
-			while (!complete && (intChar = reader.read()) != -1) {
-				c = (char) intChar;
-
-				node.append(c);
-
-				if (c == '>' && node.toString().endsWith("-->")) { //$NON-NLS-1$
-					complete = true;
-				}
-			}
-			return node.toString();
+		protected int findEnd(CharSequence text, int offset) {
+			int end = indexOf(text, "-->", offset); //$NON-NLS-1$
+			return end == -1 ? text.length() : end + 3;
 		}
 	}
 
 	private static class DoctypeDeclarationReader extends TagReader {
 
-		private boolean complete = false;
-
-		@Override
-		protected void clear() {
-			this.complete = false;
-		}
-
 		@Override
 		public String getStartOfTag() {
 			return "<!"; //$NON-NLS-1$
 		}
 
 		@Override
-		protected String readTag() throws IOException {
-			int intChar;
-			char c;
-			StringBuilder node = new StringBuilder();
-
-			while (!complete && (intChar = reader.read()) != -1) {
-				c = (char) intChar;
-
-				node.append(c);
-
-				if (c == '>') {
-					complete = true;
-				}
-			}
-			return node.toString();
+		protected int findEnd(CharSequence text, int offset) {
+			int end = indexOf(text, ">", offset); //$NON-NLS-1$
+			return end == -1 ? text.length() : end + 1;
 		}
 
 	}
 
 	private static class ProcessingInstructionReader extends TagReader {
 
-		private boolean complete = false;
-
-		@Override
-		protected void clear() {
-			this.complete = false;
-		}
-
 		@Override
 		public String getStartOfTag() {
 			return "<?"; //$NON-NLS-1$
 		}
 
 		@Override
-		protected String readTag() throws IOException {
-			int intChar;
-			char c;
-			StringBuilder node = new StringBuilder();
-
-			while (!complete && (intChar = reader.read()) != -1) {
-				c = (char) intChar;
-
-				node.append(c);
-
-				if (c == '>' && node.toString().endsWith("?>")) { //$NON-NLS-1$
-					complete = true;
-				}
-			}
-			return node.toString();
+		protected int findEnd(CharSequence text, int offset) {
+			int end = indexOf(text, "?>", offset); //$NON-NLS-1$
+			return end == -1 ? text.length() : end + 2;
 		}
 	}
 
 	private static abstract class TagReader {
 
-		protected Reader reader;
-
 		private String tagText;
 
-		protected abstract void clear();
+		private int end;
 
 		public int getPostTagDepthModifier() {
 			return 0;
@@ -152,20 +91,33 @@ public class XmlDocumentFormatter {
 			return this.tagText;
 		}
 
+		/**
+		 * Returns the offset after the last character read.
+		 */
+		public int getEnd() {
+			return this.end;
+		}
+
 		public boolean isTextNode() {
 			return false;
 		}
 
-		protected abstract String readTag() throws IOException;
+		/**
+		 * Returns the offset after the end of the node starting at the given offset, or the length of the text if the node is not closed.
+		 */
+		protected abstract int findEnd(CharSequence text, int offset);
+
+		protected String readTag(CharSequence text, int offset, int tagEnd) {
+			return text.subSequence(offset, tagEnd).toString();
+		}
 
 		public boolean requiresInitialIndent() {
 			return true;
 		}
 
-		public void setReader(Reader reader) throws IOException {
-			this.reader = reader;
-			this.clear();
-			this.tagText = readTag();
+		public void read(CharSequence text, int offset) {
+			this.end = findEnd(text, offset);
+			this.tagText = readTag(text, offset, this.end);
 		}
 
 		public boolean startsOnNewline() {
@@ -173,46 +125,34 @@ public class XmlDocumentFormatter {
 		}
 	}
 
+	/**
+	 * Reads the nodes of a text one after the other. The readers are reused from node to node, so each formatter has its own.
+	 */
 	private static class TagReaderFactory {
 
 		// Warning: the order of the Array is important!
-		private static TagReader[] tagReaders = new TagReader[] { new CommentReader(), new DoctypeDeclarationReader(),
+		private final TagReader[] tagReaders = new TagReader[] { new CommentReader(), new DoctypeDeclarationReader(),
 				new ProcessingInstructionReader(), new XmlElementReader() };
 
-		private static TagReader textNodeReader = new TextReader();
-
-		public static TagReader createTagReaderFor(Reader reader) throws IOException {
-
-			char[] buf = new char[10];
-			reader.mark(10);
-			reader.read(buf, 0, 10);
-			reader.reset();
-
-			String startOfTag = String.valueOf(buf);
+		private final TagReader textNodeReader = new TextReader();
 
+		public TagReader createTagReaderFor(CharSequence text, int offset) {
 			for (TagReader tagReader : tagReaders) {
-				if (startOfTag.startsWith(tagReader.getStartOfTag())) {
-					tagReader.setReader(reader);
+				if (startsWith(text, tagReader.getStartOfTag(), offset)) {
+					tagReader.read(text, offset);
 					return tagReader;
 				}
 			}
 			// else
-			textNodeReader.setReader(reader);
+			textNodeReader.read(text, offset);
 			return textNodeReader;
 		}
 	}
 
 	private static class TextReader extends TagReader {
 
-		private boolean complete;
-
 		private boolean isTextNode;
 
-		@Override
-		protected void clear() {
-			this.complete = false;
-		}
-
 		@Override
 		public String getStartOfTag() {
 			return IAntCoreConstants.EMPTY_STRING;
@@ -224,45 +164,33 @@ public class XmlDocumentFormatter {
 		}
 
 		@Override
-		protected String readTag() throws IOException {
-
-			StringBuilder node = new StringBuilder();
-
-			while (!complete) {
-
-				reader.mark(1);
-				int intChar = reader.read();
-				if (intChar == -1)
-					break;
-
-				char c = (char) intChar;
-				if (c == '<') {
-					reader.reset();
-					complete = true;
-				} else {
-					node.append(c);
-				}
-			}
+		protected int findEnd(CharSequence text, int offset) {
+			int end = indexOf(text, "<", offset); //$NON-NLS-1$
+			return end == -1 ? text.length() : end;
+		}
 
+		@Override
+		protected String readTag(CharSequence text, int offset, int tagEnd) {
 			// if this text node is just whitespace
 			// remove it, except for the newlines.
-			if (node.length() < 1) {
+			if (tagEnd <= offset) {
 				this.isTextNode = false;
-
-			} else if (node.toString().trim().length() == 0) {
-				String whitespace = node.toString();
-				node = new StringBuilder();
-				for (int i = 0; i < whitespace.length(); i++) {
-					char whitespaceCharacter = whitespace.charAt(i);
-					if (whitespaceCharacter == '\n' || whitespaceCharacter == '\r') {
-						node.append(whitespaceCharacter);
-					}
+				return IAntCoreConstants.EMPTY_STRING;
+			}
+			for (int i = offset; i < tagEnd; i++) {
+				if (text.charAt(i) > ' ') {
+					this.isTextNode = true;
+					return text.subSequence(offset, tagEnd).toString();
+				}
+			}
+			StringBuilder node = new StringBuilder();
+			for (int i = offset; i < tagEnd; i++) {
+				char whitespaceCharacter = text.charAt(i);
+				if (whitespaceCharacter == '\n' || whitespaceCharacter == '\r') {
+					node.append(whitespaceCharacter);
 				}
-				this.isTextNode = false;
-
-			} else {
-				this.isTextNode = true;
 			}
+			this.isTextNode = false;
 			return node.toString();
 		}
 
@@ -279,13 +207,6 @@ public class XmlDocumentFormatter {
 
 	private static class XmlElementReader extends TagReader {
 
-		private boolean complete = false;
-
-		@Override
-		protected void clear() {
-			this.complete = false;
-		}
-
 		@Override
 		public int getPostTagDepthModifier() {
 			if (getTagText().endsWith("/>") || getTagText().endsWith("/ >")) { //$NON-NLS-1$ //$NON-NLS-2$
@@ -311,43 +232,43 @@ public class XmlDocumentFormatter {
 		}
 
 		@Override
-		protected String readTag() throws IOException {
-
-			StringBuilder node = new StringBuilder();
-
+		protected int findEnd(CharSequence text, int offset) {
 			boolean insideQuote = false;
-			int intChar;
-
-			while (!complete && (intChar = reader.read()) != -1) {
-				char c = (char) intChar;
-
-				node.append(c);
+			int length = text.length();
+			for (int i = offset; i < length; i++) {
+				char c = text.charAt(i);
 				// TODO logic incorrectly assumes that " is quote character
 				// when it could also be '
 				if (c == '"') {
 					insideQuote = !insideQuote;
 				}
 				if (c == '>' && !insideQuote) {
-					complete = true;
+					return i + 1;
 				}
 			}
-			return node.toString();
+			return length;
 		}
 	}
 
 	private int depth;
-	private StringBuffer formattedXml;
 	private boolean lastNodeWasText;
 	private String fDefaultLineDelimiter;
+	private final TagReaderFactory fTagReaderFactory = new TagReaderFactory();
+
+	/**
+	 * The indent strings by depth, built as deeper nodes are met
+	 */
+	private String[] fIndents = new String[0];
+	private String fCanonicalIndent;
 
 	public XmlDocumentFormatter() {
 		super();
 		depth = -1;
 	}
 
-	private void copyNode(Reader reader, StringBuffer out, FormattingPreferences prefs) throws IOException {
+	private int copyNode(CharSequence text, int offset, StringBuilder out, String canonicalIndent) {
 
-		TagReader tag = TagReaderFactory.createTagReaderFor(reader);
+		TagReader tag = fTagReaderFactory.createTagReaderFor(text, offset);
 
 		depth = depth + tag.getPreTagDepthModifier();
 
@@ -358,7 +279,7 @@ public class XmlDocumentFormatter {
 			}
 
 			if (tag.requiresInitialIndent()) {
-				out.append(indent(prefs.getCanonicalIndent()));
+				out.append(indent(canonicalIndent));
 			}
 		}
 
@@ -368,6 +289,7 @@ public class XmlDocumentFormatter {
 
 		lastNodeWasText = tag.isTextNode();
 
+		return tag.getEnd();
 	}
 
 	/**
@@ -415,48 +337,96 @@ public class XmlDocumentFormatter {
 	}
 
 	public String format(String documentText, FormattingPreferences prefs) {
-
 		Assert.isNotNull(documentText);
-		Assert.isNotNull(prefs);
+		StringBuilder out = new StringBuilder(documentText.length() + documentText.length() / 4);
+		format(documentText, prefs, out);
+		return out.toString();
+	}
+
+	/**
+	 * Formats the given text in a single pass, appending the result to the given buffer.
+	 * 
+	 * @param text
+	 *            the text to format
+	 * @param prefs
+	 *            the formatting preferences
+	 * @param out
+	 *            the buffer the formatted text is appended to
+	 */
+	public void format(CharSequence text, FormattingPreferences prefs, StringBuilder out) {
 
-		Reader reader = new StringReader(documentText);
-		formattedXml = new StringBuffer();
+		Assert.isNotNull(text);
+		Assert.isNotNull(prefs);
 
 		if (depth == -1) {
 			depth = 0;
 		}
 		lastNodeWasText = false;
-		try {
-			while (true) {
-				reader.mark(1);
-				int intChar = reader.read();
-				reader.reset();
-
-				if (intChar != -1) {
-					copyNode(reader, formattedXml, prefs);
-				} else {
-					break;
-				}
-			}
-			reader.close();
+		String canonicalIndent = prefs.getCanonicalIndent();
+		int offset = 0;
+		int length = text.length();
+		while (offset < length) {
+			offset = copyNode(text, offset, out, canonicalIndent);
 		}
-		catch (IOException e) {
-			AntUIPlugin.log(e);
-		}
-		return formattedXml.toString();
 	}
 
-	private boolean hasNewlineAlready(StringBuffer out) {
-		return out.lastIndexOf("\n") == formattedXml.length() - 1 //$NON-NLS-1$
-				|| out.lastIndexOf("\r") == formattedXml.length() - 1; //$NON-NLS-1$
+	/**
+	 * Returns whether the output is empty or ends with a line delimiter.
+	 */
+	private boolean hasNewlineAlready(StringBuilder out) {
+		int length = out.length();
+		return length == 0 || isLineDelimiterChar(out.charAt(length - 1));
 	}
 
 	private String indent(String canonicalIndent) {
-		StringBuilder indent = new StringBuilder(30);
-		for (int i = 0; i < depth; i++) {
-			indent.append(canonicalIndent);
+		if (depth <= 0) {
+			return IAntCoreConstants.EMPTY_STRING;
+		}
+		if (!canonicalIndent.equals(fCanonicalIndent)) {
+			fCanonicalIndent = canonicalIndent;
+			fIndents = new String[0];
+		}
+		if (depth >= fIndents.length) {
+			String[] indents = new String[Math.max(depth + 1, fIndents.length * 2)];
+			System.arraycopy(fIndents, 0, indents, 0, fIndents.length);
+			fIndents = indents;
 		}
-		return indent.toString();
+		String indent = fIndents[depth];
+		if (indent == null) {
+			StringBuilder builder = new StringBuilder(canonicalIndent.length() * depth);
+			for (int i = 0; i < depth; i++) {
+				builder.append(canonicalIndent);
+			}
+			indent = builder.toString();
+			fIndents[depth] = indent;
+		}
+		return indent;
+	}
+
+	private static boolean startsWith(CharSequence text, String prefix, int offset) {
+		int length = prefix.length();
+		if (offset + length > text.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (text.charAt(offset + i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int indexOf(CharSequence text, String string, int from) {
+		if (text instanceof String) {
+			return ((String) text).indexOf(string, from);
+		}
+		int last = text.length() - string.length();
+		for (int i = from; i <= last; i++) {
+			if (startsWith(text, string, i)) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	public void setInitialIndent(int indent) {
@@ -510,6 +480,66 @@ public class XmlDocumentFormatter {
 		return end;
 	}
 
+	/**
+	 * Returns the edit turning the given text of a document into its formatted form. Formatting only changes the whitespace between the nodes, so
+	 * each run of whitespace that differs gets its own replacement; the other characters, and the positions on them, are left untouched. If other
+	 * characters differ, a single replacement covers everything between the common start and the common end of the texts.
+	 * 
+	 * @param offset
+	 *            the offset of the text in the document
+	 * @param text
+	 *            the text of the document
+	 * @param formatted
+	 *            the formatted text
+	 * @return the edit, without children if the texts are equal
+	 */
+	public static MultiTextEdit createEdit(int offset, String text, String formatted) {
+		MultiTextEdit edit = new MultiTextEdit();
+		int length = text.length();
+		int formattedLength = formatted.length();
+		int i = 0;
+		int j = 0;
+		while (i < length || j < formattedLength) {
+			int whitespaceEnd = skipWhitespace(text, i);
+			int formattedWhitespaceEnd = skipWhitespace(formatted, j);
+			if (whitespaceEnd - i != formattedWhitespaceEnd - j || !text.regionMatches(i, formatted, j, whitespaceEnd - i)) {
+				edit.addChild(new ReplaceEdit(offset + i, whitespaceEnd - i, formatted.substring(j, formattedWhitespaceEnd)));
+			}
+			i = whitespaceEnd;
+			j = formattedWhitespaceEnd;
+			while (i < length && j < formattedLength && !Character.isWhitespace(text.charAt(i)) && text.charAt(i) == formatted.charAt(j)) {
+				i++;
+				j++;
+			}
+			if ((i < length && !Character.isWhitespace(text.charAt(i))) || (j < formattedLength && !Character.isWhitespace(formatted.charAt(j)))) {
+				return createReplaceEdit(offset, text, formatted);
+			}
+		}
+		return edit;
+	}
+
+	private static MultiTextEdit createReplaceEdit(int offset, String text, String formatted) {
+		int length = Math.min(text.length(), formatted.length());
+		int start = 0;
+		while (start < length && text.charAt(start) == formatted.charAt(start)) {
+			start++;
+		}
+		int end = 0;
+		while (end < length - start && text.charAt(text.length() - 1 - end) == formatted.charAt(formatted.length() - 1 - end)) {
+			end++;
+		}
+		MultiTextEdit edit = new MultiTextEdit();
+		edit.addChild(new ReplaceEdit(offset + start, text.length() - end - start, formatted.substring(start, formatted.length() - end)));
+		return edit;
+	}
+
+	private static int skipWhitespace(String text, int offset) {
+		while (offset < text.length() && Character.isWhitespace(text.charAt(offset))) {
+			offset++;
+		}
+		return offset;
+	}
+
 	/**
 	 * Creates a string that represents one indent (can be spaces or tabs..)
 	 * 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 John-Mason P. Shackelford and others.
+ * Copyright (c) 2004, 2026 John-Mason P. Shackelford and others.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,28 +16,55 @@
 package org.eclipse.ant.internal.ui.editor.formatter;
 
 import java.util.LinkedList;
+import java.util.function.Supplier;
 
+import org.eclipse.ant.internal.ui.AntUIPlugin;
+import org.eclipse.ant.internal.ui.model.AntModel;
+import org.eclipse.ant.internal.ui.model.AntProjectNode;
+import org.eclipse.ant.internal.ui.model.IAntElement;
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.TextUtilities;
+import org.eclipse.jface.text.TypedPosition;
 import org.eclipse.jface.text.formatter.ContextBasedFormattingStrategy;
 import org.eclipse.jface.text.formatter.FormattingContextProperties;
 import org.eclipse.jface.text.formatter.IFormattingContext;
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.TextEdit;
 
 public class XmlDocumentFormattingStrategy extends ContextBasedFormattingStrategy {
 
 	/** Documents to be formatted by this strategy */
 	private final LinkedList<IDocument> fDocuments = new LinkedList<>();
+	/** Regions to be formatted by this strategy */
+	private final LinkedList<TypedPosition> fRegions = new LinkedList<>();
 
 	/** access to the preferences store * */
 	private FormattingPreferences prefs;
 
 	private int indent = -1;
 
+	/** Provides the Ant model of the documents, used to find the indent of a formatted region */
+	private Supplier<AntModel> fModelProvider;
+
 	public XmlDocumentFormattingStrategy() {
 		this.prefs = new FormattingPreferences();
 	}
 
+	/**
+	 * Creates a strategy that formats only the lines of the region to format, indenting them from the depth of their enclosing element in the Ant
+	 * model.
+	 * 
+	 * @param modelProvider
+	 *            provides the Ant model of the formatted document, which may be <code>null</code>
+	 */
+	public XmlDocumentFormattingStrategy(Supplier<AntModel> modelProvider) {
+		this();
+		fModelProvider = modelProvider;
+	}
+
 	public XmlDocumentFormattingStrategy(FormattingPreferences prefs, int indent) {
 		Assert.isNotNull(prefs);
 		this.prefs = prefs;
@@ -49,25 +76,70 @@ public class XmlDocumentFormattingStrategy extends ContextBasedFormattingStrateg
 
 		super.format();
 		final IDocument document = fDocuments.removeFirst();
+		final TypedPosition region = fRegions.removeFirst();
 		if (document != null) {
-			// allow formatting of regions, not just the entire document; bug 75611
-			String documentText = document.get();
-			XmlDocumentFormatter formatter = new XmlDocumentFormatter();
-			if (indent != -1) {
-				formatter.setInitialIndent(indent);
+			try {
+				// allow formatting of regions, not just the entire document; bug 75611
+				int start = 0;
+				int end = document.getLength();
+				XmlDocumentFormatter formatter = new XmlDocumentFormatter();
+				if (region != null && (region.getOffset() > 0 || region.getOffset() + region.getLength() < end)) {
+					// format whole lines only
+					int startLine = document.getLineOfOffset(region.getOffset());
+					int endLine = document.getLineOfOffset(region.getOffset() + region.getLength());
+					if (endLine > startLine && document.getLineOffset(endLine) == region.getOffset() + region.getLength()) {
+						endLine--;
+					}
+					start = document.getLineOffset(startLine);
+					end = document.getLineOffset(endLine) + document.getLineLength(endLine);
+					formatter.setInitialIndent(computeInitialIndent(document, start));
+				} else if (indent != -1) {
+					formatter.setInitialIndent(indent);
+				}
+				String text = document.get(start, end - start);
+				formatter.setDefaultLineDelimiter(TextUtilities.getDefaultLineDelimiter(document));
+				String formattedText = formatter.format(text, this.prefs);
+				if (formattedText != null && !formattedText.equals(text)) {
+					XmlDocumentFormatter.createEdit(start, text, formattedText).apply(document, TextEdit.NONE);
+				}
+			}
+			catch (BadLocationException | MalformedTreeException e) {
+				AntUIPlugin.log(e);
 			}
-			formatter.setDefaultLineDelimiter(TextUtilities.getDefaultLineDelimiter(document));
-			String formattedText = formatter.format(documentText, this.prefs);
-			if (formattedText != null && !formattedText.equals(documentText)) {
-				document.set(formattedText);
+		}
+	}
+
+	/**
+	 * Returns the depth of the nodes starting at the given line offset: one more than the depth of the element enclosing them in the Ant model, or
+	 * the indent of the line if the model is not reconciled with the document. The formatter runs in the UI thread, so it uses the last reconcile
+	 * rather than parsing the document again.
+	 */
+	private int computeInitialIndent(IDocument document, int lineOffset) throws BadLocationException {
+		AntModel model = fModelProvider != null ? fModelProvider.get() : null;
+		if (model != null) {
+			AntProjectNode project = model.getReconciledProjectNode();
+			if (project != null) {
+				IAntElement node = project.getNode(lineOffset);
+				while (node != null && node.getOffset() >= lineOffset) {
+					// starts on the line: indent from its parent
+					node = node.getParentNode();
+				}
+				int depth = 0;
+				for (; node != null; node = node.getParentNode()) {
+					depth++;
+				}
+				return depth;
 			}
 		}
+		IRegion line = document.getLineInformationOfOffset(lineOffset);
+		return XmlDocumentFormatter.computeIndent(document.get(line.getOffset(), line.getLength()), prefs.getTabWidth());
 	}
 
 	@Override
 	public void formatterStarts(final IFormattingContext context) {
 		super.formatterStarts(context);
 		fDocuments.addLast((IDocument) context.getProperty(FormattingContextProperties.CONTEXT_MEDIUM));
+		fRegions.addLast((TypedPosition) context.getProperty(FormattingContextProperties.CONTEXT_PARTITION));
 	}
 
 	@Override
@@ -75,5 +147,6 @@ public class XmlDocumentFormattingStrategy extends ContextBasedFormattingStrateg
 		super.formatterStops();
 
 		fDocuments.clear();
+		fRegions.clear();
 	}
-}
\ No newline at end of file
+}
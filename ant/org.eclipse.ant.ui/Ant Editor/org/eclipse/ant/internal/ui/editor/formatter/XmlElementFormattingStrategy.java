@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 John-Mason P. Shackelford and others.
+ * Copyright (c) 2004, 2026 John-Mason P. Shackelford and others.
  *
  * This program and the accompanying materials 
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,8 @@ import org.eclipse.jface.text.TypedPosition;
 import org.eclipse.jface.text.formatter.ContextBasedFormattingStrategy;
 import org.eclipse.jface.text.formatter.FormattingContextProperties;
 import org.eclipse.jface.text.formatter.IFormattingContext;
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.TextEdit;
 
 public class XmlElementFormattingStrategy extends ContextBasedFormattingStrategy {
 
@@ -63,11 +65,11 @@ public class XmlElementFormattingStrategy extends ContextBasedFormattingStrategy
 			String partitionText = document.get(partition.getOffset(), partition.getLength());
 
 			if (formatted != null && !formatted.equals(partitionText)) {
-				document.replace(partition.getOffset(), partition.getLength(), formatted);
+				XmlDocumentFormatter.createEdit(partition.getOffset(), partitionText, formatted).apply(document, TextEdit.NONE);
 			}
 
 		}
-		catch (BadLocationException e) {
+		catch (BadLocationException | MalformedTreeException e) {
 			// do nothing
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2016 GEBIT Gesellschaft fuer EDV-Beratung
+ * Copyright (c) 2002, 2026 GEBIT Gesellschaft fuer EDV-Beratung
  * und Informatik-Technologien mbH, 
  * Berlin, Duesseldorf, Frankfurt (Germany) and others.
  *
@@ -30,11 +30,13 @@ import org.eclipse.ant.internal.ui.model.AntImportNode;
 import org.eclipse.ant.internal.ui.model.AntModel;
 import org.eclipse.ant.internal.ui.model.AntModelContentProvider;
 import org.eclipse.ant.internal.ui.model.AntModelCore;
+import org.eclipse.ant.internal.ui.model.AntModelDelta;
 import org.eclipse.ant.internal.ui.model.AntModelLabelProvider;
 import org.eclipse.ant.internal.ui.model.AntProjectNode;
 import org.eclipse.ant.internal.ui.model.AntPropertyNode;
 import org.eclipse.ant.internal.ui.model.AntTargetNode;
 import org.eclipse.ant.internal.ui.model.AntTaskNode;
+import org.eclipse.ant.internal.ui.model.IAntElement;
 import org.eclipse.ant.internal.ui.model.IAntModel;
 import org.eclipse.ant.internal.ui.model.IAntModelListener;
 import org.eclipse.ant.internal.ui.views.actions.AntOpenWithMenu;
@@ -366,7 +368,12 @@ public class AntEditorContentOutlinePage extends ContentOutlinePage implements I
 				getControl().getDisplay().asyncExec(() -> {
 					Control ctrl = getControl();
 					if (ctrl != null && !ctrl.isDisposed()) {
-						getTreeViewer().refresh();
+						AntModelDelta delta = event.getDelta();
+						if (delta == null) {
+							getTreeViewer().refresh();
+						} else {
+							refresh(delta);
+						}
 						updateTreeExpansion();
 					}
 				});
@@ -374,6 +381,20 @@ public class AntEditorContentOutlinePage extends ContentOutlinePage implements I
 		};
 	}
 
+	/**
+	 * Refreshes only the tree items of the elements that changed: the children of the elements that gained or lost some, and the labels of the
+	 * elements that moved or whose problems changed.
+	 */
+	private void refresh(AntModelDelta delta) {
+		TreeViewer viewer = getTreeViewer();
+		for (IAntElement element : delta.getStructureChanged()) {
+			viewer.refresh(element, false);
+		}
+		for (IAntElement element : delta.getChanged().values()) {
+			viewer.update(element, null);
+		}
+	}
+
 	public void addPostSelectionChangedListener(ISelectionChangedListener listener) {
 		fPostSelectionChangedListeners.add(listener);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,13 @@
 package org.eclipse.ant.internal.ui.editor.outline;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.ant.core.AntCorePlugin;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
@@ -58,14 +61,16 @@ public class AntEditorMarkerUpdater {
 	}
 
 	private IAntModel fModel = null;
-	private List<IProblem> fCollectedProblems = new ArrayList<>();
+	private Set<IProblem> fCollectedProblems = new LinkedHashSet<>();
 	public static final String BUILDFILE_PROBLEM_MARKER = AntUIPlugin.PI_ANTUI + ".buildFileProblem"; //$NON-NLS-1$
+	/**
+	 * The marker attributes set from a problem, which tell whether a marker still matches a problem
+	 */
+	private static final String[] PROBLEM_ATTRIBUTES = new String[] { IMarker.MESSAGE, IMarker.LINE_NUMBER, IMarker.CHAR_START, IMarker.CHAR_END,
+			IMarker.SEVERITY };
 	private IFile fFile = null;
 
 	public synchronized void acceptProblem(IProblem problem) {
-		if (fCollectedProblems.contains(problem)) {
-			return;
-		}
 		fCollectedProblems.add(problem);
 	}
 
@@ -73,19 +78,6 @@ public class AntEditorMarkerUpdater {
 		fCollectedProblems.clear();
 	}
 
-	private void removeProblems() {
-		IFile file = getFile();
-		if (file == null || !file.exists()) {
-			return;
-		}
-		try {
-			file.deleteMarkers(BUILDFILE_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
-		}
-		catch (CoreException e) {
-			AntUIPlugin.log(e);
-		}
-	}
-
 	private void createMarker(IProblem problem) {
 		IFile file = getFile();
 		Map<String, Object> attributes = getMarkerAttributes(problem);
@@ -104,11 +96,7 @@ public class AntEditorMarkerUpdater {
 	public synchronized void updateMarkers() {
 		IFile file = getFile();
 		if (file != null) {
-			List<IProblem> problems = new ArrayList<>(fCollectedProblems.size());
-			Iterator<IProblem> e = fCollectedProblems.iterator();
-			while (e.hasNext()) {
-				problems.add(e.next());
-			}
+			List<IProblem> problems = new ArrayList<>(fCollectedProblems);
 			fCollectedProblems.clear();
 			AntEditorMarkerUpdaterJob job = new AntEditorMarkerUpdaterJob(problems);
 			job.setRule(ResourcesPlugin.getWorkspace().getRuleFactory().markerRule(file));
@@ -116,18 +104,42 @@ public class AntEditorMarkerUpdater {
 		}
 	}
 
+	/**
+	 * Brings the problem markers of the file in line with the given problems. Only the markers of problems that are gone are deleted, and only the
+	 * markers of new problems are created.
+	 */
 	private void updateMarkers0(List<IProblem> problems) {
-		removeProblems();
-		if (!shouldAddMarkers()) {
+		IFile file = getFile();
+		if (file == null || !file.exists()) {
 			return;
 		}
-
-		if (problems.size() > 0) {
-			Iterator<IProblem> e = problems.iterator();
-			while (e.hasNext()) {
-				IProblem problem = e.next();
-				createMarker(problem);
+		Map<List<Object>, IProblem> added = new LinkedHashMap<>();
+		if (shouldAddMarkers()) {
+			for (IProblem problem : problems) {
+				Map<String, Object> attributes = getMarkerAttributes(problem);
+				List<Object> key = new ArrayList<>(PROBLEM_ATTRIBUTES.length);
+				for (String attribute : PROBLEM_ATTRIBUTES) {
+					key.add(attributes.get(attribute));
+				}
+				added.put(key, problem);
+			}
+		}
+		try {
+			List<IMarker> removed = new ArrayList<>();
+			for (IMarker marker : file.findMarkers(BUILDFILE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO)) {
+				if (added.remove(Arrays.asList(marker.getAttributes(PROBLEM_ATTRIBUTES))) == null) {
+					removed.add(marker);
+				}
 			}
+			if (!removed.isEmpty()) {
+				ResourcesPlugin.getWorkspace().deleteMarkers(removed.toArray(new IMarker[removed.size()]));
+			}
+		}
+		catch (CoreException e) {
+			AntUIPlugin.log(e);
+		}
+		for (IProblem problem : added.values()) {
+			createMarker(problem);
 		}
 	}
 
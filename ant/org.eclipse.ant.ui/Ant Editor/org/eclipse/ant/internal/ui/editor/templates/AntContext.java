@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2004, 2010 IBM Corporation and others.
+ *  Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -92,7 +92,7 @@ public class AntContext extends DocumentTemplateContext {
 		int length = getCompletionLength();
 
 		IDocument document = getDocument();
-		if (start > 0 && document.get().charAt(start - 1) == '<' && document.getLength() > 1) {
+		if (isTagStart(document, start - 1) && document.getLength() > 1) {
 			length++;
 		}
 
@@ -112,9 +112,18 @@ public class AntContext extends DocumentTemplateContext {
 	@Override
 	public int getStart() {
 		int replacementOffset = getCompletionOffset();
-		if (replacementOffset > 0 && getDocument().get().charAt(replacementOffset - 1) == '<') {
+		if (isTagStart(getDocument(), replacementOffset - 1)) {
 			replacementOffset--;
 		}
 		return replacementOffset;
 	}
+
+	private static boolean isTagStart(IDocument document, int offset) {
+		try {
+			return offset >= 0 && document.getChar(offset) == '<';
+		}
+		catch (BadLocationException e) {
+			return false;
+		}
+	}
 }
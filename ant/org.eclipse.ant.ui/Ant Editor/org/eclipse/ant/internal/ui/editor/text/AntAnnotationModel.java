@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.ant.internal.ui.editor.text;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -25,6 +26,7 @@ import org.eclipse.ant.internal.ui.model.IProblemRequestor;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.AnnotationModelEvent;
 import org.eclipse.ui.editors.text.EditorsUI;
@@ -37,6 +39,20 @@ public class AntAnnotationModel extends ResourceMarkerAnnotationModel implements
 	private List<XMLProblemAnnotation> fGeneratedAnnotations = new ArrayList<>();
 	private List<IProblem> fCollectedProblems = new ArrayList<>();
 
+	/**
+	 * The generated annotations sorted by the offset of their positions, and their positions, built on demand
+	 */
+	private XMLProblemAnnotation[] fIndexedAnnotations;
+	private Position[] fIndexedPositions;
+	/**
+	 * For each indexed position, the largest end of it and the positions before it
+	 */
+	private int[] fIndexedMaxEnds;
+	/**
+	 * The modification stamp of the document when the index was built
+	 */
+	private long fIndexStamp;
+
 	public AntAnnotationModel(IFile file) {
 		super(file);
 	}
@@ -72,7 +88,10 @@ public class AntAnnotationModel extends ResourceMarkerAnnotationModel implements
 
 	@Override
 	public void beginReporting() {
-		// do nothing
+		// drop the problems of a parse that was canceled before reporting them
+		synchronized (getAnnotationMap()) {
+			fCollectedProblems.clear();
+		}
 	}
 
 	@Override
@@ -81,6 +100,7 @@ public class AntAnnotationModel extends ResourceMarkerAnnotationModel implements
 
 		synchronized (getAnnotationMap()) {
 
+			fIndexedAnnotations = null;
 			if (fGeneratedAnnotations.size() > 0) {
 				temporaryProblemsChanged = true;
 				removeAnnotations(fGeneratedAnnotations, false, true);
@@ -117,6 +137,75 @@ public class AntAnnotationModel extends ResourceMarkerAnnotationModel implements
 			fireModelChanged(new AnnotationModelEvent(this));
 	}
 
+	/**
+	 * Returns the problem annotation with a message that overlaps the given region and starts first, or <code>null</code> if there is none.
+	 * 
+	 * @param offset
+	 *            the offset of the region
+	 * @param length
+	 *            the length of the region
+	 * @return the first problem annotation overlapping the region
+	 */
+	public XMLProblemAnnotation getProblemAnnotation(int offset, int length) {
+		synchronized (getAnnotationMap()) {
+			updateIndex();
+			// the positions starting at or before the end of the region
+			int end = offset + length;
+			int low = 0;
+			int high = fIndexedPositions.length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (fIndexedPositions[middle].getOffset() <= end) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			XMLProblemAnnotation first = null;
+			for (int i = low - 1; i >= 0 && fIndexedMaxEnds[i] >= offset; i--) {
+				Position position = fIndexedPositions[i];
+				if (!position.isDeleted() && position.overlapsWith(offset, length)) {
+					String message = fIndexedAnnotations[i].getText();
+					if (message != null && message.trim().length() > 0) {
+						first = fIndexedAnnotations[i];
+					}
+				}
+			}
+			return first;
+		}
+	}
+
+	/**
+	 * Sorts the generated annotations by offset if they or the document changed since they were last sorted.
+	 */
+	private void updateIndex() {
+		long stamp = fDocument instanceof IDocumentExtension4 ? ((IDocumentExtension4) fDocument).getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		if (fIndexedAnnotations != null && stamp == fIndexStamp && stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			return;
+		}
+		List<XMLProblemAnnotation> annotations = new ArrayList<>(fGeneratedAnnotations.size());
+		for (XMLProblemAnnotation annotation : fGeneratedAnnotations) {
+			if (getPosition(annotation) != null) {
+				annotations.add(annotation);
+			}
+		}
+		XMLProblemAnnotation[] sorted = annotations.toArray(new XMLProblemAnnotation[annotations.size()]);
+		Arrays.sort(sorted, (annotation1, annotation2) -> Integer.compare(getPosition(annotation1).getOffset(), getPosition(annotation2).getOffset()));
+		Position[] positions = new Position[sorted.length];
+		int[] maxEnds = new int[sorted.length];
+		int maxEnd = Integer.MIN_VALUE;
+		for (int i = 0; i < sorted.length; i++) {
+			positions[i] = getPosition(sorted[i]);
+			maxEnd = Math.max(maxEnd, positions[i].getOffset() + positions[i].getLength());
+			maxEnds[i] = maxEnd;
+		}
+		fIndexedAnnotations = sorted;
+		fIndexedPositions = positions;
+		fIndexedMaxEnds = maxEnds;
+		fIndexStamp = stamp;
+	}
+
 	@Override
 	protected boolean isAcceptable(IMarker marker) {
 		if (super.isAcceptable(marker)) {
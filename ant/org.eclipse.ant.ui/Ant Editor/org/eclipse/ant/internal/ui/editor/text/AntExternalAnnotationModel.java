@@ -91,6 +91,9 @@ public class AntExternalAnnotationModel extends AnnotationModel implements IProb
 
 	@Override
 	public void beginReporting() {
-		// do nothing
+		// drop the problems of a parse that was canceled before reporting them
+		synchronized (getAnnotationMap()) {
+			fCollectedProblems.clear();
+		}
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,15 +16,15 @@ package org.eclipse.ant.internal.ui.editor.text;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
 
 import org.eclipse.ant.internal.ui.editor.AntEditor;
 import org.eclipse.ant.internal.ui.model.AntElementNode;
 import org.eclipse.ant.internal.ui.model.AntModel;
+import org.eclipse.ant.internal.ui.model.AntModelDelta;
 import org.eclipse.ant.internal.ui.model.AntProjectNode;
 import org.eclipse.ant.internal.ui.model.IAntElement;
 import org.eclipse.jface.text.BadLocationException;
@@ -40,90 +40,151 @@ public class AntFoldingStructureProvider {
 	private IDocument fDocument;
 
 	/**
-	 * A mapping of the foldable position to the <code>AntElementNode</code> that represent that region
+	 * A mapping of the key of each foldable element, see {@link AntModelDelta}, to the annotation of its region
 	 */
-	private Map<Position, IAntElement> fPositionToElement = new HashMap<>();
+	private Map<String, ProjectionAnnotation> fKeyToAnnotation = new HashMap<>();
+	/**
+	 * The Ant model the annotations were last updated from
+	 */
+	private AntModel fAntModel;
 
 	public AntFoldingStructureProvider(AntEditor editor) {
 		fEditor = editor;
 	}
 
-	private void updateFoldingRegions(ProjectionAnnotationModel model, Set<Position> currentRegions) {
-		Annotation[] deletions = computeDifferences(model, currentRegions);
+	public void updateFoldingRegions(AntModel antModel) {
+		updateFoldingRegions(antModel, null);
+	}
 
-		Map<Annotation, Position> additionsMap = new HashMap<>();
-		for (Position position : currentRegions) {
-			IAntElement node = fPositionToElement.get(position);
-			additionsMap.put(new ProjectionAnnotation(node.collapseProjection()), position);
+	/**
+	 * Updates the folding regions from the given changes of the Ant model. Only the annotations of the elements added, removed or changed are
+	 * updated.
+	 * 
+	 * @param antModel
+	 *            the Ant model
+	 * @param delta
+	 *            the changes from the previous reconcile, or <code>null</code> to compare all the regions
+	 */
+	public void updateFoldingRegions(AntModel antModel, AntModelDelta delta) {
+		try {
+			ProjectionAnnotationModel model = fEditor.getAdapter(ProjectionAnnotationModel.class);
+			if (model == null) {
+				return;
+			}
+			if (delta == null || antModel != fAntModel) {
+				fAntModel = antModel;
+				List<IAntElement> root = new ArrayList<>();
+				AntProjectNode node = antModel.getProjectNode();
+				if (node != null && node.getOffset() != -1) {
+					root.add(node);
+					List<AntElementNode> nodes = antModel.getNonStructuralNodes();
+					root.addAll(nodes);
+				}
+				updateAllFoldingRegions(model, root);
+			} else if (!delta.isEmpty()) {
+				updateChangedFoldingRegions(model, delta);
+			}
 		}
-
-		if ((deletions.length != 0 || additionsMap.size() != 0)) {
-			model.modifyAnnotations(deletions, additionsMap, new Annotation[] {});
+		catch (BadLocationException be) {
+			// ignore as document has changed
 		}
 	}
 
-	private Annotation[] computeDifferences(ProjectionAnnotationModel model, Set<Position> additions) {
+	private void updateAllFoldingRegions(ProjectionAnnotationModel model, List<IAntElement> root) throws BadLocationException {
+		Map<String, IAntElement> elements = AntModelDelta.getElementsByKey(root);
+		Map<Position, String> regions = new HashMap<>();
+		for (Entry<String, IAntElement> entry : elements.entrySet()) {
+			Position position = computeFoldingRegion(entry.getValue());
+			if (position != null) {
+				regions.put(position, entry.getKey());
+			}
+		}
+
+		Map<String, ProjectionAnnotation> annotations = new HashMap<>();
 		List<Annotation> deletions = new ArrayList<>();
 		for (Iterator<Annotation> iter = model.getAnnotationIterator(); iter.hasNext();) {
 			Object annotation = iter.next();
 			if (annotation instanceof ProjectionAnnotation) {
-				Annotation annot = (Annotation) annotation;
-				Position position = model.getPosition(annot);
-				if (additions.contains(position)) {
-					additions.remove(position);
+				ProjectionAnnotation annot = (ProjectionAnnotation) annotation;
+				String key = regions.remove(model.getPosition(annot));
+				if (key != null) {
+					annotations.put(key, annot);
 				} else {
 					deletions.add(annot);
 				}
 			}
 		}
-		return deletions.toArray(new Annotation[deletions.size()]);
+
+		Map<Annotation, Position> additionsMap = new HashMap<>();
+		for (Entry<Position, String> entry : regions.entrySet()) {
+			ProjectionAnnotation annotation = new ProjectionAnnotation(elements.get(entry.getValue()).collapseProjection());
+			additionsMap.put(annotation, entry.getKey());
+			annotations.put(entry.getValue(), annotation);
+		}
+		fKeyToAnnotation = annotations;
+
+		if ((deletions.size() != 0 || additionsMap.size() != 0)) {
+			model.modifyAnnotations(deletions.toArray(new Annotation[deletions.size()]), additionsMap, new Annotation[] {});
+		}
 	}
 
-	public void updateFoldingRegions(AntModel antModel) {
-		fPositionToElement = new HashMap<>();
-		try {
-			ProjectionAnnotationModel model = fEditor.getAdapter(ProjectionAnnotationModel.class);
-			if (model == null) {
-				return;
+	private void updateChangedFoldingRegions(ProjectionAnnotationModel model, AntModelDelta delta) throws BadLocationException {
+		List<Annotation> deletions = new ArrayList<>();
+		Map<Annotation, Position> additionsMap = new HashMap<>();
+		List<Annotation> modifications = new ArrayList<>();
+		for (String key : delta.getRemoved().keySet()) {
+			ProjectionAnnotation annotation = fKeyToAnnotation.remove(key);
+			if (annotation != null) {
+				deletions.add(annotation);
 			}
+		}
 
-			Set<Position> currentRegions = new HashSet<>();
-			List<IAntElement> root = new ArrayList<>();
-			AntProjectNode node = antModel.getProjectNode();
-			if (node != null && node.getOffset() != -1) {
-				root.add(node);
-				List<AntElementNode> nodes = antModel.getNonStructuralNodes();
-				root.addAll(nodes);
+		Map<String, IAntElement> elements = new HashMap<>(delta.getAdded());
+		elements.putAll(delta.getChanged());
+		for (Entry<String, IAntElement> entry : elements.entrySet()) {
+			String key = entry.getKey();
+			IAntElement element = entry.getValue();
+			Position region = computeFoldingRegion(element);
+			ProjectionAnnotation annotation = fKeyToAnnotation.get(key);
+			Position position = annotation != null ? model.getPosition(annotation) : null;
+			if (region == null) {
+				if (annotation != null) {
+					fKeyToAnnotation.remove(key);
+					if (position != null) {
+						deletions.add(annotation);
+					}
+				}
+			} else if (position == null) {
+				annotation = new ProjectionAnnotation(element.collapseProjection());
+				fKeyToAnnotation.put(key, annotation);
+				additionsMap.put(annotation, region);
+			} else if (!position.equals(region)) {
+				position.setOffset(region.getOffset());
+				position.setLength(region.getLength());
+				modifications.add(annotation);
 			}
-			addFoldingRegions(currentRegions, root);
-			updateFoldingRegions(model, currentRegions);
 		}
-		catch (BadLocationException be) {
-			// ignore as document has changed
+
+		if ((deletions.size() != 0 || additionsMap.size() != 0 || modifications.size() != 0)) {
+			model.modifyAnnotations(deletions.toArray(new Annotation[deletions.size()]), additionsMap, modifications.toArray(new Annotation[modifications.size()]));
 		}
 	}
 
-	private void addFoldingRegions(Set<Position> regions, List<IAntElement> children) throws BadLocationException {
-		// add a Position to 'regions' for each foldable region
-		for (IAntElement element : children) {
-			if (element.getImportNode() != null || element.isExternal()) {
-				continue; // elements are not really in this document and therefore are not foldable
-			}
-			int startLine = fDocument.getLineOfOffset(element.getOffset());
-			int endLine = fDocument.getLineOfOffset(element.getOffset() + element.getLength());
-			if (startLine < endLine) {
-				int start = fDocument.getLineOffset(startLine);
-				int end = fDocument.getLineOffset(endLine) + fDocument.getLineLength(endLine);
-				Position position = new Position(start, end - start);
-				regions.add(position);
-				fPositionToElement.put(position, element);
-			}
-
-			List<IAntElement> childNodes = element.getChildNodes();
-			if (childNodes != null) {
-				addFoldingRegions(regions, childNodes);
-			}
+	/**
+	 * Returns the lines spanned by the given element, or <code>null</code> if the element is not foldable.
+	 */
+	private Position computeFoldingRegion(IAntElement element) throws BadLocationException {
+		if (element.getImportNode() != null || element.isExternal()) {
+			return null; // elements are not really in this document and therefore are not foldable
+		}
+		int startLine = fDocument.getLineOfOffset(element.getOffset());
+		int endLine = fDocument.getLineOfOffset(element.getOffset() + element.getLength());
+		if (startLine < endLine) {
+			int start = fDocument.getLineOffset(startLine);
+			int end = fDocument.getLineOffset(endLine) + fDocument.getLineLength(endLine);
+			return new Position(start, end - start);
 		}
+		return null;
 	}
 
 	public void setDocument(IDocument document) {
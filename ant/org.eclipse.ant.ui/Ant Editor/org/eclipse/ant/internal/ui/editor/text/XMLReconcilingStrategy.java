@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,7 +32,13 @@ public class XMLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
 	 */
 	public static final int DELAY = 500;
 
+	/**
+	 * The longest the reconciler will wait, however large the buildfile
+	 */
+	public static final int MAX_DELAY = 3000;
+
 	private AntEditor fEditor;
+	private IDocument fDocument;
 
 	public XMLReconcilingStrategy(AntEditor editor) {
 		fEditor = editor;
@@ -62,7 +68,35 @@ public class XMLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
 
 	@Override
 	public void setDocument(IDocument document) {
-		// do nothing
+		fDocument = document;
+	}
+
+	/**
+	 * Returns how long the reconciler should wait for further text changes before reconciling again, given the size of the document and how long
+	 * the last reconcile took.
+	 * 
+	 * @return the delay in milliseconds
+	 */
+	public int getDelay() {
+		IAntModel model = fEditor.getAntModel();
+		long duration = model instanceof AntModel ? ((AntModel) model).getReconcileDuration() : 0;
+		IDocument document = fDocument;
+		return computeDelay(document != null ? document.getLength() : 0, duration);
+	}
+
+	/**
+	 * Returns the delay before reconciling a document: {@link #DELAY} plus a millisecond per kilobyte of text, and at least twice the time the last
+	 * parse took so that typing is not slowed down by reconciling, but never more than {@link #MAX_DELAY}.
+	 * 
+	 * @param length
+	 *            the length of the document
+	 * @param duration
+	 *            the time the last reconcile took, in milliseconds
+	 * @return the delay in milliseconds
+	 */
+	public static int computeDelay(int length, long duration) {
+		long delay = Math.max(DELAY + length / 1024, 2 * duration);
+		return (int) Math.min(delay, MAX_DELAY);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -159,6 +159,14 @@ public class XMLTextHover implements ITextHover, ITextHoverExtension, IInformati
 	}
 
 	private String getAnnotationModelHoverMessage(IAnnotationModel model, IRegion hoverRegion) {
+		IAnnotationModel problemModel = fEditor.getDocumentProvider() != null
+				? fEditor.getDocumentProvider().getAnnotationModel(fEditor.getEditorInput())
+				: null;
+		if (problemModel instanceof AntAnnotationModel) {
+			// look up the problems by position rather than walking all the annotations
+			XMLProblemAnnotation annotation = ((AntAnnotationModel) problemModel).getProblemAnnotation(hoverRegion.getOffset(), hoverRegion.getLength());
+			return annotation != null ? formatMessage(annotation.getText()) : null;
+		}
 		Iterator<Annotation> e = model.getAnnotationIterator();
 		while (e.hasNext()) {
 			Annotation a = e.next();
@@ -235,7 +243,10 @@ public class XMLTextHover implements ITextHover, ITextHoverExtension, IInformati
 			if (document.getChar(pos) == '"') {
 				pos--;
 			}
-			while (pos >= 0) {
+			// a region never spans lines: only scan the line of the offset
+			IRegion line = document.getLineInformationOfOffset(offset);
+			int lineStart = line.getOffset();
+			while (pos >= lineStart) {
 				c = document.getChar(pos);
 				if (c != '.' && c != '-' && c != '/' && c != '\\' && c != ' ' && c != ')' && c != '(' && c != ':'
 						&& !Character.isJavaIdentifierPart(c) && pos != offset)
@@ -246,9 +257,9 @@ public class XMLTextHover implements ITextHover, ITextHoverExtension, IInformati
 			start = pos;
 
 			pos = offset;
-			int length = document.getLength();
+			int lineEnd = lineStart + line.getLength();
 
-			while (pos < length) {
+			while (pos < lineEnd) {
 				c = document.getChar(pos);
 				if (c != '.' && c != '-' && c != '/' && c != '\\' && c != ' ' && c != ')' && c != '(' && c != ':'
 						&& !Character.isJavaIdentifierPart(c))
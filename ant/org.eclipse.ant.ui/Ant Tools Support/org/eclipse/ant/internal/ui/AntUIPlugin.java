@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.util.Locale;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.internal.ui.editor.DecayCodeCompletionDataStructuresThread;
 import org.eclipse.ant.internal.ui.editor.text.AntEditorDocumentProvider;
+import org.eclipse.ant.internal.ui.model.AntTargetCache;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -84,6 +85,7 @@ public class AntUIPlugin extends AbstractUIPlugin {
 			AntUIImages.disposeImageDescriptorRegistry();
 			DecayCodeCompletionDataStructuresThread.cancel();
 			ColorManager.getDefault().dispose();
+			AntTargetCache.shutdown();
 		}
 		finally {
 			super.stop(context);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -35,6 +36,7 @@ import org.eclipse.ant.internal.ui.editor.AntEditor;
 import org.eclipse.ant.internal.ui.model.AntElementNode;
 import org.eclipse.ant.internal.ui.model.AntModel;
 import org.eclipse.ant.internal.ui.model.AntProjectNode;
+import org.eclipse.ant.internal.ui.model.AntTargetCache;
 import org.eclipse.ant.internal.ui.model.AntTargetNode;
 import org.eclipse.ant.internal.ui.model.IAntElement;
 import org.eclipse.ant.internal.ui.model.IAntModel;
@@ -180,21 +182,68 @@ public final class AntUtil {
 		if (buildfile == null) {
 			return null;
 		}
+		IDocument doc = getDocument(buildfile);
+		if (doc == null) {
+			return null;
+		}
 		URL[] urls = getCustomClasspath(config);
-		// no lexical, no position, no task
-		IAntModel model = getAntModel(buildfile, urls, false, false, false);
+		Map<String, String> properties = null;
 		try {
-			model.setProperties(getAllProperties(config));
+			properties = getAllProperties(config);
 		}
 		catch (CoreException ex) {
 			// do nothing
 		}
-		model.setPropertyFiles(getPropertyFiles(config));
+		String[] propertyFiles = getPropertyFiles(config);
+		// no lexical, no position, no task
+		IAntModel model = createAntModel(buildfile, doc, false, false, false);
+		String contents = doc.get();
+		String key = AntTargetCache.getKey(buildfile.getAbsolutePath(), getVariant(urls, properties, propertyFiles));
+		String stamp = AntTargetCache.getStamp(contents);
+		AntTargetNode[] targets = AntTargetCache.getDefault().getTargets(key, stamp, model);
+		if (targets != null) {
+			model.dispose();
+			return targets;
+		}
+		if (urls != null) {
+			model.setClassLoader(AntCorePlugin.getPlugin().getNewClassLoader(urls));
+		}
+		if (properties != null) {
+			model.setProperties(properties);
+		}
+		model.setPropertyFiles(propertyFiles);
 		AntProjectNode project = model.getProjectNode(); // forces a reconcile
+		AntTargetCache.getDefault().putTargets(key, contents, stamp, project);
 		model.dispose();
 		return getTargets(project);
 	}
 
+	/**
+	 * Returns what the targets of a buildfile depend on besides its contents when it is parsed for a launch configuration: the custom classpath,
+	 * the properties and the property files, with their modification time.
+	 */
+	private static String getVariant(URL[] urls, Map<String, String> properties, String[] propertyFiles) {
+		StringBuilder variant = new StringBuilder();
+		if (urls != null) {
+			for (URL url : urls) {
+				variant.append(url.toExternalForm()).append('\n');
+			}
+		}
+		variant.append('\0');
+		if (properties != null) {
+			for (Map.Entry<String, String> property : new TreeMap<>(properties).entrySet()) {
+				variant.append(property.getKey()).append('=').append(property.getValue()).append('\n');
+			}
+		}
+		variant.append('\0');
+		if (propertyFiles != null) {
+			for (String propertyFile : propertyFiles) {
+				variant.append(propertyFile).append('@').append(new File(propertyFile).lastModified()).append('\n');
+			}
+		}
+		return variant.toString();
+	}
+
 	private static Map<String, String> getAllProperties(ILaunchConfiguration config) throws CoreException {
 		String allArgs = config.getAttribute(IExternalToolConstants.ATTR_TOOL_ARGUMENTS, (String) null);
 		Map<String, String> properties = new HashMap<>();
@@ -246,14 +295,26 @@ public final class AntUtil {
 		if (buildfile == null) {
 			return null;
 		}
+		IDocument doc = getDocument(buildfile);
+		if (doc == null) {
+			return null;
+		}
 		// tasks and position info but no lexical info
-		IAntModel model = getAntModel(buildfile, null, false, true, true);
+		IAntModel model = createAntModel(buildfile, doc, false, true, true);
+		String contents = doc.get();
+		String key = AntTargetCache.getKey(buildfile.getAbsolutePath(), null);
+		String stamp = AntTargetCache.getStamp(contents);
+		AntTargetNode[] targets = AntTargetCache.getDefault().getTargets(key, stamp, model);
+		if (targets != null) {
+			return targets;
+		}
 		AntProjectNode project = model.getProjectNode();
 		if (project == null) {
 			model.dispose();
 			return null;
 		}
-		AntTargetNode[] targets = getTargets(project);
+		AntTargetCache.getDefault().putTargets(key, contents, stamp, project);
+		targets = getTargets(project);
 		if (targets == null) {
 			Hashtable<String, Target> antTargets = project.getProject().getTargets();
 			Target implicitTarget = antTargets.get(IAntCoreConstants.EMPTY_STRING);
@@ -291,6 +352,15 @@ public final class AntUtil {
 		if (doc == null) {
 			return null;
 		}
+		IAntModel model = createAntModel(buildFile, doc, needsLexical, needsPosition, needsTask);
+
+		if (urls != null) {
+			model.setClassLoader(AntCorePlugin.getPlugin().getNewClassLoader(urls));
+		}
+		return model;
+	}
+
+	private static IAntModel createAntModel(final File buildFile, IDocument doc, boolean needsLexical, boolean needsPosition, boolean needsTask) {
 		final IFile file = getFileForLocation(buildFile.getAbsolutePath(), null);
 		LocationProvider provider = new LocationProvider(null) {
 			@Override
@@ -306,12 +376,7 @@ public final class AntUtil {
 				return file.getLocation();
 			}
 		};
-		IAntModel model = new AntModel(doc, null, provider, needsLexical, needsPosition, needsTask);
-
-		if (urls != null) {
-			model.setClassLoader(AntCorePlugin.getPlugin().getNewClassLoader(urls));
-		}
-		return model;
+		return new AntModel(doc, null, provider, needsLexical, needsPosition, needsTask);
 	}
 
 	private static IDocument getDocument(File buildFile) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.ant.internal.ui.console;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -40,8 +41,25 @@ public abstract class AbstractJavacPatternMatcher implements IPatternMatchListen
 
 	protected TextConsole fConsole;
 	private static Pattern fgLineNumberPattern = Pattern.compile("\\d+"); //$NON-NLS-1$
-	private static List<AbstractJavacPatternMatcher> fgPatternMatchers = new ArrayList<>();
-	private Map<String, IFile> fFileNameToIFile = new HashMap<>();
+
+	/**
+	 * The maximum number of file paths resolved to workspace files kept per matcher
+	 */
+	private static final int MAX_CACHED_FILES = 256;
+
+	/**
+	 * The pattern matchers creating markers, per process
+	 */
+	private static Map<IProcess, List<AbstractJavacPatternMatcher>> fgPatternMatchers = new HashMap<>();
+
+	private Map<String, IFile> fFileNameToIFile = new LinkedHashMap<String, IFile>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, IFile> eldest) {
+			return size() > MAX_CACHED_FILES;
+		}
+	};
 
 	private JavacMarkerCreator fMarkerCreator;
 	protected static final Integer fgWarningType = Integer.valueOf(IMarker.SEVERITY_WARNING);
@@ -53,7 +71,12 @@ public abstract class AbstractJavacPatternMatcher implements IPatternMatchListen
 		IPreferenceStore store = AntUIPlugin.getDefault().getPreferenceStore();
 		if (store.getBoolean(IAntUIPreferenceConstants.ANT_CREATE_MARKERS)) {
 			fMarkerCreator = new JavacMarkerCreator(fConsole, this instanceof EclipseJavacPatternMatcher);
-			fgPatternMatchers.add(this);
+			IProcess process = fMarkerCreator.getProcess();
+			if (process != null) {
+				synchronized (fgPatternMatchers) {
+					fgPatternMatchers.computeIfAbsent(process, p -> new ArrayList<>(3)).add(this);
+				}
+			}
 		}
 	}
 
@@ -68,12 +91,13 @@ public abstract class AbstractJavacPatternMatcher implements IPatternMatchListen
 			return null;
 		}
 		IFile file = fFileNameToIFile.get(filePath);
-		if (file == null) {
+		if (file == null && !fFileNameToIFile.containsKey(filePath)) {
+			// paths outside of the workspace are remembered as well, as null
 			IFile[] files = ResourcesPlugin.getWorkspace().getRoot().findFilesForLocationURI(new Path(filePath).toFile().toURI());
 			if (files.length > 0) {
 				file = files[0];
-				fFileNameToIFile.put(filePath, file);
 			}
+			fFileNameToIFile.put(filePath, file);
 		}
 		return file;
 	}
@@ -106,10 +130,7 @@ public abstract class AbstractJavacPatternMatcher implements IPatternMatchListen
 			}
 
 			String lineLine = document.get(eventOffset, regionLength);
-			Matcher matcher = null;
-			synchronized (fgLineNumberPattern) {
-				matcher = fgLineNumberPattern.matcher(lineLine);
-			}
+			Matcher matcher = fgLineNumberPattern.matcher(lineLine);
 			if (matcher.find()) {
 				String lineString = matcher.group();
 				return Integer.parseInt(lineString);
@@ -148,16 +169,25 @@ public abstract class AbstractJavacPatternMatcher implements IPatternMatchListen
 		}
 	}
 
+	/**
+	 * The console of the given process has been closed. Creates the markers collected by the pattern matchers of that process, in one workspace
+	 * operation.
+	 *
+	 * @param process
+	 *            the process whose console was closed
+	 */
 	public static void consoleClosed(IProcess process) {
-		for (AbstractJavacPatternMatcher matcher : fgPatternMatchers) {
-			matcher.finished(process);
+		List<AbstractJavacPatternMatcher> matchers;
+		synchronized (fgPatternMatchers) {
+			matchers = fgPatternMatchers.remove(process);
 		}
-	}
-
-	protected void finished(IProcess process) {
-		if (fMarkerCreator != null) {
-			fMarkerCreator.finished(process);
-			fgPatternMatchers.remove(this);
+		if (matchers == null) {
+			return;
+		}
+		List<JavacMarkerCreator> creators = new ArrayList<>(matchers.size());
+		for (AbstractJavacPatternMatcher matcher : matchers) {
+			creators.add(matcher.fMarkerCreator);
 		}
+		JavacMarkerCreator.createMarkers(creators);
 	}
 }
\ No newline at end of file
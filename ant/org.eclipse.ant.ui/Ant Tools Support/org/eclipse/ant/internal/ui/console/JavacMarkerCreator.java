@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,21 +14,26 @@
 package org.eclipse.ant.internal.ui.console;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.ant.internal.ui.AntUIPlugin;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.debug.core.model.IProcess;
-import org.eclipse.debug.internal.ui.views.console.ProcessConsole;
+import org.eclipse.debug.ui.IDebugUIConstants;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
@@ -36,11 +41,15 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.ui.console.TextConsole;
 
+/**
+ * Collects the problems reported by javac to a console and creates the corresponding problem markers once the build is over. The markers of all the
+ * creators of one process are created in a single workspace operation, see {@link #createMarkers(Collection)}.
+ */
 public class JavacMarkerCreator {
 
 	private final TextConsole fConsole;
 	private IProcess fProcess;
-	private static List<IFile> fgFilesToBeCleaned = new ArrayList<>();
+	private Set<IFile> fFilesToBeCleaned = new LinkedHashSet<>();
 	private Map<IFile, List<MarkerInfo>> fFileToMarkerInfo = new HashMap<>();
 	private final boolean fUseCustomMessage;
 
@@ -67,11 +76,21 @@ public class JavacMarkerCreator {
 	public JavacMarkerCreator(TextConsole console, boolean useCustomMessage) {
 		fConsole = console;
 		fUseCustomMessage = useCustomMessage;
-		if (fConsole instanceof ProcessConsole) {
-			fProcess = ((ProcessConsole) fConsole).getProcess();
+		Object process = fConsole.getAttribute(IDebugUIConstants.ATTR_CONSOLE_PROCESS);
+		if (process instanceof IProcess) {
+			fProcess = (IProcess) process;
 		}
 	}
 
+	/**
+	 * Returns the process whose console problems are collected, or <code>null</code> if the console is not a process console
+	 *
+	 * @return the process or <code>null</code>
+	 */
+	protected IProcess getProcess() {
+		return fProcess;
+	}
+
 	protected ISchedulingRule getMarkerRule(IResource resource) {
 		ISchedulingRule rule = null;
 		if (resource != null) {
@@ -81,17 +100,8 @@ public class JavacMarkerCreator {
 		return rule;
 	}
 
-	protected void run(ISchedulingRule rule, IWorkspaceRunnable wr) {
-		try {
-			ResourcesPlugin.getWorkspace().run(wr, rule, 0, null);
-		}
-		catch (CoreException e) {
-			AntUIPlugin.log(e.getStatus());
-		}
-	}
-
 	protected void addFileToBeCleaned(IFile file) {
-		fgFilesToBeCleaned.add(file);
+		fFilesToBeCleaned.add(file);
 	}
 
 	protected void addMarker(IFile file, int lineNumber, int offset, Integer type) {
@@ -107,25 +117,16 @@ public class JavacMarkerCreator {
 		infos.add(info);
 	}
 
-	private void createMarkers(final IFile file, final List<MarkerInfo> infos) {
-		IWorkspaceRunnable wr = monitor -> {
-
-			try {
-				for (MarkerInfo info : infos) {
-					IMarker marker = file.createMarker(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER);
-					Map<String, Object> attributes = new HashMap<>(3);
-					attributes.put(IMarker.LINE_NUMBER, Integer.valueOf(info.fLineNumber));
-					String message = getMessage(info);
-					attributes.put(IMarker.MESSAGE, message);
-					attributes.put(IMarker.SEVERITY, info.fType);
-					marker.setAttributes(attributes);
-				}
-			}
-			catch (CoreException e) {
-				AntUIPlugin.log(e.getStatus());
-			}
-		};
-		run(getMarkerRule(file), wr);
+	private void createMarkers(IFile file, List<MarkerInfo> infos) throws CoreException {
+		for (MarkerInfo info : infos) {
+			IMarker marker = file.createMarker(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER);
+			Map<String, Object> attributes = new HashMap<>(3);
+			attributes.put(IMarker.LINE_NUMBER, Integer.valueOf(info.fLineNumber));
+			String message = getMessage(info);
+			attributes.put(IMarker.MESSAGE, message);
+			attributes.put(IMarker.SEVERITY, info.fType);
+			marker.setAttributes(attributes);
+		}
 	}
 
 	protected String getMessage(MarkerInfo info) {
@@ -152,21 +153,81 @@ public class JavacMarkerCreator {
 		return message;
 	}
 
-	protected void finished(IProcess process) {
-		if (process.equals(fProcess)) {
-			for (IFile file : fgFilesToBeCleaned) {
-				try {
-					file.deleteMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
+	/**
+	 * Adds the marker rules of the files touched by this creator to the given list
+	 */
+	private void collectRules(List<ISchedulingRule> rules) {
+		for (IFile file : fFilesToBeCleaned) {
+			addRule(rules, file);
+		}
+		for (IFile file : fFileToMarkerInfo.keySet()) {
+			addRule(rules, file);
+		}
+	}
+
+	private void addRule(List<ISchedulingRule> rules, IFile file) {
+		ISchedulingRule rule = getMarkerRule(file);
+		if (rule != null) {
+			rules.add(rule);
+		}
+	}
+
+	private void clear() {
+		fFileToMarkerInfo.clear();
+		fFilesToBeCleaned.clear();
+	}
+
+	/**
+	 * Removes the stale markers and creates the collected markers of the given creators in one workspace operation. Files to be cleaned are cleaned
+	 * for all of the creators before any marker is created, so that problems reported through one pattern matcher are not deleted because another
+	 * one listed the same file.
+	 *
+	 * @param creators
+	 *            the marker creators of one process
+	 */
+	protected static void createMarkers(final Collection<JavacMarkerCreator> creators) {
+		boolean empty = true;
+		List<ISchedulingRule> rules = new ArrayList<>();
+		for (JavacMarkerCreator creator : creators) {
+			creator.collectRules(rules);
+			empty &= creator.fFileToMarkerInfo.isEmpty() && creator.fFilesToBeCleaned.isEmpty();
+		}
+		if (empty) {
+			return;
+		}
+		IWorkspaceRunnable wr = monitor -> {
+			for (JavacMarkerCreator creator : creators) {
+				for (IFile file : creator.fFilesToBeCleaned) {
+					try {
+						file.deleteMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
+					}
+					catch (CoreException e) {
+						AntUIPlugin.log(e.getStatus());
+					}
 				}
-				catch (CoreException e) {
-					AntUIPlugin.log(e.getStatus());
+			}
+			for (JavacMarkerCreator creator : creators) {
+				for (Map.Entry<IFile, List<MarkerInfo>> entry : creator.fFileToMarkerInfo.entrySet()) {
+					try {
+						creator.createMarkers(entry.getKey(), entry.getValue());
+					}
+					catch (CoreException e) {
+						AntUIPlugin.log(e.getStatus());
+					}
 				}
 			}
-			for (IFile file : fFileToMarkerInfo.keySet()) {
-				createMarkers(file, fFileToMarkerInfo.get(file));
+		};
+		try {
+			ISchedulingRule rule = MultiRule.combine(rules.toArray(new ISchedulingRule[rules.size()]));
+			ResourcesPlugin.getWorkspace().run(wr, rule, IWorkspace.AVOID_UPDATE, null);
+		}
+		catch (CoreException e) {
+			AntUIPlugin.log(e.getStatus());
+		}
+		finally {
+			for (JavacMarkerCreator creator : creators) {
+				creator.clear();
 			}
-			fFileToMarkerInfo.clear();
-			fgFilesToBeCleaned.clear();
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ant.internal.ui.launchConfigurations;
+
+import java.io.File;
+
+import org.apache.tools.ant.util.FileUtils;
+import org.eclipse.ant.internal.ui.AntUtil;
+import org.eclipse.ant.internal.ui.ExternalHyperlink;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.debug.ui.console.FileLink;
+import org.eclipse.ui.console.IHyperlink;
+
+/**
+ * A hyperlink from a task or target in the console to its location in a buildfile. It is only added for a buildfile that exists; the link to the
+ * workspace or external file is only created once the link is actually used.
+ */
+class TaskHyperlink implements IHyperlink {
+
+	private final String fFileName;
+	private final int fLineNumber;
+	private IHyperlink fDelegate = null;
+
+	TaskHyperlink(String fileName, int lineNumber) {
+		fFileName = fileName;
+		fLineNumber = lineNumber;
+	}
+
+	@Override
+	public void linkEntered() {
+		// do nothing
+	}
+
+	@Override
+	public void linkExited() {
+		// do nothing
+	}
+
+	@Override
+	public void linkActivated() {
+		IHyperlink link = getDelegate();
+		if (link != null) {
+			link.linkActivated();
+		}
+	}
+
+	/**
+	 * Returns the link to the workspace or external file, creating it if required
+	 */
+	private synchronized IHyperlink getDelegate() {
+		if (fDelegate == null) {
+			fDelegate = createHyperlink();
+		}
+		return fDelegate;
+	}
+
+	private IHyperlink createHyperlink() {
+		IFile file = AntUtil.getFileForLocation(fFileName, null);
+		if (file != null) {
+			return new FileLink(file, null, -1, -1, fLineNumber);
+		}
+		File javaIOFile = FileUtils.getFileUtils().resolveFile(null, fFileName);
+		if (javaIOFile.exists()) {
+			return new ExternalHyperlink(javaIOFile, fLineNumber);
+		}
+		return null;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,18 +13,10 @@
  *******************************************************************************/
 package org.eclipse.ant.internal.ui.launchConfigurations;
 
-import java.io.File;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import org.apache.tools.ant.util.FileUtils;
-import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.internal.launching.AntLaunch;
-import org.eclipse.ant.internal.launching.AntLaunchingUtil;
 import org.eclipse.ant.internal.launching.LinkDescriptor;
 import org.eclipse.ant.internal.ui.AntUtil;
-import org.eclipse.ant.internal.ui.ExternalHyperlink;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.ui.console.FileLink;
@@ -42,8 +34,6 @@ import org.eclipse.ui.console.IHyperlink;
  */
 public class TaskLinkManager {
 
-	private static Map<String, IFile> fFileNameToIFile = new HashMap<>();
-
 	/**
 	 * Not to be called.
 	 */
@@ -51,76 +41,56 @@ public class TaskLinkManager {
 		super();
 	}
 
-	private static IHyperlink createHyperlink(LinkDescriptor linkDescriptor) {
-		String fileName = linkDescriptor.getFileName();
-		int lineNumber = linkDescriptor.getLineNumber();
-
-		IHyperlink taskLink = null;
-		if (lineNumber == -1) {
-			// fileName will actually be the String representation of Location
-			taskLink = AntUtil.getLocationLink(fileName, null);
-		} else {
-			IFile file = fFileNameToIFile.get(fileName);
-			if (file == null) {
-				file = AntLaunchingUtil.getFileForLocation(fileName, null);
-				if (file != null) {
-					fFileNameToIFile.put(fileName, file);
-					taskLink = new FileLink(file, null, -1, -1, lineNumber);
-				} else if (fileName != null) {
-					File javaIOFile = FileUtils.getFileUtils().resolveFile(null, fileName);
-					if (javaIOFile.exists()) {
-						taskLink = new ExternalHyperlink(javaIOFile, lineNumber);
-					}
-				}
-			} else {
-				taskLink = new FileLink(file, null, -1, -1, lineNumber);
-			}
-		}
-		return taskLink;
-	}
-
-	private static boolean addLink(IConsole console, IRegion lineRegion, LinkDescriptor descriptor) {
-		try {
-			String text = console.getDocument().get(lineRegion.getOffset(), lineRegion.getLength());
-			if (text.trim().equals(descriptor.getLine())) {
-				int offset = lineRegion.getOffset() + descriptor.getOffset();
-				IHyperlink link = createHyperlink(descriptor);
-				if (link != null) {
-					console.addLink(link, offset, descriptor.getLength());
-				}
-				return true;
-			}
-		}
-		catch (BadLocationException e) {
-			// do nothing
-		}
-		return false;
-	}
-
 	/**
 	 * A new line has been added to the given console. Adds any task hyperlink associated with the line, to the console. The new line may be stored to
-	 * process future incoming tasks hyperlinks.
+	 * process future incoming tasks hyperlinks. A hyperlink is only added for a file that exists.
 	 * 
 	 * @param console
 	 * @param newLine
 	 */
 	public static synchronized void processNewLine(IConsole console, IRegion newLine) {
-		AntLaunch launch = (AntLaunch) console.getProcess().getLaunch();
-		List<LinkDescriptor> links = launch.getLinkDescriptors();
-
-		if (linkBuildFileMessage(console, newLine)) {
+		String text;
+		try {
+			text = console.getDocument().get(newLine.getOffset(), newLine.getLength());
+		}
+		catch (BadLocationException e) {
+			return;
+		}
+		if (linkBuildFileMessage(console, newLine, text)) {
 			return;
 		}
-		for (LinkDescriptor descriptor : links) {
-			if (addLink(console, newLine, descriptor)) {
-				launch.removeLinkDescriptor(descriptor);
-				return;
+		AntLaunch launch = (AntLaunch) console.getProcess().getLaunch();
+		LinkDescriptor descriptor = launch.removeLinkDescriptor(text.trim());
+		if (descriptor != null) {
+			IHyperlink link = createHyperlink(launch, descriptor);
+			if (link != null) {
+				console.addLink(link, newLine.getOffset() + descriptor.getOffset(), descriptor.getLength());
 			}
 		}
 	}
 
 	/**
-	 * Disposes any information stored for the given process.
+	 * Returns a link for the given descriptor, or <code>null</code> if the linked file does not exist. Whether a file is in the workspace is cached
+	 * by the launch.
+	 */
+	private static IHyperlink createHyperlink(AntLaunch launch, LinkDescriptor descriptor) {
+		String fileName = launch.getLinkFileName(descriptor.getFileIndex());
+		if (fileName == null) {
+			return null;
+		}
+		int lineNumber = descriptor.getLineNumber();
+		if (lineNumber == -1) {
+			// fileName will actually be the String representation of Location
+			return AntUtil.getLocationLink(fileName, null);
+		}
+		if (launch.getLinkFile(descriptor.getFileIndex()) == null && !FileUtils.getFileUtils().resolveFile(null, fileName).exists()) {
+			return null;
+		}
+		return new TaskHyperlink(fileName, lineNumber);
+	}
+
+	/**
+	 * Disposes any information stored for the given process, including the files resolved for its links.
 	 * 
 	 * @param process
 	 */
@@ -130,16 +100,8 @@ public class TaskLinkManager {
 	}
 
 	@SuppressWarnings("deprecation")
-	private static boolean linkBuildFileMessage(IConsole console, IRegion region) {
-
-		String message = IAntCoreConstants.EMPTY_STRING;
+	private static boolean linkBuildFileMessage(IConsole console, IRegion region, String message) {
 		int offset = region.getOffset();
-		try {
-			message = console.getDocument().get(offset, region.getLength());
-		}
-		catch (BadLocationException e) {
-			// do nothing
-		}
 		if (message.startsWith("Buildfile:")) { //$NON-NLS-1$
 			String fileName = message.substring(10).trim();
 			IFile file = AntUtil.getFileForLocation(fileName, null);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,8 +30,8 @@ import org.apache.tools.ant.ComponentHelper;
 import org.apache.tools.ant.Task;
 import org.apache.tools.ant.UnknownElement;
 import org.eclipse.ant.core.AntCorePlugin;
-import org.eclipse.ant.core.AntCorePreferences;
 import org.eclipse.ant.core.AntSecurityException;
+import org.eclipse.ant.internal.core.AntRuntimeSnapshot;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.internal.ui.AntUIImages;
 import org.eclipse.ant.internal.ui.AntUIPlugin;
@@ -144,8 +144,7 @@ public class AntDefiningTaskNode extends AntTaskNode {
 	 */
 	public static void setJavaClassPath() {
 
-		AntCorePreferences prefs = AntCorePlugin.getPlugin().getPreferences();
-		URL[] antClasspath = prefs.getURLs();
+		URL[] antClasspath = AntRuntimeSnapshot.getSnapshot(AntCorePlugin.getPlugin().getPreferences()).getURLs();
 
 		setJavaClassPath(antClasspath);
 	}
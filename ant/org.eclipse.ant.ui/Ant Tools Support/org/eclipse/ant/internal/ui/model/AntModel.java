@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,16 +24,15 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Properties;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
 import org.apache.tools.ant.AntTypeDefinition;
@@ -56,7 +55,8 @@ import org.eclipse.ant.core.Property;
 import org.eclipse.ant.core.Type;
 import org.eclipse.ant.internal.core.AntClassLoader;
 import org.eclipse.ant.internal.core.AntCoreUtil;
-import org.eclipse.ant.internal.core.AntSecurityManager;
+import org.eclipse.ant.internal.core.AntRuntimeSnapshot;
+import org.eclipse.ant.internal.core.AntSystemGuard;
 import org.eclipse.ant.internal.core.IAntCoreConstants;
 import org.eclipse.ant.internal.ui.AntUIPlugin;
 import org.eclipse.ant.internal.ui.AntUtil;
@@ -68,10 +68,9 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
-import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.QualifiedName;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
@@ -80,6 +79,7 @@ import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
@@ -90,6 +90,12 @@ import org.xml.sax.SAXParseException;
 public class AntModel implements IAntModel {
 
 	private static ClassLoader fgClassLoader;
+	/**
+	 * The definitions copied into new projects, see {@link #getPrototypeHelper(ClassLoader)}
+	 */
+	private static ComponentHelper fgPrototypeHelper;
+	private static ClassLoader fgPrototypeLoader;
+	private static int fgPrototypeStamp;
 	private static int fgInstanceCount = 0;
 	private static Object loaderLock = new Object();
 
@@ -171,7 +177,65 @@ public class AntModel implements IAntModel {
 	private boolean fReportingProblemsCurrent = false;
 	private boolean fDoNotReportProblems = false;
 	private boolean fShouldReconcile = true;
-	private HashMap<String, String> fNamespacePrefixMappings;
+	private Map<String, String> fNamespacePrefixMappings;
+	/**
+	 * Changed each time the document is reconciled, as the project may be reused
+	 */
+	private volatile int fReconcileStamp = 0;
+	/**
+	 * Held by the thread reconciling this model, the only one that sees the project node being built
+	 */
+	private final ReentrantLock fReconcileLock = new ReentrantLock();
+	/**
+	 * Changed after each change of the document. A parse that sees it change is canceled, as its result would be out of date.
+	 */
+	private volatile int fDocumentVersion = 0;
+	/**
+	 * The version of the document being parsed
+	 */
+	private int fParsedVersion;
+	/**
+	 * The copy of the document being parsed, so that the document can be edited while reconciling
+	 */
+	private IDocument fParsedDocument;
+	/**
+	 * The state of the last completed reconcile, which readers get while a newer one is being built
+	 */
+	private volatile Snapshot fCompleted = new Snapshot();
+	/**
+	 * How long the last completed reconcile took, in milliseconds
+	 */
+	private volatile long fReconcileDuration = 0;
+
+	/**
+	 * The project node and lookup tables of a reconcile. A parse builds them anew, and they are published at once when it completes so that readers
+	 * never see the state of a parse in progress.
+	 */
+	private final class Snapshot {
+		final AntProjectNode projectNode = fProjectNode;
+		final List<AntElementNode> nonStructuralNodes = fNonStructuralNodes;
+		final Map<Task, AntTaskNode> taskToNode = fTaskToNode;
+		final Map<String, String> entityNameToPath = fEntityNameToPath;
+		final Map<String, String> definersToText = fDefinersToText;
+		final Map<String, List<String>> definerNodeIdentifierToDefinedTasks = fDefinerNodeIdentifierToDefinedTasks;
+		final Map<String, AntDefiningTaskNode> taskNameToDefiningNode = fTaskNameToDefiningNode;
+		final Map<String, String> namespacePrefixMappings = fNamespacePrefixMappings;
+		final int documentVersion = fParsedVersion;
+
+		/**
+		 * Makes the state of this snapshot the state the next parse starts from
+		 */
+		void restore() {
+			fProjectNode = projectNode;
+			fNonStructuralNodes = nonStructuralNodes;
+			fTaskToNode = taskToNode;
+			fEntityNameToPath = entityNameToPath;
+			fDefinersToText = definersToText;
+			fDefinerNodeIdentifierToDefinedTasks = definerNodeIdentifierToDefinedTasks;
+			fTaskNameToDefiningNode = taskNameToDefiningNode;
+			fNamespacePrefixMappings = namespacePrefixMappings;
+		}
+	}
 
 	public AntModel(IDocument document, IProblemRequestor problemRequestor, LocationProvider locationProvider) {
 		init(document, problemRequestor, locationProvider);
@@ -257,6 +321,10 @@ public class AntModel implements IAntModel {
 		fgInstanceCount--;
 		if (fgInstanceCount == 0) {
 			fgClassLoader = null;
+			synchronized (loaderLock) {
+				fgPrototypeHelper = null;
+				fgPrototypeLoader = null;
+			}
 			DecayCodeCompletionDataStructuresThread.getDefault().start();
 			AntModelCore.getDefault().stopBreakpointListening();
 			cleanup();
@@ -285,28 +353,115 @@ public class AntModel implements IAntModel {
 
 	@Override
 	public void reconcile() {
-		synchronized (fDirtyLock) {
-			if (!fShouldReconcile || !fIsDirty) {
-				return;
-			}
-			fIsDirty = false;
+		reconcile(true);
+	}
+
+	/**
+	 * Parses the document if it changed since the last reconcile. The document is only locked while it is copied; the copy is parsed while the
+	 * document may be edited, and the parse is canceled by the next change.
+	 * 
+	 * @param wait
+	 *            whether to wait for a reconcile running in another thread, or to return at once
+	 */
+	private void reconcile(boolean wait) {
+		if (wait) {
+			fReconcileLock.lock();
+		} else if (!fReconcileLock.tryLock()) {
+			return;
 		}
+		boolean reconciled = false;
+		AntModelDelta delta = null;
+		try {
+			synchronized (fDirtyLock) {
+				if (!fShouldReconcile || !fIsDirty) {
+					return;
+				}
+				fIsDirty = false;
+			}
 
-		synchronized (getLockObject()) {
-			if (fLocationProvider == null) {
-				// disposed
-				return;
+			synchronized (getLockObject()) {
+				if (fLocationProvider == null) {
+					// disposed
+					return;
+				}
+				fParsedVersion = fDocumentVersion;
+				fParsedDocument = fDocument != null ? new Document(fDocument.get()) : null;
 			}
 
-			if (fDocument == null) {
-				fProjectNode = null;
-			} else {
-				reset();
-				parseDocument(fDocument);
-				reconcileTaskAndTypes();
+			long start = System.currentTimeMillis();
+			try {
+				if (fParsedDocument == null) {
+					fProjectNode = null;
+				} else {
+					reset();
+					parseDocument(fParsedDocument);
+					reconcileTaskAndTypes();
+				}
+			}
+			catch (OperationCanceledException e) {
+				// the document changed while parsing: keep the last completed state until the next reconcile
+				fCompleted.restore();
+				synchronized (fDirtyLock) {
+					fIsDirty = true;
+				}
+				return;
 			}
-			AntModelCore.getDefault().notifyAntModelListeners(new AntModelChangeEvent(this));
+			finally {
+				fParsedDocument = null;
+			}
+			delta = computeDelta();
+			fReconcileDuration = System.currentTimeMillis() - start;
+			fCompleted = new Snapshot();
+			fReconcileStamp++;
+			reconciled = true;
+		}
+		finally {
+			fReconcileLock.unlock();
+		}
+		if (reconciled) {
+			AntModelCore.getDefault().notifyAntModelListeners(new AntModelChangeEvent(this, delta));
+		}
+	}
+
+	/**
+	 * Returns the changes from the last completed reconcile to the one just parsed, or <code>null</code> if either has no project to compare.
+	 */
+	private AntModelDelta computeDelta() {
+		Snapshot completed = fCompleted;
+		AntProjectNode oldNode = completed.projectNode;
+		AntProjectNode newNode = fProjectNode;
+		if (oldNode == null || newNode == null || oldNode.getOffset() == -1 || newNode.getOffset() == -1) {
+			return null;
 		}
+		List<IAntElement> oldRoots = new ArrayList<>(completed.nonStructuralNodes.size() + 1);
+		oldRoots.add(oldNode);
+		oldRoots.addAll(completed.nonStructuralNodes);
+		List<IAntElement> newRoots = new ArrayList<>(fNonStructuralNodes.size() + 1);
+		newRoots.add(newNode);
+		newRoots.addAll(fNonStructuralNodes);
+		return AntModelDelta.compute(oldRoots, newRoots);
+	}
+
+	/**
+	 * Cancels the parse in progress if the document changed since it started.
+	 * 
+	 * @throws OperationCanceledException
+	 *             if the document changed
+	 */
+	private void checkCanceled() {
+		if (fParsedDocument != null && fParsedVersion != fDocumentVersion) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Returns the document that offsets refer to: the copy being parsed in the thread reconciling this model, the edited document otherwise.
+	 */
+	private IDocument getDocument() {
+		if (fParsedDocument != null && fReconcileLock.isHeldByCurrentThread()) {
+			return fParsedDocument;
+		}
+		return fDocument;
 	}
 
 	private void reset() {
@@ -325,19 +480,36 @@ public class AntModel implements IAntModel {
 			fPreviousDefinersToText = new HashMap<>(fDefinersToText);
 			fDefinersToText = null;
 		}
+		// the parse updates these tables: copy them, readers still use those of the last completed reconcile
+		if (fTaskNameToDefiningNode != null) {
+			fTaskNameToDefiningNode = new HashMap<>(fTaskNameToDefiningNode);
+			fDefinerNodeIdentifierToDefinedTasks = new HashMap<>(fDefinerNodeIdentifierToDefinedTasks);
+		}
+		if (fEntityNameToPath != null) {
+			fEntityNameToPath = new HashMap<>(fEntityNameToPath);
+		}
+	}
+
+	/**
+	 * Returns the state readers use: the state being built in the thread reconciling this model, that of the last completed reconcile otherwise.
+	 */
+	private Snapshot getSnapshot() {
+		if (fReconcileLock.isHeldByCurrentThread()) {
+			return new Snapshot();
+		}
+		return fCompleted;
 	}
 
 	private void parseDocument(IDocument input) {
-		boolean parsed = true;
 		if (input.getLength() == 0) {
 			fProjectNode = null;
-			parsed = false;
 			return;
 		}
 		ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
 		ClassLoader parsingClassLoader = getClassLoader(originalClassLoader);
 		Thread.currentThread().setContextClassLoader(parsingClassLoader);
 		Project project = null;
+		boolean canceled = false;
 		try {
 			ProjectHelper projectHelper = null;
 			String textToParse = input.get();
@@ -346,10 +518,10 @@ public class AntModel implements IAntModel {
 				project = new AntModelProject();
 				projectHelper = prepareForFullParse(project, parsingClassLoader);
 			} else {
-				project = fProjectNode.getProject();
-				projectHelper = (ProjectHelper) project.getReference("ant.projectHelper"); //$NON-NLS-1$
-				projectHelper.setBuildFile(getEditedFile());
-				prepareForFullIncremental();
+				// readers may still use the last completed project: parse into a new project that starts from its definitions
+				AntModelProject previous = (AntModelProject) fProjectNode.getProject();
+				project = new AntModelProject(previous);
+				projectHelper = prepareForFullIncremental(previous, project);
 			}
 			beginReporting();
 			Map<String, Object> references = project.getReferences();
@@ -361,28 +533,37 @@ public class AntModel implements IAntModel {
 		catch (BuildException e) {
 			handleBuildException(e, null);
 		}
+		catch (OperationCanceledException e) {
+			canceled = true;
+			throw e;
+		}
 		finally {
-			if (parsed) {
-				SecurityManager origSM = System.getSecurityManager();
-				processAntHome(true);
-				try {
-					// set a security manager to disallow system exit and system property setting
-					System.setSecurityManager(new AntSecurityManager(origSM, Thread.currentThread(), false));
-					resolveBuildfile();
-					endReporting();
-					// clear the additional property-holder(s) to avoid potential memory leaks
-					ProjectHelper.clearAdditionalPropertyHolders();
-				}
-				catch (AntSecurityException e) {
-					// do nothing
+			try {
+				if (!canceled) {
+					processAntHome(true);
+					// disallow system exit and system property setting on this thread
+					try (AntSystemGuard.Scope restriction = AntSystemGuard.restrict(false)) {
+						resolveBuildfile();
+					}
+					catch (AntSecurityException e) {
+						// do nothing
+					}
+					catch (OperationCanceledException e) {
+						canceled = true;
+						throw e;
+					}
 				}
-				catch (UnsupportedOperationException ex) {
-					AntUIPlugin.log(new Status(IStatus.ERROR, AntUIPlugin.getUniqueIdentifier(), 0, AntModelMessages.AntModel_SecurityManagerError, null));
+			}
+			finally {
+				// a canceled parse leaves its problems unreported: the next parse begins a new report
+				if (!canceled) {
+					endReporting();
 				}
-				finally {
-					Thread.currentThread().setContextClassLoader(originalClassLoader);
-					getClassLoader(null);
-					System.setSecurityManager(origSM);
+				// clear the additional property-holder(s) to avoid potential memory leaks
+				ProjectHelper.clearAdditionalPropertyHolders();
+				Thread.currentThread().setContextClassLoader(originalClassLoader);
+				getClassLoader(null);
+				if (project != null) {
 					project.fireBuildFinished(null); // cleanup (IntrospectionHelper)
 				}
 			}
@@ -390,7 +571,17 @@ public class AntModel implements IAntModel {
 	}
 
 	private ProjectHelper prepareForFullParse(Project project, ClassLoader parsingClassLoader) {
-		initializeProject(project, parsingClassLoader);
+		initializeProject(project, getPrototypeHelper(parsingClassLoader));
+		return prepareProject(project, getProjectHelper());
+	}
+
+	private ProjectHelper prepareForFullIncremental(AntModelProject previous, AntModelProject project) {
+		initializeProject(project, ComponentHelper.getComponentHelper(previous));
+		fProjectNode = new AntProjectNode(project, this);
+		return prepareProject(project, (ProjectHelper) previous.getReference("ant.projectHelper")); //$NON-NLS-1$
+	}
+
+	private ProjectHelper prepareProject(Project project, ProjectHelper projectHelper) {
 		// Ant's parsing facilities always works on a file, therefore we need
 		// to determine the actual location of the file. Though the file
 		// contents will not be parsed. We parse the passed document string
@@ -402,34 +593,50 @@ public class AntModel implements IAntModel {
 		project.setUserProperty("ant.file", filePath); //$NON-NLS-1$
 		project.setUserProperty("ant.version", Main.getAntVersion()); //$NON-NLS-1$
 
-		ProjectHelper projectHelper = getProjectHelper();
 		ProjectHelper.setAntModel(this);
 		projectHelper.setBuildFile(file);
 		project.addReference("ant.projectHelper", projectHelper); //$NON-NLS-1$
 		return projectHelper;
 	}
 
-	private void prepareForFullIncremental() {
-		fProjectNode.reset();
-		fTaskToNode = new HashMap<>();
-		fTaskNodes = new ArrayList<>();
-	}
-
-	private void initializeProject(Project project, ClassLoader loader) {
+	/**
+	 * Initializes the properties of the given project and copies the definitions of the given component helper into it.
+	 */
+	private void initializeProject(Project project, ComponentHelper definitions) {
 		try {
 			processAntHome(false);
 		}
 		catch (AntSecurityException ex) {
 			// do nothing - Ant home can not be set from this thread
 		}
-		project.init();
+		project.initProperties();
+		ComponentHelper.getComponentHelper(project).initSubProject(definitions);
 		setProperties(project);
-		setTasks(project, loader);
-		setTypes(project, loader);
 	}
 
-	private void setTasks(Project project, ClassLoader loader) {
-		List<org.eclipse.ant.core.Task> tasks = AntCorePlugin.getPlugin().getPreferences().getTasks();
+	/**
+	 * Returns the component helper of a project holding the default definitions of Ant and the contributed tasks and types, loaded by the given
+	 * class loader. It is built once for the current runtime snapshot of the Ant preferences and class loader, and its definitions are copied into
+	 * every project parsed from scratch.
+	 */
+	private static ComponentHelper getPrototypeHelper(ClassLoader loader) {
+		AntRuntimeSnapshot runtime = AntRuntimeSnapshot.getSnapshot(AntCorePlugin.getPlugin().getPreferences());
+		synchronized (loaderLock) {
+			if (fgPrototypeHelper == null || fgPrototypeLoader != loader || fgPrototypeStamp != runtime.getStamp()) {
+				Project prototype = new Project();
+				prototype.init();
+				setTasks(prototype, loader, runtime);
+				setTypes(prototype, loader, runtime);
+				fgPrototypeHelper = ComponentHelper.getComponentHelper(prototype);
+				fgPrototypeLoader = loader;
+				fgPrototypeStamp = runtime.getStamp();
+			}
+			return fgPrototypeHelper;
+		}
+	}
+
+	private static void setTasks(Project project, ClassLoader loader, AntRuntimeSnapshot runtime) {
+		List<org.eclipse.ant.core.Task> tasks = runtime.getTasks();
 		for (org.eclipse.ant.core.Task task : tasks) {
 			AntTypeDefinition def = new AntTypeDefinition();
 			def.setName(task.getTaskName());
@@ -441,8 +648,8 @@ public class AntModel implements IAntModel {
 		}
 	}
 
-	private void setTypes(Project project, ClassLoader loader) {
-		List<Type> types = AntCorePlugin.getPlugin().getPreferences().getTypes();
+	private static void setTypes(Project project, ClassLoader loader, AntRuntimeSnapshot runtime) {
+		List<Type> types = runtime.getTypes();
 		for (Type type : types) {
 			AntTypeDefinition def = new AntTypeDefinition();
 			def.setName(type.getTypeName());
@@ -484,7 +691,7 @@ public class AntModel implements IAntModel {
 	private void loadExtraPropertyFiles(Project project) {
 		if (fPropertyFiles != null) {
 			try {
-				List<Properties> allProperties = AntCoreUtil.loadPropertyFiles(fPropertyFiles, project.getUserProperty("basedir"), getEditedFile().getAbsolutePath()); //$NON-NLS-1$
+				List<Map<String, String>> allProperties = AntCoreUtil.loadPropertyFiles(fPropertyFiles, project.getUserProperty("basedir"), getEditedFile().getAbsolutePath()); //$NON-NLS-1$
 				setPropertiesFromFiles(project, allProperties);
 			}
 			catch (IOException e1) {
@@ -499,7 +706,7 @@ public class AntModel implements IAntModel {
 	private void loadPropertyFiles(Project project) {
 		List<String> fileNames = Arrays.asList(AntCorePlugin.getPlugin().getPreferences().getCustomPropertyFiles());
 		try {
-			List<Properties> allProperties = AntCoreUtil.loadPropertyFiles(fileNames, project.getUserProperty("basedir"), getEditedFile().getAbsolutePath()); //$NON-NLS-1$
+			List<Map<String, String>> allProperties = AntCoreUtil.loadPropertyFiles(fileNames, project.getUserProperty("basedir"), getEditedFile().getAbsolutePath()); //$NON-NLS-1$
 			setPropertiesFromFiles(project, allProperties);
 		}
 		catch (IOException e1) {
@@ -507,14 +714,12 @@ public class AntModel implements IAntModel {
 		}
 	}
 
-	private void setPropertiesFromFiles(Project project, List<Properties> allProperties) {
-		for (Properties props : allProperties) {
-			Enumeration<?> propertyNames = props.propertyNames();
-			while (propertyNames.hasMoreElements()) {
-				String name = (String) propertyNames.nextElement();
+	private void setPropertiesFromFiles(Project project, List<Map<String, String>> allProperties) {
+		for (Map<String, String> props : allProperties) {
+			for (Entry<String, String> entry : props.entrySet()) {
 				// do not override extra local properties with the global settings
-				if (project.getUserProperty(name) == null) {
-					project.setUserProperty(name, props.getProperty(name));
+				if (project.getUserProperty(entry.getKey()) == null) {
+					project.setUserProperty(entry.getKey(), entry.getValue());
 				}
 			}
 		}
@@ -540,7 +745,7 @@ public class AntModel implements IAntModel {
 	}
 
 	private void setGlobalProperties(Project project) {
-		List<Property> properties = AntCorePlugin.getPlugin().getPreferences().getProperties();
+		List<Property> properties = AntRuntimeSnapshot.getSnapshot(AntCorePlugin.getPlugin().getPreferences()).getProperties();
 		if (properties != null) {
 			for (Property property : properties) {
 				String value = property.getValue(true);
@@ -555,6 +760,7 @@ public class AntModel implements IAntModel {
 		Collection<AntTaskNode> nodeCopy = new ArrayList<>(fTaskNodes);
 		Iterator<AntTaskNode> iter = nodeCopy.iterator();
 		while (iter.hasNext()) {
+			checkCanceled();
 			AntTaskNode node = iter.next();
 			fNodeBeingResolved = node;
 			fNodeBeingResolvedIndex = -1;
@@ -754,6 +960,7 @@ public class AntModel implements IAntModel {
 
 	@Override
 	public void addTarget(Target newTarget, int line, int column) {
+		checkCanceled();
 		AntTargetNode targetNode = AntTargetNode.newAntTargetNode(newTarget);
 		fProjectNode.addChildNode(targetNode);
 		fCurrentTargetNode = targetNode;
@@ -803,6 +1010,7 @@ public class AntModel implements IAntModel {
 
 	@Override
 	public void addTask(Task newTask, Task parentTask, Attributes attributes, int line, int column) {
+		checkCanceled();
 		if (!canGetTaskInfo()) {
 			// need to add top level tasks so imports are executed even when
 			// the model is not interested in task level resolution
@@ -995,7 +1203,8 @@ public class AntModel implements IAntModel {
 			int offset;
 			if (column <= 0) {
 				column = getLastCharColumn(line);
-				String lineText = fDocument.get(fDocument.getLineOffset(line - 1), column);
+				IDocument document = getDocument();
+				String lineText = document.get(document.getLineOffset(line - 1), column);
 				StringBuilder searchString = new StringBuilder("</"); //$NON-NLS-1$
 				searchString.append(element.getName());
 				searchString.append('>');
@@ -1057,7 +1266,8 @@ public class AntModel implements IAntModel {
 	}
 
 	private int computeOffsetUsingPrefix(int line, int offset, String prefix, int column) throws BadLocationException {
-		String lineText = fDocument.get(fDocument.getLineOffset(line - 1), column);
+		IDocument document = getDocument();
+		String lineText = document.get(document.getLineOffset(line - 1), column);
 		int lastIndex = lineText.indexOf(prefix);
 		if (lastIndex > -1) {
 			offset = getOffset(line, lastIndex + 1);
@@ -1069,12 +1279,13 @@ public class AntModel implements IAntModel {
 
 	@Override
 	public int getOffset(int line, int column) throws BadLocationException {
-		return fDocument.getLineOffset(line - 1) + column - 1;
+		return getDocument().getLineOffset(line - 1) + column - 1;
 	}
 
 	private int getNonWhitespaceOffset(int line, int column) throws BadLocationException {
-		int offset = fDocument.getLineOffset(line - 1) + column - 1;
-		while (Character.isWhitespace(fDocument.getChar(offset))) {
+		IDocument document = getDocument();
+		int offset = document.getLineOffset(line - 1) + column - 1;
+		while (Character.isWhitespace(document.getChar(offset))) {
 			offset++;
 		}
 		return offset;
@@ -1082,7 +1293,7 @@ public class AntModel implements IAntModel {
 
 	public int getLine(int offset) {
 		try {
-			return fDocument.getLineOfOffset(offset) + 1;
+			return getDocument().getLineOfOffset(offset) + 1;
 		}
 		catch (BadLocationException be) {
 			return -1;
@@ -1090,9 +1301,10 @@ public class AntModel implements IAntModel {
 	}
 
 	private int getLastCharColumn(int line) throws BadLocationException {
-		String lineDelimiter = fDocument.getLineDelimiter(line - 1);
+		IDocument document = getDocument();
+		String lineDelimiter = document.getLineDelimiter(line - 1);
 		int lineDelimiterLength = lineDelimiter != null ? lineDelimiter.length() : 0;
-		return fDocument.getLineLength(line - 1) - lineDelimiterLength;
+		return document.getLineLength(line - 1) - lineDelimiterLength;
 	}
 
 	@Override
@@ -1355,13 +1567,14 @@ public class AntModel implements IAntModel {
 
 	@Override
 	public String getEntityName(String path) {
-		if (fEntityNameToPath != null) {
-			Iterator<String> itr = fEntityNameToPath.keySet().iterator();
+		Map<String, String> entityNameToPath = getSnapshot().entityNameToPath;
+		if (entityNameToPath != null) {
+			Iterator<String> itr = entityNameToPath.keySet().iterator();
 			String entityPath;
 			String name;
 			while (itr.hasNext()) {
 				name = itr.next();
-				entityPath = fEntityNameToPath.get(name);
+				entityPath = entityNameToPath.get(name);
 				if (entityPath.equals(path)) {
 					return name;
 				}
@@ -1413,14 +1626,20 @@ public class AntModel implements IAntModel {
 		return null;
 	}
 
+	/**
+	 * Returns the project node of this model. While another thread reconciles the model, the project node of the last completed reconcile is
+	 * returned without waiting; it is only waited for if there is none yet.
+	 */
 	@Override
 	public AntProjectNode getProjectNode(boolean doReconcile) {
+		if (fReconcileLock.isHeldByCurrentThread()) {
+			// called while parsing
+			return fProjectNode;
+		}
 		if (doReconcile) {
-			synchronized (getLockObject()) { // ensure to wait for any current synchronization
-				reconcile();
-			}
+			reconcile(fReconcileStamp == 0);
 		}
-		return fProjectNode;
+		return fCompleted.projectNode;
 	}
 
 	@Override
@@ -1428,6 +1647,35 @@ public class AntModel implements IAntModel {
 		return getProjectNode(true);
 	}
 
+	/**
+	 * Returns the project node of the last completed reconcile, without reconciling, if the document did not change since.
+	 * 
+	 * @return the project node of the document as it is, or <code>null</code> if there is none or the document changed since the last reconcile
+	 */
+	public AntProjectNode getReconciledProjectNode() {
+		Snapshot completed = fCompleted;
+		return completed.documentVersion == fDocumentVersion ? completed.projectNode : null;
+	}
+
+	/**
+	 * Returns a stamp that changes each time this model is reconciled. Data derived from the project of the model, such as the tasks, types and
+	 * properties it defines, are current as long as the stamp has not changed.
+	 * 
+	 * @return the reconcile stamp of this model
+	 */
+	public int getReconcileStamp() {
+		return fReconcileStamp;
+	}
+
+	/**
+	 * Returns how long the last completed reconcile of this model took.
+	 * 
+	 * @return the duration in milliseconds
+	 */
+	public long getReconcileDuration() {
+		return fReconcileDuration;
+	}
+
 	public AntElementNode getNode(int offset, boolean waitForReconcile) {
 		if (getProjectNode(waitForReconcile) != null) {
 			return getProjectNode(waitForReconcile).getNode(offset);
@@ -1505,8 +1753,9 @@ public class AntModel implements IAntModel {
 	}
 
 	public String getPath(String text, int offset) {
-		if (fEntityNameToPath != null) {
-			String path = fEntityNameToPath.get(text);
+		Map<String, String> entityNameToPath = getSnapshot().entityNameToPath;
+		if (entityNameToPath != null) {
+			String path = entityNameToPath.get(text);
 			if (path != null) {
 				return path;
 			}
@@ -1521,7 +1770,7 @@ public class AntModel implements IAntModel {
 	@Override
 	public String getText(int offset, int length) {
 		try {
-			return fDocument.get(offset, length);
+			return getDocument().get(offset, length);
 		}
 		catch (BadLocationException e) {
 			// do nothing
@@ -1555,7 +1804,7 @@ public class AntModel implements IAntModel {
 	}
 
 	public List<AntElementNode> getNonStructuralNodes() {
-		return fNonStructuralNodes;
+		return getSnapshot().nonStructuralNodes;
 	}
 
 	public void updateForInitialReconcile() {
@@ -1581,7 +1830,8 @@ public class AntModel implements IAntModel {
 			return null;
 		}
 
-		Set<Task> nodes = fTaskToNode.keySet();
+		Map<Task, AntTaskNode> taskToNode = getSnapshot().taskToNode;
+		Set<Task> nodes = taskToNode.keySet();
 		Iterator<Task> iter = nodes.iterator();
 		while (iter.hasNext()) {
 			Task task = iter.next();
@@ -1592,7 +1842,7 @@ public class AntModel implements IAntModel {
 				Map<String, Object> attributes = wrapper.getAttributeMap();
 				String id = (String) attributes.get("id"); //$NON-NLS-1$
 				if (text.equals(id)) {
-					return fTaskToNode.get(task);
+					return taskToNode.get(task);
 				}
 			}
 		}
@@ -1638,7 +1888,7 @@ public class AntModel implements IAntModel {
 
 			@Override
 			public void documentChanged(DocumentEvent event) {
-				// do nothing
+				fDocumentVersion++;
 			}
 		};
 		fDocument.addDocumentListener(fListener);
@@ -1646,7 +1896,13 @@ public class AntModel implements IAntModel {
 
 	private void reconcileForPropertyChange(boolean classpathChanged) {
 		if (classpathChanged) {
-			fProjectNode = null; // need to reset tasks, types and properties
+			fReconcileLock.lock();
+			try {
+				fProjectNode = null; // need to reset tasks, types and properties
+			}
+			finally {
+				fReconcileLock.unlock();
+			}
 			fgClassLoader = null;
 			AntDefiningTaskNode.setJavaClassPath();
 			ProjectHelper.reset();
@@ -1731,11 +1987,12 @@ public class AntModel implements IAntModel {
 	}
 
 	public AntDefiningTaskNode getDefininingTaskNode(String nodeName) {
-		if (fTaskNameToDefiningNode != null) {
-			AntDefiningTaskNode node = fTaskNameToDefiningNode.get(nodeName);
+		Map<String, AntDefiningTaskNode> taskNameToDefiningNode = getSnapshot().taskNameToDefiningNode;
+		if (taskNameToDefiningNode != null) {
+			AntDefiningTaskNode node = taskNameToDefiningNode.get(nodeName);
 			if (node == null) {
 				nodeName = getNamespaceCorrectName(nodeName);
-				node = fTaskNameToDefiningNode.get(nodeName);
+				node = taskNameToDefiningNode.get(nodeName);
 			}
 			return node;
 		}
@@ -1759,10 +2016,11 @@ public class AntModel implements IAntModel {
 	}
 
 	public AntTaskNode getMacroDefAttributeNode(String macroDefAttributeName) {
-		if (fTaskNameToDefiningNode == null) {
+		Map<String, AntDefiningTaskNode> taskNameToDefiningNode = getSnapshot().taskNameToDefiningNode;
+		if (taskNameToDefiningNode == null) {
 			return null;
 		}
-		for (AntDefiningTaskNode definingNode : fTaskNameToDefiningNode.values()) {
+		for (AntDefiningTaskNode definingNode : taskNameToDefiningNode.values()) {
 			List<IAntElement> attributes = definingNode.getChildNodes();
 			if (attributes != null) {
 				for (IAntElement element : attributes) {
@@ -1796,15 +2054,17 @@ public class AntModel implements IAntModel {
 	}
 
 	private String getPrefixMapping(String prefix) {
-		if (fNamespacePrefixMappings != null) {
-			return fNamespacePrefixMappings.get(prefix);
+		Map<String, String> namespacePrefixMappings = getSnapshot().namespacePrefixMappings;
+		if (namespacePrefixMappings != null) {
+			return namespacePrefixMappings.get(prefix);
 		}
 		return null;
 	}
 
 	private String getUserPrefixMapping(String prefix) {
-		if (fNamespacePrefixMappings != null) {
-			Set<Entry<String, String>> entrySet = fNamespacePrefixMappings.entrySet();
+		Map<String, String> namespacePrefixMappings = getSnapshot().namespacePrefixMappings;
+		if (namespacePrefixMappings != null) {
+			Set<Entry<String, String>> entrySet = namespacePrefixMappings.entrySet();
 			Iterator<Entry<String, String>> entries = entrySet.iterator();
 			while (entries.hasNext()) {
 				Map.Entry<String, String> entry = entries.next();
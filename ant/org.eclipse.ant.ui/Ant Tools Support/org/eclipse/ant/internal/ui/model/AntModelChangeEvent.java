@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2005 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ public class AntModelChangeEvent {
 
 	private IAntModel fModel;
 	private boolean fPreferenceChange = false;
+	private AntModelDelta fDelta;
 
 	public AntModelChangeEvent(IAntModel model) {
 		fModel = model;
@@ -28,6 +29,11 @@ public class AntModelChangeEvent {
 		fPreferenceChange = preferenceChange;
 	}
 
+	public AntModelChangeEvent(IAntModel model, AntModelDelta delta) {
+		fModel = model;
+		fDelta = delta;
+	}
+
 	public IAntModel getModel() {
 		return fModel;
 	}
@@ -40,4 +46,13 @@ public class AntModelChangeEvent {
 	public boolean isPreferenceChange() {
 		return fPreferenceChange;
 	}
+
+	/**
+	 * Returns the structural changes of the Ant model, or <code>null</code> if they are not known and the whole model should be refreshed.
+	 * 
+	 * @return the changes from the previous reconcile or <code>null</code>
+	 */
+	public AntModelDelta getDelta() {
+		return fDelta;
+	}
 }
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.ui.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The structural changes of an Ant model from one reconcile to the next: the elements added, the elements removed and the elements kept whose
+ * position or problem changed.
+ * <p>
+ * Each reconcile builds new elements, so the elements of the two reconciles are matched by a key made of the keys of their parents, their name and
+ * label, and how many siblings before them have the same name and label. Unlike the element path, the key of an element does not change when a
+ * sibling with another name is added or removed before it.
+ * </p>
+ */
+public class AntModelDelta {
+
+	private final Map<String, IAntElement> fAdded = new LinkedHashMap<>();
+	private final Map<String, IAntElement> fRemoved = new LinkedHashMap<>();
+	private final Map<String, IAntElement> fChanged = new LinkedHashMap<>();
+	private final List<IAntElement> fStructureChanged = new ArrayList<>();
+
+	private AntModelDelta() {
+	}
+
+	/**
+	 * Computes the changes from the elements of one reconcile to the elements of the next.
+	 *
+	 * @param oldRoots
+	 *            the top level elements of the previous reconcile
+	 * @param newRoots
+	 *            the top level elements of the current reconcile
+	 * @return the delta from the old elements to the new ones
+	 */
+	public static AntModelDelta compute(List<? extends IAntElement> oldRoots, List<? extends IAntElement> newRoots) {
+		Map<String, IAntElement> oldElements = getElementsByKey(oldRoots);
+		Map<String, IAntElement> newElements = getElementsByKey(newRoots);
+		Map<IAntElement, String> newKeys = new HashMap<>(newElements.size() * 4 / 3 + 1);
+		AntModelDelta delta = new AntModelDelta();
+		for (Entry<String, IAntElement> entry : newElements.entrySet()) {
+			String key = entry.getKey();
+			IAntElement element = entry.getValue();
+			newKeys.put(element, key);
+			IAntElement oldElement = oldElements.get(key);
+			if (oldElement == null) {
+				delta.fAdded.put(key, element);
+				IAntElement parent = element.getParentNode();
+				if (parent != null && oldElements.containsKey(newKeys.get(parent))) {
+					delta.addStructureChanged(parent);
+				}
+			} else if (oldElement.getOffset() != element.getOffset() || oldElement.getLength() != element.getLength()
+					|| oldElement.isErrorNode() != element.isErrorNode() || oldElement.isWarningNode() != element.isWarningNode()) {
+				delta.fChanged.put(key, element);
+			}
+		}
+		Map<IAntElement, String> oldKeys = new HashMap<>(oldElements.size() * 4 / 3 + 1);
+		for (Entry<String, IAntElement> entry : oldElements.entrySet()) {
+			oldKeys.put(entry.getValue(), entry.getKey());
+		}
+		for (Entry<String, IAntElement> entry : oldElements.entrySet()) {
+			if (newElements.containsKey(entry.getKey())) {
+				continue;
+			}
+			IAntElement element = entry.getValue();
+			delta.fRemoved.put(entry.getKey(), element);
+			IAntElement parent = element.getParentNode();
+			if (parent != null) {
+				IAntElement newParent = newElements.get(oldKeys.get(parent));
+				if (newParent != null) {
+					delta.addStructureChanged(newParent);
+				}
+			}
+		}
+		return delta;
+	}
+
+	/**
+	 * Returns the elements of the given trees by their key, parents before their children.
+	 *
+	 * @param roots
+	 *            the top level elements
+	 * @return the elements of the trees by key
+	 */
+	public static Map<String, IAntElement> getElementsByKey(List<? extends IAntElement> roots) {
+		Map<String, IAntElement> elements = new LinkedHashMap<>();
+		addElements("", roots, elements);
+		return elements;
+	}
+
+	private static void addElements(String parentKey, List<? extends IAntElement> children, Map<String, IAntElement> elements) {
+		Map<String, Integer> occurrences = new HashMap<>();
+		for (IAntElement child : children) {
+			StringBuilder key = new StringBuilder(parentKey);
+			key.append('/');
+			String name = child.getName();
+			if (name != null) {
+				key.append(name);
+			}
+			key.append('$');
+			String label = child.getLabel();
+			if (label != null) {
+				key.append(label);
+			}
+			String identifier = key.toString();
+			Integer occurrence = occurrences.get(identifier);
+			int index = occurrence == null ? 0 : occurrence.intValue() + 1;
+			occurrences.put(identifier, Integer.valueOf(index));
+			key.append('[').append(index).append(']');
+			String childKey = key.toString();
+			elements.put(childKey, child);
+			List<IAntElement> grandChildren = child.getChildNodes();
+			if (grandChildren != null && !grandChildren.isEmpty()) {
+				addElements(childKey, grandChildren, elements);
+			}
+		}
+	}
+
+	private void addStructureChanged(IAntElement parent) {
+		if (!fStructureChanged.contains(parent)) {
+			fStructureChanged.add(parent);
+		}
+	}
+
+	/**
+	 * Returns the elements of the current reconcile that have no match in the previous one, by key.
+	 *
+	 * @return the added elements
+	 */
+	public Map<String, IAntElement> getAdded() {
+		return Collections.unmodifiableMap(fAdded);
+	}
+
+	/**
+	 * Returns the elements of the previous reconcile that have no match in the current one, by key.
+	 *
+	 * @return the removed elements
+	 */
+	public Map<String, IAntElement> getRemoved() {
+		return Collections.unmodifiableMap(fRemoved);
+	}
+
+	/**
+	 * Returns the elements of the current reconcile whose offset, length or problem severity differs from their match in the previous one, by key.
+	 *
+	 * @return the changed elements
+	 */
+	public Map<String, IAntElement> getChanged() {
+		return Collections.unmodifiableMap(fChanged);
+	}
+
+	/**
+	 * Returns the elements of the current reconcile, matched in the previous one, that gained or lost children.
+	 *
+	 * @return the elements whose children changed
+	 */
+	public List<IAntElement> getStructureChanged() {
+		return Collections.unmodifiableList(fStructureChanged);
+	}
+
+	/**
+	 * Returns whether nothing changed.
+	 *
+	 * @return <code>true</code> if no element was added, removed or changed
+	 */
+	public boolean isEmpty() {
+		return fAdded.isEmpty() && fRemoved.isEmpty() && fChanged.isEmpty();
+	}
+}
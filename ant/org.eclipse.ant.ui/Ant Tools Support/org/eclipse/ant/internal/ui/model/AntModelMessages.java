@@ -1,5 +1,5 @@
 /**********************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,7 +33,6 @@ public class AntModelMessages extends NLS {
 	public static String AntProjectNode_0;
 	public static String AntPropertyNode_0;
 	public static String AntPropertyNode_1;
-	public static String AntModel_SecurityManagerError;
 
 	static {
 		// load message values from bundle file
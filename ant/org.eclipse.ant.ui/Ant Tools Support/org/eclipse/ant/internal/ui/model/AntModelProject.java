@@ -71,6 +71,28 @@ public class AntModelProject extends Project {
 		PropertyHelper.getPropertyHelper(this).add(new AntPropertyHelper());
 	}
 
+	/**
+	 * Constructor for a project parsing a new version of the buildfile of the given project
+	 * <p>
+	 * The class loaders of the previous project are cleaned up and reused; the previous project is otherwise left unchanged, as it may still be read
+	 * while the new one is being parsed.
+	 * </p>
+	 *
+	 * @param previous
+	 *            the project of the previous parse
+	 * @noreference This constructor is not intended to be referenced by clients.
+	 */
+	public AntModelProject(AntModelProject previous) {
+		this();
+		synchronized (loaderLock) {
+			if (previous.loaders == null) {
+				previous.loaders = new Hashtable<>(8);
+			}
+			cleanupLoaders(previous.loaders);
+			loaders = previous.loaders;
+		}
+	}
+
 	@Override
 	public void setNewProperty(String name, String value) {
 		if (PropertyHelper.getPropertyHelper(this).getProperty(name) != null) {
@@ -105,18 +127,22 @@ public class AntModelProject extends Project {
 		setName(IAntCoreConstants.EMPTY_STRING);
 		synchronized (loaderLock) {
 			if (loaders != null) {
-				Iterator<Entry<String, AntClassLoader>> i = loaders.entrySet().iterator();
-				Entry<String, AntClassLoader> e = null;
-				while (i.hasNext()) {
-					e = i.next();
-					AntClassLoader acl = e.getValue();
-					acl.cleanup();
-					acl.clearAssertionStatus();
-				}
+				cleanupLoaders(loaders);
 			}
 		}
 	}
 
+	private static void cleanupLoaders(Hashtable<String, AntClassLoader> loaders) {
+		Iterator<Entry<String, AntClassLoader>> i = loaders.entrySet().iterator();
+		Entry<String, AntClassLoader> e = null;
+		while (i.hasNext()) {
+			e = i.next();
+			AntClassLoader acl = e.getValue();
+			acl.cleanup();
+			acl.clearAssertionStatus();
+		}
+	}
+
 	@Override
 	public String getProperty(String name) {
 		// override as we cannot remove properties from the Apache Ant project
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,8 @@ public class AntProjectNodeProxy extends AntProjectNode {
 		}
 		fChildNodes = null;
 		fParsed = true;
+		setProblemSeverity(AntModelProblem.NO_PROBLEM);
+		setProblemMessage(null);
 		AntTargetNode[] nodes = null;
 		IPath buildFilePath = AntUtil.getFile(getBuildFileName()).getLocation();
 		if (buildFilePath == null) {
@@ -147,10 +149,11 @@ public class AntProjectNodeProxy extends AntProjectNode {
 
 	@Override
 	public boolean isErrorNode() {
-		if (fProject == null) {
+		AntProjectNode parsedNode = getParsedNode();
+		if (parsedNode == null) {
 			return super.isErrorNode();
 		}
-		return getRealNode().isErrorNode();
+		return parsedNode.isErrorNode();
 	}
 
 	@Override
@@ -163,10 +166,22 @@ public class AntProjectNodeProxy extends AntProjectNode {
 
 	@Override
 	public boolean isWarningNode() {
-		if (fProject == null) {
+		AntProjectNode parsedNode = getParsedNode();
+		if (parsedNode == null) {
 			return super.isWarningNode();
 		}
-		return getRealNode().isWarningNode();
+		return parsedNode.isWarningNode();
+	}
+
+	/**
+	 * Returns the project node of the last parse of the buildfile, without parsing it. There is none when the targets were restored from the
+	 * {@link AntTargetCache}, which only keeps buildfiles without problems.
+	 */
+	private AntProjectNode getParsedNode() {
+		if (fProject != null && fModel != null) {
+			return fModel.getProjectNode(false);
+		}
+		return null;
 	}
 
 	private AntProjectNode getRealNode() {
@@ -0,0 +1,425 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ant.internal.ui.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.tools.ant.ExtensionPoint;
+import org.apache.tools.ant.Target;
+import org.eclipse.ant.internal.ui.AntUIPlugin;
+
+/**
+ * The targets of the buildfiles parsed for the Ant view and the launch dialog, kept across sessions in the state area of the plug-in so that they
+ * can be shown again without parsing the buildfile.
+ * <p>
+ * A buildfile is looked up by its path and by a variant that sums up whatever else changes its targets, such as the properties and classpath of a
+ * launch configuration. An entry is only used while the digest of the contents of the buildfile is the one it was recorded for. Buildfiles that
+ * import or include other files or declare entities are not cached, as their targets also depend on files whose changes are not seen here; nor
+ * are buildfiles with errors, whose problems are only known by parsing.
+ * </p>
+ * <p>
+ * The cache holds the name, description and default target of the project and the name, description, dependencies, conditions and position of
+ * each target. Restored targets have no tasks: the buildfile is parsed for them the first time the children of a target are asked for.
+ * </p>
+ */
+public class AntTargetCache {
+
+	private static final String CACHE_FILE = "targetCache.dat"; //$NON-NLS-1$
+	private static final int VERSION = 2;
+	private static final int MAX_ENTRIES = 256;
+
+	private static AntTargetCache fgDefault;
+
+	private final Map<String, Entry> fEntries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+	private final File fFile;
+	private boolean fDirty = false;
+
+	/**
+	 * The cached project of a buildfile
+	 */
+	private static class Entry {
+		String fStamp;
+		String fName;
+		String fDescription;
+		String fDefaultTarget;
+		final List<TargetInfo> fTargets = new ArrayList<>();
+	}
+
+	/**
+	 * A cached target
+	 */
+	private static class TargetInfo {
+		String fName;
+		String fDescription;
+		String fIf;
+		String fUnless;
+		boolean fExtensionPoint;
+		final List<String> fDependencies = new ArrayList<>();
+		int fOffset;
+		int fLength;
+		int fSelectionLength;
+		boolean fHasChildren;
+	}
+
+	/**
+	 * Creates a cache stored in the given file.
+	 *
+	 * @param file
+	 *            the file to load the cache from and save it to, or <code>null</code> if the cache is only kept in memory
+	 */
+	public AntTargetCache(File file) {
+		fFile = file;
+		if (file != null && file.isFile()) {
+			load();
+		}
+	}
+
+	/**
+	 * Returns the cache of the workspace, stored in the state area of the Ant UI plug-in.
+	 *
+	 * @return the shared target cache
+	 */
+	public static synchronized AntTargetCache getDefault() {
+		if (fgDefault == null) {
+			File file = null;
+			AntUIPlugin plugin = AntUIPlugin.getDefault();
+			if (plugin != null) {
+				file = plugin.getStateLocation().append(CACHE_FILE).toFile();
+			}
+			fgDefault = new AntTargetCache(file);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Saves the shared cache if it was used and changed. Called when the Ant UI plug-in stops.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			fgDefault.save();
+			fgDefault = null;
+		}
+	}
+
+	/**
+	 * Returns the digest identifying the given contents of a buildfile.
+	 *
+	 * @param contents
+	 *            the contents of the buildfile
+	 * @return the digest of the contents
+	 */
+	public static String getStamp(String contents) {
+		return digest(contents);
+	}
+
+	/**
+	 * Returns the key of a buildfile in the cache.
+	 *
+	 * @param path
+	 *            the absolute path of the buildfile
+	 * @param variant
+	 *            everything besides the contents of the buildfile its targets depend on, or <code>null</code> if none
+	 * @return the cache key
+	 */
+	public static String getKey(String path, String variant) {
+		if (variant == null || variant.length() == 0) {
+			return path;
+		}
+		return path + '#' + digest(variant);
+	}
+
+	/**
+	 * Returns target nodes for the cached targets of a buildfile, children of a new project node on the given model, or <code>null</code> if the
+	 * buildfile is not cached for the given contents.
+	 *
+	 * @param key
+	 *            the key of the buildfile, see {@link #getKey(String, String)}
+	 * @param stamp
+	 *            the digest of the current contents of the buildfile, see {@link #getStamp(String)}
+	 * @param model
+	 *            the model of the buildfile, which is not parsed
+	 * @return the target nodes or <code>null</code>
+	 */
+	public synchronized AntTargetNode[] getTargets(String key, String stamp, IAntModel model) {
+		Entry entry = fEntries.get(key);
+		if (entry == null || !entry.fStamp.equals(stamp)) {
+			return null;
+		}
+		AntModelProject project = new AntModelProject();
+		if (entry.fName != null) {
+			project.setName(entry.fName);
+		}
+		project.setDescription(entry.fDescription);
+		project.setDefault(entry.fDefaultTarget);
+		AntProjectNode projectNode = new AntProjectNode(project, model);
+		AntTargetNode[] nodes = new AntTargetNode[entry.fTargets.size()];
+		for (int i = 0; i < nodes.length; i++) {
+			TargetInfo info = entry.fTargets.get(i);
+			Target target = info.fExtensionPoint ? new ExtensionPoint() : new Target();
+			target.setName(info.fName);
+			target.setDescription(info.fDescription);
+			target.setIf(info.fIf);
+			target.setUnless(info.fUnless);
+			for (String dependency : info.fDependencies) {
+				target.addDependency(dependency);
+			}
+			target.setProject(project);
+			project.addOrReplaceTarget(target);
+			AntTargetNode node = AntTargetNode.newAntTargetNode(target);
+			node.setOffset(info.fOffset);
+			node.setLength(info.fLength);
+			node.setSelectionLength(info.fSelectionLength);
+			node.setCachedChildren(info.fHasChildren);
+			projectNode.addChildNode(node);
+			nodes[i] = node;
+		}
+		return nodes;
+	}
+
+	/**
+	 * Records the targets of a parsed buildfile, unless the buildfile cannot be cached.
+	 *
+	 * @param key
+	 *            the key of the buildfile, see {@link #getKey(String, String)}
+	 * @param contents
+	 *            the contents of the buildfile that were parsed
+	 * @param stamp
+	 *            the digest of the contents, see {@link #getStamp(String)}
+	 * @param projectNode
+	 *            the project node of the parse
+	 */
+	public synchronized void putTargets(String key, String contents, String stamp, AntProjectNode projectNode) {
+		Entry entry = createEntry(contents, projectNode);
+		if (entry == null) {
+			if (fEntries.remove(key) != null) {
+				fDirty = true;
+			}
+			return;
+		}
+		entry.fStamp = stamp;
+		fEntries.put(key, entry);
+		fDirty = true;
+	}
+
+	/**
+	 * Forgets all cached buildfiles.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fDirty = true;
+	}
+
+	private static Entry createEntry(String contents, AntProjectNode projectNode) {
+		if (projectNode == null || projectNode.isErrorNode() || contents.contains("<import") || contents.contains("<include") //$NON-NLS-1$ //$NON-NLS-2$
+				|| contents.contains("<!ENTITY")) { //$NON-NLS-1$
+			return null;
+		}
+		Entry entry = new Entry();
+		entry.fName = projectNode.getProject().getName();
+		entry.fDescription = projectNode.getDescription();
+		entry.fDefaultTarget = projectNode.getDefaultTargetName();
+		List<IAntElement> children = projectNode.getChildNodes();
+		if (children != null) {
+			for (IAntElement child : children) {
+				if (!(child instanceof AntTargetNode)) {
+					continue;
+				}
+				AntTargetNode node = (AntTargetNode) child;
+				if (node.isErrorNode() || node.isExternal()) {
+					return null;
+				}
+				Target target = node.getTarget();
+				TargetInfo info = new TargetInfo();
+				info.fName = target.getName();
+				info.fDescription = target.getDescription();
+				info.fIf = target.getIf();
+				info.fUnless = target.getUnless();
+				info.fExtensionPoint = node.isExtensionPoint();
+				Enumeration<String> dependencies = target.getDependencies();
+				while (dependencies.hasMoreElements()) {
+					info.fDependencies.add(dependencies.nextElement());
+				}
+				info.fOffset = node.getOffset();
+				info.fLength = node.getLength();
+				info.fSelectionLength = node.getSelectionLength();
+				info.fHasChildren = node.hasChildren();
+				entry.fTargets.add(info);
+			}
+		}
+		if (entry.fTargets.isEmpty()) {
+			// only the implicit target, which is not kept
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * Saves the cache to its file if it changed since it was loaded or last saved.
+	 */
+	public synchronized void save() {
+		if (!fDirty || fFile == null) {
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile)))) {
+			out.writeInt(VERSION);
+			out.writeInt(fEntries.size());
+			for (Map.Entry<String, Entry> mapEntry : fEntries.entrySet()) {
+				Entry entry = mapEntry.getValue();
+				writeText(out, mapEntry.getKey());
+				writeText(out, entry.fStamp);
+				writeString(out, entry.fName);
+				writeString(out, entry.fDescription);
+				writeString(out, entry.fDefaultTarget);
+				out.writeInt(entry.fTargets.size());
+				for (TargetInfo info : entry.fTargets) {
+					writeString(out, info.fName);
+					writeString(out, info.fDescription);
+					writeString(out, info.fIf);
+					writeString(out, info.fUnless);
+					out.writeBoolean(info.fExtensionPoint);
+					out.writeInt(info.fDependencies.size());
+					for (String dependency : info.fDependencies) {
+						writeText(out, dependency);
+					}
+					out.writeInt(info.fOffset);
+					out.writeInt(info.fLength);
+					out.writeInt(info.fSelectionLength);
+					out.writeBoolean(info.fHasChildren);
+				}
+			}
+			fDirty = false;
+		}
+		catch (IOException e) {
+			AntUIPlugin.log(e);
+			fFile.delete();
+		}
+	}
+
+	private void load() {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fFile)))) {
+			if (in.readInt() != VERSION) {
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String key = readText(in);
+				Entry entry = new Entry();
+				entry.fStamp = readText(in);
+				entry.fName = readString(in);
+				entry.fDescription = readString(in);
+				entry.fDefaultTarget = readString(in);
+				int targetCount = in.readInt();
+				for (int j = 0; j < targetCount; j++) {
+					TargetInfo info = new TargetInfo();
+					info.fName = readString(in);
+					info.fDescription = readString(in);
+					info.fIf = readString(in);
+					info.fUnless = readString(in);
+					info.fExtensionPoint = in.readBoolean();
+					int dependencyCount = in.readInt();
+					for (int k = 0; k < dependencyCount; k++) {
+						info.fDependencies.add(readText(in));
+					}
+					info.fOffset = in.readInt();
+					info.fLength = in.readInt();
+					info.fSelectionLength = in.readInt();
+					info.fHasChildren = in.readBoolean();
+					entry.fTargets.add(info);
+				}
+				fEntries.put(key, entry);
+			}
+		}
+		catch (FileNotFoundException e) {
+			// nothing cached yet
+		}
+		catch (IOException e) {
+			// a damaged cache is dropped, the buildfiles are parsed again
+			fEntries.clear();
+			fDirty = true;
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		out.writeBoolean(string != null);
+		if (string != null) {
+			writeText(out, string);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		if (in.readBoolean()) {
+			return readText(in);
+		}
+		return null;
+	}
+
+	/**
+	 * Writes the given text as its length and UTF-8 bytes. Unlike {@link DataOutputStream#writeUTF(String)}, this is not limited to 64 KB, which
+	 * descriptions and paths may exceed.
+	 */
+	private static void writeText(DataOutputStream out, String text) throws IOException {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readText(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > in.available()) {
+			throw new IOException("Damaged target cache"); //$NON-NLS-1$
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static String digest(String text) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			StringBuilder buffer = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				buffer.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return buffer.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-1
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,10 @@ public class AntTargetNode extends AntElementNode {
 	private Target fTarget = null;
 	private String fLabel = null;
 	private boolean isExtension = false;
+	/**
+	 * Whether this target was restored from the {@link AntTargetCache} with tasks that are not restored yet
+	 */
+	private boolean fCachedChildren = false;
 
 	// use newAntTargetNode() instead
 	private AntTargetNode(Target target) {
@@ -65,6 +69,43 @@ public class AntTargetNode extends AntElementNode {
 		return fLabel;
 	}
 
+	/**
+	 * Marks this target, restored from the {@link AntTargetCache}, as having tasks that are taken from a parse of the buildfile the first time they
+	 * are asked for.
+	 */
+	void setCachedChildren(boolean cachedChildren) {
+		fCachedChildren = cachedChildren;
+	}
+
+	@Override
+	public boolean hasChildren() {
+		return fCachedChildren || super.hasChildren();
+	}
+
+	@Override
+	public List<IAntElement> getChildNodes() {
+		if (fCachedChildren) {
+			fCachedChildren = false;
+			IAntModel model = getAntModel();
+			AntProjectNode projectNode = model != null ? model.getProjectNode() : null;
+			List<IAntElement> targets = projectNode != null ? projectNode.getChildNodes() : null;
+			if (targets != null) {
+				for (IAntElement target : targets) {
+					if (target instanceof AntTargetNode && getTargetName().equals(((AntTargetNode) target).getTargetName())) {
+						List<IAntElement> tasks = target.getChildNodes();
+						if (tasks != null) {
+							for (IAntElement task : new ArrayList<>(tasks)) {
+								addChildNode((AntElementNode) task);
+							}
+						}
+						break;
+					}
+				}
+			}
+		}
+		return super.getChildNodes();
+	}
+
 	public Target getTarget() {
 		return fTarget;
 	}